@@ -0,0 +1,100 @@
+#!/usr/bin/env bash
+#
+# Ringkasan event JFR aplikasi perbankan dari file rekaman .jfr.
+#
+# Merekam (hanya JDK, tanpa agent):
+#   java -XX:StartFlightRecording:filename=bankingapp.jfr,settings=profile -cp out Main
+#   # atau pada proses yang sudah berjalan:
+#   jcmd <pid> JFR.start name=bank settings=profile
+#   jcmd <pid> JFR.dump name=bank filename=bankingapp.jfr
+#
+# Menganalisis:
+#   scripts/analyze-jfr.sh bankingapp.jfr
+#
+# Event yang diringkas:
+#   bankingapp.TransactionCommand       per operasi dan outcome
+#   bankingapp.RepositoryQuery          per repository.method, beserta rata-rata baris yang dipindai
+#   bankingapp.DailyLimitComputation    per tipe transaksi, beserta rata-rata baris yang dibaca
+# Semua durasi ditampilkan dalam mikrodetik.
+
+set -euo pipefail
+
+if [[ $# -ne 1 || ! -f "$1" ]]; then
+    echo "Penggunaan: $0 <rekaman.jfr>" >&2
+    exit 1
+fi
+
+recording="$1"
+JFR="${JAVA_HOME:+$JAVA_HOME/bin/}jfr"
+
+# Mengubah output `jfr print` menjadi satu baris per event: "key=value<TAB>key=value..."
+flatten() {
+    "$JFR" print --events "$1" "$recording" | awk '
+        /^[a-zA-Z.]+ \{$/ { line = ""; next }
+        /^\}$/            { print line; next }
+        /=/ {
+            key = $1
+            value = $0
+            sub(/^[^=]*= /, "", value)
+            gsub(/"/, "", value)
+            if (key == "duration") {
+                split(value, parts, " ")
+                unit = parts[2]
+                factor = (unit == "ns") ? 0.001 : (unit == "us") ? 1 : (unit == "ms") ? 1000 : (unit == "s") ? 1000000 : 1
+                value = parts[1] * factor
+            }
+            line = line key "=" value "\t"
+        }'
+}
+
+# Mengelompokkan baris hasil flatten berdasarkan field kunci dan menghitung statistik durasi
+summarize() {
+    local group_fields="$1" extra_field="$2" extra_label="$3"
+    awk -F'\t' -v groups="$group_fields" -v extra="$extra_field" -v extraLabel="$extra_label" '
+        {
+            delete f
+            for (i = 1; i <= NF; i++) {
+                if ($i == "") continue
+                split($i, kv, "=")
+                f[kv[1]] = substr($i, length(kv[1]) + 2)
+            }
+            n = split(groups, g, ",")
+            key = f[g[1]]
+            for (i = 2; i <= n; i++) key = key " " f[g[i]]
+            duration = f["duration"] + 0
+            count[key]++
+            total[key] += duration
+            if (duration > max[key]) max[key] = duration
+            if (extra != "") extraTotal[key] += f[extra]
+        }
+        END {
+            header = sprintf("%-55s %8s %12s %12s", "grup", "jumlah", "rata2(us)", "maks(us)")
+            if (extra != "") header = header sprintf(" %14s", extraLabel)
+            print header
+            for (key in count) {
+                row = sprintf("%-55s %8d %12.1f %12.1f", key, count[key], total[key] / count[key], max[key])
+                if (extra != "") row = row sprintf(" %14.1f", extraTotal[key] / count[key])
+                print row
+            }
+        }' | { read -r header; echo "$header"; sort -t' ' -k1,1; }
+}
+
+echo "== Perintah TransactionService (per operasi dan outcome)"
+flatten bankingapp.TransactionCommand | summarize "operation,outcome" "" ""
+echo
+
+echo "== Query repository (per repository.method)"
+flatten bankingapp.RepositoryQuery | summarize "repository,method" "rowsScanned" "rata2 dipindai"
+echo
+
+echo "== Perhitungan limit harian (per tipe transaksi)"
+flatten bankingapp.DailyLimitComputation | summarize "transactionType" "rowsRead" "rata2 dibaca"
+echo
+
+echo "== 10 perintah transaksi paling lambat"
+flatten bankingapp.TransactionCommand \
+    | awk -F'\t' '{
+        for (i = 1; i <= NF; i++) { split($i, kv, "="); f[kv[1]] = substr($i, length(kv[1]) + 2) }
+        printf "%12.1f us  %-24s %-12s %-22s %s\n", f["duration"], f["operation"], f["accountNumber"], f["outcome"], f["startTime"]
+      }' \
+    | sort -rn | head -10
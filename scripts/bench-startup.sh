@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+#
+# Membandingkan waktu hingga transaksi pertama dengan dan tanpa arsip AppCDS.
+#
+#   scripts/build-appcds.sh          # sekali, atau setiap kode/JDK berubah
+#   scripts/bench-startup.sh [runs]  # default 10 run per mode
+#
+# Setiap run menjalankan `Main --startup-probe` di JVM baru. Yang dilaporkan:
+#   - wall: waktu total proses diukur dari luar (termasuk shutdown JVM)
+#   - probe: time-to-first-transaction yang dicetak probe, dihitung dari waktu mulai JVM
+
+set -euo pipefail
+
+root="$(cd "$(dirname "$0")/.." && pwd)"
+build="$root/build"
+runs="${1:-10}"
+JAVA_BIN="${JAVA_HOME:+$JAVA_HOME/bin/}"
+
+if [[ ! -f "$build/bankingapp.jar" || ! -f "$build/bankingapp.jsa" ]]; then
+    echo "Jar atau arsip belum ada, jalankan scripts/build-appcds.sh terlebih dahulu" >&2
+    exit 1
+fi
+
+measure() {
+    local label="$1"
+    shift
+    local wall_total=0 probe_total=0 wall_min=999999
+    for ((i = 1; i <= runs; i++)); do
+        local start end output wall probe
+        start=$(date +%s%N)
+        output=$("${JAVA_BIN}java" "$@" -jar "$build/bankingapp.jar" --startup-probe)
+        end=$(date +%s%N)
+        wall=$(((end - start) / 1000000))
+        probe=${output#time-to-first-transaction-ms=}
+        wall_total=$((wall_total + wall))
+        probe_total=$((probe_total + probe))
+        ((wall < wall_min)) && wall_min=$wall
+    done
+    printf "%-14s runs=%-3d wall rata2=%5d ms  wall min=%5d ms  probe rata2=%5d ms\n" \
+        "$label" "$runs" $((wall_total / runs)) "$wall_min" $((probe_total / runs))
+}
+
+# Satu run pemanasan agar cache file sistem tidak menguntungkan salah satu mode
+"${JAVA_BIN}java" -jar "$build/bankingapp.jar" --startup-probe > /dev/null
+
+measure "tanpa-cds" -Xshare:off
+measure "cds-jdk" -Xshare:auto
+measure "appcds" -XX:SharedArchiveFile="$build/bankingapp.jsa" -Xshare:on
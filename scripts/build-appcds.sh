@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+#
+# Membangun jar aplikasi dan arsip AppCDS (class data sharing) untuk startup cepat.
+#
+#   scripts/build-appcds.sh
+#
+# Langkah:
+#   1. Kompilasi seluruh src ke build/classes dan kemas menjadi build/bankingapp.jar.
+#      AppCDS hanya mengarsipkan class dari file jar, bukan dari direktori.
+#   2. Training run: `Main --cds-training` menjalankan skenario Application lalu probe
+#      transaksi tunggal dalam satu JVM dengan -XX:DumpLoadedClassList, sehingga class
+#      yang dimuat kedua skenario tercatat dalam satu daftar.
+#   3. Membuat arsip statis build/bankingapp.jsa (class JDK + class aplikasi) dengan
+#      -Xshare:dump dari daftar class tersebut.
+#
+# Menjalankan dengan arsip:
+#   java -XX:SharedArchiveFile=build/bankingapp.jsa -jar build/bankingapp.jar [--startup-probe]
+#
+# Arsip hanya valid untuk JDK dan jar yang sama persis; jalankan ulang script ini
+# setiap kali kode atau versi JDK berubah. Butuh JDK 11+.
+
+set -euo pipefail
+
+root="$(cd "$(dirname "$0")/.." && pwd)"
+build="$root/build"
+JAVA_BIN="${JAVA_HOME:+$JAVA_HOME/bin/}"
+
+rm -rf "$build/classes"
+mkdir -p "$build/classes"
+
+echo "[1/4] Kompilasi"
+find "$root/src" -name '*.java' > "$build/sources.txt"
+"${JAVA_BIN}javac" -encoding UTF-8 -d "$build/classes" @"$build/sources.txt"
+
+echo "[2/4] Membuat jar"
+"${JAVA_BIN}jar" --create --file "$build/bankingapp.jar" --main-class Main -C "$build/classes" .
+
+echo "[3/4] Training run"
+"${JAVA_BIN}java" -Xshare:off -XX:DumpLoadedClassList="$build/bankingapp.classlist" \
+    -jar "$build/bankingapp.jar" --cds-training > "$build/training.log"
+
+echo "[4/4] Membuat arsip AppCDS"
+"${JAVA_BIN}java" -Xshare:dump -XX:SharedClassListFile="$build/bankingapp.classlist" \
+    -XX:SharedArchiveFile="$build/bankingapp.jsa" -jar "$build/bankingapp.jar" > "$build/dump.log"
+
+echo "Arsip: $build/bankingapp.jsa ($(du -h "$build/bankingapp.jsa" | cut -f1), $(grep -vc '^#' "$build/bankingapp.classlist") class)"
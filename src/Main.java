@@ -1,10 +1,32 @@
 import infrastructure.Application;
+import infrastructure.StartupProbe;
+import infrastructure.batch.BatchRunner;
+
+import java.io.IOException;
+import java.util.Arrays;
 
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        // Mode probe startup: satu transaksi lalu keluar (dipakai untuk benchmark AppCDS)
+        if (args.length > 0 && "--startup-probe".equals(args[0])) {
+            StartupProbe.run();
+            return;
+        }
+
+        // Mode batch: putar ulang file perintah transaksi lalu keluar
+        if (args.length > 0 && "--batch".equals(args[0])) {
+            BatchRunner.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
         Application app = new Application();
 
         app.setup();
         app.execute();
+
+        // Mode training AppCDS: skenario lengkap lalu probe, agar class keduanya tercatat dalam satu JVM
+        if (args.length > 0 && "--cds-training".equals(args[0])) {
+            StartupProbe.run();
+        }
     }
 }
@@ -0,0 +1,73 @@
+package application.diagnostic;
+
+import domain.value.TransactionType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.math.BigDecimal;
+
+/**
+ * Event JDK Flight Recorder untuk satu perhitungan total harian ({@code getTotalDaily*}).
+ *
+ * <p>Mencatat berapa transaksi hari itu yang dibaca dari repository dan berapa yang
+ * ikut dijumlahkan, sehingga lonjakan latensi akibat riwayat harian yang panjang
+ * dapat dibedakan dari biaya lain pada perintah transaksi.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+@Name("bankingapp.DailyLimitComputation")
+@Label("Daily Limit Computation")
+@Category({"Banking App", "Transaction"})
+@Description("Perhitungan total transaksi harian untuk pengecekan limit")
+@StackTrace(false)
+public final class DailyLimitEvent extends Event {
+    @Label("Account ID")
+    public int accountId;
+
+    @Label("Date")
+    public String date;
+
+    @Label("Transaction Type")
+    public String transactionType;
+
+    @Label("Rows Read")
+    @Description("Jumlah transaksi rekening pada tanggal tersebut yang dikembalikan repository")
+    public int rowsRead;
+
+    @Label("Rows Summed")
+    public int rowsSummed;
+
+    @Label("Total")
+    public String total;
+
+    /**
+     * Mengakhiri event dan mencatatnya jika recording aktif.
+     *
+     * @param accountId ID rekening
+     * @param date tanggal yang dihitung
+     * @param transactionType tipe transaksi yang dijumlahkan
+     * @param rowsRead jumlah transaksi yang dibaca
+     * @param rowsSummed jumlah transaksi yang cocok dengan tipe
+     * @param total hasil penjumlahan
+     */
+    public void complete(int accountId, String date, TransactionType transactionType, int rowsRead, int rowsSummed,
+                         BigDecimal total) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        this.accountId = accountId;
+        this.date = date;
+        this.transactionType = transactionType.name();
+        this.rowsRead = rowsRead;
+        this.rowsSummed = rowsSummed;
+        this.total = total.toPlainString();
+        commit();
+    }
+}
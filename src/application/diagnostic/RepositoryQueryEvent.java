@@ -0,0 +1,59 @@
+package application.diagnostic;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Event JDK Flight Recorder untuk satu pemanggilan {@code findBy*} pada repository.
+ *
+ * <p>{@code rowsScanned} adalah jumlah slot storage yang diperiksa: 1 untuk pencarian
+ * berdasarkan ID, posisi baris yang ditemukan untuk pencarian baris pertama, atau
+ * seluruh slot untuk pencarian yang memindai semua data. Nilai ini menunjukkan apakah
+ * waktu habis di pemindaian linear.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+@Name("bankingapp.RepositoryQuery")
+@Label("Repository Query")
+@Category({"Banking App", "Repository"})
+@Description("Satu pemanggilan findBy* pada repository beserta jumlah baris yang dipindai")
+@StackTrace(false)
+public final class RepositoryQueryEvent extends Event {
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Rows Scanned")
+    public long rowsScanned;
+
+    @Label("Rows Returned")
+    public long rowsReturned;
+
+    /**
+     * Mengakhiri event dan mencatatnya jika recording aktif.
+     *
+     * @param repository nama repository
+     * @param method nama method
+     * @param rowsScanned jumlah slot storage yang diperiksa
+     * @param rowsReturned jumlah baris yang dikembalikan
+     */
+    public void complete(String repository, String method, long rowsScanned, long rowsReturned) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        this.repository = repository;
+        this.method = method;
+        this.rowsScanned = rowsScanned;
+        this.rowsReturned = rowsReturned;
+        commit();
+    }
+}
@@ -0,0 +1,84 @@
+package application.diagnostic;
+
+import application.service.TransactionResult;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.math.BigDecimal;
+
+/**
+ * Event JDK Flight Recorder untuk satu perintah {@code TransactionService}.
+ *
+ * <p>Durasi event mencakup seluruh perintah: pencarian rekening dan kartu, perhitungan
+ * limit harian, hingga penyimpanan transaksi. Field hanya diisi jika event benar-benar
+ * akan dicatat, sehingga ketika recording mati biayanya hanya pemeriksaan
+ * {@link #shouldCommit()}.</p>
+ *
+ * <pre>
+ * TransactionCommandEvent event = new TransactionCommandEvent();
+ * event.begin();
+ * TransactionResult result = null;
+ * try {
+ *     return result = ...;
+ * } finally {
+ *     event.complete("withdrawMoneyViaTeller", accountNumber, amount, result);
+ * }
+ * </pre>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+@Name("bankingapp.TransactionCommand")
+@Label("Transaction Command")
+@Category({"Banking App", "Transaction"})
+@Description("Satu perintah TransactionService beserta hasilnya")
+@StackTrace(false)
+public final class TransactionCommandEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Account Number")
+    public String accountNumber;
+
+    @Label("Amount")
+    public String amount;
+
+    @Label("Outcome")
+    @Description("SUCCESS, kode error penolakan, atau EXCEPTION jika perintah melempar exception")
+    public String outcome;
+
+    @Label("Transaction ID")
+    public int transactionId;
+
+    /**
+     * Mengakhiri event dan mencatatnya jika recording aktif.
+     *
+     * @param operation nama perintah
+     * @param accountNumber nomor rekening asal
+     * @param amount jumlah transaksi, boleh null untuk biaya bulanan
+     * @param result hasil perintah, atau null jika perintah melempar exception
+     */
+    public void complete(String operation, String accountNumber, BigDecimal amount, TransactionResult result) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        this.operation = operation;
+        this.accountNumber = accountNumber;
+        this.amount = amount != null ? amount.toPlainString() : null;
+        if (result instanceof TransactionResult.Success success) {
+            this.outcome = "SUCCESS";
+            this.transactionId = success.transaction().id();
+        } else if (result instanceof TransactionResult.Rejected rejected) {
+            this.outcome = rejected.code().errorCode();
+        } else {
+            this.outcome = "EXCEPTION";
+        }
+        commit();
+    }
+}
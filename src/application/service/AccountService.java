@@ -29,6 +29,7 @@ public class AccountService {
     private final AccountCardRepository accountCardRepository;
     private final CardTypeRepository cardTypeRepository;
     private final AccountRepository accountRepository;
+    private final PinAttemptGuard pinAttemptGuard;
 
     /**
      * Konstruktor untuk AccountService.
@@ -38,9 +39,27 @@ public class AccountService {
      * @param accountCardRepository repository untuk mengakses data kartu rekening
      */
     public AccountService(AccountRepository accountRepository, CardTypeRepository cardTypeRepository, AccountCardRepository accountCardRepository) {
+        this(accountRepository, cardTypeRepository, accountCardRepository, null);
+    }
+
+    /**
+     * Konstruktor untuk AccountService dengan pembatas percobaan PIN.
+     *
+     * <p>Gunakan instance {@link PinAttemptGuard} yang sama dengan {@link TransactionService}
+     * agar PIN salah saat update PIN dan saat transaksi kartu dihitung bersama.</p>
+     *
+     * @param accountRepository repository untuk mengakses data rekening
+     * @param cardTypeRepository repository untuk mengakses data tipe kartu
+     * @param accountCardRepository repository untuk mengakses data kartu rekening
+     * @param pinAttemptGuard pembatas percobaan PIN salah per kartu, atau null jika tidak dibatasi
+     * @since 1.1
+     */
+    public AccountService(AccountRepository accountRepository, CardTypeRepository cardTypeRepository,
+                          AccountCardRepository accountCardRepository, PinAttemptGuard pinAttemptGuard) {
         this.accountRepository = accountRepository;
         this.cardTypeRepository = cardTypeRepository;
         this.accountCardRepository = accountCardRepository;
+        this.pinAttemptGuard = pinAttemptGuard;
     }
 
     /**
@@ -91,13 +110,26 @@ public class AccountService {
      * @param newPin PIN baru yang akan menggantikan PIN lama
      * @throws CardException.CardNotFound jika kartu tidak ditemukan untuk rekening ini
      * @throws CardException.InvalidPin jika PIN lama tidak sesuai
+     * @throws CardException.CardLocked jika kartu dikunci sementara karena PIN salah berulang kali
      */
     public void updatePin(AccountEntity account, int oldPin, int newPin) {
         AccountCardEntity accountCard = accountCardRepository.findByAccountId(account.id())
                 .orElseThrow(() -> new CardException.CardNotFound(account.id()));
 
-        if (oldPin != accountCard.pin()) {
-            throw new CardException.InvalidPin(account.id(), 1);
+        if (pinAttemptGuard == null) {
+            if (oldPin != accountCard.pin()) {
+                throw new CardException.InvalidPin(account.id(), 1);
+            }
+        } else {
+            // Penguncian dicek sebelum PIN dibandingkan agar PIN tidak bisa ditebak selama kartu terkunci
+            long lockedSeconds = pinAttemptGuard.lockedSeconds(accountCard.id());
+            if (lockedSeconds > 0) {
+                throw new CardException.CardLocked(account.id(), lockedSeconds);
+            }
+            if (oldPin != accountCard.pin()) {
+                throw new CardException.InvalidPin(account.id(), pinAttemptGuard.recordFailure(accountCard.id()));
+            }
+            pinAttemptGuard.recordSuccess(accountCard.id());
         }
 
         AccountCardEntity updatedAccountCard = new AccountCardEntity(
@@ -0,0 +1,90 @@
+package application.service;
+
+/**
+ * Interface penyimpanan checkpoint partisi untuk {@link InterestAccrualService}.
+ *
+ * <p>Setiap partisi rekening pada satu tanggal akrual dicatat dua kali: saat mulai diproses
+ * dan setelah transaksi akrualnya tersimpan. Partisi yang tercatat selesai dilewati saat
+ * proses dijalankan ulang, sedangkan partisi yang tercatat mulai tetapi belum selesai
+ * diproses ulang dengan pengecekan akrual yang sudah tersimpan per rekening. Implementasi
+ * harus aman dipanggil dari banyak thread dan harus sudah menyimpan catatan secara permanen
+ * sebelum method {@code mark*} kembali.</p>
+ *
+ * <p>Catatan selesai menyimpan {@link PostedRange rentang ID} transaksi akrual partisi tersebut.
+ * Checkpoint bisa bertahan lebih lama dari log transaksi (misalnya checkpoint di file sedangkan
+ * repository transaksi di memori), sehingga service hanya melewati partisi selesai yang
+ * transaksinya masih ada di log.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public interface AccrualCheckpointStore {
+
+    /**
+     * Mendapatkan status partisi pada tanggal akrual tertentu.
+     *
+     * @param date tanggal akrual dalam format YYYY-MM-DD
+     * @param partition nomor partisi
+     * @return status partisi; {@link State#NOT_STARTED} jika belum pernah dicatat
+     */
+    State state(String date, int partition);
+
+    /**
+     * Mendapatkan rentang ID transaksi akrual yang dicatat saat partisi selesai.
+     *
+     * @param date tanggal akrual dalam format YYYY-MM-DD
+     * @param partition nomor partisi
+     * @return rentang ID transaksi, {@link PostedRange#NONE} jika partisi selesai tanpa transaksi,
+     *         atau null jika partisi belum selesai atau rentangnya tidak tercatat
+     */
+    PostedRange postedRange(String date, int partition);
+
+    /**
+     * Mencatat bahwa partisi mulai diproses.
+     *
+     * @param date tanggal akrual dalam format YYYY-MM-DD
+     * @param partition nomor partisi
+     */
+    void markStarted(String date, int partition);
+
+    /**
+     * Mencatat bahwa semua transaksi akrual partisi sudah tersimpan.
+     *
+     * @param date tanggal akrual dalam format YYYY-MM-DD
+     * @param partition nomor partisi
+     * @param posted rentang ID transaksi akrual yang tersimpan
+     */
+    void markCompleted(String date, int partition, PostedRange posted);
+
+    /**
+     * Status pemrosesan satu partisi.
+     */
+    enum State {
+        NOT_STARTED,
+        STARTED,
+        COMPLETED
+    }
+
+    /**
+     * Rentang ID transaksi akrual yang disimpan satu partisi.
+     *
+     * @param firstId ID transaksi akrual pertama, 0 jika tidak ada transaksi
+     * @param lastId ID transaksi akrual terakhir, 0 jika tidak ada transaksi
+     */
+    record PostedRange(int firstId, int lastId) {
+        /**
+         * Rentang untuk partisi yang selesai tanpa transaksi akrual.
+         */
+        public static final PostedRange NONE = new PostedRange(0, 0);
+
+        /**
+         * Mengecek apakah partisi tidak menyimpan transaksi akrual.
+         *
+         * @return true jika rentang kosong
+         */
+        public boolean isEmpty() {
+            return lastId == 0;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package application.service;
+
+import domain.value.TransactionType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Screening fraud berbasis velocity untuk transaksi kartu.
+ *
+ * <p>Setiap kartu memiliki sliding window per tipe transaksi kartu untuk setiap
+ * {@link VelocityRule.Window}, disimpan sebagai array primitif berisi nomor bucket, jumlah
+ * transaksi, dan total nominal (dalam sen). {@link #screen} mengevaluasi semua
+ * {@link VelocityRule} untuk transaksi baru; jika tidak ada yang dilanggar, transaksi langsung
+ * dicatat ke window kartu tersebut dalam lock yang sama, sehingga dua transaksi bersamaan
+ * tidak dapat sama-sama lolos melewati batas.</p>
+ *
+ * <p>Window kartu yang tidak aktif lebih lama dari jendela terpanjang dibuang oleh sapuan
+ * berkala, sehingga memori kartu yang sudah tidak dipakai kembali dengan sendirinya. Sapuan
+ * dimulai paling sering sekali per {@code SWEEP_INTERVAL_SECONDS} dan dikerjakan bertahap:
+ * setiap pemanggilan {@link #screen} hanya memeriksa paling banyak {@code SWEEP_SLICE_CARDS}
+ * kartu berikutnya, sehingga biaya sapuan per transaksi tetap kecil berapa pun jumlah kartu.
+ * Pemanggil yang sedang tidak mendapat giliran sapuan langsung melanjutkan transaksinya.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class CardVelocityScreen {
+    private static final VelocityRule.Window[] WINDOWS = VelocityRule.Window.values();
+    private static final int KINDS = 3;
+    private static final int SWEEP_INTERVAL_SECONDS = 60;
+    private static final int SWEEP_SLICE_CARDS = 64;
+    private static final int[] WINDOW_OFFSETS = new int[WINDOWS.length];
+    private static final int SLOTS_PER_KIND;
+
+    static {
+        int offset = 0;
+        for (VelocityRule.Window window : WINDOWS) {
+            WINDOW_OFFSETS[window.ordinal()] = offset;
+            offset += window.buckets();
+        }
+        SLOTS_PER_KIND = offset;
+    }
+
+    private final VelocityRule[] rules;
+    private final long[] maxAmountsMinor;
+    private final long idleSeconds;
+    private final ConcurrentHashMap<Integer, CardWindows> cards = new ConcurrentHashMap<>();
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    // Ditulis hanya saat memegang sweepLock; dibaca tanpa lock untuk mengecek apakah sapuan perlu dilanjutkan
+    private volatile long nextSweep = Long.MIN_VALUE;
+    // Posisi sapuan bertahap yang sedang berjalan, atau null jika tidak ada; dijaga sweepLock
+    private Iterator<Map.Entry<Integer, CardWindows>> sweepCursor;
+
+    /**
+     * Konstruktor untuk CardVelocityScreen.
+     *
+     * @param rules aturan yang dievaluasi; daftar kosong berarti screening dimatikan
+     */
+    public CardVelocityScreen(List<VelocityRule> rules) {
+        this.rules = rules.toArray(new VelocityRule[0]);
+        this.maxAmountsMinor = new long[this.rules.length];
+        long longestWindow = 0;
+        for (int i = 0; i < this.rules.length; i++) {
+            BigDecimal maxAmount = this.rules[i].maxAmount();
+            maxAmountsMinor[i] = maxAmount == null ? Long.MAX_VALUE : toMinorUnits(maxAmount);
+            longestWindow = Math.max(longestWindow, this.rules[i].window().seconds());
+        }
+        this.idleSeconds = longestWindow;
+    }
+
+    /**
+     * Membuat screening dengan {@link VelocityRule#defaults() aturan bawaan}.
+     *
+     * @return screening dengan aturan bawaan
+     */
+    public static CardVelocityScreen withDefaultRules() {
+        return new CardVelocityScreen(VelocityRule.defaults());
+    }
+
+    /**
+     * Mengevaluasi transaksi kartu dan mencatatnya jika tidak melanggar aturan.
+     *
+     * @param cardId ID kartu
+     * @param transactionType tipe transaksi kartu
+     * @param amount nominal transaksi
+     * @param now timestamp transaksi dalam epoch seconds
+     * @return aturan yang dilanggar beserta nilainya, atau null jika transaksi lolos dan sudah dicatat
+     */
+    public Violation screen(int cardId, TransactionType transactionType, BigDecimal amount, long now) {
+        if (rules.length == 0) {
+            return null;
+        }
+        int kind = kindOf(transactionType);
+        if (kind < 0) {
+            throw new IllegalArgumentException("Bukan transaksi kartu: " + transactionType);
+        }
+        long amountMinor = toMinorUnits(amount);
+        Violation violation;
+        while (true) {
+            CardWindows windows = cards.computeIfAbsent(cardId, id -> new CardWindows());
+            synchronized (windows) {
+                if (windows.retired) {
+                    // Baru saja dibuang oleh sapuan; ambil (atau buat) window yang baru
+                    continue;
+                }
+                violation = windows.screen(rules, maxAmountsMinor, kind, amountMinor, now);
+                break;
+            }
+        }
+        sweepIfDue(now);
+        return violation;
+    }
+
+    /**
+     * Mendapatkan jumlah kartu yang window-nya sedang disimpan.
+     *
+     * @return jumlah kartu yang dilacak
+     */
+    public int trackedCards() {
+        return cards.size();
+    }
+
+    /**
+     * Membuang seluruh window kartu yang tidak aktif lebih lama dari jendela terpanjang sekaligus,
+     * misalnya dari job terjadwal. Sapuan bertahap dari {@link #screen} tetap berjalan.
+     *
+     * @param now timestamp saat ini dalam epoch seconds
+     */
+    public void sweep(long now) {
+        sweepSlice(cards.entrySet().iterator(), now - idleSeconds, Integer.MAX_VALUE);
+    }
+
+    // Melanjutkan sapuan bertahap; tidak pernah menunggu thread lain yang sedang menyapu
+    private void sweepIfDue(long now) {
+        if (now < nextSweep || !sweepLock.tryLock()) {
+            return;
+        }
+        try {
+            if (sweepCursor == null) {
+                if (now < nextSweep) {
+                    return;
+                }
+                sweepCursor = cards.entrySet().iterator();
+            }
+            if (sweepSlice(sweepCursor, now - idleSeconds, SWEEP_SLICE_CARDS)) {
+                sweepCursor = null;
+                nextSweep = now + SWEEP_INTERVAL_SECONDS;
+            }
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    // Memeriksa paling banyak limit kartu berikutnya; true jika sapuan sudah mencapai akhir
+    private boolean sweepSlice(Iterator<Map.Entry<Integer, CardWindows>> cursor, long cutoff, int limit) {
+        for (int checked = 0; checked < limit; checked++) {
+            if (!cursor.hasNext()) {
+                return true;
+            }
+            Map.Entry<Integer, CardWindows> entry = cursor.next();
+            CardWindows windows = entry.getValue();
+            synchronized (windows) {
+                if (windows.lastActivity <= cutoff) {
+                    windows.retired = true;
+                    cards.remove(entry.getKey(), windows);
+                }
+            }
+        }
+        return !cursor.hasNext();
+    }
+
+    static int kindOf(TransactionType transactionType) {
+        return switch (transactionType) {
+            case TRANSFER_VIA_CARD -> 0;
+            case WITHDRAW_VIA_CARD -> 1;
+            case DEPOSIT_VIA_CARD -> 2;
+            default -> -1;
+        };
+    }
+
+    private static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Aturan velocity yang dilanggar.
+     *
+     * @param rule aturan yang dilanggar
+     * @param count jumlah transaksi dalam jendela termasuk transaksi baru
+     * @param amount total nominal dalam jendela termasuk transaksi baru
+     */
+    public record Violation(VelocityRule rule, long count, BigDecimal amount) {
+        /**
+         * Mendapatkan nilai yang melampaui batas, yaitu jumlah transaksi atau total nominal.
+         *
+         * @return nilai aktual untuk batas yang dilanggar
+         */
+        public BigDecimal actual() {
+            return exceedsCount() ? BigDecimal.valueOf(count) : amount;
+        }
+
+        /**
+         * Mendapatkan batas yang dilanggar.
+         *
+         * @return batas jumlah transaksi atau batas total nominal
+         */
+        public BigDecimal threshold() {
+            return exceedsCount() ? BigDecimal.valueOf(rule.maxCount()) : rule.maxAmount();
+        }
+
+        private boolean exceedsCount() {
+            return rule.maxCount() > 0 && count > rule.maxCount();
+        }
+    }
+
+    /**
+     * Window semua tipe transaksi kartu untuk satu kartu.
+     *
+     * <p>Slot {@code kind * SLOTS_PER_KIND + WINDOW_OFFSETS[window] + (bucket % buckets)} menyimpan
+     * nomor bucket (epoch seconds dibagi ukuran bucket), jumlah transaksi, dan total nominal.
+     * Slot dengan nomor bucket lama dianggap kosong dan di-reset saat dipakai ulang.</p>
+     */
+    private static final class CardWindows {
+        private final int[] bucketIds = new int[KINDS * SLOTS_PER_KIND];
+        private final int[] counts = new int[KINDS * SLOTS_PER_KIND];
+        private final long[] amounts = new long[KINDS * SLOTS_PER_KIND];
+        private long lastActivity;
+        private long windowAmount;
+        private boolean retired;
+
+        private CardWindows() {
+            Arrays.fill(bucketIds, Integer.MIN_VALUE);
+        }
+
+        private Violation screen(VelocityRule[] rules, long[] maxAmountsMinor, int kind, long amountMinor, long now) {
+            lastActivity = Math.max(lastActivity, now);
+            for (int r = 0; r < rules.length; r++) {
+                VelocityRule rule = rules[r];
+                int ruleKind = rule.transactionType() == null ? -1 : kindOf(rule.transactionType());
+                if (ruleKind >= 0 && ruleKind != kind) {
+                    continue;
+                }
+                long count = 1;
+                long total = amountMinor;
+                for (int k = 0; k < KINDS; k++) {
+                    if (ruleKind < 0 || k == ruleKind) {
+                        count += count(k, rule.window(), now);
+                        total += windowAmount;
+                    }
+                }
+                if ((rule.maxCount() > 0 && count > rule.maxCount()) || total > maxAmountsMinor[r]) {
+                    return new Violation(rule, count, BigDecimal.valueOf(total, 2));
+                }
+            }
+            for (VelocityRule.Window window : WINDOWS) {
+                int slot = slot(kind, window, now);
+                counts[slot]++;
+                amounts[slot] += amountMinor;
+            }
+            return null;
+        }
+
+        // Menjumlahkan bucket yang masih berada dalam jendela; total nominal ditaruh di windowAmount
+        private long count(int kind, VelocityRule.Window window, long now) {
+            long current = now / window.bucketSeconds();
+            int buckets = window.buckets();
+            int base = kind * SLOTS_PER_KIND + WINDOW_OFFSETS[window.ordinal()];
+            long count = 0;
+            long total = 0;
+            for (int i = base; i < base + buckets; i++) {
+                long age = current - bucketIds[i];
+                if (age >= 0 && age < buckets) {
+                    count += counts[i];
+                    total += amounts[i];
+                }
+            }
+            windowAmount = total;
+            return count;
+        }
+
+        private int slot(int kind, VelocityRule.Window window, long now) {
+            int bucket = (int) (now / window.bucketSeconds());
+            int slot = kind * SLOTS_PER_KIND + WINDOW_OFFSETS[window.ordinal()] + bucket % window.buckets();
+            if (bucketIds[slot] != bucket) {
+                bucketIds[slot] = bucket;
+                counts[slot] = 0;
+                amounts[slot] = 0;
+            }
+            return slot;
+        }
+    }
+}
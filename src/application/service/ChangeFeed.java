@@ -0,0 +1,197 @@
+package application.service;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Interface aliran perubahan data (change data capture) dari repository di dalam proses.
+ *
+ * <p>Setiap penyimpanan, perubahan, dan penghapusan data pada repository container dicatat
+ * sebagai {@link ChangeEvent} dengan nomor urut global yang naik satu per satu. Konsumen
+ * seperti notifikasi, analitik fraud, atau laporan membuat {@link Subscription} lalu mengambil
+ * event dalam batch sesuai kecepatannya sendiri; setiap subscription menyimpan nomor urutnya
+ * sendiri sehingga konsumen tidak saling menunggu.</p>
+ *
+ * <p>Memori feed dibatasi: hanya event terbaru sebanyak {@link #capacity()} yang disimpan, dan
+ * penerbit tidak pernah menunggu konsumen. Subscription yang tertinggal lebih jauh dari kapasitas
+ * kehilangan event tertua; jumlahnya dilaporkan di {@link Batch#missed()} agar konsumen dapat
+ * menyinkronkan ulang dari repository, dan subscription tersebut ditandai lambat.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public interface ChangeFeed {
+
+    /**
+     * Mencatat satu perubahan data.
+     *
+     * @param source repository asal perubahan
+     * @param operation jenis perubahan
+     * @param entityId ID entitas yang berubah
+     * @param entity entitas setelah perubahan, atau null untuk penghapusan
+     * @return nomor urut event
+     */
+    long publish(Source source, Operation operation, int entityId, Object entity);
+
+    /**
+     * Mencatat beberapa perubahan sejenis dengan nomor urut yang berurutan, misalnya hasil
+     * penulisan massal.
+     *
+     * @param source repository asal perubahan
+     * @param operation jenis perubahan
+     * @param entities entitas setelah perubahan
+     * @param entityId fungsi pengambil ID entitas
+     * @param <T> tipe entitas
+     */
+    <T> void publishAll(Source source, Operation operation, List<T> entities, ToIntFunction<? super T> entityId);
+
+    /**
+     * Membuat subscription yang mulai membaca dari event berikutnya yang dicatat.
+     *
+     * @param name nama konsumen untuk pemantauan
+     * @return subscription baru
+     */
+    Subscription subscribe(String name);
+
+    /**
+     * Membuat subscription yang melanjutkan dari nomor urut tertentu, misalnya nomor urut
+     * yang disimpan konsumen sebelum proses berhenti.
+     *
+     * @param name nama konsumen untuk pemantauan
+     * @param fromSequence nomor urut event pertama yang ingin dibaca
+     * @return subscription baru
+     */
+    Subscription subscribe(String name, long fromSequence);
+
+    /**
+     * Mendapatkan subscription yang masih aktif.
+     *
+     * @return salinan daftar subscription aktif
+     */
+    List<Subscription> subscriptions();
+
+    /**
+     * Mendapatkan jumlah event terbaru yang disimpan feed.
+     *
+     * @return kapasitas feed
+     */
+    int capacity();
+
+    /**
+     * Mendapatkan nomor urut yang akan diberikan ke event berikutnya, sama dengan jumlah
+     * event yang pernah dicatat.
+     *
+     * @return nomor urut event berikutnya
+     */
+    long headSequence();
+
+    /**
+     * Repository asal perubahan.
+     */
+    enum Source {
+        ACCOUNT,
+        ACCOUNT_CARD,
+        CARD_TYPE,
+        CUSTOMER,
+        TRANSACTION
+    }
+
+    /**
+     * Jenis perubahan data.
+     */
+    enum Operation {
+        INSERT,
+        UPDATE,
+        DELETE
+    }
+
+    /**
+     * Satu perubahan data.
+     *
+     * @param sequence nomor urut global event
+     * @param source repository asal perubahan
+     * @param operation jenis perubahan
+     * @param entityId ID entitas yang berubah
+     * @param entity entitas setelah perubahan, atau null untuk penghapusan
+     */
+    record ChangeEvent(long sequence, Source source, Operation operation, int entityId, Object entity) {
+    }
+
+    /**
+     * Hasil satu pengambilan event.
+     *
+     * @param events event berurutan menurut nomor urut, tanpa celah kecuali di awal batch
+     * @param missed jumlah event yang sudah ditimpa sebelum sempat dibaca, tepat sebelum event pertama batch
+     */
+    record Batch(List<ChangeEvent> events, long missed) {
+
+        /**
+         * Mengecek apakah batch tidak berisi event maupun event yang hilang.
+         *
+         * @return true jika batch kosong
+         */
+        public boolean isEmpty() {
+            return events.isEmpty() && missed == 0;
+        }
+    }
+
+    /**
+     * Posisi baca satu konsumen pada feed.
+     *
+     * <p>Satu subscription dipakai oleh satu thread konsumen; subscription berbeda boleh
+     * dibaca oleh thread berbeda secara bersamaan.</p>
+     */
+    interface Subscription extends AutoCloseable {
+
+        /**
+         * Mendapatkan nama konsumen.
+         *
+         * @return nama konsumen
+         */
+        String name();
+
+        /**
+         * Mengambil event berikutnya tanpa menunggu dan memajukan posisi subscription.
+         *
+         * @param maxEvents jumlah maksimum event dalam batch
+         * @return batch event, kosong jika belum ada event baru
+         */
+        Batch poll(int maxEvents);
+
+        /**
+         * Mendapatkan nomor urut event berikutnya yang akan dibaca.
+         *
+         * @return posisi subscription
+         */
+        long position();
+
+        /**
+         * Mendapatkan jumlah event yang sudah dicatat tetapi belum dibaca subscription ini.
+         *
+         * @return jarak posisi subscription ke ujung feed
+         */
+        long lag();
+
+        /**
+         * Mendapatkan total event yang hilang karena subscription tertinggal.
+         *
+         * @return jumlah event yang hilang sejak subscription dibuat
+         */
+        long missedCount();
+
+        /**
+         * Mengecek apakah konsumen terlalu lambat: sudah kehilangan event, atau tertinggal
+         * setengah kapasitas feed atau lebih.
+         *
+         * @return true jika konsumen lambat
+         */
+        boolean isSlow();
+
+        /**
+         * Melepas subscription dari feed.
+         */
+        @Override
+        void close();
+    }
+}
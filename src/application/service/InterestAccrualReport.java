@@ -0,0 +1,24 @@
+package application.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Hasil satu kali proses akrual bunga akhir hari.
+ *
+ * @param date tanggal akrual dalam format YYYY-MM-DD
+ * @param partitions jumlah partisi rekening yang diperiksa
+ * @param partitionsSkipped jumlah partisi yang sudah selesai pada proses sebelumnya sehingga dilewati
+ * @param partitionsRecovered jumlah partisi yang terhenti pada proses sebelumnya dan diproses ulang
+ * @param accountsScanned jumlah rekening yang diperiksa pada partisi yang diproses
+ * @param accrualsPosted jumlah transaksi INTEREST_ACCRUAL yang disimpan pada proses ini
+ * @param totalInterest total bunga yang diakrualkan pada proses ini
+ * @param elapsedNanos lama proses akrual dalam nanodetik
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public record InterestAccrualReport(String date, int partitions, int partitionsSkipped, int partitionsRecovered,
+                                    long accountsScanned, long accrualsPosted, BigDecimal totalInterest,
+                                    long elapsedNanos) {
+}
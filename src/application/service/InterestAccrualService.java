@@ -0,0 +1,344 @@
+package application.service;
+
+import domain.entity.AccountEntity;
+import domain.entity.TransactionEntity;
+import domain.repository.AccountRepository;
+import domain.repository.TransactionRepository;
+import domain.util.TransactionEffects;
+import domain.value.AccountType;
+import domain.value.TransactionType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Service akrual bunga harian untuk rekening berbunga.
+ *
+ * <p>Bunga satu hari dihitung dari saldo rekening pada saat proses berjalan dengan suku bunga
+ * tahunan per {@link AccountType} dan jumlah hari sebenarnya dalam tahun tanggal akrual
+ * ({@code saldo * suku bunga / 365 atau 366}). Perhitungan memakai satuan terkecil
+ * {@link TransactionEffects} dan long (BigDecimal hanya untuk saldo yang terlalu besar),
+ * lalu dibulatkan HALF_EVEN ke sen. Hasilnya dicatat sebagai transaksi
+ * {@link TransactionType#INTEREST_ACCRUAL} bertanggal akrual; transaksi ini hanya catatan
+ * bunga yang belum dikreditkan, sehingga saldo rekening tidak berubah.</p>
+ *
+ * <p>Rekening dibagi menjadi partisi rentang ID berukuran tetap yang diproses paralel di atas
+ * {@link ForkJoinPool}. Setiap partisi menyimpan akrualnya dengan satu
+ * {@link TransactionRepository#saveAll penulisan massal} dan dicatat di
+ * {@link AccrualCheckpointStore} sebelum dan sesudah penulisan. Jika proses terhenti di tengah
+ * jalan, menjalankan ulang tanggal yang sama melewati partisi yang sudah selesai dan memproses
+ * ulang partisi yang terhenti tanpa mencatat akrual ganda. Partisi yang tercatat selesai tetapi
+ * transaksi akrualnya tidak ada lagi di log transaksi, misalnya karena checkpoint disimpan di
+ * file sedangkan log di memori hilang saat restart, juga diproses ulang.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class InterestAccrualService {
+    /**
+     * Jumlah ID rekening per partisi. Nilai ini menentukan nomor partisi di checkpoint,
+     * sehingga tidak boleh diubah selama masih ada tanggal akrual yang belum selesai.
+     */
+    public static final int PARTITION_SIZE = 16_384;
+
+    private static final int RATE_SCALE = 6;
+    // Pembagi dari satuan terkecil saldo (1/10.000) ke sen (1/100) dan dari skala suku bunga
+    private static final long DENOMINATOR_UNIT = 100L * 1_000_000L;
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccrualCheckpointStore checkpoints;
+    private final ZoneId zone;
+    private final ForkJoinPool pool;
+    private final long[] rates = new long[AccountType.values().length];
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Konstruktor untuk InterestAccrualService dengan suku bunga bawaan dan common pool.
+     *
+     * @param accountRepository repository untuk mengakses data rekening
+     * @param transactionRepository repository untuk menyimpan transaksi akrual
+     * @param timeService service penyedia timezone bisnis
+     * @param checkpoints penyimpanan checkpoint partisi
+     */
+    public InterestAccrualService(AccountRepository accountRepository, TransactionRepository transactionRepository,
+                                  TimeService timeService, AccrualCheckpointStore checkpoints) {
+        this(accountRepository, transactionRepository, timeService, checkpoints, defaultRates(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Konstruktor untuk InterestAccrualService.
+     *
+     * @param accountRepository repository untuk mengakses data rekening
+     * @param transactionRepository repository untuk menyimpan transaksi akrual
+     * @param timeService service penyedia timezone bisnis
+     * @param checkpoints penyimpanan checkpoint partisi
+     * @param annualRates suku bunga tahunan per tipe rekening (0.025 = 2,5%); tipe yang tidak ada tidak berbunga
+     * @param pool pool fork/join untuk menjalankan akrual
+     * @throws IllegalArgumentException jika suku bunga negatif atau lebih presisi dari 0,0001%
+     */
+    public InterestAccrualService(AccountRepository accountRepository, TransactionRepository transactionRepository,
+                                  TimeService timeService, AccrualCheckpointStore checkpoints,
+                                  Map<AccountType, BigDecimal> annualRates, ForkJoinPool pool) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.checkpoints = checkpoints;
+        this.zone = timeService.zone();
+        this.pool = pool;
+        annualRates.forEach((accountType, rate) -> {
+            if (rate.signum() < 0) {
+                throw new IllegalArgumentException("Suku bunga tidak boleh negatif: " + accountType);
+            }
+            try {
+                rates[accountType.ordinal()] = rate.setScale(RATE_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Suku bunga terlalu presisi: " + rate, e);
+            }
+        });
+    }
+
+    /**
+     * Suku bunga tahunan bawaan: tabungan 2,5% dan deposito berjangka 4,5%.
+     *
+     * @return suku bunga per tipe rekening
+     */
+    public static Map<AccountType, BigDecimal> defaultRates() {
+        Map<AccountType, BigDecimal> rates = new EnumMap<>(AccountType.class);
+        rates.put(AccountType.SAVINGS, new BigDecimal("0.025"));
+        rates.put(AccountType.TIME_DEPOSIT, new BigDecimal("0.045"));
+        return rates;
+    }
+
+    /**
+     * Menjalankan akrual bunga untuk satu tanggal.
+     *
+     * <p>Aman dijalankan ulang untuk tanggal yang sama setelah proses sebelumnya gagal atau
+     * terhenti. Jalankan setelah transaksi hari itu selesai, karena saldo dibaca dari
+     * snapshot rekening saat proses dimulai.</p>
+     *
+     * @param date tanggal akrual dalam format YYYY-MM-DD
+     * @return laporan akrual
+     * @throws IllegalStateException jika akrual untuk tanggal yang sama sedang berjalan
+     * @throws RuntimeException exception pertama dari partisi yang gagal, setelah semua partisi lain
+     *         selesai diproses; exception partisi lainnya ditambahkan sebagai suppressed
+     */
+    public InterestAccrualReport accrue(String date) {
+        LocalDate day = LocalDate.parse(date);
+        if (!running.add(date)) {
+            throw new IllegalStateException("Akrual bunga tanggal " + date + " sedang berjalan");
+        }
+        try {
+            long start = System.nanoTime();
+            AccountRepository balances = accountRepository.snapshot();
+            int maxAccountId = balances.scan(null).mapToInt(AccountEntity::id).max().orElse(0);
+            int partitions = maxAccountId / PARTITION_SIZE + 1;
+            long timestamp = day.plusDays(1).atStartOfDay(zone).toEpochSecond() - 1;
+            Run run = new Run(balances, date, timestamp, DENOMINATOR_UNIT * day.lengthOfYear());
+
+            PartitionResult result = pool.invoke(new AccrueTask(run, 0, partitions));
+            if (result.failure != null) {
+                throw result.failure;
+            }
+            return new InterestAccrualReport(
+                    date,
+                    partitions,
+                    result.skipped,
+                    result.recovered,
+                    result.scanned,
+                    result.posted,
+                    BigDecimal.valueOf(result.interestCents, 2),
+                    System.nanoTime() - start
+            );
+        } finally {
+            running.remove(date);
+        }
+    }
+
+    /**
+     * Menghitung bunga satu hari dalam sen.
+     *
+     * @param balance saldo rekening
+     * @param rate suku bunga tahunan dengan skala {@link #RATE_SCALE}
+     * @param denominator {@code DENOMINATOR_UNIT * jumlah hari dalam tahun}
+     * @return bunga dalam sen, dibulatkan HALF_EVEN
+     */
+    private static long dailyInterestCents(BigDecimal balance, long rate, long denominator) {
+        long minorUnits;
+        try {
+            minorUnits = TransactionEffects.toMinorUnits(balance);
+        } catch (ArithmeticException e) {
+            return exactInterestCents(balance, rate, denominator);
+        }
+        long numerator = minorUnits * rate;
+        if (Math.multiplyHigh(minorUnits, rate) != (numerator >> 63)) {
+            // Perkalian melewati jangkauan long; dicek tanpa exception karena kasus ini bisa sering terjadi
+            return exactInterestCents(balance, rate, denominator);
+        }
+        long quotient = numerator / denominator;
+        long twiceRemainder = (numerator % denominator) * 2L;
+        if (twiceRemainder > denominator || (twiceRemainder == denominator && (quotient & 1L) != 0)) {
+            quotient++;
+        }
+        return quotient;
+    }
+
+    // Versi BigDecimal dari dailyInterestCents untuk saldo yang terlalu besar, dengan hasil yang sama
+    private static long exactInterestCents(BigDecimal balance, long rate, long denominator) {
+        return balance.multiply(BigDecimal.valueOf(rate, RATE_SCALE))
+                .divide(BigDecimal.valueOf(denominator / DENOMINATOR_UNIT), 2, RoundingMode.HALF_EVEN)
+                .unscaledValue().longValueExact();
+    }
+
+    private PartitionResult accruePartition(Run run, int partition) {
+        PartitionResult result = new PartitionResult();
+        AccrualCheckpointStore.State state = checkpoints.state(run.date, partition);
+        if (state == AccrualCheckpointStore.State.COMPLETED) {
+            if (postedInLog(run.date, partition, checkpoints.postedRange(run.date, partition))) {
+                result.skipped++;
+                return result;
+            }
+            // Transaksi akrual yang tercatat di checkpoint tidak ada di log, sehingga diproses ulang
+            state = AccrualCheckpointStore.State.STARTED;
+        }
+        boolean recovering = state == AccrualCheckpointStore.State.STARTED;
+        if (recovering) {
+            result.recovered++;
+        } else {
+            checkpoints.markStarted(run.date, partition);
+        }
+
+        int fromId = Math.max(1, partition * PARTITION_SIZE);
+        int toId = (partition + 1) * PARTITION_SIZE;
+        List<TransactionEntity> accruals = new ArrayList<>();
+        for (int id = fromId; id < toId; id++) {
+            AccountEntity account = run.balances.findById(id).orElse(null);
+            if (account == null) {
+                continue;
+            }
+            result.scanned++;
+            long rate = rates[account.accountType().ordinal()];
+            if (rate == 0 || account.balance().signum() <= 0) {
+                continue;
+            }
+            long cents = dailyInterestCents(account.balance(), rate, run.denominator);
+            if (cents == 0 || (recovering && alreadyAccrued(id, run.date))) {
+                continue;
+            }
+            accruals.add(new TransactionEntity(0, id, null, BigDecimal.valueOf(cents, 2),
+                    TransactionType.INTEREST_ACCRUAL, run.date, run.timestamp));
+            result.interestCents += cents;
+        }
+
+        AccrualCheckpointStore.PostedRange posted = AccrualCheckpointStore.PostedRange.NONE;
+        if (!accruals.isEmpty()) {
+            List<TransactionEntity> saved = transactionRepository.saveAll(accruals);
+            posted = new AccrualCheckpointStore.PostedRange(saved.get(0).id(), saved.get(saved.size() - 1).id());
+        }
+        result.posted = accruals.size();
+        checkpoints.markCompleted(run.date, partition, posted);
+        return result;
+    }
+
+    // Mengecek apakah transaksi akrual yang tercatat di checkpoint partisi masih ada di log transaksi
+    private boolean postedInLog(String date, int partition, AccrualCheckpointStore.PostedRange posted) {
+        if (posted == null) {
+            return false;
+        }
+        return posted.isEmpty()
+                || (isAccrualOf(posted.firstId(), date, partition) && isAccrualOf(posted.lastId(), date, partition));
+    }
+
+    private boolean isAccrualOf(int transactionId, String date, int partition) {
+        return transactionRepository.findById(transactionId)
+                .filter(transaction -> transaction.transactionType() == TransactionType.INTEREST_ACCRUAL
+                        && date.equals(transaction.date())
+                        && transaction.accountId() / PARTITION_SIZE == partition)
+                .isPresent();
+    }
+
+    private boolean alreadyAccrued(int accountId, String date) {
+        for (TransactionEntity transaction : transactionRepository.findByAccountIdWithDate(accountId, date)) {
+            if (transaction.transactionType() == TransactionType.INTEREST_ACCRUAL) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parameter satu kali proses akrual yang dipakai bersama oleh semua partisi.
+     */
+    private record Run(AccountRepository balances, String date, long timestamp, long denominator) {
+    }
+
+    /**
+     * Akumulasi hasil akrual satu atau beberapa partisi.
+     */
+    private static final class PartitionResult {
+        private int skipped;
+        private int recovered;
+        private long scanned;
+        private long posted;
+        private long interestCents;
+        private RuntimeException failure;
+
+        private PartitionResult merge(PartitionResult other) {
+            if (failure == null) {
+                failure = other.failure;
+            } else if (other.failure != null) {
+                failure.addSuppressed(other.failure);
+            }
+            skipped += other.skipped;
+            recovered += other.recovered;
+            scanned += other.scanned;
+            posted += other.posted;
+            interestCents += other.interestCents;
+            return this;
+        }
+    }
+
+    /**
+     * Task fork/join yang mengakrualkan rentang partisi [fromPartition, toPartition).
+     */
+    private final class AccrueTask extends RecursiveTask<PartitionResult> {
+        private final transient Run run;
+        private final int fromPartition;
+        private final int toPartition;
+
+        private AccrueTask(Run run, int fromPartition, int toPartition) {
+            this.run = run;
+            this.fromPartition = fromPartition;
+            this.toPartition = toPartition;
+        }
+
+        @Override
+        protected PartitionResult compute() {
+            if (toPartition - fromPartition > 1) {
+                int middle = (fromPartition + toPartition) >>> 1;
+                AccrueTask left = new AccrueTask(run, fromPartition, middle);
+                left.fork();
+                PartitionResult right = new AccrueTask(run, middle, toPartition).compute();
+                return left.join().merge(right);
+            }
+            try {
+                return accruePartition(run, fromPartition);
+            } catch (RuntimeException e) {
+                // Partisi lain tetap diproses; partisi ini diulang pada proses berikutnya
+                PartitionResult failed = new PartitionResult();
+                failed.failure = e;
+                return failed;
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package application.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Interface penjadwal pekerjaan berkala bank di dalam proses, misalnya biaya bulanan kartu,
+ * akrual bunga, snapshot, sweep kartu kedaluwarsa, atau instruksi transfer rutin per rekening.
+ *
+ * <p>Pekerjaan yang jatuh tempo dijalankan oleh pool worker milik implementasi, bukan oleh
+ * thread pemanggil. Pekerjaan berulang dijadwalkan ulang setelah eksekusi sebelumnya selesai,
+ * sehingga satu pekerjaan tidak pernah berjalan tumpang tindih dengan dirinya sendiri.
+ * Jika beberapa jadwal terlewat (misalnya aplikasi sempat berhenti), setiap jadwal yang
+ * terlewat tetap dijalankan satu per satu secara berurutan.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public interface JobScheduler {
+
+    /**
+     * Menjadwalkan pekerjaan sekali jalan.
+     *
+     * @param name nama pekerjaan untuk log
+     * @param task pekerjaan yang dijalankan
+     * @param runAt waktu pekerjaan jatuh tempo; waktu yang sudah lewat berarti segera
+     * @return handle untuk membatalkan atau memantau pekerjaan
+     */
+    ScheduledJob schedule(String name, Runnable task, Instant runAt);
+
+    /**
+     * Menjadwalkan pekerjaan berulang.
+     *
+     * @param name nama pekerjaan untuk log
+     * @param task pekerjaan yang dijalankan
+     * @param firstRunAt waktu jatuh tempo pertama
+     * @param next fungsi yang menghitung jatuh tempo berikutnya dari jatuh tempo sebelumnya;
+     *             mengembalikan null untuk berhenti
+     * @return handle untuk membatalkan atau memantau pekerjaan
+     */
+    ScheduledJob scheduleRecurring(String name, Runnable task, Instant firstRunAt, UnaryOperator<Instant> next);
+
+    /**
+     * Menjadwalkan pekerjaan berulang dengan jarak tetap antar jatuh tempo.
+     *
+     * @param name nama pekerjaan untuk log
+     * @param task pekerjaan yang dijalankan
+     * @param firstRunAt waktu jatuh tempo pertama
+     * @param period jarak antar jatuh tempo
+     * @return handle untuk membatalkan atau memantau pekerjaan
+     * @throws IllegalArgumentException jika period tidak positif
+     */
+    default ScheduledJob scheduleAtFixedRate(String name, Runnable task, Instant firstRunAt, Duration period) {
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Periode jadwal harus positif");
+        }
+        return scheduleRecurring(name, task, firstRunAt, previous -> previous.plus(period));
+    }
+
+    /**
+     * Menjadwalkan pekerjaan bulanan pada tanggal dan jam yang sama dengan jatuh tempo pertama.
+     *
+     * <p>Bulan yang lebih pendek memakai tanggal terakhirnya (misalnya 31 Januari menjadi
+     * 28/29 Februari), lalu kembali ke tanggal semula pada bulan berikutnya.</p>
+     *
+     * @param name nama pekerjaan untuk log
+     * @param task pekerjaan yang dijalankan
+     * @param firstRunAt waktu jatuh tempo pertama
+     * @param zone zona waktu penentu tanggal, biasanya {@link TimeService#zone()}
+     * @return handle untuk membatalkan atau memantau pekerjaan
+     */
+    default ScheduledJob scheduleMonthly(String name, Runnable task, Instant firstRunAt, ZoneId zone) {
+        ZonedDateTime first = firstRunAt.atZone(zone);
+        YearMonth firstMonth = YearMonth.from(first);
+        // Dihitung dari jatuh tempo pertama agar tanggal 31 tidak bergeser permanen menjadi 28
+        return scheduleRecurring(name, task, firstRunAt, previous -> first.plusMonths(
+                firstMonth.until(YearMonth.from(previous.atZone(zone)), ChronoUnit.MONTHS) + 1).toInstant());
+    }
+
+    /**
+     * Handle satu pekerjaan terjadwal.
+     */
+    interface ScheduledJob {
+
+        /**
+         * Mendapatkan nama pekerjaan.
+         *
+         * @return nama pekerjaan
+         */
+        String name();
+
+        /**
+         * Mendapatkan jatuh tempo berikutnya.
+         *
+         * @return waktu jatuh tempo berikutnya, atau null jika pekerjaan sudah selesai atau dibatalkan
+         */
+        Instant nextRunAt();
+
+        /**
+         * Membatalkan pekerjaan. Eksekusi yang sedang berjalan tidak dihentikan, tetapi tidak
+         * dijadwalkan ulang.
+         *
+         * @return true jika pekerjaan dibatalkan oleh panggilan ini
+         */
+        boolean cancel();
+
+        /**
+         * Mengecek apakah pekerjaan sudah dibatalkan.
+         *
+         * @return true jika dibatalkan
+         */
+        boolean isCancelled();
+
+        /**
+         * Mendapatkan jumlah eksekusi yang sudah dimulai.
+         *
+         * @return jumlah eksekusi
+         */
+        long runCount();
+
+        /**
+         * Mendapatkan jumlah eksekusi yang melempar exception.
+         *
+         * @return jumlah eksekusi gagal
+         */
+        long failureCount();
+
+        /**
+         * Mendapatkan keterlambatan eksekusi terakhir, yaitu selisih antara saat pekerjaan
+         * mulai dijalankan worker dan jatuh temponya.
+         *
+         * @return keterlambatan eksekusi terakhir, atau {@link Duration#ZERO} jika belum pernah berjalan
+         */
+        Duration lastLateness();
+    }
+}
@@ -0,0 +1,84 @@
+package application.service;
+
+import domain.repository.AccountRepository;
+import domain.repository.TransactionRepository;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Catatan saldo awal hari yang dipakai {@link ReconciliationService}.
+ *
+ * <p>Saldo awal harus dicatat sebelum transaksi pertama hari itu, jauh sebelum rekonsiliasi
+ * dijalankan. Karena itu catatan ini terpisah dari service rekonsiliasi: container dapat
+ * mencatat snapshot {@link AccountRepository} saat repository rekening dibuat dan setiap
+ * pergantian tanggal, tanpa harus membuat service rekonsiliasi beserta dependensinya.
+ * Hanya snapshot pertama per tanggal yang disimpan, dan catatan yang lebih lama dari
+ * {@link #RETAINED_DAYS} hari dibuang.</p>
+ *
+ * <p>Bersama snapshot dicatat juga ID transaksi pertama hari itu, yaitu
+ * {@link TransactionRepository#lastId()} + 1 saat pencatatan. Rekonsiliasi memakai ID ini
+ * sebagai batas {@link TransactionRepository#scanRange(int, int)} sehingga hanya transaksi
+ * hari tersebut yang dipindai.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class OpeningBalances {
+    /**
+     * Jumlah hari catatan saldo awal yang disimpan.
+     */
+    public static final int RETAINED_DAYS = 7;
+
+    /**
+     * ID transaksi pertama yang tidak diketahui; rekonsiliasi memindai sejak awal riwayat.
+     */
+    public static final int UNKNOWN_TRANSACTION_ID = 0;
+
+    private final Map<String, Opening> openings = new ConcurrentHashMap<>();
+
+    /**
+     * Mencatat saldo awal suatu tanggal jika belum tercatat.
+     *
+     * @param date tanggal dalam format YYYY-MM-DD
+     * @param accounts repository rekening yang saldonya dicatat sebagai snapshot
+     * @param transactions repository transaksi untuk mencatat ID transaksi pertama hari itu,
+     *                     atau null jika belum dibuat sehingga ID tersebut tidak diketahui
+     */
+    public void record(String date, AccountRepository accounts, TransactionRepository transactions) {
+        openings.computeIfAbsent(date, ignored -> new Opening(accounts.snapshot(),
+                transactions != null ? transactions.lastId() + 1 : UNKNOWN_TRANSACTION_ID));
+        String oldest = LocalDate.parse(date).minusDays(RETAINED_DAYS).toString();
+        openings.keySet().removeIf(recorded -> recorded.compareTo(oldest) < 0);
+    }
+
+    /**
+     * Mendapatkan saldo awal suatu tanggal.
+     *
+     * @param date tanggal dalam format YYYY-MM-DD
+     * @return snapshot saldo awal, atau null jika tidak tercatat
+     */
+    public AccountRepository get(String date) {
+        Opening opening = openings.get(date);
+        return opening != null ? opening.accounts() : null;
+    }
+
+    /**
+     * Mendapatkan ID transaksi pertama suatu tanggal.
+     *
+     * @param date tanggal dalam format YYYY-MM-DD
+     * @return ID transaksi pertama, atau {@link #UNKNOWN_TRANSACTION_ID} jika tidak tercatat
+     */
+    public int firstTransactionId(String date) {
+        Opening opening = openings.get(date);
+        return opening != null ? opening.firstTransactionId() : UNKNOWN_TRANSACTION_ID;
+    }
+
+    /**
+     * Snapshot saldo dan ID transaksi pertama yang dicatat bersamaan.
+     */
+    private record Opening(AccountRepository accounts, int firstTransactionId) {
+    }
+}
@@ -0,0 +1,341 @@
+package application.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Pembatas percobaan PIN salah per kartu dengan penguncian sementara.
+ *
+ * <p>Setiap kartu memiliki "utang" percobaan yang dicatat sebagai satu timestamp
+ * (generic cell rate algorithm): setiap PIN salah menambah utang sebesar {@code decaySeconds},
+ * dan utang berkurang dengan sendirinya seiring waktu. Jika jumlah percobaan gagal yang
+ * belum terlupakan mencapai {@code maxFailures}, kartu dikunci selama {@code lockoutSeconds}.
+ * Setelah penguncian berakhir, satu PIN salah lagi sebelum utang berkurang langsung
+ * mengunci kartu kembali. PIN yang benar menghapus utang kartu tersebut.</p>
+ *
+ * <p>State disimpan dalam tabel open addressing di atas {@link AtomicLongArray};
+ * setiap slot berisi ID kartu (32 bit atas) dan timestamp utang (32 bit bawah, epoch seconds
+ * tanpa tanda). Pengecekan penguncian hanya membaca slot tanpa lock dan tanpa alokasi objek,
+ * karena saat terjadi serangan brute force pengecekan inilah jalur yang paling sering dipanggil.
+ * Pencatatan memakai CAS per slot. Hanya slot kartu yang utangnya sudah lunas yang dipakai ulang
+ * oleh kartu lain, sehingga penguncian maupun percobaan gagal yang belum terlupakan tidak pernah
+ * tergusur.</p>
+ *
+ * <p>Ukuran awal tabel sebaiknya diambil dari jumlah kartu lewat {@link #capacityFor(long)}.
+ * Jika lebih dari separuh slot terisi, atau jalur probing sebuah kartu penuh oleh kartu lain yang
+ * masih berutang, tabel digandakan dan slot yang masih berutang dipindahkan; selama pemindahan
+ * pencatatan menunggu, sedangkan pengecekan tetap membaca tabel lama. Jika tabel sudah mencapai
+ * ukuran maksimum dan jalur probing tetap penuh, kartu tersebut dianggap terkunci sampai salah
+ * satu slot lunas (fail closed), sehingga serangan PIN ke banyak kartu sekaligus tidak dapat
+ * membuka kembali kartu yang seharusnya masih terkunci.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class PinAttemptGuard {
+    /**
+     * Jumlah PIN salah bawaan sebelum kartu dikunci.
+     */
+    public static final int DEFAULT_MAX_FAILURES = 3;
+    /**
+     * Waktu bawaan sampai satu PIN salah terlupakan, dalam detik.
+     */
+    public static final long DEFAULT_DECAY_SECONDS = 10 * 60;
+    /**
+     * Lama penguncian bawaan, dalam detik.
+     */
+    public static final long DEFAULT_LOCKOUT_SECONDS = 30 * 60;
+    /**
+     * Jumlah slot awal bawaan tabel percobaan.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private static final int MAX_PROBES = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final long TIME_MASK = 0xFFFF_FFFFL;
+
+    private final TimeService timeService;
+    private final int maxFailures;
+    private final long decaySeconds;
+    private final long lockoutSeconds;
+    private final long lockThreshold;
+    // Pencatatan memegang read lock agar CAS-nya tidak hilang saat tabel dipindahkan dengan write lock
+    private final ReentrantReadWriteLock resizeLock = new ReentrantReadWriteLock();
+    // Jumlah slot yang pernah terisi pada tabel saat ini
+    private final AtomicInteger occupied = new AtomicInteger();
+    private volatile AtomicLongArray slots;
+
+    /**
+     * Konstruktor untuk PinAttemptGuard dengan batas bawaan.
+     *
+     * @param timeService service penyedia waktu
+     */
+    public PinAttemptGuard(TimeService timeService) {
+        this(timeService, DEFAULT_MAX_FAILURES, DEFAULT_DECAY_SECONDS, DEFAULT_LOCKOUT_SECONDS, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Konstruktor untuk PinAttemptGuard.
+     *
+     * @param timeService service penyedia waktu
+     * @param maxFailures jumlah PIN salah sebelum kartu dikunci
+     * @param decaySeconds waktu sampai satu PIN salah terlupakan, dalam detik
+     * @param lockoutSeconds lama penguncian, dalam detik
+     * @param capacity jumlah slot awal tabel, dibulatkan ke pangkat dua; lihat {@link #capacityFor(long)}
+     * @throws IllegalArgumentException jika salah satu parameter tidak positif atau kapasitas lebih dari 2^30
+     */
+    public PinAttemptGuard(TimeService timeService, int maxFailures, long decaySeconds, long lockoutSeconds, int capacity) {
+        if (maxFailures < 1 || decaySeconds < 1 || lockoutSeconds < 1 || capacity < 1) {
+            throw new IllegalArgumentException("Parameter PinAttemptGuard harus positif");
+        }
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Kapasitas PinAttemptGuard maksimal 2^30: " + capacity);
+        }
+        this.timeService = timeService;
+        this.maxFailures = maxFailures;
+        this.decaySeconds = decaySeconds;
+        this.lockoutSeconds = lockoutSeconds;
+        this.lockThreshold = maxFailures * decaySeconds;
+        this.slots = new AtomicLongArray(Math.max(MAX_PROBES, Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1));
+    }
+
+    /**
+     * Menghitung jumlah slot awal tabel untuk sejumlah kartu: dua slot per kartu agar tabel tidak
+     * perlu digandakan walaupun semua kartu sedang berutang, dan tidak kurang dari
+     * {@link #DEFAULT_CAPACITY}.
+     *
+     * @param cards jumlah kartu
+     * @return kapasitas tabel untuk konstruktor
+     */
+    public static int capacityFor(long cards) {
+        return (int) Math.min(MAX_CAPACITY, Math.max(DEFAULT_CAPACITY, cards * 2));
+    }
+
+    /**
+     * Mendapatkan jumlah PIN salah sebelum kartu dikunci.
+     *
+     * @return batas percobaan gagal
+     */
+    public int getMaxFailures() {
+        return maxFailures;
+    }
+
+    /**
+     * Mendapatkan jumlah slot tabel saat ini.
+     *
+     * @return kapasitas tabel
+     */
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Mengecek sisa waktu penguncian kartu tanpa lock dan tanpa alokasi.
+     *
+     * @param cardId ID kartu
+     * @return sisa waktu penguncian dalam detik, atau 0 jika kartu tidak terkunci; kartu yang tidak
+     *         mendapat slot karena jalur probing penuh dianggap terkunci sampai ada slot yang lunas
+     */
+    public long lockedSeconds(int cardId) {
+        AtomicLongArray table = slots;
+        int mask = table.length() - 1;
+        long key = key(cardId);
+        int index = index(cardId, mask);
+        long now = timeService.now();
+        long untilFree = Long.MAX_VALUE;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            long slot = table.get((index + probe) & mask);
+            if (slot == 0) {
+                return 0;
+            }
+            long debt = debt(slot, now);
+            if ((slot >>> 32) == key) {
+                return Math.max(0, debt - lockThreshold);
+            }
+            untilFree = Math.min(untilFree, debt);
+        }
+        // Fail closed: kartu tidak dapat dilacak sampai salah satu slot di jalur probing lunas
+        return untilFree;
+    }
+
+    /**
+     * Mencatat satu PIN salah.
+     *
+     * @param cardId ID kartu
+     * @return jumlah PIN salah yang belum terlupakan, termasuk yang ini; kartu terkunci jika
+     *         nilainya mencapai {@link #getMaxFailures()}, termasuk ketika kartu tidak mendapat slot
+     */
+    public int recordFailure(int cardId) {
+        long key = key(cardId);
+        while (true) {
+            AtomicLongArray table;
+            int failures;
+            resizeLock.readLock().lock();
+            try {
+                table = slots;
+                failures = recordFailure(table, key, index(cardId, table.length() - 1));
+            } finally {
+                resizeLock.readLock().unlock();
+            }
+            if (failures > 0) {
+                if (occupied.get() > table.length() >>> 1) {
+                    grow(table);
+                }
+                return failures;
+            }
+            if (!grow(table)) {
+                // Fail closed: tabel sudah maksimum dan tidak ada slot yang boleh diambil alih
+                return maxFailures;
+            }
+        }
+    }
+
+    /**
+     * Menghapus catatan PIN salah setelah PIN yang benar dimasukkan.
+     *
+     * @param cardId ID kartu
+     */
+    public void recordSuccess(int cardId) {
+        long key = key(cardId);
+        resizeLock.readLock().lock();
+        try {
+            AtomicLongArray table = slots;
+            int mask = table.length() - 1;
+            int index = index(cardId, mask);
+            for (int probe = 0; probe < MAX_PROBES; probe++) {
+                int position = (index + probe) & mask;
+                long slot = table.get(position);
+                if (slot == 0) {
+                    return;
+                }
+                if ((slot >>> 32) == key) {
+                    // Slot tetap dimiliki kartu ini agar rantai probing kartu lain tidak terputus
+                    if ((slot & TIME_MASK) != 0) {
+                        table.compareAndSet(position, slot, key << 32);
+                    }
+                    return;
+                }
+            }
+        } finally {
+            resizeLock.readLock().unlock();
+        }
+    }
+
+    // Mencatat PIN salah pada tabel; 0 jika jalur probing penuh oleh kartu lain yang masih berutang
+    private int recordFailure(AtomicLongArray table, long key, int index) {
+        int mask = table.length() - 1;
+        while (true) {
+            long now = timeService.now();
+            int reusable = -1;
+            long reusableSlot = 0;
+            int found = -1;
+            long foundSlot = 0;
+            for (int probe = 0; probe < MAX_PROBES; probe++) {
+                int position = (index + probe) & mask;
+                long slot = table.get(position);
+                if (slot == 0) {
+                    if (reusable < 0) {
+                        reusable = position;
+                        reusableSlot = 0;
+                    }
+                    break;
+                }
+                if ((slot >>> 32) == key) {
+                    found = position;
+                    foundSlot = slot;
+                    break;
+                }
+                // Hanya slot yang utangnya sudah lunas yang boleh diambil alih
+                if (reusable < 0 && debt(slot, now) == 0) {
+                    reusable = position;
+                    reusableSlot = slot;
+                }
+            }
+            if (found < 0 && reusable < 0) {
+                return 0;
+            }
+
+            int position = found >= 0 ? found : reusable;
+            long expected = found >= 0 ? foundSlot : reusableSlot;
+            long debt = found >= 0 ? debt(foundSlot, now) + decaySeconds : decaySeconds;
+            int failures = (int) Math.min(maxFailures, (debt + decaySeconds - 1) / decaySeconds);
+            if (failures >= maxFailures) {
+                debt = Math.max(debt, lockThreshold + lockoutSeconds);
+            }
+            if (table.compareAndSet(position, expected, (key << 32) | ((now + debt) & TIME_MASK))) {
+                if (expected == 0) {
+                    occupied.incrementAndGet();
+                }
+                return failures;
+            }
+        }
+    }
+
+    /**
+     * Menggandakan tabel dan memindahkan slot yang masih berutang.
+     *
+     * @param observed tabel yang dianggap terlalu penuh oleh pemanggil
+     * @return false jika tabel sudah berukuran maksimum
+     */
+    private boolean grow(AtomicLongArray observed) {
+        resizeLock.writeLock().lock();
+        try {
+            if (slots != observed) {
+                // Thread lain sudah menggandakan tabel
+                return true;
+            }
+            long now = timeService.now();
+            for (int size = observed.length() << 1; size > 0 && size <= MAX_CAPACITY; size <<= 1) {
+                AtomicLongArray table = new AtomicLongArray(size);
+                int count = rehash(observed, table, now);
+                if (count >= 0) {
+                    occupied.set(count);
+                    slots = table;
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            resizeLock.writeLock().unlock();
+        }
+    }
+
+    // Memindahkan slot berutang ke tabel baru; -1 jika ada jalur probing yang masih penuh
+    private int rehash(AtomicLongArray from, AtomicLongArray to, long now) {
+        int mask = to.length() - 1;
+        int count = 0;
+        for (int i = 0; i < from.length(); i++) {
+            long slot = from.get(i);
+            if (slot == 0 || debt(slot, now) == 0) {
+                continue;
+            }
+            int index = index((int) ((slot >>> 32) - 1), mask);
+            int probe = 0;
+            while (probe < MAX_PROBES && to.get((index + probe) & mask) != 0) {
+                probe++;
+            }
+            if (probe == MAX_PROBES) {
+                return -1;
+            }
+            to.set((index + probe) & mask, slot);
+            count++;
+        }
+        return count;
+    }
+
+    private static long key(int cardId) {
+        // ID disimpan +1 agar slot bernilai 0 selalu berarti kosong
+        return (cardId + 1L) & TIME_MASK;
+    }
+
+    private static int index(int cardId, int mask) {
+        int h = cardId * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static long debt(long slot, long now) {
+        return Math.max(0, (slot & TIME_MASK) - (now & TIME_MASK));
+    }
+}
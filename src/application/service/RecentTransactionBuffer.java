@@ -0,0 +1,148 @@
+package application.service;
+
+import domain.entity.TransactionEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Buffer transaksi terbaru per rekening untuk mini-statement ATM dan layar saldo.
+ *
+ * <p>Setiap rekening memiliki ring berukuran tetap berisi referensi {@link TransactionEntity}
+ * terbaru, sehingga memori per rekening tidak bergantung pada panjang riwayat. Ring diisi oleh
+ * {@link TransactionService} setiap kali transaksi disimpan, untuk rekening asal maupun tujuan.
+ * Buffer hanya berisi transaksi yang dicatat sejak proses berjalan; riwayat lengkap tetap
+ * dibaca dari {@link domain.repository.TransactionRepository}.</p>
+ *
+ * <p>Penulis disinkronkan per ring. Pembaca tidak mengambil lock: pembaca mencatat nomor urut
+ * ring, menyalin slot, lalu membaca ulang nomor urut dan mengulang jika slot yang disalin
+ * sudah ditimpa penulis di tengah jalan (pola seqlock). Ring menyimpan slot cadangan sebanyak
+ * kapasitas agar penulisan bersamaan tidak langsung membatalkan pembacaan; jika pembacaan
+ * tetap gagal beberapa kali berturut-turut, pembaca mengambil lock penulis sekali.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class RecentTransactionBuffer {
+    /**
+     * Kapasitas bawaan, sesuai jumlah baris mini-statement ATM.
+     */
+    public static final int DEFAULT_CAPACITY = 10;
+
+    private final int capacity;
+    private final ConcurrentHashMap<Integer, Ring> rings = new ConcurrentHashMap<>();
+
+    /**
+     * Konstruktor untuk RecentTransactionBuffer.
+     *
+     * @param capacity jumlah transaksi terbaru yang disimpan per rekening
+     * @throws IllegalArgumentException jika kapasitas kurang dari 1
+     */
+    public RecentTransactionBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Kapasitas buffer transaksi terbaru minimal 1: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Mengambil kapasitas ring per rekening.
+     *
+     * @return jumlah transaksi terbaru yang disimpan per rekening
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Mencatat transaksi yang baru disimpan ke ring rekening asal dan rekening tujuannya.
+     *
+     * @param transaction transaksi yang sudah disimpan (sudah memiliki ID)
+     */
+    public void record(TransactionEntity transaction) {
+        ring(transaction.accountId()).add(transaction);
+        Integer destinationAccountId = transaction.destinationAccountId();
+        if (destinationAccountId != null && destinationAccountId != transaction.accountId()) {
+            ring(destinationAccountId).add(transaction);
+        }
+    }
+
+    /**
+     * Mengambil transaksi terbaru satu rekening; pada kondisi normal tanpa mengambil lock.
+     *
+     * @param accountId ID rekening
+     * @param limit jumlah maksimum transaksi; dibatasi oleh kapasitas ring
+     * @return transaksi terbaru, dari yang paling baru
+     */
+    public List<TransactionEntity> getRecent(int accountId, int limit) {
+        Ring ring = rings.get(accountId);
+        if (ring == null || limit <= 0) {
+            return List.of();
+        }
+        return ring.read(Math.min(limit, capacity));
+    }
+
+    private Ring ring(int accountId) {
+        return rings.computeIfAbsent(accountId, id -> new Ring(capacity));
+    }
+
+    /**
+     * Ring transaksi terbaru satu rekening.
+     *
+     * <p>{@code sequence} adalah jumlah transaksi yang pernah dicatat; transaksi ke-{@code s}
+     * berada di slot {@code s % slots.length()}. Slot ditulis sebelum {@code sequence} dinaikkan,
+     * sehingga pembaca yang melihat {@code sequence = s} juga melihat isi slot sebelum {@code s}.</p>
+     */
+    private static final class Ring {
+        private static final int OPTIMISTIC_ATTEMPTS = 8;
+
+        private final AtomicReferenceArray<TransactionEntity> slots;
+        private volatile long sequence;
+
+        private Ring(int capacity) {
+            this.slots = new AtomicReferenceArray<>(capacity * 2);
+        }
+
+        private synchronized void add(TransactionEntity transaction) {
+            long next = sequence;
+            slots.setRelease((int) (next % slots.length()), transaction);
+            sequence = next + 1;
+        }
+
+        private List<TransactionEntity> read(int limit) {
+            TransactionEntity[] copied = new TransactionEntity[limit];
+            for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS; attempt++) {
+                long end = sequence;
+                int count = copy(end, limit, copied);
+                // Slot tertua yang disalin (end - count) ditimpa saat penulis mulai menulis nomor urut
+                // end - count + slots.length(); penulis yang sedang berjalan menulis nomor urut sequence
+                if (sequence < end - count + slots.length()) {
+                    return toList(copied, count);
+                }
+                Thread.onSpinWait();
+            }
+            synchronized (this) {
+                return toList(copied, copy(sequence, limit, copied));
+            }
+        }
+
+        private int copy(long end, int limit, TransactionEntity[] copied) {
+            int count = (int) Math.min(limit, end);
+            for (int i = 0; i < count; i++) {
+                copied[i] = slots.getAcquire((int) ((end - 1 - i) % slots.length()));
+            }
+            return count;
+        }
+
+        private static List<TransactionEntity> toList(TransactionEntity[] copied, int count) {
+            List<TransactionEntity> recent = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                recent.add(copied[i]);
+            }
+            return recent;
+        }
+    }
+}
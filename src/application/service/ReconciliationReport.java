@@ -0,0 +1,62 @@
+package application.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Hasil rekonsiliasi akhir hari antara saldo rekening dan riwayat transaksi.
+ *
+ * <p>Untuk setiap rekening yang terverifikasi berlaku
+ * {@code saldo awal + pengaruh transaksi hari itu = saldo akhir}. Secara total, selisih
+ * saldo akhir dan saldo awal rekening yang dibandingkan harus sama dengan arus bersih
+ * (setoran dikurangi penarikan, biaya bulanan, dan biaya transfer).</p>
+ *
+ * @param date tanggal yang direkonsiliasi dalam format YYYY-MM-DD
+ * @param transactionsReplayed jumlah transaksi pada tanggal tersebut yang diputar ulang
+ * @param accountsChecked jumlah rekening yang dibandingkan
+ * @param unverifiedAccounts jumlah rekening yang dibuka setelah saldo awal dicatat sehingga tidak dapat diverifikasi
+ * @param openingTotal total saldo awal rekening yang dibandingkan
+ * @param closingTotal total saldo akhir rekening yang dibandingkan
+ * @param netFlow arus bersih rekening yang dibandingkan menurut riwayat transaksi hari itu
+ * @param discrepancies daftar rekening yang saldonya tidak sesuai
+ * @param elapsedNanos lama proses rekonsiliasi dalam nanodetik
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public record ReconciliationReport(String date, long transactionsReplayed, int accountsChecked, int unverifiedAccounts,
+                                   BigDecimal openingTotal, BigDecimal closingTotal, BigDecimal netFlow,
+                                   List<Discrepancy> discrepancies, long elapsedNanos) {
+
+    /**
+     * Mengecek apakah buku besar seimbang: tidak ada selisih per rekening dan total saldo konsisten.
+     *
+     * @return true jika rekonsiliasi lolos
+     */
+    public boolean isBalanced() {
+        return discrepancies.isEmpty() && openingTotal.add(netFlow).compareTo(closingTotal) == 0;
+    }
+
+    /**
+     * Selisih saldo satu rekening.
+     *
+     * @param accountId ID rekening
+     * @param accountNumber nomor rekening
+     * @param openingBalance saldo awal hari
+     * @param expectedBalance saldo akhir menurut riwayat transaksi
+     * @param actualBalance saldo akhir yang tersimpan di repository
+     */
+    public record Discrepancy(int accountId, String accountNumber, BigDecimal openingBalance,
+                              BigDecimal expectedBalance, BigDecimal actualBalance) {
+
+        /**
+         * Menghitung selisih saldo aktual terhadap saldo yang diharapkan.
+         *
+         * @return saldo aktual dikurangi saldo yang diharapkan
+         */
+        public BigDecimal difference() {
+            return actualBalance.subtract(expectedBalance);
+        }
+    }
+}
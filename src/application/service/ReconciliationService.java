@@ -0,0 +1,264 @@
+package application.service;
+
+import domain.entity.AccountEntity;
+import domain.entity.TransactionEntity;
+import domain.repository.AccountRepository;
+import domain.repository.TransactionRepository;
+import domain.util.TransactionEffects;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service untuk rekonsiliasi akhir hari antara saldo rekening dan riwayat transaksi.
+ *
+ * <p>Rekonsiliasi berjalan dua tahap di atas {@link ForkJoinPool}:</p>
+ * <ol>
+ *   <li>Transaksi pada tanggal tersebut diputar ulang dengan scan paralel dan
+ *       pengaruhnya diakumulasikan per rekening ke dalam {@link AtomicLongArray} dalam satuan
+ *       terkecil (long), sehingga tidak ada BigDecimal yang dibuat per transaksi.</li>
+ *   <li>Rekening dibagi menjadi partisi rentang ID; setiap partisi membandingkan
+ *       {@code saldo awal + delta} dengan saldo akhir dan mengumpulkan selisihnya.</li>
+ * </ol>
+ *
+ * <p>Saldo awal setiap hari dicatat di {@link OpeningBalances} sebagai snapshot
+ * {@link AccountRepository#snapshot()} ketika {@link TimeService} melaporkan pergantian tanggal,
+ * dan sekali saat service dibuat. Container dapat mencatatnya sendiri lalu memberikan catatan
+ * tersebut ke service ini, sehingga service baru perlu dibuat saat rekonsiliasi dijalankan.
+ * Catatan yang sama menyimpan ID transaksi pertama setiap hari, sehingga scan hanya mencakup
+ * rentang ID hari tersebut dan tidak memindai seluruh riwayat.
+ * Saldo pembukaan rekening tidak dicatat sebagai transaksi, sehingga rekening yang dibuka
+ * setelah saldo awal dicatat dilaporkan sebagai tidak terverifikasi. Jalankan rekonsiliasi
+ * ketika tidak ada transaksi yang sedang berjalan, karena transaksi dan saldo rekening
+ * disimpan dalam langkah terpisah.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class ReconciliationService {
+    private static final int PARTITION_SIZE = 4096;
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final ForkJoinPool pool;
+    private final OpeningBalances openingBalances;
+
+    /**
+     * Konstruktor untuk ReconciliationService menggunakan common pool.
+     *
+     * @param accountRepository repository untuk mengakses data rekening
+     * @param transactionRepository repository untuk membaca riwayat transaksi
+     * @param timeService service penyedia tanggal bisnis dan event pergantian tanggal
+     */
+    public ReconciliationService(AccountRepository accountRepository, TransactionRepository transactionRepository,
+                                 TimeService timeService) {
+        this(accountRepository, transactionRepository, timeService, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Konstruktor untuk ReconciliationService dengan pool tertentu.
+     *
+     * @param accountRepository repository untuk mengakses data rekening
+     * @param transactionRepository repository untuk membaca riwayat transaksi
+     * @param timeService service penyedia tanggal bisnis dan event pergantian tanggal
+     * @param pool pool fork/join untuk menjalankan rekonsiliasi
+     */
+    public ReconciliationService(AccountRepository accountRepository, TransactionRepository transactionRepository,
+                                 TimeService timeService, ForkJoinPool pool) {
+        this(accountRepository, transactionRepository, new OpeningBalances(), pool);
+        openingBalances.record(timeService.today(), accountRepository, transactionRepository);
+        timeService.addDateRolloverListener((previousDate, currentDate) ->
+                openingBalances.record(currentDate, accountRepository, transactionRepository));
+    }
+
+    /**
+     * Konstruktor untuk ReconciliationService dengan saldo awal yang dicatat pihak lain.
+     *
+     * @param accountRepository repository untuk mengakses data rekening
+     * @param transactionRepository repository untuk membaca riwayat transaksi
+     * @param openingBalances catatan saldo awal hari yang diisi oleh pemanggil
+     * @param pool pool fork/join untuk menjalankan rekonsiliasi
+     */
+    public ReconciliationService(AccountRepository accountRepository, TransactionRepository transactionRepository,
+                                 OpeningBalances openingBalances, ForkJoinPool pool) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.openingBalances = openingBalances;
+        this.pool = pool;
+    }
+
+    /**
+     * Merekonsiliasi satu tanggal menggunakan saldo awal yang sudah dicatat.
+     *
+     * <p>Saldo akhir diambil dari snapshot awal hari berikutnya jika sudah ada, atau dari
+     * saldo rekening saat ini jika tanggal tersebut masih berjalan.</p>
+     *
+     * @param date tanggal dalam format YYYY-MM-DD
+     * @return laporan rekonsiliasi
+     * @throws IllegalStateException jika saldo awal untuk tanggal tersebut tidak tersedia
+     */
+    public ReconciliationReport reconcile(String date) {
+        AccountRepository opening = openingBalances.get(date);
+        if (opening == null) {
+            throw new IllegalStateException("Saldo awal untuk tanggal " + date + " tidak tersedia");
+        }
+        AccountRepository closing = openingBalances.get(LocalDate.parse(date).plusDays(1).toString());
+        return reconcile(date, opening, closing != null ? closing : accountRepository.snapshot());
+    }
+
+    /**
+     * Merekonsiliasi satu tanggal dengan saldo awal dan saldo akhir yang ditentukan pemanggil.
+     *
+     * <p>Transaksi dipindai mulai ID transaksi pertama tanggal tersebut sampai ID transaksi
+     * pertama hari berikutnya jika keduanya tercatat di {@link OpeningBalances}; batas yang
+     * tidak tercatat diganti dengan awal atau akhir riwayat.</p>
+     *
+     * @param date tanggal dalam format YYYY-MM-DD
+     * @param opening saldo rekening pada awal hari (sebaiknya berupa snapshot)
+     * @param closing saldo rekening pada akhir hari (sebaiknya berupa snapshot)
+     * @return laporan rekonsiliasi
+     */
+    public ReconciliationReport reconcile(String date, AccountRepository opening, AccountRepository closing) {
+        long start = System.nanoTime();
+        TransactionRepository history = transactionRepository.snapshot();
+        int fromId = Math.max(openingBalances.firstTransactionId(date), 1);
+        int nextDayId = openingBalances.firstTransactionId(LocalDate.parse(date).plusDays(1).toString());
+        int toId = nextDayId != OpeningBalances.UNKNOWN_TRANSACTION_ID ? nextDayId : history.lastId() + 1;
+        int maxAccountId = closing.scan(null).mapToInt(AccountEntity::id).max().orElse(0);
+
+        // Tahap 1: putar ulang transaksi hari itu secara paralel; tanggal tetap diperiksa untuk
+        // transaksi yang disimpan tepat saat pergantian tanggal
+        AtomicLongArray deltas = new AtomicLongArray(maxAccountId + 1);
+        LongAdder replayed = new LongAdder();
+        pool.submit(() -> history.scanRange(fromId, toId)
+                .parallel()
+                .filter(transaction -> date.equals(transaction.date()))
+                .forEach(transaction -> {
+                    replay(transaction, deltas);
+                    replayed.increment();
+                })).join();
+
+        // Tahap 2: bandingkan saldo per partisi rekening
+        PartitionResult result = pool.invoke(new CompareTask(opening, closing, deltas, 1, maxAccountId + 1));
+
+        return new ReconciliationReport(
+                date,
+                replayed.sum(),
+                result.checked,
+                result.unverified,
+                TransactionEffects.fromMinorUnits(result.openingTotal),
+                TransactionEffects.fromMinorUnits(result.closingTotal),
+                TransactionEffects.fromMinorUnits(result.netFlow),
+                List.copyOf(result.discrepancies),
+                System.nanoTime() - start
+        );
+    }
+
+    private static void replay(TransactionEntity transaction, AtomicLongArray deltas) {
+        if (!TransactionEffects.affectsBalance(transaction.transactionType())) {
+            return;
+        }
+        long amount = TransactionEffects.toMinorUnits(transaction.amount());
+        int originId = transaction.accountId();
+        if (originId > 0 && originId < deltas.length()) {
+            deltas.addAndGet(originId, TransactionEffects.isCredit(transaction.transactionType()) ? amount : -amount);
+        }
+        Integer destinationId = transaction.destinationAccountId();
+        if (destinationId != null && destinationId > 0 && destinationId < deltas.length()) {
+            deltas.addAndGet(destinationId,
+                    TransactionEffects.destinationCreditMinorUnits(transaction.transactionType(), amount));
+        }
+    }
+
+    /**
+     * Akumulasi hasil perbandingan satu partisi rekening.
+     */
+    private static final class PartitionResult {
+        private int checked;
+        private int unverified;
+        private long openingTotal;
+        private long closingTotal;
+        private long netFlow;
+        private final List<ReconciliationReport.Discrepancy> discrepancies = new ArrayList<>();
+
+        private PartitionResult merge(PartitionResult other) {
+            checked += other.checked;
+            unverified += other.unverified;
+            openingTotal += other.openingTotal;
+            closingTotal += other.closingTotal;
+            netFlow += other.netFlow;
+            discrepancies.addAll(other.discrepancies);
+            return this;
+        }
+    }
+
+    /**
+     * Task fork/join yang membandingkan saldo untuk rentang ID rekening [fromId, toId).
+     */
+    private static final class CompareTask extends RecursiveTask<PartitionResult> {
+        private final transient AccountRepository opening;
+        private final transient AccountRepository closing;
+        private final AtomicLongArray deltas;
+        private final int fromId;
+        private final int toId;
+
+        private CompareTask(AccountRepository opening, AccountRepository closing, AtomicLongArray deltas,
+                            int fromId, int toId) {
+            this.opening = opening;
+            this.closing = closing;
+            this.deltas = deltas;
+            this.fromId = fromId;
+            this.toId = toId;
+        }
+
+        @Override
+        protected PartitionResult compute() {
+            if (toId - fromId > PARTITION_SIZE) {
+                int middle = (fromId + toId) >>> 1;
+                CompareTask left = new CompareTask(opening, closing, deltas, fromId, middle);
+                left.fork();
+                PartitionResult right = new CompareTask(opening, closing, deltas, middle, toId).compute();
+                return left.join().merge(right);
+            }
+
+            PartitionResult result = new PartitionResult();
+            for (int id = fromId; id < toId; id++) {
+                AccountEntity actual = closing.findById(id).orElse(null);
+                if (actual == null) {
+                    continue;
+                }
+                AccountEntity initial = opening.findById(id).orElse(null);
+                if (initial == null) {
+                    result.unverified++;
+                    continue;
+                }
+                long openingBalance = TransactionEffects.toMinorUnits(initial.balance());
+                long actualBalance = TransactionEffects.toMinorUnits(actual.balance());
+                long delta = deltas.get(id);
+                long expectedBalance = openingBalance + delta;
+
+                result.checked++;
+                result.openingTotal += openingBalance;
+                result.closingTotal += actualBalance;
+                result.netFlow += delta;
+                if (expectedBalance != actualBalance) {
+                    result.discrepancies.add(new ReconciliationReport.Discrepancy(
+                            id,
+                            actual.accountNumber(),
+                            initial.balance(),
+                            TransactionEffects.fromMinorUnits(expectedBalance),
+                            actual.balance()
+                    ));
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package application.service;
+
+import domain.entity.AccountEntity;
+import domain.entity.TransactionEntity;
+import domain.exception.AccountException;
+import domain.repository.AccountRepository;
+import domain.repository.TransactionRepository;
+import domain.util.CurrencyFormatter;
+import domain.util.TransactionEffects;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * Service untuk membuat rekening koran (account statement) satu rekening.
+ *
+ * <p>Riwayat transaksi dibaca melalui cursor {@link TransactionRepository#iterateByAccountId}
+ * dan setiap baris langsung ditulis ke {@link Writer}, sehingga memori yang dipakai tetap
+ * konstan berapa pun panjang riwayatnya. Saldo awal periode dihitung mundur dari saldo
+ * rekening saat ini karena saldo pembukaan rekening tidak dicatat sebagai transaksi.</p>
+ *
+ * <p>Format baris: {@code tanggal | ID | tipe | debit/kredit | jumlah | saldo}.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class StatementService {
+    private static final String SEPARATOR = " | ";
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+
+    /**
+     * Konstruktor untuk StatementService.
+     *
+     * @param accountRepository repository untuk mengakses data rekening
+     * @param transactionRepository repository untuk membaca riwayat transaksi
+     */
+    public StatementService(AccountRepository accountRepository, TransactionRepository transactionRepository) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+    }
+
+    /**
+     * Menulis rekening koran ke Writer.
+     *
+     * <p>Riwayat dibaca dua kali: pertama untuk menghitung saldo awal periode, kedua
+     * untuk menulis baris transaksi beserta saldo berjalan. Writer tidak ditutup.</p>
+     *
+     * @param accountNumber nomor rekening
+     * @param fromDate tanggal awal inklusif dalam format YYYY-MM-DD
+     * @param toDate tanggal akhir inklusif dalam format YYYY-MM-DD
+     * @param writer tujuan penulisan rekening koran
+     * @return saldo akhir periode
+     * @throws AccountException.AccountNotFound jika rekening tidak ditemukan
+     * @throws IOException jika penulisan gagal
+     */
+    public BigDecimal writeStatement(String accountNumber, String fromDate, String toDate, Writer writer)
+            throws IOException {
+        AccountEntity account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException.AccountNotFound(accountNumber));
+
+        // Kedua pass membaca snapshot yang sama agar saldo awal dan baris transaksi konsisten
+        TransactionRepository history = transactionRepository.snapshot();
+        BigDecimal balance = getOpeningBalance(history, account, fromDate);
+
+        writer.write("REKENING KORAN " + account.accountNumber() + " (" + fromDate + " s/d " + toDate + ")\n");
+        writer.write("Saldo awal" + SEPARATOR + CurrencyFormatter.format(balance) + "\n");
+
+        Iterator<TransactionEntity> cursor = history.iterateByAccountId(account.id(), fromDate, toDate);
+        while (cursor.hasNext()) {
+            TransactionEntity transaction = cursor.next();
+            BigDecimal effect = TransactionEffects.effectOn(transaction, account.id());
+            balance = balance.add(effect);
+
+            writer.write(transaction.date());
+            writer.write(SEPARATOR);
+            writer.write(Integer.toString(transaction.id()));
+            writer.write(SEPARATOR);
+            writer.write(transaction.transactionType().name());
+            writer.write(SEPARATOR);
+            writer.write(effect.signum() < 0 ? "DB" : "CR");
+            writer.write(SEPARATOR);
+            writer.write(CurrencyFormatter.format(effect.abs()));
+            writer.write(SEPARATOR);
+            writer.write(CurrencyFormatter.format(balance));
+            writer.write('\n');
+        }
+
+        writer.write("Saldo akhir" + SEPARATOR + CurrencyFormatter.format(balance) + "\n");
+        writer.flush();
+        return balance;
+    }
+
+    /**
+     * Menulis rekening koran ke channel dengan encoding UTF-8.
+     *
+     * @param accountNumber nomor rekening
+     * @param fromDate tanggal awal inklusif dalam format YYYY-MM-DD
+     * @param toDate tanggal akhir inklusif dalam format YYYY-MM-DD
+     * @param channel tujuan penulisan rekening koran; channel tidak ditutup
+     * @return saldo akhir periode
+     * @throws AccountException.AccountNotFound jika rekening tidak ditemukan
+     * @throws IOException jika penulisan gagal
+     */
+    public BigDecimal writeStatement(String accountNumber, String fromDate, String toDate, WritableByteChannel channel)
+            throws IOException {
+        Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8);
+        return writeStatement(accountNumber, fromDate, toDate, writer);
+    }
+
+    /**
+     * Menghitung saldo rekening pada awal tanggal tertentu.
+     *
+     * <p>Saldo dihitung dari saldo saat ini dikurangi pengaruh semua transaksi
+     * sejak tanggal tersebut, dibaca melalui cursor tanpa menyimpan riwayat.</p>
+     *
+     * @param history snapshot riwayat transaksi
+     * @param account rekening
+     * @param fromDate tanggal dalam format YYYY-MM-DD
+     * @return saldo sebelum transaksi pertama pada tanggal tersebut
+     */
+    private BigDecimal getOpeningBalance(TransactionRepository history, AccountEntity account, String fromDate) {
+        BigDecimal balance = account.balance();
+        Iterator<TransactionEntity> cursor = history.iterateByAccountId(account.id(), fromDate, null);
+        while (cursor.hasNext()) {
+            balance = balance.subtract(TransactionEffects.effectOn(cursor.next(), account.id()));
+        }
+        return balance;
+    }
+}
@@ -0,0 +1,66 @@
+package application.service;
+
+import java.time.ZoneId;
+
+/**
+ * Interface service untuk menyediakan waktu dan tanggal bisnis dalam sistem perbankan.
+ *
+ * <p>Interface ini menggantikan pemanggilan statis {@link domain.util.LocalTimeZone}
+ * agar sumber waktu dapat di-inject (misalnya jam palsu untuk pengujian). Seluruh
+ * tanggal bisnis dihitung dalam timezone Asia/Makassar (WITA).</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public interface TimeService {
+
+    /**
+     * Mengembalikan timezone yang digunakan untuk menentukan tanggal bisnis.
+     *
+     * @return timezone bisnis (Asia/Makassar)
+     */
+    ZoneId zone();
+
+    /**
+     * Mendapatkan timestamp saat ini dalam epoch seconds.
+     *
+     * @return timestamp saat ini dalam epoch seconds
+     */
+    long now();
+
+    /**
+     * Mendapatkan tanggal bisnis saat ini dalam format YYYY-MM-DD.
+     *
+     * <p>String tanggal sudah dihitung sebelumnya dan hanya diganti ketika
+     * tengah malam WITA terlewati, sehingga pemanggilan method ini tidak
+     * membuat objek baru.</p>
+     *
+     * @return tanggal bisnis saat ini dalam format YYYY-MM-DD
+     */
+    String today();
+
+    /**
+     * Mendaftarkan listener yang dipanggil setiap kali tanggal bisnis berganti.
+     *
+     * @param listener listener yang akan menerima event pergantian tanggal
+     */
+    void addDateRolloverListener(DateRolloverListener listener);
+
+    /**
+     * Listener untuk event pergantian tanggal bisnis (tengah malam WITA).
+     *
+     * <p>Contoh penggunaan: me-reset counter batas transaksi harian.</p>
+     */
+    @FunctionalInterface
+    interface DateRolloverListener {
+
+        /**
+         * Dipanggil tepat satu kali untuk setiap pergantian tanggal.
+         *
+         * @param previousDate tanggal sebelumnya dalam format YYYY-MM-DD
+         * @param currentDate tanggal baru dalam format YYYY-MM-DD
+         */
+        void onDateRollover(String previousDate, String currentDate);
+    }
+}
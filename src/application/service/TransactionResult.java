@@ -0,0 +1,143 @@
+package application.service;
+
+import domain.entity.TransactionEntity;
+import domain.exception.AccountException;
+import domain.exception.BankingException;
+import domain.exception.CardException;
+import domain.exception.CardTypeException;
+import domain.exception.TransactionException;
+import domain.value.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * Hasil transaksi dari API non-throwing {@link TransactionService}.
+ *
+ * <p>Hasil berupa {@link Success} yang membawa transaksi yang sudah dicatat, atau
+ * {@link Rejected} yang membawa kode penolakan beserta detailnya. Penolakan tidak
+ * membuat exception sehingga cocok untuk workload dengan tingkat penolakan tinggi
+ * (fraud screening, probing limit). Gunakan {@link #orThrow()} untuk mendapatkan
+ * perilaku lama berbasis exception.</p>
+ *
+ * <pre>
+ * switch (transactionService.tryWithdrawMoneyViaTeller(accountNumber, amount)) {
+ *     case TransactionResult.Success success -&gt; log.info("ID: " + success.transaction().id());
+ *     case TransactionResult.Rejected rejected -&gt; log.warn(rejected.code().errorCode());
+ * }
+ * </pre>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public sealed interface TransactionResult permits TransactionResult.Success, TransactionResult.Rejected {
+
+    /**
+     * Mengecek apakah transaksi berhasil dicatat.
+     *
+     * @return true jika hasil berupa {@link Success}
+     */
+    boolean isSuccess();
+
+    /**
+     * Mengembalikan transaksi yang dicatat, atau melempar exception yang sesuai jika ditolak.
+     *
+     * @return transaksi yang berhasil dicatat
+     * @throws BankingException jika transaksi ditolak
+     */
+    TransactionEntity orThrow();
+
+    /**
+     * Transaksi berhasil dicatat.
+     *
+     * @param transaction transaksi yang disimpan di repository (sudah memiliki ID)
+     */
+    record Success(TransactionEntity transaction) implements TransactionResult {
+
+        @Override
+        public boolean isSuccess() {
+            return true;
+        }
+
+        @Override
+        public TransactionEntity orThrow() {
+            return transaction;
+        }
+    }
+
+    /**
+     * Transaksi ditolak oleh validasi bisnis.
+     *
+     * <p>Field yang tidak relevan untuk suatu kode bernilai {@code null} atau {@code 0}.</p>
+     *
+     * @param code kode penolakan
+     * @param accountNumber nomor rekening yang terkait penolakan
+     * @param entityId ID entity yang terkait (rekening, kartu, atau tipe kartu)
+     * @param transactionType tipe transaksi yang ditolak
+     * @param actual nilai aktual (jumlah transaksi, saldo saat ini, total harian, nilai velocity,
+     *               jumlah PIN salah, atau sisa detik penguncian kartu)
+     * @param threshold batas yang dilanggar (jumlah dibutuhkan, batas harian, batas velocity, atau
+     *                  batas PIN salah)
+     */
+    record Rejected(Code code, String accountNumber, int entityId, TransactionType transactionType,
+                    BigDecimal actual, BigDecimal threshold) implements TransactionResult {
+
+        @Override
+        public boolean isSuccess() {
+            return false;
+        }
+
+        @Override
+        public TransactionEntity orThrow() {
+            throw toException();
+        }
+
+        /**
+         * Membuat exception yang setara dengan penolakan ini.
+         *
+         * @return exception dengan error code, pesan, dan context yang sama seperti API throwing
+         */
+        public BankingException toException() {
+            return switch (code) {
+                case INVALID_TRANSACTION_AMOUNT -> new TransactionException.InvalidTransactionAmount(actual);
+                case SAME_ACCOUNT_TRANSFER -> new TransactionException.SameAccountTransfer(accountNumber);
+                case ACCOUNT_NOT_FOUND -> new AccountException.AccountNotFound(accountNumber);
+                case CARD_NOT_FOUND -> new CardException.CardNotFound(entityId);
+                case INVALID_PIN -> new CardException.InvalidPin(entityId, actual.intValue());
+                case CARD_LOCKED -> new CardException.CardLocked(entityId, actual.longValue());
+                case CARD_TYPE_NOT_FOUND -> new CardTypeException.CardTypeNotFound(entityId);
+                case INSUFFICIENT_BALANCE -> new AccountException.InsufficientBalance(accountNumber, actual, threshold);
+                case DAILY_LIMIT_EXCEEDED -> new TransactionException.DailyLimitExceeded(
+                        accountNumber, transactionType.name(), actual, threshold);
+                case VELOCITY_LIMIT_EXCEEDED -> new TransactionException.VelocityLimitExceeded(
+                        accountNumber, transactionType.name(), actual, threshold);
+            };
+        }
+    }
+
+    /**
+     * Kode penolakan transaksi. Nilai {@link #errorCode()} sama dengan error code
+     * pada exception yang dihasilkan {@link Rejected#toException()}.
+     */
+    enum Code {
+        INVALID_TRANSACTION_AMOUNT,
+        SAME_ACCOUNT_TRANSFER,
+        ACCOUNT_NOT_FOUND,
+        CARD_NOT_FOUND,
+        INVALID_PIN,
+        CARD_LOCKED,
+        CARD_TYPE_NOT_FOUND,
+        INSUFFICIENT_BALANCE,
+        DAILY_LIMIT_EXCEEDED,
+        VELOCITY_LIMIT_EXCEEDED;
+
+        /**
+         * Mendapatkan error code dalam bentuk string.
+         *
+         * @return error code, sama dengan nama konstanta
+         */
+        public String errorCode() {
+            return name();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package application.service;
 
-import domain.util.LocalTimeZone;
+import application.diagnostic.DailyLimitEvent;
+import application.diagnostic.TransactionCommandEvent;
 import domain.entity.AccountCardEntity;
 import domain.entity.AccountEntity;
 import domain.entity.CardTypeEntity;
@@ -16,7 +17,6 @@ import domain.repository.TransactionRepository;
 import domain.value.TransactionType;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.List;
 
 /**
@@ -35,6 +35,10 @@ public class TransactionService {
     private final AccountCardRepository accountCardRepository;
     private final CardTypeRepository cardTypeRepository;
     private final TransactionRepository transactionRepository;
+    private final TimeService timeService;
+    private final RecentTransactionBuffer recentTransactions;
+    private final CardVelocityScreen velocityScreen;
+    private final PinAttemptGuard pinAttemptGuard;
 
     /**
      * Konstruktor untuk TransactionService.
@@ -43,13 +47,79 @@ public class TransactionService {
      * @param accountCardRepository repository untuk mengakses data kartu rekening
      * @param cardTypeRepository repository untuk mengakses data tipe kartu
      * @param transactionRepository repository untuk mengakses data transaksi
+     * @param timeService service penyedia waktu dan tanggal bisnis
      */
     public TransactionService(
-            AccountRepository accountRepository, AccountCardRepository accountCardRepository, CardTypeRepository cardTypeRepository, TransactionRepository transactionRepository) {
+            AccountRepository accountRepository, AccountCardRepository accountCardRepository, CardTypeRepository cardTypeRepository,
+            TransactionRepository transactionRepository, TimeService timeService) {
+        this(accountRepository, accountCardRepository, cardTypeRepository, transactionRepository, timeService,
+                new RecentTransactionBuffer(RecentTransactionBuffer.DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Konstruktor untuk TransactionService dengan buffer transaksi terbaru yang ditentukan
+     * dan screening velocity dengan aturan bawaan.
+     *
+     * @param accountRepository repository untuk mengakses data rekening
+     * @param accountCardRepository repository untuk mengakses data kartu rekening
+     * @param cardTypeRepository repository untuk mengakses data tipe kartu
+     * @param transactionRepository repository untuk mengakses data transaksi
+     * @param timeService service penyedia waktu dan tanggal bisnis
+     * @param recentTransactions buffer transaksi terbaru per rekening untuk mini-statement
+     * @since 1.1
+     */
+    public TransactionService(
+            AccountRepository accountRepository, AccountCardRepository accountCardRepository, CardTypeRepository cardTypeRepository,
+            TransactionRepository transactionRepository, TimeService timeService, RecentTransactionBuffer recentTransactions) {
+        this(accountRepository, accountCardRepository, cardTypeRepository, transactionRepository, timeService,
+                recentTransactions, CardVelocityScreen.withDefaultRules());
+    }
+
+    /**
+     * Konstruktor untuk TransactionService dengan buffer transaksi terbaru dan screening velocity yang ditentukan.
+     *
+     * @param accountRepository repository untuk mengakses data rekening
+     * @param accountCardRepository repository untuk mengakses data kartu rekening
+     * @param cardTypeRepository repository untuk mengakses data tipe kartu
+     * @param transactionRepository repository untuk mengakses data transaksi
+     * @param timeService service penyedia waktu dan tanggal bisnis
+     * @param recentTransactions buffer transaksi terbaru per rekening untuk mini-statement
+     * @param velocityScreen screening fraud velocity untuk transaksi kartu
+     * @since 1.1
+     */
+    public TransactionService(
+            AccountRepository accountRepository, AccountCardRepository accountCardRepository, CardTypeRepository cardTypeRepository,
+            TransactionRepository transactionRepository, TimeService timeService, RecentTransactionBuffer recentTransactions,
+            CardVelocityScreen velocityScreen) {
+        this(accountRepository, accountCardRepository, cardTypeRepository, transactionRepository, timeService,
+                recentTransactions, velocityScreen, new PinAttemptGuard(timeService));
+    }
+
+    /**
+     * Konstruktor untuk TransactionService dengan pembatas percobaan PIN yang ditentukan.
+     *
+     * @param accountRepository repository untuk mengakses data rekening
+     * @param accountCardRepository repository untuk mengakses data kartu rekening
+     * @param cardTypeRepository repository untuk mengakses data tipe kartu
+     * @param transactionRepository repository untuk mengakses data transaksi
+     * @param timeService service penyedia waktu dan tanggal bisnis
+     * @param recentTransactions buffer transaksi terbaru per rekening untuk mini-statement
+     * @param velocityScreen screening fraud velocity untuk transaksi kartu
+     * @param pinAttemptGuard pembatas percobaan PIN salah per kartu, atau null jika tidak dibatasi
+     * @since 1.1
+     */
+    public TransactionService(
+            AccountRepository accountRepository, AccountCardRepository accountCardRepository, CardTypeRepository cardTypeRepository,
+            TransactionRepository transactionRepository, TimeService timeService, RecentTransactionBuffer recentTransactions,
+            CardVelocityScreen velocityScreen, PinAttemptGuard pinAttemptGuard) {
         this.accountRepository = accountRepository;
         this.accountCardRepository = accountCardRepository;
         this.cardTypeRepository = cardTypeRepository;
         this.transactionRepository = transactionRepository;
+        this.timeService = timeService;
+        this.recentTransactions = recentTransactions;
+        this.velocityScreen = velocityScreen;
+        this.pinAttemptGuard = pinAttemptGuard;
     }
 
     /**
@@ -65,20 +135,50 @@ public class TransactionService {
      * @throws AccountException.InsufficientBalance jika saldo tidak mencukupi
      */
     public void applyCardMonthlyCharge(String accountNumber) {
-        AccountEntity account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException.AccountNotFound(accountNumber));
-        AccountCardEntity accountCard = accountCardRepository.findByAccountId(account.id())
-                .orElseThrow(() -> new CardException.CardNotFound(account.id()));
-        CardTypeEntity cardType = cardTypeRepository.findById(accountCard.cardTypeId())
-                .orElseThrow(() -> new CardTypeException.CardTypeNotFound(accountCard.cardTypeId()));
+        tryApplyCardMonthlyCharge(accountNumber).orThrow();
+    }
 
-        BigDecimal updatedBalance = account.balance().subtract(cardType.monthlyPrice());
+    /**
+     * Versi non-throwing dari {@link #applyCardMonthlyCharge(String)}.
+     *
+     * @param accountNumber nomor rekening yang akan dikenakan biaya bulanan
+     * @return {@link TransactionResult.Success} berisi transaksi MONTHLY_CHARGE, atau
+     *         {@link TransactionResult.Rejected} jika rekening, kartu, atau tipe kartu tidak ditemukan
+     *         maupun saldo tidak mencukupi
+     */
+    public TransactionResult tryApplyCardMonthlyCharge(String accountNumber) {
+        TransactionCommandEvent event = new TransactionCommandEvent();
+        event.begin();
+        TransactionResult result = null;
+        try {
+            return result = executeApplyCardMonthlyCharge(accountNumber);
+        } finally {
+            event.complete("applyCardMonthlyCharge", accountNumber, null, result);
+        }
+    }
+
+    private TransactionResult executeApplyCardMonthlyCharge(String accountNumber) {
+        AccountEntity account = accountRepository.findByAccountNumber(accountNumber).orElse(null);
+        if (account == null) {
+            return reject(TransactionResult.Code.ACCOUNT_NOT_FOUND, accountNumber, 0, TransactionType.MONTHLY_CHARGE, null, null);
+        }
+        AccountCardEntity accountCard = accountCardRepository.findByAccountId(account.id()).orElse(null);
+        if (accountCard == null) {
+            return reject(TransactionResult.Code.CARD_NOT_FOUND, accountNumber, account.id(), TransactionType.MONTHLY_CHARGE, null, null);
+        }
+        CardTypeEntity cardType = cardTypeRepository.findById(accountCard.cardTypeId()).orElse(null);
+        if (cardType == null) {
+            return reject(TransactionResult.Code.CARD_TYPE_NOT_FOUND, accountNumber, accountCard.cardTypeId(),
+                    TransactionType.MONTHLY_CHARGE, null, null);
+        }
 
-        // jika saldo kurang dari 0 ketika apply charge, maka error
-        if (updatedBalance.compareTo(BigDecimal.ZERO) < 0) {
-            throw new AccountException.InsufficientBalance(accountNumber, account.balance(), cardType.monthlyPrice());
+        // jika saldo kurang dari biaya ketika apply charge, maka ditolak
+        if (account.balance().compareTo(cardType.monthlyPrice()) < 0) {
+            return reject(TransactionResult.Code.INSUFFICIENT_BALANCE, accountNumber, account.id(),
+                    TransactionType.MONTHLY_CHARGE, account.balance(), cardType.monthlyPrice());
         }
 
+        BigDecimal updatedBalance = account.balance().subtract(cardType.monthlyPrice());
         AccountEntity updatedAccount = new AccountEntity(
                 account.id(),
                 account.accountNumber(),
@@ -94,12 +194,13 @@ public class TransactionService {
                 null,
                 cardType.monthlyPrice(),
                 TransactionType.MONTHLY_CHARGE,
-                LocalTimeZone.getDate(),
-                LocalTimeZone.getNow()
+                timeService.today(),
+                timeService.now()
         );
 
-        transactionRepository.save(transaction);
+        TransactionEntity savedTransaction = saveTransaction(transaction);
         accountRepository.update(updatedAccount);
+        return new TransactionResult.Success(savedTransaction);
     }
 
     /**
@@ -113,65 +214,120 @@ public class TransactionService {
      * @param destinationAccountNumber nomor rekening tujuan transfer
      * @param amount jumlah uang yang akan ditransfer
      * @param pin PIN kartu untuk validasi
-     * @throws TransactionException.InvalidTransactionAmount jika jumlah transfer tidak valid
+     * @throws TransactionException.InvalidTransactionAmount jika jumlah transfer tidak valid, termasuk
+     *         jumlah yang biaya transfer 1%-nya tidak dapat dinyatakan tanpa pembulatan pada skala jumlah tersebut
      * @throws TransactionException.SameAccountTransfer jika transfer ke rekening yang sama
      * @throws AccountException.AccountNotFound jika rekening tidak ditemukan
      * @throws CardException.CardNotFound jika kartu tidak ditemukan
      * @throws CardException.InvalidPin jika PIN tidak valid
+     * @throws CardException.CardLocked jika kartu dikunci sementara karena PIN salah berulang kali
      * @throws CardTypeException.CardTypeNotFound jika tipe kartu tidak ditemukan
      * @throws AccountException.InsufficientBalance jika saldo tidak mencukupi
      * @throws TransactionException.DailyLimitExceeded jika batas harian terlampaui
+     * @throws TransactionException.VelocityLimitExceeded jika transaksi kartu melanggar aturan velocity
      */
     public void sendMoneyUsingCard(String originAccountNumber, String destinationAccountNumber, BigDecimal amount, int pin) {
-        // Validasi input
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new TransactionException.InvalidTransactionAmount(amount);
+        trySendMoneyUsingCard(originAccountNumber, destinationAccountNumber, amount, pin).orThrow();
+    }
+
+    /**
+     * Versi non-throwing dari {@link #sendMoneyUsingCard(String, String, BigDecimal, int)}.
+     *
+     * @param originAccountNumber nomor rekening sumber transfer
+     * @param destinationAccountNumber nomor rekening tujuan transfer
+     * @param amount jumlah uang yang akan ditransfer
+     * @param pin PIN kartu untuk validasi
+     * @return {@link TransactionResult.Success} berisi transaksi TRANSFER_VIA_CARD, atau
+     *         {@link TransactionResult.Rejected} dengan alasan penolakan
+     */
+    public TransactionResult trySendMoneyUsingCard(String originAccountNumber, String destinationAccountNumber, BigDecimal amount, int pin) {
+        TransactionCommandEvent event = new TransactionCommandEvent();
+        event.begin();
+        TransactionResult result = null;
+        try {
+            return result = executeSendMoneyUsingCard(originAccountNumber, destinationAccountNumber, amount, pin);
+        } finally {
+            event.complete("sendMoneyUsingCard", originAccountNumber, amount, result);
+        }
+    }
+
+    private TransactionResult executeSendMoneyUsingCard(String originAccountNumber, String destinationAccountNumber, BigDecimal amount, int pin) {
+        TransactionType type = TransactionType.TRANSFER_VIA_CARD;
+
+        // Validasi input; biaya transfer 1% harus dapat dinyatakan tepat pada skala nominal
+        BigDecimal transferFee = amount.signum() > 0 ? cardTransferFee(amount) : null;
+        if (transferFee == null) {
+            return reject(TransactionResult.Code.INVALID_TRANSACTION_AMOUNT, originAccountNumber, 0, type, amount, null);
         }
         
         if (originAccountNumber.equals(destinationAccountNumber)) {
-            throw new TransactionException.SameAccountTransfer(originAccountNumber);
+            return reject(TransactionResult.Code.SAME_ACCOUNT_TRANSFER, originAccountNumber, 0, type, amount, null);
         }
         
-        AccountEntity originAccount = accountRepository.findByAccountNumber(originAccountNumber)
-                .orElseThrow(() -> new AccountException.AccountNotFound(originAccountNumber));
-        AccountEntity destinationAccount = accountRepository.findByAccountNumber(destinationAccountNumber)
-                .orElseThrow(() -> new AccountException.AccountNotFound(destinationAccountNumber));
-        AccountCardEntity originAccountCard = accountCardRepository.findByAccountId(originAccount.id())
-                .orElseThrow(() -> new CardException.CardNotFound(originAccount.id()));
+        AccountEntity originAccount = accountRepository.findByAccountNumber(originAccountNumber).orElse(null);
+        if (originAccount == null) {
+            return reject(TransactionResult.Code.ACCOUNT_NOT_FOUND, originAccountNumber, 0, type, amount, null);
+        }
+        AccountEntity destinationAccount = accountRepository.findByAccountNumber(destinationAccountNumber).orElse(null);
+        if (destinationAccount == null) {
+            return reject(TransactionResult.Code.ACCOUNT_NOT_FOUND, destinationAccountNumber, 0, type, amount, null);
+        }
+        AccountCardEntity originAccountCard = accountCardRepository.findByAccountId(originAccount.id()).orElse(null);
+        if (originAccountCard == null) {
+            return reject(TransactionResult.Code.CARD_NOT_FOUND, originAccountNumber, originAccount.id(), type, amount, null);
+        }
         
         // Validasi PIN
-        if (originAccountCard.pin() != pin) {
-            throw new CardException.InvalidPin(originAccountCard.id(), pin);
+        TransactionResult pinRejection = verifyPin(originAccountCard, pin, originAccountNumber, originAccount.id(), type);
+        if (pinRejection != null) {
+            return pinRejection;
         }
         
-        CardTypeEntity originAccountCardType = cardTypeRepository.findById(originAccountCard.cardTypeId())
-                .orElseThrow(() -> new CardTypeException.CardTypeNotFound(originAccountCard.cardTypeId()));
+        CardTypeEntity originAccountCardType = cardTypeRepository.findById(originAccountCard.cardTypeId()).orElse(null);
+        if (originAccountCardType == null) {
+            return reject(TransactionResult.Code.CARD_TYPE_NOT_FOUND, originAccountNumber, originAccountCard.cardTypeId(), type, amount, null);
+        }
 
-        BigDecimal transferFee = amount.divide(new BigDecimal(100), RoundingMode.UNNECESSARY);
         BigDecimal totalAmount = amount.add(transferFee);
-        BigDecimal finalOriginAmount = originAccount.balance().subtract(totalAmount);
-        BigDecimal finalDestinationAmount = destinationAccount.balance().add(amount);
 
-        if (finalOriginAmount.compareTo(BigDecimal.ZERO) < 0) {
-            throw new AccountException.InsufficientBalance(originAccountNumber, originAccount.balance(), totalAmount);
+        if (originAccount.balance().compareTo(totalAmount) < 0) {
+            return reject(TransactionResult.Code.INSUFFICIENT_BALANCE, originAccountNumber, originAccount.id(), type,
+                    originAccount.balance(), totalAmount);
         } 
         
-        BigDecimal currentDailyTotal = getTotalDailyCardTransfer(originAccount.id(), LocalTimeZone.getDate());
-        if (currentDailyTotal.add(amount).compareTo(originAccountCardType.dailyTransferLimit()) > 0) {
-            throw new TransactionException.DailyLimitExceeded(originAccountNumber, "TRANSFER_VIA_CARD", 
-                currentDailyTotal.add(amount), originAccountCardType.dailyTransferLimit());
+        BigDecimal dailyTotal = getTotalDailyCardTransfer(originAccount.id(), timeService.today()).add(amount);
+        if (dailyTotal.compareTo(originAccountCardType.dailyTransferLimit()) > 0) {
+            return reject(TransactionResult.Code.DAILY_LIMIT_EXCEEDED, originAccountNumber, originAccount.id(), type,
+                    dailyTotal, originAccountCardType.dailyTransferLimit());
         }
 
-        applyMoneyTransfer(
-                TransactionType.TRANSFER_VIA_CARD,
+        TransactionResult velocityRejection = screenVelocity(originAccountCard, originAccountNumber, originAccount.id(), type, amount);
+        if (velocityRejection != null) {
+            return velocityRejection;
+        }
+
+        return applyMoneyTransfer(
+                type,
                 originAccount,
                 destinationAccount,
                 totalAmount,
-                finalOriginAmount,
-                finalDestinationAmount
+                originAccount.balance().subtract(totalAmount),
+                destinationAccount.balance().add(amount)
         );
     }
 
+    /**
+     * Menghitung biaya transfer kartu sebesar 1% dari jumlah transfer tanpa pembulatan.
+     *
+     * @param amount jumlah transfer (positif)
+     * @return biaya transfer dengan skala yang sama seperti jumlah transfer, atau null jika biaya
+     *         tersebut membutuhkan pembulatan (misalnya jumlah 150 dengan skala 0)
+     */
+    private static BigDecimal cardTransferFee(BigDecimal amount) {
+        BigDecimal fee = amount.movePointLeft(2);
+        return fee.stripTrailingZeros().scale() <= amount.scale() ? fee.setScale(amount.scale()) : null;
+    }
+
     /**
      * Transfer uang antar rekening melalui teller bank.
      * 
@@ -188,40 +344,68 @@ public class TransactionService {
      * @throws TransactionException.DailyLimitExceeded jika batas harian terlampaui
      */
     public void sendMoneyViaTeller(String originAccountNumber, String destinationAccountNumber, BigDecimal amount) {
+        trySendMoneyViaTeller(originAccountNumber, destinationAccountNumber, amount).orThrow();
+    }
+
+    /**
+     * Versi non-throwing dari {@link #sendMoneyViaTeller(String, String, BigDecimal)}.
+     *
+     * @param originAccountNumber nomor rekening sumber transfer
+     * @param destinationAccountNumber nomor rekening tujuan transfer
+     * @param amount jumlah uang yang akan ditransfer
+     * @return {@link TransactionResult.Success} berisi transaksi TRANSFER, atau
+     *         {@link TransactionResult.Rejected} dengan alasan penolakan
+     */
+    public TransactionResult trySendMoneyViaTeller(String originAccountNumber, String destinationAccountNumber, BigDecimal amount) {
+        TransactionCommandEvent event = new TransactionCommandEvent();
+        event.begin();
+        TransactionResult result = null;
+        try {
+            return result = executeSendMoneyViaTeller(originAccountNumber, destinationAccountNumber, amount);
+        } finally {
+            event.complete("sendMoneyViaTeller", originAccountNumber, amount, result);
+        }
+    }
+
+    private TransactionResult executeSendMoneyViaTeller(String originAccountNumber, String destinationAccountNumber, BigDecimal amount) {
+        TransactionType type = TransactionType.TRANSFER;
+
         // Validasi input
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new TransactionException.InvalidTransactionAmount(amount);
+            return reject(TransactionResult.Code.INVALID_TRANSACTION_AMOUNT, originAccountNumber, 0, type, amount, null);
         }
         
         if (originAccountNumber.equals(destinationAccountNumber)) {
-            throw new TransactionException.SameAccountTransfer(originAccountNumber);
+            return reject(TransactionResult.Code.SAME_ACCOUNT_TRANSFER, originAccountNumber, 0, type, amount, null);
         }
         
-        AccountEntity originAccount = accountRepository.findByAccountNumber(originAccountNumber)
-                .orElseThrow(() -> new AccountException.AccountNotFound(originAccountNumber));
-        AccountEntity destinationAccount = accountRepository.findByAccountNumber(destinationAccountNumber)
-                .orElseThrow(() -> new AccountException.AccountNotFound(destinationAccountNumber));
-
-        BigDecimal finalOriginAmount = originAccount.balance().subtract(amount);
-        BigDecimal finalDestinationAmount = destinationAccount.balance().add(amount);
+        AccountEntity originAccount = accountRepository.findByAccountNumber(originAccountNumber).orElse(null);
+        if (originAccount == null) {
+            return reject(TransactionResult.Code.ACCOUNT_NOT_FOUND, originAccountNumber, 0, type, amount, null);
+        }
+        AccountEntity destinationAccount = accountRepository.findByAccountNumber(destinationAccountNumber).orElse(null);
+        if (destinationAccount == null) {
+            return reject(TransactionResult.Code.ACCOUNT_NOT_FOUND, destinationAccountNumber, 0, type, amount, null);
+        }
 
-        if (finalOriginAmount.compareTo(BigDecimal.ZERO) < 0) {
-            throw new AccountException.InsufficientBalance(originAccountNumber, originAccount.balance(), amount);
+        if (originAccount.balance().compareTo(amount) < 0) {
+            return reject(TransactionResult.Code.INSUFFICIENT_BALANCE, originAccountNumber, originAccount.id(), type,
+                    originAccount.balance(), amount);
         } 
         
-        BigDecimal currentDailyTotal = getTotalDailyTransfer(originAccount.id(), LocalTimeZone.getDate());
-        if (currentDailyTotal.add(amount).compareTo(originAccount.dailyTransferLimit()) > 0) {
-            throw new TransactionException.DailyLimitExceeded(originAccountNumber, "TRANSFER", 
-                currentDailyTotal.add(amount), originAccount.dailyTransferLimit());
+        BigDecimal dailyTotal = getTotalDailyTransfer(originAccount.id(), timeService.today()).add(amount);
+        if (dailyTotal.compareTo(originAccount.dailyTransferLimit()) > 0) {
+            return reject(TransactionResult.Code.DAILY_LIMIT_EXCEEDED, originAccountNumber, originAccount.id(), type,
+                    dailyTotal, originAccount.dailyTransferLimit());
         }
 
-        applyMoneyTransfer(
-                TransactionType.TRANSFER,
+        return applyMoneyTransfer(
+                type,
                 originAccount,
                 destinationAccount,
                 amount,
-                finalOriginAmount,
-                finalDestinationAmount
+                originAccount.balance().subtract(amount),
+                destinationAccount.balance().add(amount)
         );
     }
 
@@ -238,41 +422,81 @@ public class TransactionService {
      * @throws AccountException.AccountNotFound jika rekening tidak ditemukan
      * @throws CardException.CardNotFound jika kartu tidak ditemukan
      * @throws CardException.InvalidPin jika PIN tidak valid
+     * @throws CardException.CardLocked jika kartu dikunci sementara karena PIN salah berulang kali
      * @throws CardTypeException.CardTypeNotFound jika tipe kartu tidak ditemukan
      * @throws AccountException.InsufficientBalance jika saldo tidak mencukupi
      * @throws TransactionException.DailyLimitExceeded jika batas harian terlampaui
+     * @throws TransactionException.VelocityLimitExceeded jika transaksi kartu melanggar aturan velocity
      */
     public void withdrawMoneyUsingCard(String accountNumber, BigDecimal amount, int pin) {
+        tryWithdrawMoneyUsingCard(accountNumber, amount, pin).orThrow();
+    }
+
+    /**
+     * Versi non-throwing dari {@link #withdrawMoneyUsingCard(String, BigDecimal, int)}.
+     *
+     * @param accountNumber nomor rekening yang akan ditarik uangnya
+     * @param amount jumlah uang yang akan ditarik
+     * @param pin PIN kartu untuk validasi
+     * @return {@link TransactionResult.Success} berisi transaksi WITHDRAW_VIA_CARD, atau
+     *         {@link TransactionResult.Rejected} dengan alasan penolakan
+     */
+    public TransactionResult tryWithdrawMoneyUsingCard(String accountNumber, BigDecimal amount, int pin) {
+        TransactionCommandEvent event = new TransactionCommandEvent();
+        event.begin();
+        TransactionResult result = null;
+        try {
+            return result = executeWithdrawMoneyUsingCard(accountNumber, amount, pin);
+        } finally {
+            event.complete("withdrawMoneyUsingCard", accountNumber, amount, result);
+        }
+    }
+
+    private TransactionResult executeWithdrawMoneyUsingCard(String accountNumber, BigDecimal amount, int pin) {
+        TransactionType type = TransactionType.WITHDRAW_VIA_CARD;
+
         // Validasi input
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new TransactionException.InvalidTransactionAmount(amount);
+            return reject(TransactionResult.Code.INVALID_TRANSACTION_AMOUNT, accountNumber, 0, type, amount, null);
         }
         
-        AccountEntity account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException.AccountNotFound(accountNumber));
-        AccountCardEntity accountCard = accountCardRepository.findByAccountId(account.id())
-                .orElseThrow(() -> new CardException.CardNotFound(account.id()));
+        AccountEntity account = accountRepository.findByAccountNumber(accountNumber).orElse(null);
+        if (account == null) {
+            return reject(TransactionResult.Code.ACCOUNT_NOT_FOUND, accountNumber, 0, type, amount, null);
+        }
+        AccountCardEntity accountCard = accountCardRepository.findByAccountId(account.id()).orElse(null);
+        if (accountCard == null) {
+            return reject(TransactionResult.Code.CARD_NOT_FOUND, accountNumber, account.id(), type, amount, null);
+        }
         
         // Validasi PIN
-        if (accountCard.pin() != pin) {
-            throw new CardException.InvalidPin(accountCard.id(), pin);
+        TransactionResult pinRejection = verifyPin(accountCard, pin, accountNumber, account.id(), type);
+        if (pinRejection != null) {
+            return pinRejection;
         }
         
-        CardTypeEntity cardType = cardTypeRepository.findById(accountCard.cardTypeId())
-                .orElseThrow(() -> new CardTypeException.CardTypeNotFound(accountCard.cardTypeId()));
+        CardTypeEntity cardType = cardTypeRepository.findById(accountCard.cardTypeId()).orElse(null);
+        if (cardType == null) {
+            return reject(TransactionResult.Code.CARD_TYPE_NOT_FOUND, accountNumber, accountCard.cardTypeId(), type, amount, null);
+        }
 
-        BigDecimal finalBalance = account.balance().subtract(amount);
-        if (finalBalance.compareTo(BigDecimal.ZERO) < 0) {
-            throw new AccountException.InsufficientBalance(accountNumber, account.balance(), amount);
+        if (account.balance().compareTo(amount) < 0) {
+            return reject(TransactionResult.Code.INSUFFICIENT_BALANCE, accountNumber, account.id(), type,
+                    account.balance(), amount);
         } 
         
-        BigDecimal currentDailyTotal = getTotalDailyCardWithdraw(account.id(), LocalTimeZone.getDate());
-        if (currentDailyTotal.add(amount).compareTo(cardType.dailyWithdrawLimit()) > 0) {
-            throw new TransactionException.DailyLimitExceeded(accountNumber, "WITHDRAW_VIA_CARD", 
-                currentDailyTotal.add(amount), cardType.dailyWithdrawLimit());
+        BigDecimal dailyTotal = getTotalDailyCardWithdraw(account.id(), timeService.today()).add(amount);
+        if (dailyTotal.compareTo(cardType.dailyWithdrawLimit()) > 0) {
+            return reject(TransactionResult.Code.DAILY_LIMIT_EXCEEDED, accountNumber, account.id(), type,
+                    dailyTotal, cardType.dailyWithdrawLimit());
+        }
+
+        TransactionResult velocityRejection = screenVelocity(accountCard, accountNumber, account.id(), type, amount);
+        if (velocityRejection != null) {
+            return velocityRejection;
         }
 
-        applyMoneyWithdrawViaCard(account, amount, finalBalance);
+        return applyMoneyWithdrawViaCard(account, amount, account.balance().subtract(amount));
     }
 
     /**
@@ -288,36 +512,75 @@ public class TransactionService {
      * @throws AccountException.AccountNotFound jika rekening tidak ditemukan
      * @throws CardException.CardNotFound jika kartu tidak ditemukan
      * @throws CardException.InvalidPin jika PIN tidak valid
+     * @throws CardException.CardLocked jika kartu dikunci sementara karena PIN salah berulang kali
      * @throws CardTypeException.CardTypeNotFound jika tipe kartu tidak ditemukan
      * @throws TransactionException.DailyLimitExceeded jika batas harian terlampaui
+     * @throws TransactionException.VelocityLimitExceeded jika transaksi kartu melanggar aturan velocity
      */
     public void depositMoneyUsingCard(String accountNumber, BigDecimal amount, int pin) {
+        tryDepositMoneyUsingCard(accountNumber, amount, pin).orThrow();
+    }
+
+    /**
+     * Versi non-throwing dari {@link #depositMoneyUsingCard(String, BigDecimal, int)}.
+     *
+     * @param accountNumber nomor rekening yang akan disetor uangnya
+     * @param amount jumlah uang yang akan disetor
+     * @param pin PIN kartu untuk validasi
+     * @return {@link TransactionResult.Success} berisi transaksi setoran, atau
+     *         {@link TransactionResult.Rejected} dengan alasan penolakan
+     */
+    public TransactionResult tryDepositMoneyUsingCard(String accountNumber, BigDecimal amount, int pin) {
+        TransactionCommandEvent event = new TransactionCommandEvent();
+        event.begin();
+        TransactionResult result = null;
+        try {
+            return result = executeDepositMoneyUsingCard(accountNumber, amount, pin);
+        } finally {
+            event.complete("depositMoneyUsingCard", accountNumber, amount, result);
+        }
+    }
+
+    private TransactionResult executeDepositMoneyUsingCard(String accountNumber, BigDecimal amount, int pin) {
+        TransactionType type = TransactionType.DEPOSIT_VIA_CARD;
+
         // Validasi input
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new TransactionException.InvalidTransactionAmount(amount);
+            return reject(TransactionResult.Code.INVALID_TRANSACTION_AMOUNT, accountNumber, 0, type, amount, null);
         }
         
-        AccountEntity account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException.AccountNotFound(accountNumber));
-        AccountCardEntity accountCard = accountCardRepository.findByAccountId(account.id())
-                .orElseThrow(() -> new CardException.CardNotFound(account.id()));
+        AccountEntity account = accountRepository.findByAccountNumber(accountNumber).orElse(null);
+        if (account == null) {
+            return reject(TransactionResult.Code.ACCOUNT_NOT_FOUND, accountNumber, 0, type, amount, null);
+        }
+        AccountCardEntity accountCard = accountCardRepository.findByAccountId(account.id()).orElse(null);
+        if (accountCard == null) {
+            return reject(TransactionResult.Code.CARD_NOT_FOUND, accountNumber, account.id(), type, amount, null);
+        }
         
         // Validasi PIN
-        if (accountCard.pin() != pin) {
-            throw new CardException.InvalidPin(accountCard.id(), pin);
+        TransactionResult pinRejection = verifyPin(accountCard, pin, accountNumber, account.id(), type);
+        if (pinRejection != null) {
+            return pinRejection;
         }
         
-        CardTypeEntity cardType = cardTypeRepository.findById(accountCard.cardTypeId())
-                .orElseThrow(() -> new CardTypeException.CardTypeNotFound(accountCard.cardTypeId()));
+        CardTypeEntity cardType = cardTypeRepository.findById(accountCard.cardTypeId()).orElse(null);
+        if (cardType == null) {
+            return reject(TransactionResult.Code.CARD_TYPE_NOT_FOUND, accountNumber, accountCard.cardTypeId(), type, amount, null);
+        }
 
-        BigDecimal finalBalance = account.balance().add(amount);
-        BigDecimal currentDailyTotal = getTotalDailyCardDeposit(account.id(), LocalTimeZone.getDate());
-        if (currentDailyTotal.add(amount).compareTo(cardType.dailyDepositLimit()) > 0) {
-            throw new TransactionException.DailyLimitExceeded(accountNumber, "DEPOSIT_VIA_CARD", 
-                currentDailyTotal.add(amount), cardType.dailyDepositLimit());
+        BigDecimal dailyTotal = getTotalDailyCardDeposit(account.id(), timeService.today()).add(amount);
+        if (dailyTotal.compareTo(cardType.dailyDepositLimit()) > 0) {
+            return reject(TransactionResult.Code.DAILY_LIMIT_EXCEEDED, accountNumber, account.id(), type,
+                    dailyTotal, cardType.dailyDepositLimit());
         }
 
-        applyMoneyDeposit(account, amount, finalBalance);
+        TransactionResult velocityRejection = screenVelocity(accountCard, accountNumber, account.id(), type, amount);
+        if (velocityRejection != null) {
+            return velocityRejection;
+        }
+
+        return applyMoneyDeposit(account, amount, account.balance().add(amount));
     }
 
     /**
@@ -334,26 +597,53 @@ public class TransactionService {
      * @throws TransactionException.DailyLimitExceeded jika batas harian terlampaui
      */
     public void withdrawMoneyViaTeller(String accountNumber, BigDecimal amount) {
+        tryWithdrawMoneyViaTeller(accountNumber, amount).orThrow();
+    }
+
+    /**
+     * Versi non-throwing dari {@link #withdrawMoneyViaTeller(String, BigDecimal)}.
+     *
+     * @param accountNumber nomor rekening yang akan ditarik uangnya
+     * @param amount jumlah uang yang akan ditarik
+     * @return {@link TransactionResult.Success} berisi transaksi WITHDRAW, atau
+     *         {@link TransactionResult.Rejected} dengan alasan penolakan
+     */
+    public TransactionResult tryWithdrawMoneyViaTeller(String accountNumber, BigDecimal amount) {
+        TransactionCommandEvent event = new TransactionCommandEvent();
+        event.begin();
+        TransactionResult result = null;
+        try {
+            return result = executeWithdrawMoneyViaTeller(accountNumber, amount);
+        } finally {
+            event.complete("withdrawMoneyViaTeller", accountNumber, amount, result);
+        }
+    }
+
+    private TransactionResult executeWithdrawMoneyViaTeller(String accountNumber, BigDecimal amount) {
+        TransactionType type = TransactionType.WITHDRAW;
+
         // Validasi input
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new TransactionException.InvalidTransactionAmount(amount);
+            return reject(TransactionResult.Code.INVALID_TRANSACTION_AMOUNT, accountNumber, 0, type, amount, null);
         }
         
-        AccountEntity account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException.AccountNotFound(accountNumber));
+        AccountEntity account = accountRepository.findByAccountNumber(accountNumber).orElse(null);
+        if (account == null) {
+            return reject(TransactionResult.Code.ACCOUNT_NOT_FOUND, accountNumber, 0, type, amount, null);
+        }
 
-        BigDecimal finalBalance = account.balance().subtract(amount);
-        if (finalBalance.compareTo(BigDecimal.ZERO) < 0) {
-            throw new AccountException.InsufficientBalance(accountNumber, account.balance(), amount);
+        if (account.balance().compareTo(amount) < 0) {
+            return reject(TransactionResult.Code.INSUFFICIENT_BALANCE, accountNumber, account.id(), type,
+                    account.balance(), amount);
         } 
         
-        BigDecimal currentDailyTotal = getTotalDailyWithdraw(account.id(), LocalTimeZone.getDate());
-        if (currentDailyTotal.add(amount).compareTo(account.dailyWithdrawLimit()) > 0) {
-            throw new TransactionException.DailyLimitExceeded(accountNumber, "WITHDRAW", 
-                currentDailyTotal.add(amount), account.dailyWithdrawLimit());
+        BigDecimal dailyTotal = getTotalDailyWithdraw(account.id(), timeService.today()).add(amount);
+        if (dailyTotal.compareTo(account.dailyWithdrawLimit()) > 0) {
+            return reject(TransactionResult.Code.DAILY_LIMIT_EXCEEDED, accountNumber, account.id(), type,
+                    dailyTotal, account.dailyWithdrawLimit());
         }
 
-        applyMoneyWithdraw(account, amount, finalBalance);
+        return applyMoneyWithdraw(account, amount, account.balance().subtract(amount));
     }
 
     /**
@@ -368,17 +658,42 @@ public class TransactionService {
      * @throws AccountException.AccountNotFound jika rekening tidak ditemukan
      */
     public void depositMoneyViaTeller(String accountNumber, BigDecimal amount) {
+        tryDepositMoneyViaTeller(accountNumber, amount).orThrow();
+    }
+
+    /**
+     * Versi non-throwing dari {@link #depositMoneyViaTeller(String, BigDecimal)}.
+     *
+     * @param accountNumber nomor rekening yang akan disetor uangnya
+     * @param amount jumlah uang yang akan disetor
+     * @return {@link TransactionResult.Success} berisi transaksi DEPOSIT, atau
+     *         {@link TransactionResult.Rejected} dengan alasan penolakan
+     */
+    public TransactionResult tryDepositMoneyViaTeller(String accountNumber, BigDecimal amount) {
+        TransactionCommandEvent event = new TransactionCommandEvent();
+        event.begin();
+        TransactionResult result = null;
+        try {
+            return result = executeDepositMoneyViaTeller(accountNumber, amount);
+        } finally {
+            event.complete("depositMoneyViaTeller", accountNumber, amount, result);
+        }
+    }
+
+    private TransactionResult executeDepositMoneyViaTeller(String accountNumber, BigDecimal amount) {
+        TransactionType type = TransactionType.DEPOSIT;
+
         // Validasi input
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new TransactionException.InvalidTransactionAmount(amount);
+            return reject(TransactionResult.Code.INVALID_TRANSACTION_AMOUNT, accountNumber, 0, type, amount, null);
         }
         
-        AccountEntity account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException.AccountNotFound(accountNumber));
-
-        BigDecimal finalBalance = account.balance().add(amount);
+        AccountEntity account = accountRepository.findByAccountNumber(accountNumber).orElse(null);
+        if (account == null) {
+            return reject(TransactionResult.Code.ACCOUNT_NOT_FOUND, accountNumber, 0, type, amount, null);
+        }
 
-        applyMoneyDeposit(account, amount, finalBalance);
+        return applyMoneyDeposit(account, amount, account.balance().add(amount));
     }
 
     /**
@@ -392,17 +707,22 @@ public class TransactionService {
      * @return total transfer harian via kartu
      */
     public BigDecimal getTotalDailyCardTransfer(int accountId, String date) {
+        DailyLimitEvent event = new DailyLimitEvent();
+        event.begin();
         List<TransactionEntity> transferHistories = transactionRepository.findByAccountIdWithDate(accountId, date);
         BigDecimal total = new BigDecimal(0);
+        int summed = 0;
 
         for (TransactionEntity transferHistory : transferHistories) {
             if (!transferHistory.transactionType().equals(TransactionType.TRANSFER_VIA_CARD)) {
                 continue;
             }
 
+            summed++;
             total = total.add(transferHistory.amount());
         }
 
+        event.complete(accountId, date, TransactionType.TRANSFER_VIA_CARD, transferHistories.size(), summed, total);
         return total;
     }
 
@@ -417,17 +737,22 @@ public class TransactionService {
      * @return total transfer harian via teller
      */
     public BigDecimal getTotalDailyTransfer(int accountId, String date) {
+        DailyLimitEvent event = new DailyLimitEvent();
+        event.begin();
         List<TransactionEntity> transferHistories = transactionRepository.findByAccountIdWithDate(accountId, date);
         BigDecimal total = new BigDecimal(0);
+        int summed = 0;
 
         for (TransactionEntity transferHistory : transferHistories) {
             if (!transferHistory.transactionType().equals(TransactionType.TRANSFER)) {
                 continue;
             }
 
+            summed++;
             total = total.add(transferHistory.amount());
         }
 
+        event.complete(accountId, date, TransactionType.TRANSFER, transferHistories.size(), summed, total);
         return total;
     }
 
@@ -442,17 +767,22 @@ public class TransactionService {
      * @return total penarikan harian via kartu
      */
     public BigDecimal getTotalDailyCardWithdraw(int accountId, String date) {
+        DailyLimitEvent event = new DailyLimitEvent();
+        event.begin();
         List<TransactionEntity> transferHistories = transactionRepository.findByAccountIdWithDate(accountId, date);
         BigDecimal total = new BigDecimal(0);
+        int summed = 0;
 
         for (TransactionEntity transferHistory : transferHistories) {
             if (!transferHistory.transactionType().equals(TransactionType.WITHDRAW_VIA_CARD)) {
                 continue;
             }
 
+            summed++;
             total = total.add(transferHistory.amount());
         }
 
+        event.complete(accountId, date, TransactionType.WITHDRAW_VIA_CARD, transferHistories.size(), summed, total);
         return total;
     }
 
@@ -467,17 +797,22 @@ public class TransactionService {
      * @return total penarikan harian via teller
      */
     public BigDecimal getTotalDailyWithdraw(int accountId, String date) {
+        DailyLimitEvent event = new DailyLimitEvent();
+        event.begin();
         List<TransactionEntity> transferHistories = transactionRepository.findByAccountIdWithDate(accountId, date);
         BigDecimal total = new BigDecimal(0);
+        int summed = 0;
 
         for (TransactionEntity transferHistory : transferHistories) {
             if (!transferHistory.transactionType().equals(TransactionType.WITHDRAW)) {
                 continue;
             }
 
+            summed++;
             total = total.add(transferHistory.amount());
         }
 
+        event.complete(accountId, date, TransactionType.WITHDRAW, transferHistories.size(), summed, total);
         return total;
     }
 
@@ -492,17 +827,22 @@ public class TransactionService {
      * @return total setoran harian via kartu
      */
     public BigDecimal getTotalDailyCardDeposit(int accountId, String date) {
+        DailyLimitEvent event = new DailyLimitEvent();
+        event.begin();
         List<TransactionEntity> transferHistories = transactionRepository.findByAccountIdWithDate(accountId, date);
         BigDecimal total = new BigDecimal(0);
+        int summed = 0;
 
         for (TransactionEntity transferHistory : transferHistories) {
             if (!transferHistory.transactionType().equals(TransactionType.DEPOSIT_VIA_CARD)) {
                 continue;
             }
 
+            summed++;
             total = total.add(transferHistory.amount());
         }
 
+        event.complete(accountId, date, TransactionType.DEPOSIT_VIA_CARD, transferHistories.size(), summed, total);
         return total;
     }
 
@@ -517,20 +857,102 @@ public class TransactionService {
      * @return total setoran harian via teller
      */
     public BigDecimal getTotalDailyDeposit(int accountId, String date) {
+        DailyLimitEvent event = new DailyLimitEvent();
+        event.begin();
         List<TransactionEntity> transferHistories = transactionRepository.findByAccountIdWithDate(accountId, date);
         BigDecimal total = new BigDecimal(0);
+        int summed = 0;
 
         for (TransactionEntity transferHistory : transferHistories) {
             if (!transferHistory.transactionType().equals(TransactionType.DEPOSIT)) {
                 continue;
             }
 
+            summed++;
             total = total.add(transferHistory.amount());
         }
 
+        event.complete(accountId, date, TransactionType.DEPOSIT, transferHistories.size(), summed, total);
         return total;
     }
 
+    /**
+     * Mengambil transaksi terbaru satu rekening untuk mini-statement ATM.
+     *
+     * <p>Transaksi dibaca dari {@link RecentTransactionBuffer} tanpa lock dan tanpa menyentuh
+     * riwayat lengkap, termasuk transfer masuk. Hanya transaksi yang dicatat sejak service
+     * ini dibuat yang dikembalikan.</p>
+     *
+     * @param accountNumber nomor rekening
+     * @param limit jumlah maksimum transaksi; dibatasi oleh kapasitas buffer
+     * @return transaksi terbaru, dari yang paling baru
+     * @throws AccountException.AccountNotFound jika rekening tidak ditemukan
+     * @since 1.1
+     */
+    public List<TransactionEntity> getRecentTransactions(String accountNumber, int limit) {
+        AccountEntity account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException.AccountNotFound(accountNumber));
+        return recentTransactions.getRecent(account.id(), limit);
+    }
+
+    /**
+     * Memvalidasi PIN kartu dengan pembatasan percobaan PIN salah.
+     *
+     * <p>Status penguncian dicek sebelum PIN dibandingkan, sehingga selama kartu terkunci
+     * PIN yang benar pun ditolak dan percobaan brute force tidak mendapat informasi apa pun.</p>
+     *
+     * @return hasil penolakan CARD_LOCKED atau INVALID_PIN, atau null jika PIN benar
+     */
+    private TransactionResult verifyPin(AccountCardEntity card, int pin, String accountNumber, int accountId,
+                                        TransactionType type) {
+        if (pinAttemptGuard == null) {
+            return card.pin() == pin ? null
+                    : reject(TransactionResult.Code.INVALID_PIN, accountNumber, accountId, type, BigDecimal.ONE, null);
+        }
+        long lockedSeconds = pinAttemptGuard.lockedSeconds(card.id());
+        if (lockedSeconds > 0) {
+            return reject(TransactionResult.Code.CARD_LOCKED, accountNumber, accountId, type,
+                    BigDecimal.valueOf(lockedSeconds), null);
+        }
+        if (card.pin() != pin) {
+            int failures = pinAttemptGuard.recordFailure(card.id());
+            return reject(TransactionResult.Code.INVALID_PIN, accountNumber, accountId, type,
+                    BigDecimal.valueOf(failures), BigDecimal.valueOf(pinAttemptGuard.getMaxFailures()));
+        }
+        pinAttemptGuard.recordSuccess(card.id());
+        return null;
+    }
+
+    /**
+     * Menjalankan screening velocity transaksi kartu setelah semua validasi lain lolos.
+     *
+     * <p>Transaksi yang lolos langsung dihitung ke window kartu, sehingga screening harus
+     * menjadi pemeriksaan terakhir sebelum transaksi disimpan.</p>
+     *
+     * @return hasil penolakan VELOCITY_LIMIT_EXCEEDED, atau null jika transaksi lolos
+     */
+    private TransactionResult screenVelocity(AccountCardEntity card, String accountNumber, int accountId,
+                                             TransactionType type, BigDecimal amount) {
+        CardVelocityScreen.Violation violation = velocityScreen.screen(card.id(), type, amount, timeService.now());
+        if (violation == null) {
+            return null;
+        }
+        return reject(TransactionResult.Code.VELOCITY_LIMIT_EXCEEDED, accountNumber, accountId, type,
+                violation.actual(), violation.threshold());
+    }
+
+    /**
+     * Menyimpan transaksi lalu mencatatnya ke buffer transaksi terbaru rekening asal dan tujuan.
+     *
+     * @param transaction transaksi yang akan disimpan
+     * @return transaksi yang sudah disimpan
+     */
+    private TransactionEntity saveTransaction(TransactionEntity transaction) {
+        TransactionEntity savedTransaction = transactionRepository.save(transaction);
+        recentTransactions.record(savedTransaction);
+        return savedTransaction;
+    }
+
     /**
      * Menerapkan transfer uang antar rekening.
      * 
@@ -543,8 +965,9 @@ public class TransactionService {
      * @param amount jumlah yang ditransfer (termasuk biaya jika ada)
      * @param finalOriginAmount saldo akhir rekening sumber setelah transfer
      * @param finalDestinationAmount saldo akhir rekening tujuan setelah transfer
+     * @return hasil sukses berisi transaksi yang disimpan
      */
-    private void applyMoneyTransfer(
+    private TransactionResult applyMoneyTransfer(
             TransactionType transactionType, AccountEntity originAccount, AccountEntity destinationAccount,
             BigDecimal amount, BigDecimal finalOriginAmount, BigDecimal finalDestinationAmount) {
         TransactionEntity transaction = new TransactionEntity(
@@ -553,8 +976,8 @@ public class TransactionService {
                 destinationAccount.id(),
                 amount,
                 transactionType,
-                LocalTimeZone.getDate(),
-                LocalTimeZone.getNow()
+                timeService.today(),
+                timeService.now()
         );
         AccountEntity updatedOriginAccount = new AccountEntity(
                 originAccount.id(),
@@ -575,9 +998,10 @@ public class TransactionService {
                 destinationAccount.dailyWithdrawLimit()
         );
 
-        transactionRepository.save(transaction);
+        TransactionEntity savedTransaction = saveTransaction(transaction);
         accountRepository.update(updatedOriginAccount);
         accountRepository.update(updatedDestinationAccount);
+        return new TransactionResult.Success(savedTransaction);
     }
 
     /**
@@ -589,8 +1013,9 @@ public class TransactionService {
      * @param account rekening yang akan ditarik uangnya
      * @param amount jumlah uang yang ditarik
      * @param finalBalance saldo akhir rekening setelah penarikan
+     * @return hasil sukses berisi transaksi yang disimpan
      */
-    private void applyMoneyWithdrawViaCard(AccountEntity account, BigDecimal amount, BigDecimal finalBalance) {
+    private TransactionResult applyMoneyWithdrawViaCard(AccountEntity account, BigDecimal amount, BigDecimal finalBalance) {
         AccountEntity updatedAccount = new AccountEntity(
                 account.id(),
                 account.accountNumber(),
@@ -606,12 +1031,13 @@ public class TransactionService {
                 null,
                 amount,
                 TransactionType.WITHDRAW_VIA_CARD,
-                LocalTimeZone.getDate(),
-                LocalTimeZone.getNow()
+                timeService.today(),
+                timeService.now()
         );
 
-        transactionRepository.save(transaction);
+        TransactionEntity savedTransaction = saveTransaction(transaction);
         accountRepository.update(updatedAccount);
+        return new TransactionResult.Success(savedTransaction);
     }
 
     /**
@@ -623,8 +1049,9 @@ public class TransactionService {
      * @param account rekening yang akan ditarik uangnya
      * @param amount jumlah uang yang ditarik
      * @param finalBalance saldo akhir rekening setelah penarikan
+     * @return hasil sukses berisi transaksi yang disimpan
      */
-    private void applyMoneyWithdraw(AccountEntity account, BigDecimal amount, BigDecimal finalBalance) {
+    private TransactionResult applyMoneyWithdraw(AccountEntity account, BigDecimal amount, BigDecimal finalBalance) {
         AccountEntity updatedAccount = new AccountEntity(
                 account.id(),
                 account.accountNumber(),
@@ -640,12 +1067,13 @@ public class TransactionService {
                 null,
                 amount,
                 TransactionType.WITHDRAW,
-                LocalTimeZone.getDate(),
-                LocalTimeZone.getNow()
+                timeService.today(),
+                timeService.now()
         );
 
-        transactionRepository.save(transaction);
+        TransactionEntity savedTransaction = saveTransaction(transaction);
         accountRepository.update(updatedAccount);
+        return new TransactionResult.Success(savedTransaction);
     }
 
     /**
@@ -657,8 +1085,9 @@ public class TransactionService {
      * @param account rekening yang akan disetor uangnya
      * @param amount jumlah uang yang disetor
      * @param finalBalance saldo akhir rekening setelah setoran
+     * @return hasil sukses berisi transaksi yang disimpan
      */
-    private void applyMoneyDeposit(AccountEntity account, BigDecimal amount, BigDecimal finalBalance) {
+    private TransactionResult applyMoneyDeposit(AccountEntity account, BigDecimal amount, BigDecimal finalBalance) {
         AccountEntity updatedAccount = new AccountEntity(
                 account.id(),
                 account.accountNumber(),
@@ -674,11 +1103,24 @@ public class TransactionService {
                 null,
                 amount,
                 TransactionType.DEPOSIT,
-                LocalTimeZone.getDate(),
-                LocalTimeZone.getNow()
+                timeService.today(),
+                timeService.now()
         );
 
-        transactionRepository.save(transaction);
+        TransactionEntity savedTransaction = saveTransaction(transaction);
         accountRepository.update(updatedAccount);
+        return new TransactionResult.Success(savedTransaction);
+    }
+
+    /**
+     * Membuat hasil penolakan transaksi.
+     *
+     * <p>Jalur penolakan hanya mengalokasikan objek hasil ini; exception baru dibuat
+     * jika pemanggil menggunakan {@link TransactionResult#orThrow()}.</p>
+     */
+    private static TransactionResult reject(
+            TransactionResult.Code code, String accountNumber, int entityId, TransactionType transactionType,
+            BigDecimal actual, BigDecimal threshold) {
+        return new TransactionResult.Rejected(code, accountNumber, entityId, transactionType, actual, threshold);
     }
 }
@@ -0,0 +1,129 @@
+package application.service;
+
+import domain.value.TransactionType;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Aturan velocity untuk screening fraud transaksi kartu.
+ *
+ * <p>Aturan dilanggar jika transaksi baru membuat jumlah transaksi kartu dalam jendela waktu
+ * melebihi {@code maxCount}, atau total nominalnya melebihi {@code maxAmount}. Batas yang
+ * tidak dipakai diisi {@code 0} (untuk jumlah) atau {@code null} (untuk nominal).</p>
+ *
+ * @param transactionType tipe transaksi kartu yang dihitung, atau null untuk semua transaksi kartu
+ * @param window jendela waktu
+ * @param maxCount jumlah transaksi maksimum dalam jendela, atau 0 jika tidak dibatasi
+ * @param maxAmount total nominal maksimum dalam jendela, atau null jika tidak dibatasi
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public record VelocityRule(TransactionType transactionType, Window window, int maxCount, BigDecimal maxAmount) {
+
+    /**
+     * Konstruktor kanonik dengan validasi.
+     *
+     * @throws IllegalArgumentException jika tipe transaksi bukan transaksi kartu, jendela null,
+     *         atau kedua batas tidak diisi
+     */
+    public VelocityRule {
+        if (transactionType != null && CardVelocityScreen.kindOf(transactionType) < 0) {
+            throw new IllegalArgumentException("Aturan velocity hanya untuk transaksi kartu: " + transactionType);
+        }
+        if (window == null) {
+            throw new IllegalArgumentException("Jendela aturan velocity wajib diisi");
+        }
+        if (maxCount < 0 || (maxCount == 0 && maxAmount == null)) {
+            throw new IllegalArgumentException("Aturan velocity membutuhkan batas jumlah atau nominal");
+        }
+    }
+
+    /**
+     * Membuat aturan berdasarkan jumlah transaksi.
+     *
+     * @param transactionType tipe transaksi kartu, atau null untuk semua transaksi kartu
+     * @param window jendela waktu
+     * @param maxCount jumlah transaksi maksimum dalam jendela
+     * @return aturan velocity
+     */
+    public static VelocityRule maxCount(TransactionType transactionType, Window window, int maxCount) {
+        return new VelocityRule(transactionType, window, maxCount, null);
+    }
+
+    /**
+     * Membuat aturan berdasarkan total nominal transaksi.
+     *
+     * @param transactionType tipe transaksi kartu, atau null untuk semua transaksi kartu
+     * @param window jendela waktu
+     * @param maxAmount total nominal maksimum dalam jendela
+     * @return aturan velocity
+     */
+    public static VelocityRule maxAmount(TransactionType transactionType, Window window, BigDecimal maxAmount) {
+        return new VelocityRule(transactionType, window, 0, maxAmount);
+    }
+
+    /**
+     * Aturan bawaan: penarikan kartu maksimal 20 kali per menit, transfer kartu maksimal
+     * 10 kali per menit, dan semua transaksi kartu maksimal 60 kali per 10 menit.
+     *
+     * @return daftar aturan bawaan
+     */
+    public static List<VelocityRule> defaults() {
+        return List.of(
+                maxCount(TransactionType.WITHDRAW_VIA_CARD, Window.ONE_MINUTE, 20),
+                maxCount(TransactionType.TRANSFER_VIA_CARD, Window.ONE_MINUTE, 10),
+                maxCount(null, Window.TEN_MINUTES, 60)
+        );
+    }
+
+    /**
+     * Jendela waktu aturan velocity beserta resolusi bucket-nya.
+     *
+     * <p>Jendela dibagi menjadi bucket berukuran tetap; transaksi dihitung jika bucket-nya
+     * termasuk dalam {@code buckets()} bucket terakhir, sehingga batas awal jendela dibulatkan
+     * ke kelipatan ukuran bucket.</p>
+     */
+    public enum Window {
+        ONE_MINUTE(60, 5),
+        TEN_MINUTES(600, 30),
+        ONE_HOUR(3600, 300);
+
+        private final int seconds;
+        private final int bucketSeconds;
+
+        Window(int seconds, int bucketSeconds) {
+            this.seconds = seconds;
+            this.bucketSeconds = bucketSeconds;
+        }
+
+        /**
+         * Mendapatkan panjang jendela.
+         *
+         * @return panjang jendela dalam detik
+         */
+        public int seconds() {
+            return seconds;
+        }
+
+        /**
+         * Mendapatkan ukuran satu bucket.
+         *
+         * @return ukuran bucket dalam detik
+         */
+        public int bucketSeconds() {
+            return bucketSeconds;
+        }
+
+        /**
+         * Mendapatkan jumlah bucket dalam jendela.
+         *
+         * @return jumlah bucket
+         */
+        public int buckets() {
+            return seconds / bucketSeconds;
+        }
+    }
+}
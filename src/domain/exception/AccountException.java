@@ -7,6 +7,7 @@ package domain.exception;
 import domain.util.CurrencyFormatter;
 import java.math.BigDecimal;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * PBO[exception]: AccountException adalah superclass untuk semua masalah terkait akun/rekening.
@@ -25,15 +26,15 @@ public class AccountException extends BankingException {
         public AccountNotFound(String accountNumber) {
             super("ACCOUNT_NOT_FOUND", 
                 "Rekening tidak ditemukan", 
-                String.format("Account with number %s not found", accountNumber),
-                Map.of("accountNumber", accountNumber));
+                () -> String.format("Account with number %s not found", accountNumber),
+                () -> Map.of("accountNumber", accountNumber));
         }
         
         public AccountNotFound(int accountId) {
             super("ACCOUNT_NOT_FOUND", 
                 "Rekening tidak ditemukan", 
-                String.format("Account with ID %d not found", accountId),
-                Map.of("accountId", accountId));
+                () -> String.format("Account with ID %d not found", accountId),
+                () -> Map.of("accountId", accountId));
         }
     }
 
@@ -48,8 +49,8 @@ public class AccountException extends BankingException {
         public InsufficientBalance(String accountNumber, BigDecimal currentBalance, BigDecimal requiredAmount) {
             super("INSUFFICIENT_BALANCE", 
                 "Saldo tidak mencukupi", 
-                String.format("Insufficient balance. Current: %s, Required: %s", currentBalance, requiredAmount),
-                Map.of(
+                () -> String.format("Insufficient balance. Current: %s, Required: %s", currentBalance, requiredAmount),
+                () -> Map.of(
                     "accountNumber", accountNumber,
                     "currentBalance", currentBalance,
                     "requiredAmount", requiredAmount,
@@ -115,4 +116,10 @@ public class AccountException extends BankingException {
     private AccountException(String errorCode, String userMessage, String technicalMessage, Map<String, Object> context) {
         super(errorCode, userMessage, technicalMessage, context);
     }
+
+    // PBO[constructor-private]: Konstruktor untuk penolakan bisnis tanpa stack trace dengan pesan dan context lazy.
+    private AccountException(String errorCode, String userMessage, Supplier<String> technicalMessage,
+                             Supplier<Map<String, Object>> context) {
+        super(errorCode, userMessage, technicalMessage, context);
+    }
 }
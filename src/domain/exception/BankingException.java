@@ -3,9 +3,16 @@ package domain.exception;
 
 // PBO[import]: Mengimpor LocalDateTime untuk mencatat waktu kapan exception terjadi.
 // PBO[import]: Mengimpor Map untuk menyimpan context informasi tambahan yang berkaitan dengan error.
-import java.util.Map;
+// PBO[import]: Mengimpor Supplier untuk membangun pesan teknis dan context secara lazy.
+// PBO[import]: Mengimpor kelas I/O objek untuk serialisasi pesan teknis dan context yang sudah dibangun.
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * PBO[abstract class]: BankingException adalah base/induk untuk semua exception di sistem perbankan.
@@ -15,17 +22,32 @@ import java.util.Map;
  * termasuk error code, timestamp, context map, dan pesan yang terpisah untuk
  * user dan technical. Semua exception dalam sistem perbankan harus extend
  * class ini untuk konsistensi.</p>
+ *
+ * <p>Untuk penolakan bisnis yang sering terjadi (saldo kurang, PIN salah, batas harian),
+ * subclass dapat memakai konstruktor <em>rejection</em>: stack trace tidak direkam
+ * ({@code writableStackTrace=false}) dan pesan teknis maupun context baru dibangun saat
+ * pertama kali diminta. Stack trace dapat diaktifkan kembali untuk debugging melalui
+ * system property {@code bankingapp.exception.stackTrace=true} atau
+ * {@link #setRejectionStackTraceEnabled(boolean)}.</p>
+ *
+ * <p>Supplier tidak ikut diserialisasi. Saat exception diserialisasi, pesan teknis dan context
+ * dibangun lebih dulu lalu ditulis sebagai {@code String} dan {@code Map} biasa.</p>
  * 
  * @author Gede Dhanu Purnayasa
  * @author Made Marsel Biliana Wijaya
  * @since 1.0
  */
 public abstract class BankingException extends RuntimeException {
+    // PBO[field-static]: Apakah exception penolakan bisnis tetap merekam stack trace.
+    private static volatile boolean rejectionStackTraceEnabled = Boolean.getBoolean("bankingapp.exception.stackTrace");
+
     private final String errorCode;// PBO[field-final]: Kode error unik untuk mengidentifikasi jenis exception.
-    private final LocalDateTime timestamp;// PBO[field-final]: Timestamp kapan exception dibuat.
-    private final Map<String, Object> context;// PBO[field-final]: Map berisi informasi tambahan (context) terkait error ini.
+    private final long timestampMillis;// PBO[field-final]: Waktu (epoch millis) kapan exception dibuat.
     private final String userMessage;// PBO[field-final]: Pesan yang user-friendly untuk ditampilkan ke pengguna.
-    private final String technicalMessage;// PBO[field-final]: Pesan teknis untuk developer/debugging.
+    private final transient Supplier<String> technicalMessageSupplier;// PBO[field-final]: Pembangun pesan teknis yang belum dievaluasi.
+    private volatile String technicalMessage;// PBO[field]: Pesan teknis untuk developer/debugging.
+    private final transient Supplier<Map<String, Object>> contextSupplier;// PBO[field-final]: Pembangun context yang belum dievaluasi.
+    private transient volatile Map<String, Object> context;// PBO[field]: Map berisi informasi tambahan (context) terkait error ini.
 
     /**
      * PBO[constructor]: Konstruktor lengkap untuk BankingException.
@@ -41,8 +63,33 @@ public abstract class BankingException extends RuntimeException {
         this.errorCode = errorCode;
         this.userMessage = userMessage;
         this.technicalMessage = technicalMessage;
+        this.technicalMessageSupplier = null;
         this.context = context != null ? Map.copyOf(context) : Map.of();
-        this.timestamp = LocalDateTime.now();
+        this.contextSupplier = null;
+        this.timestampMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * PBO[constructor-overload]: Konstruktor untuk penolakan bisnis yang murah dibuat.
+     * Konstruktor BankingException untuk penolakan bisnis (rejection).
+     *
+     * <p>Stack trace tidak direkam kecuali diaktifkan melalui
+     * {@link #setRejectionStackTraceEnabled(boolean)}, dan kedua supplier baru
+     * dievaluasi saat {@link #getTechnicalMessage()} atau {@link #getContext()} dipanggil.</p>
+     *
+     * @param errorCode kode error yang unik untuk jenis exception ini
+     * @param userMessage pesan yang user-friendly untuk ditampilkan ke pengguna
+     * @param technicalMessage pembangun pesan teknis untuk debugging developer
+     * @param context pembangun map berisi informasi tambahan untuk debugging
+     */
+    protected BankingException(String errorCode, String userMessage, Supplier<String> technicalMessage,
+                               Supplier<Map<String, Object>> context) {
+        super(null, null, false, rejectionStackTraceEnabled);
+        this.errorCode = errorCode;
+        this.userMessage = userMessage;
+        this.technicalMessageSupplier = technicalMessage;
+        this.contextSupplier = context;
+        this.timestampMillis = System.currentTimeMillis();
     }
 
     /**
@@ -65,7 +112,26 @@ public abstract class BankingException extends RuntimeException {
      * @param message pesan yang akan digunakan untuk user dan technical message
      */
     protected BankingException(String errorCode, String message) {
-        this(errorCode, message, message, null);
+        this(errorCode, message, message, (Map<String, Object>) null);
+    }
+
+    /**
+     * PBO[static method]: Mengaktifkan atau menonaktifkan stack trace untuk penolakan bisnis.
+     * Mengatur apakah exception penolakan bisnis yang dibuat setelah ini merekam stack trace.
+     *
+     * @param enabled true untuk merekam stack trace (mode debugging), false untuk mode cepat
+     */
+    public static void setRejectionStackTraceEnabled(boolean enabled) {
+        rejectionStackTraceEnabled = enabled;
+    }
+
+    /**
+     * PBO[static method]: Mengembalikan apakah penolakan bisnis merekam stack trace.
+     *
+     * @return true jika stack trace direkam untuk penolakan bisnis
+     */
+    public static boolean isRejectionStackTraceEnabled() {
+        return rejectionStackTraceEnabled;
     }
 
     /**
@@ -85,7 +151,7 @@ public abstract class BankingException extends RuntimeException {
      * @return LocalDateTime saat exception terjadi
      */
     public LocalDateTime getTimestamp() {
-        return timestamp;
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis), ZoneId.systemDefault());
     }
 
     /**
@@ -95,7 +161,13 @@ public abstract class BankingException extends RuntimeException {
      * @return Map berisi key-value pairs untuk debugging
      */
     public Map<String, Object> getContext() {
-        return context;
+        Map<String, Object> result = context;
+        if (result == null) {
+            Map<String, Object> built = contextSupplier.get();
+            result = built != null ? Map.copyOf(built) : Map.of();
+            context = result;
+        }
+        return result;
     }
 
     /**
@@ -115,7 +187,50 @@ public abstract class BankingException extends RuntimeException {
      * @return pesan teknis sebagai string
      */
     public String getTechnicalMessage() {
-        return technicalMessage;
+        String result = technicalMessage;
+        if (result == null && technicalMessageSupplier != null) {
+            result = technicalMessageSupplier.get();
+            technicalMessage = result;
+        }
+        return result;
+    }
+
+    /**
+     * PBO[override getMessage]: Pesan exception adalah pesan teknis (dibangun lazy bila perlu).
+     *
+     * @return pesan teknis sebagai string
+     */
+    @Override
+    public String getMessage() {
+        return getTechnicalMessage();
+    }
+
+    /**
+     * PBO[serialization]: Membangun pesan teknis dan context sebelum ditulis ke stream.
+     * Menulis exception dengan pesan teknis dan context yang sudah dibangun.
+     *
+     * @param out stream tujuan serialisasi
+     * @throws IOException jika penulisan ke stream gagal
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getTechnicalMessage();
+        Map<String, Object> materialized = getContext();
+        out.defaultWriteObject();
+        out.writeObject(materialized);
+    }
+
+    /**
+     * PBO[serialization]: Membaca kembali context yang ditulis oleh writeObject.
+     * Membaca exception beserta context yang sudah dibangun saat serialisasi.
+     *
+     * @param in stream sumber deserialisasi
+     * @throws IOException jika pembacaan dari stream gagal
+     * @throws ClassNotFoundException jika kelas isi context tidak ditemukan
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        context = (Map<String, Object>) in.readObject();
     }
 
     /**
@@ -130,6 +245,6 @@ public abstract class BankingException extends RuntimeException {
     @Override
     public String toString() {
         return String.format("[%s] %s - %s (Context: %s)", 
-            errorCode, userMessage, technicalMessage, context);
+            errorCode, userMessage, getTechnicalMessage(), getContext());
     }
 }
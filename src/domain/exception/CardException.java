@@ -5,6 +5,7 @@ package domain.exception;
 // PBO[import]: Mengimpor Map untuk menyimpan informasi tambahan (context) yang berkaitan dengan error.
 import java.math.BigDecimal;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * PBO[class]: CardException adalah turunan dari BankingException untuk masalah yang berkaitan dengan kartu.
@@ -23,15 +24,15 @@ public class CardException extends BankingException {
         public CardNotFound(int accountId) {
             super("CARD_NOT_FOUND", 
                 "Kartu tidak ditemukan", 
-                String.format("Card for account ID %d not found", accountId),
-                Map.of("accountId", accountId));
+                () -> String.format("Card for account ID %d not found", accountId),
+                () -> Map.of("accountId", accountId));
         }
         
         public CardNotFound(String cardNumber) {
             super("CARD_NOT_FOUND", 
                 "Kartu tidak ditemukan", 
-                String.format("Card with number %s not found", cardNumber),
-                Map.of("cardNumber", cardNumber));
+                () -> String.format("Card with number %s not found", cardNumber),
+                () -> Map.of("cardNumber", cardNumber));
         }
     }
     /**
@@ -41,8 +42,8 @@ public class CardException extends BankingException {
         public InvalidPin(int accountId, int attempts) {
             super("INVALID_PIN", 
                 "PIN yang Anda masukkan salah", 
-                String.format("Invalid PIN for account %d, attempt %d", accountId, attempts),
-                Map.of(
+                () -> String.format("Invalid PIN for account %d, attempt %d", accountId, attempts),
+                () -> Map.of(
                     "accountId", accountId,
                     "attempts", attempts
                 ));
@@ -51,8 +52,22 @@ public class CardException extends BankingException {
         public InvalidPin(String cardNumber) {
             super("INVALID_PIN", 
                 "PIN yang Anda masukkan salah", 
-                String.format("Invalid PIN for card %s", cardNumber),
-                Map.of("cardNumber", cardNumber));
+                () -> String.format("Invalid PIN for card %s", cardNumber),
+                () -> Map.of("cardNumber", cardNumber));
+        }
+    }
+    /**
+     * PBO[inner-class]: Exception untuk kasus kartu dikunci sementara karena PIN salah berulang kali.
+     */
+    public static class CardLocked extends CardException {
+        public CardLocked(int accountId, long retryAfterSeconds) {
+            super("CARD_LOCKED",
+                "Kartu diblokir sementara karena PIN salah berulang kali",
+                () -> String.format("Card for account %d is locked for %d more seconds", accountId, retryAfterSeconds),
+                () -> Map.of(
+                    "accountId", accountId,
+                    "retryAfterSeconds", retryAfterSeconds
+                ));
         }
     }
     /**
@@ -102,4 +117,17 @@ public class CardException extends BankingException {
     private CardException(String errorCode, String userMessage, String technicalMessage, Map<String, Object> context) {
         super(errorCode, userMessage, technicalMessage, context);
     }
+
+    /**
+     * PBO[constructor-private]: Konstruktor untuk penolakan bisnis tanpa stack trace; pesan teknis dan context dibangun lazy.
+     *
+     * @param errorCode kode error unik
+     * @param userMessage pesan ramah pengguna
+     * @param technicalMessage pembangun pesan teknis untuk debugging
+     * @param context pembangun map berisi info tambahan
+     */
+    private CardException(String errorCode, String userMessage, Supplier<String> technicalMessage,
+                          Supplier<Map<String, Object>> context) {
+        super(errorCode, userMessage, technicalMessage, context);
+    }
 }
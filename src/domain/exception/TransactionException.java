@@ -6,6 +6,7 @@ import domain.util.CurrencyFormatter;
 // PBO[import]: Mengimpor Map untuk menyimpan context tambahan pada exception
 import java.math.BigDecimal;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * PBO[class]: Kelas induk untuk semua exception terkait transaksi
@@ -33,9 +34,9 @@ public class TransactionException extends BankingException {
         // PBO[konstruktor]: Membuat exception DailyLimitExceeded dengan context limit transaksi
         public DailyLimitExceeded(String accountNumber, String transactionType, BigDecimal currentTotal, BigDecimal limit) {
             super("DAILY_LIMIT_EXCEEDED", 
-                String.format("Batas %s harian terlampaui", getTransactionTypeName(transactionType)), 
-                String.format("Daily %s limit exceeded. Current: %s, Limit: %s", transactionType, currentTotal, limit),
-                Map.of(
+                getUserMessage(transactionType), 
+                () -> String.format("Daily %s limit exceeded. Current: %s, Limit: %s", transactionType, currentTotal, limit),
+                () -> Map.of(
                     "accountNumber", accountNumber,
                     "transactionType", transactionType,
                     "currentTotal", currentTotal,
@@ -74,6 +75,19 @@ public class TransactionException extends BankingException {
             return CurrencyFormatter.format((BigDecimal) getContext().get("excess"));
         }
 
+        // PBO[utility]: Pesan user untuk tipe transaksi umum berupa konstanta agar penolakan tidak membuat String baru
+        private static String getUserMessage(String type) {
+            return switch (type) {
+                case "TRANSFER" -> "Batas transfer harian terlampaui";
+                case "WITHDRAW" -> "Batas penarikan harian terlampaui";
+                case "DEPOSIT" -> "Batas setoran harian terlampaui";
+                case "TRANSFER_VIA_CARD" -> "Batas transfer via kartu harian terlampaui";
+                case "WITHDRAW_VIA_CARD" -> "Batas penarikan via kartu harian terlampaui";
+                case "DEPOSIT_VIA_CARD" -> "Batas setoran via kartu harian terlampaui";
+                default -> String.format("Batas %s harian terlampaui", getTransactionTypeName(type));
+            };
+        }
+
         // PBO[utility]: Mengubah kode transaksi menjadi nama Indonesia user-friendly
         private static String getTransactionTypeName(String type) {
             return switch (type) {
@@ -87,20 +101,36 @@ public class TransactionException extends BankingException {
             };
         }
     }
+    // PBO[inner-class]: Exception untuk transaksi kartu yang ditolak screening fraud karena terlalu sering atau terlalu besar dalam waktu singkat
+    public static class VelocityLimitExceeded extends TransactionException {
+        // PBO[konstruktor]: Membuat exception VelocityLimitExceeded dengan context aturan velocity yang dilanggar
+        public VelocityLimitExceeded(String accountNumber, String transactionType, BigDecimal actual, BigDecimal limit) {
+            super("VELOCITY_LIMIT_EXCEEDED",
+                "Transaksi kartu terlalu sering, silakan coba beberapa saat lagi",
+                () -> String.format("Card %s velocity limit exceeded for account %s. Current: %s, Limit: %s",
+                        transactionType, accountNumber, actual, limit),
+                () -> Map.of(
+                    "accountNumber", accountNumber,
+                    "transactionType", transactionType,
+                    "actual", actual,
+                    "limit", limit
+                ));
+        }
+    }
     // PBO[inner-class]: Exception untuk jumlah transaksi tidak valid
     public static class InvalidTransactionAmount extends TransactionException {
         public InvalidTransactionAmount(BigDecimal amount) {
             super("INVALID_TRANSACTION_AMOUNT", 
                 "Jumlah transaksi tidak valid", 
-                String.format("Invalid transaction amount: %s", amount),
-                Map.of("amount", amount));
+                () -> String.format("Invalid transaction amount: %s", amount),
+                () -> Map.of("amount", amount));
         }
         
         public InvalidTransactionAmount(BigDecimal amount, BigDecimal minimumAmount) {
             super("INVALID_TRANSACTION_AMOUNT", 
                 String.format("Jumlah transaksi minimal %s", minimumAmount), 
-                String.format("Transaction amount %s below minimum %s", amount, minimumAmount),
-                Map.of(
+                () -> String.format("Transaction amount %s below minimum %s", amount, minimumAmount),
+                () -> Map.of(
                     "amount", amount,
                     "minimumAmount", minimumAmount
                 ));
@@ -111,8 +141,8 @@ public class TransactionException extends BankingException {
         public SameAccountTransfer(String accountNumber) {
             super("SAME_ACCOUNT_TRANSFER", 
                 "Tidak dapat transfer ke rekening yang sama", 
-                String.format("Cannot transfer to same account %s", accountNumber),
-                Map.of("accountNumber", accountNumber));
+                () -> String.format("Cannot transfer to same account %s", accountNumber),
+                () -> Map.of("accountNumber", accountNumber));
         }
     }
     // PBO[inner-class]: Exception untuk transaksi tidak ditemukan
@@ -170,4 +200,10 @@ public class TransactionException extends BankingException {
     private TransactionException(String errorCode, String userMessage, String technicalMessage, Map<String, Object> context) {
         super(errorCode, userMessage, technicalMessage, context);
     }
+
+    // PBO[konstruktor]: Konstruktor privat untuk penolakan bisnis tanpa stack trace dengan pesan teknis dan context lazy
+    private TransactionException(String errorCode, String userMessage, Supplier<String> technicalMessage,
+                                 Supplier<Map<String, Object>> context) {
+        super(errorCode, userMessage, technicalMessage, context);
+    }
 }
@@ -5,13 +5,15 @@ import domain.entity.AccountCardEntity;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Interface repository untuk mengelola data kartu ATM/Debit dalam sistem perbankan.
  * 
  * <p>Interface ini mendefinisikan operasi CRUD (Create, Read, Update, Delete)
  * untuk entitas AccountCardEntity dan mengikuti pola Repository Pattern.
- * Menyediakan metode pencarian berdasarkan ID dan ID rekening.</p>
+ * Menyediakan metode pencarian berdasarkan ID, ID rekening, dan nomor kartu.</p>
  * 
  * @author Gede Dhanu Purnayasa
  * @author Made Marsel Biliana Wijaya
@@ -38,6 +40,16 @@ public interface AccountCardRepository {
      */
     Optional<AccountCardEntity> findByAccountId(int accountId);
 
+    /**
+     * PBO[method]: Mencari kartu berdasarkan nomor kartu, misalnya untuk autentikasi di ATM.
+     * Nomor kartu yang tidak terdaftar harus dapat ditolak dengan murah karena sebagian besar
+     * permintaan dengan nomor tidak dikenal adalah salah ketik atau percobaan nomor curian.
+     *
+     * @param cardNumber nomor kartu yang dicari
+     * @return Optional yang berisi AccountCardEntity jika ditemukan, atau empty jika tidak
+     */
+    Optional<AccountCardEntity> findByCardNumber(String cardNumber);
+
     /**
      * PBO[method]: Mengambil semua data kartu yang tersimpan dalam repository.
      * Mengambil semua data kartu yang tersimpan.
@@ -46,6 +58,32 @@ public interface AccountCardRepository {
      */
     List<AccountCardEntity> findAll();
 
+    /**
+     * PBO[method]: Memindai data kartu rekening secara streaming tanpa menyalin seluruh isi repository.
+     * Memindai data kartu rekening secara streaming.
+     *
+     * <p>Stream dibuat di atas view saat method dipanggil: data yang disimpan setelahnya
+     * tidak ikut terbaca. Filter diterapkan langsung oleh implementasi storage, dan stream
+     * dapat dijadikan paralel dengan {@code parallel()}.</p>
+     *
+     * @param filter kondisi data yang diambil, atau null untuk semua data
+     * @return Stream berisi AccountCardEntity yang cocok, berurutan berdasarkan ID
+     */
+    Stream<AccountCardEntity> scan(Predicate<? super AccountCardEntity> filter);
+
+    /**
+     * PBO[method]: Menghitung jumlah data kartu rekening yang tersimpan.
+     *
+     * <p>Implementasi bawaan memindai seluruh data; implementasi storage sebaiknya menjawab
+     * tanpa scan karena method ini dipanggil oleh gauge metrik pada setiap scrape.</p>
+     *
+     * @return jumlah data kartu rekening, tidak termasuk yang sudah dihapus
+     * @since 1.1
+     */
+    default long count() {
+        return scan(null).count();
+    }
+
     /**
      * PBO[method]: Menyimpan kartu baru ke dalam repository.
      * Menyimpan kartu baru ke dalam repository.
@@ -5,6 +5,8 @@ import domain.entity.AccountEntity;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  *  PBO[repository]: Interface repository untuk mengelola data rekening bank dalam sistem perbankan.
@@ -56,6 +58,32 @@ public interface AccountRepository {
      */
     List<AccountEntity> findAll();
 
+    /**
+     * PBO[method]: Memindai data rekening secara streaming tanpa menyalin seluruh isi repository.
+     * Memindai data rekening secara streaming.
+     *
+     * <p>Stream dibuat di atas view saat method dipanggil: data yang disimpan setelahnya
+     * tidak ikut terbaca. Filter diterapkan langsung oleh implementasi storage, dan stream
+     * dapat dijadikan paralel dengan {@code parallel()}.</p>
+     *
+     * @param filter kondisi data yang diambil, atau null untuk semua data
+     * @return Stream berisi AccountEntity yang cocok, berurutan berdasarkan ID
+     */
+    Stream<AccountEntity> scan(Predicate<? super AccountEntity> filter);
+
+    /**
+     * PBO[method]: Menghitung jumlah data rekening yang tersimpan.
+     *
+     * <p>Implementasi bawaan memindai seluruh data; implementasi storage sebaiknya menjawab
+     * tanpa scan karena method ini dipanggil oleh gauge metrik pada setiap scrape.</p>
+     *
+     * @return jumlah data rekening, tidak termasuk yang sudah dihapus
+     * @since 1.1
+     */
+    default long count() {
+        return scan(null).count();
+    }
+
     /**
      * PBO[method]: Menyimpan rekening baru ke dalam repository.
      * Menyimpan rekening baru ke dalam repository.
@@ -83,4 +111,16 @@ public interface AccountRepository {
      * @return true jika rekening berhasil dihapus, false jika tidak ditemukan
      */
     boolean deleteById(int id);
+
+    /**
+     * PBO[method]: Mengambil view read-only yang konsisten atas data rekening saat ini.
+     * Mengambil snapshot read-only dari repository.
+     *
+     * <p>Semua query pada snapshot melihat data pada titik waktu yang sama, walaupun
+     * repository utama terus ditulis. Operasi tulis pada snapshot melempar
+     * {@link UnsupportedOperationException}.</p>
+     *
+     * @return AccountRepository read-only yang terikat pada satu versi data
+     */
+    AccountRepository snapshot();
 }
@@ -5,6 +5,8 @@ import domain.entity.CardTypeEntity;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * PBO[repository]: Interface repository untuk mengelola data tipe kartu dalam sistem perbankan.
@@ -38,6 +40,32 @@ public interface CardTypeRepository {
      */
     List<CardTypeEntity> findAll();
 
+    /**
+     * PBO[method]: Memindai data jenis kartu secara streaming tanpa menyalin seluruh isi repository.
+     * Memindai data jenis kartu secara streaming.
+     *
+     * <p>Stream dibuat di atas view saat method dipanggil: data yang disimpan setelahnya
+     * tidak ikut terbaca. Filter diterapkan langsung oleh implementasi storage, dan stream
+     * dapat dijadikan paralel dengan {@code parallel()}.</p>
+     *
+     * @param filter kondisi data yang diambil, atau null untuk semua data
+     * @return Stream berisi CardTypeEntity yang cocok, berurutan berdasarkan ID
+     */
+    Stream<CardTypeEntity> scan(Predicate<? super CardTypeEntity> filter);
+
+    /**
+     * PBO[method]: Menghitung jumlah data tipe kartu yang tersimpan.
+     *
+     * <p>Implementasi bawaan memindai seluruh data; implementasi storage sebaiknya menjawab
+     * tanpa scan karena method ini dipanggil oleh gauge metrik pada setiap scrape.</p>
+     *
+     * @return jumlah data tipe kartu, tidak termasuk yang sudah dihapus
+     * @since 1.1
+     */
+    default long count() {
+        return scan(null).count();
+    }
+
     /**
      * PBO[method]: Menyimpan tipe kartu baru ke dalam repository.
      * Menyimpan tipe kartu baru ke dalam repository.
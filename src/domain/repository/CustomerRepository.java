@@ -4,6 +4,8 @@ import domain.entity.CustomerEntity;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * PBO[repository]: Interface repository untuk mengelola data nasabah dalam sistem perbankan.
@@ -45,6 +47,32 @@ public interface CustomerRepository {
      */
     List<CustomerEntity> findAll();
 
+    /**
+     * PBO[method]: Memindai data pelanggan secara streaming tanpa menyalin seluruh isi repository.
+     * Memindai data pelanggan secara streaming.
+     *
+     * <p>Stream dibuat di atas view saat method dipanggil: data yang disimpan setelahnya
+     * tidak ikut terbaca. Filter diterapkan langsung oleh implementasi storage, dan stream
+     * dapat dijadikan paralel dengan {@code parallel()}.</p>
+     *
+     * @param filter kondisi data yang diambil, atau null untuk semua data
+     * @return Stream berisi CustomerEntity yang cocok, berurutan berdasarkan ID
+     */
+    Stream<CustomerEntity> scan(Predicate<? super CustomerEntity> filter);
+
+    /**
+     * PBO[method]: Menghitung jumlah data nasabah yang tersimpan.
+     *
+     * <p>Implementasi bawaan memindai seluruh data; implementasi storage sebaiknya menjawab
+     * tanpa scan karena method ini dipanggil oleh gauge metrik pada setiap scrape.</p>
+     *
+     * @return jumlah data nasabah, tidak termasuk yang sudah dihapus
+     * @since 1.1
+     */
+    default long count() {
+        return scan(null).count();
+    }
+
     /**
      * PBO[method]: Memperbarui data nasabah yang sudah ada.
      * Memperbarui data nasabah yang sudah ada.
@@ -2,8 +2,11 @@ package domain.repository;
 
 import domain.entity.TransactionEntity;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * PBO[repository]: Interface repository untuk mengelola data transaksi keuangan dalam sistem perbankan.
@@ -39,6 +42,30 @@ public interface TransactionRepository {
      */
     List<TransactionEntity> findByAccountIdWithDate(int accountId, String date);
 
+    /**
+     * PBO[method]: Mencari transaksi masuk berdasarkan ID rekening tujuan.
+     * Mencari transaksi masuk berdasarkan ID rekening tujuan.
+     *
+     * @param destinationAccountId ID rekening tujuan transaksi
+     * @return List berisi TransactionEntity yang sesuai, diurutkan dari yang paling lama
+     */
+    List<TransactionEntity> findByDestinationAccountId(int destinationAccountId);
+
+    /**
+     * PBO[method]: Membuka cursor riwayat transaksi satu rekening dalam rentang tanggal.
+     * Membuka cursor riwayat transaksi satu rekening dalam rentang tanggal.
+     *
+     * <p>Cursor mengembalikan transaksi di mana rekening tersebut menjadi rekening asal
+     * maupun rekening tujuan, diurutkan berdasarkan timestamp dari yang paling lama. Data dibaca satu per satu
+     * tanpa menyalin seluruh riwayat, sehingga memori yang dipakai tetap konstan.</p>
+     *
+     * @param accountId ID akun yang terkait dengan transaksi (asal atau tujuan)
+     * @param fromDate tanggal awal inklusif dalam format YYYY-MM-DD, atau null jika tanpa batas
+     * @param toDate tanggal akhir inklusif dalam format YYYY-MM-DD, atau null jika tanpa batas
+     * @return Iterator berisi TransactionEntity yang sesuai, dari yang paling lama
+     */
+    Iterator<TransactionEntity> iterateByAccountId(int accountId, String fromDate, String toDate);
+
     /**
      * PBO[method]: Mengambil semua data transaksi yang tersimpan di repository.
      * Mengambil semua data transaksi yang tersimpan.
@@ -47,6 +74,63 @@ public interface TransactionRepository {
      */
     List<TransactionEntity> findAll();
 
+    /**
+     * PBO[method]: Memindai data transaksi secara streaming tanpa menyalin seluruh isi repository.
+     * Memindai data transaksi secara streaming.
+     *
+     * <p>Stream dibuat di atas view saat method dipanggil: data yang disimpan setelahnya
+     * tidak ikut terbaca. Filter diterapkan langsung oleh implementasi storage, dan stream
+     * dapat dijadikan paralel dengan {@code parallel()}.</p>
+     *
+     * @param filter kondisi data yang diambil, atau null untuk semua data
+     * @return Stream berisi TransactionEntity yang cocok, berurutan berdasarkan ID
+     */
+    Stream<TransactionEntity> scan(Predicate<? super TransactionEntity> filter);
+
+    /**
+     * PBO[method]: Menghitung jumlah data transaksi yang tersimpan.
+     *
+     * <p>Implementasi bawaan memindai seluruh data; implementasi storage sebaiknya menjawab
+     * tanpa scan karena method ini dipanggil oleh gauge metrik pada setiap scrape.</p>
+     *
+     * @return jumlah data transaksi, tidak termasuk yang sudah dihapus
+     * @since 1.1
+     */
+    default long count() {
+        return scan(null).count();
+    }
+
+    /**
+     * PBO[method]: Memindai transaksi pada rentang ID tertentu sebagai log berurutan.
+     * Memindai transaksi dengan ID pada rentang [fromId, toId).
+     *
+     * <p>Dipakai untuk memutar ulang riwayat transaksi sebagai log, misalnya oleh proyeksi saldo
+     * event-sourced yang hanya membaca transaksi setelah posisi terakhirnya. Implementasi bawaan
+     * memfilter {@link #scan}; implementasi storage sebaiknya langsung melompat ke ID awal.</p>
+     *
+     * @param fromId ID awal (inklusif)
+     * @param toId ID akhir (eksklusif)
+     * @return Stream berisi TransactionEntity pada rentang tersebut, berurutan berdasarkan ID
+     * @since 1.1
+     */
+    default Stream<TransactionEntity> scanRange(int fromId, int toId) {
+        return scan(transaction -> transaction.id() >= fromId && transaction.id() < toId);
+    }
+
+    /**
+     * PBO[method]: Mengambil ID transaksi terbesar yang sudah tersimpan.
+     * Mengambil ID transaksi terbesar yang sudah tersimpan.
+     *
+     * <p>Bersama {@link #scanRange(int, int)}, method ini memungkinkan pembaca log mengetahui
+     * apakah ada transaksi baru tanpa memindai seluruh repository.</p>
+     *
+     * @return ID terbesar (termasuk transaksi yang sudah dihapus jika implementasi mencatatnya), atau 0 jika kosong
+     * @since 1.1
+     */
+    default int lastId() {
+        return scan(null).mapToInt(TransactionEntity::id).max().orElse(0);
+    }
+
     /**
      * PBO[method]: Memperbarui data transaksi yang sudah ada.
      * Memperbarui data transaksi yang sudah ada.
@@ -66,6 +150,19 @@ public interface TransactionRepository {
      */
     TransactionEntity save(TransactionEntity customer);
 
+    /**
+     * PBO[method]: Menyimpan sekumpulan transaksi baru dalam satu penulisan massal.
+     * Menyimpan sekumpulan transaksi baru ke dalam repository.
+     *
+     * <p>Dipakai oleh proses massal seperti akrual bunga akhir hari. Implementasi sebaiknya
+     * mengambil lock dan mempublikasikan perubahan sekali per batch, bukan sekali per transaksi.</p>
+     *
+     * @param transactions TransactionEntity yang akan disimpan
+     * @return TransactionEntity yang sudah disimpan dengan ID yang sudah di-assign, berurutan sesuai input
+     * @since 1.1
+     */
+    List<TransactionEntity> saveAll(List<TransactionEntity> transactions);
+
     /**
      * PBO[method]: Menghapus transaksi berdasarkan ID.
      * Menghapus transaksi berdasarkan ID.
@@ -74,4 +171,16 @@ public interface TransactionRepository {
      * @return true jika transaksi berhasil dihapus, false jika tidak ditemukan
      */
     boolean deleteById(int id);
+
+    /**
+     * PBO[method]: Mengambil view read-only yang konsisten atas data transaksi saat ini.
+     * Mengambil snapshot read-only dari repository.
+     *
+     * <p>Semua query pada snapshot melihat data pada titik waktu yang sama, walaupun
+     * repository utama terus ditulis. Operasi tulis pada snapshot melempar
+     * {@link UnsupportedOperationException}.</p>
+     *
+     * @return TransactionRepository read-only yang terikat pada satu versi data
+     */
+    TransactionRepository snapshot();
 }
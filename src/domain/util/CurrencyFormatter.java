@@ -3,8 +3,6 @@
 package domain.util;
 
 import java.math.BigDecimal;
-import java.text.NumberFormat;
-import java.util.Locale;
 
 /**
  * PBO[utility]: Utility class untuk formatting mata uang Rupiah Indonesia.
@@ -12,6 +10,10 @@ import java.util.Locale;
  * 
  * <p>Class ini menyediakan method-method untuk memformat nilai BigDecimal
  * menjadi string Rupiah dengan format yang konsisten di seluruh aplikasi.</p>
+ *
+ * <p>Formatting didelegasikan ke {@link RupiahFormatter} yang tidak memiliki state
+ * bersama, sehingga aman dipanggil dari banyak thread sekaligus. Untuk menulis ke
+ * buffer milik pemanggil tanpa membuat String, gunakan {@link RupiahFormatter} langsung.</p>
  * 
  * @author Gede Dhanu Purnayasa
  * @author Made Marsel Biliana Wijaya
@@ -22,26 +24,16 @@ import java.util.Locale;
 // Final class di OOP = mencegah inheritance supaya perilaku tidak diubah subclass.
 // Utility class = kumpulan fungsi statis, tidak boleh diinstansiasi.
 public final class CurrencyFormatter {
-    
+
     /**
-     * PBO[field-static-final]: Konstanta static final untuk menyimpan formatter.
-     * Formatter untuk menampilkan mata uang dalam format Rupiah Indonesia.
-     * Menggunakan format "Rp 1.234.567" dengan pemisah ribuan.
+     * PBO[field-static-final]: Prefix mata uang Rupiah.
      */
-    private static final NumberFormat RUPIAH_FORMATTER = NumberFormat.getNumberInstance(Locale.of("id", "ID"));
-    
+    private static final String PREFIX = "Rp ";
+
     /**
-     * // PBO[field-static-final]: Formatter untuk Rupiah dengan desimal.
-     * Formatter untuk menampilkan mata uang dengan desimal.
-     * Menggunakan format "Rp 1.234.567,50" dengan pemisah ribuan dan desimal.
+     * PBO[field-static-final]: Kapasitas awal StringBuilder, cukup untuk nominal hingga triliunan dengan desimal.
      */
-    private static final NumberFormat RUPIAH_FORMATTER_WITH_DECIMALS = NumberFormat.getNumberInstance(Locale.of("id", "ID"));
-
-    // PBO[static block]: Blok inisialisasi statis yang mengatur jumlah digit desimal pada formatter dengan desimal agar selalu 2 digit.
-    static {
-        RUPIAH_FORMATTER_WITH_DECIMALS.setMinimumFractionDigits(2);
-        RUPIAH_FORMATTER_WITH_DECIMALS.setMaximumFractionDigits(2);
-    }
+    private static final int INITIAL_CAPACITY = 32;
 
     // PBO[constructor]: Constructor privat untuk mencegah pembuatan instance CurrencyFormatter (utility class dipakai lewat metode statis).
     private CurrencyFormatter() {
@@ -64,7 +56,7 @@ public final class CurrencyFormatter {
         if (amount == null) {
             return "Rp 0";
         }
-        return "Rp " + RUPIAH_FORMATTER.format(amount);
+        return RupiahFormatter.append(new StringBuilder(INITIAL_CAPACITY).append(PREFIX), amount).toString();
     }
     
     /**
@@ -83,7 +75,7 @@ public final class CurrencyFormatter {
         if (amount == null) {
             return "Rp 0,00";
         }
-        return "Rp " + RUPIAH_FORMATTER_WITH_DECIMALS.format(amount);
+        return RupiahFormatter.appendWithDecimals(new StringBuilder(INITIAL_CAPACITY).append(PREFIX), amount).toString();
     }
     
     /**
@@ -117,7 +109,7 @@ public final class CurrencyFormatter {
      * </pre>
      */
     public static String format(long amount) {
-        return format(BigDecimal.valueOf(amount));
+        return RupiahFormatter.append(new StringBuilder(INITIAL_CAPACITY).append(PREFIX), amount, 0).toString();
     }
     
     /**
@@ -133,7 +125,7 @@ public final class CurrencyFormatter {
      * </pre>
      */
     public static String format(int amount) {
-        return format(BigDecimal.valueOf(amount));
+        return format((long) amount);
     }
     
     /**
@@ -153,7 +145,7 @@ public final class CurrencyFormatter {
         if (amount == null) {
             return "0";
         }
-        return RUPIAH_FORMATTER.format(amount);
+        return RupiahFormatter.append(new StringBuilder(INITIAL_CAPACITY), amount).toString();
     }
     
     /**
@@ -172,6 +164,6 @@ public final class CurrencyFormatter {
         if (amount == null) {
             return "0,00";
         }
-        return RUPIAH_FORMATTER_WITH_DECIMALS.format(amount);
+        return RupiahFormatter.appendWithDecimals(new StringBuilder(INITIAL_CAPACITY), amount).toString();
     }
 }
@@ -1,9 +1,9 @@
 // PBO[package]: Menentukan paket tempat utility LocalTimeZone berada.
 package domain.util;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
 
 /**
  * PBO[utility]: Utility class untuk mengelola waktu dan timezone dalam sistem perbankan.
@@ -11,6 +11,9 @@ import java.time.ZonedDateTime;
  * 
  * <p>Class ini menyediakan method untuk mendapatkan waktu saat ini dan tanggal
  * dalam timezone Asia/Makassar (WITA) yang digunakan di Indonesia.</p>
+ *
+ * <p>Untuk kode baru, gunakan {@link application.service.TimeService} yang dapat
+ * di-inject. Method statis di sini dipertahankan untuk kompatibilitas.</p>
  * 
  * @author Gede Dhanu Purnayasa
  * @author Made Marsel Biliana Wijaya
@@ -18,7 +21,23 @@ import java.time.ZonedDateTime;
  */
 // PBO[class-final]: LocalTimeZone adalah class utilitas final (tidak bisa di-extend) untuk waktu/tanggal.
 public final class LocalTimeZone {
-    
+
+    /**
+     * PBO[field-static-final]: Timezone bisnis yang di-cache agar tidak di-resolve ulang setiap pemanggilan.
+     */
+    public static final ZoneId ZONE = ZoneId.of("Asia/Makassar");
+
+    /**
+     * PBO[field-static-final]: Offset WITA terhadap UTC dalam detik.
+     * Asia/Makassar tidak menerapkan daylight saving, sehingga offset ini tetap.
+     */
+    public static final int OFFSET_SECONDS = ZONE.getRules().getOffset(Instant.now()).getTotalSeconds();
+
+    // PBO[constructor]: Constructor privat untuk mencegah pembuatan instance utility class.
+    private LocalTimeZone() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
     /**
      * PBO[static method]: Mendapatkan timestamp saat ini dalam epoch seconds (timezone Asia/Makassar).
      * Mendapatkan timestamp saat ini dalam epoch seconds (timezone Asia/Makassar).
@@ -29,19 +48,19 @@ public final class LocalTimeZone {
      * @return timestamp saat ini dalam epoch seconds
      */
     public static long getNow() {
-        return ZonedDateTime.now(ZoneId.of("Asia/Makassar")).toEpochSecond();
+        return Math.floorDiv(System.currentTimeMillis(), 1000L);
     }
 
     /**
      * PBO[static method]: Mendapatkan tanggal saat ini dalam format string YYYY-MM-DD.
      * Mendapatkan tanggal saat ini dalam format string YYYY-MM-DD.
      * 
-     * <p>Method ini mengembalikan tanggal saat ini dalam format ISO 8601
-     * yang dapat digunakan untuk pencatatan transaksi harian.</p>
+     * <p>Method ini mengembalikan tanggal saat ini (timezone Asia/Makassar) dalam
+     * format ISO 8601 yang dapat digunakan untuk pencatatan transaksi harian.</p>
      * 
      * @return tanggal saat ini dalam format YYYY-MM-DD
      */
     public static String getDate() {
-        return LocalDate.now().toString();
+        return LocalDate.now(ZONE).toString();
     }
 }
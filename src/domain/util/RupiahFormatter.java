@@ -0,0 +1,329 @@
+// PBO[package]: Menentukan paket tempat utilitas domain ini berada
+package domain.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+
+/**
+ * PBO[utility]: Formatter angka Rupiah tanpa NumberFormat yang aman dipakai banyak thread.
+ * Formatter angka Rupiah yang menulis langsung ke buffer milik pemanggil.
+ *
+ * <p>Class ini menghasilkan output yang sama persis (byte per byte) dengan
+ * {@code NumberFormat.getNumberInstance(Locale.of("id", "ID"))}: pemisah ribuan titik,
+ * pemisah desimal koma, pembulatan HALF_EVEN, dan tanda minus untuk nilai negatif
+ * (termasuk "-0" untuk nilai negatif yang dibulatkan menjadi nol). Tidak ada state
+ * bersama sehingga tidak memerlukan lock. Varian {@code long} dan BigDecimal dengan
+ * scale 0 tidak membuat objek sama sekali; nilai yang tidak muat di {@code long}
+ * diproses lewat jalur lambat dengan hasil yang identik.</p>
+ *
+ * <p>Dua mode yang tersedia:</p>
+ * <ul>
+ *   <li>{@code append}/{@code write} – maksimal 3 digit desimal, nol di belakang dibuang.</li>
+ *   <li>{@code appendWithDecimals}/{@code writeWithDecimals} – selalu tepat 2 digit desimal.</li>
+ * </ul>
+ *
+ * <pre>
+ * StringBuilder line = new StringBuilder();
+ * RupiahFormatter.append(line, 123456789L, 2);           // "1.234.567,89"
+ * RupiahFormatter.appendWithDecimals(line, 1000L, 0);     // "1.000,00"
+ * </pre>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class RupiahFormatter {
+    // PBO[field-static-final]: Jumlah digit desimal maksimal untuk format standar (sama dengan default NumberFormat).
+    private static final int DEFAULT_FRACTION_DIGITS = 3;
+    // PBO[field-static-final]: Jumlah digit desimal untuk format dengan desimal.
+    private static final int FIXED_FRACTION_DIGITS = 2;
+    // PBO[field-static-final]: Tabel pangkat sepuluh yang masih muat di long (10^0 sampai 10^18).
+    private static final long[] POW10 = new long[19];
+    // PBO[field-static-final]: Precision BigDecimal maksimal yang pasti muat di long.
+    private static final int MAX_LONG_PRECISION = 18;
+
+    static {
+        POW10[0] = 1L;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10L;
+        }
+    }
+
+    // PBO[constructor]: Constructor privat untuk mencegah pembuatan instance utility class.
+    private RupiahFormatter() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Menulis nilai dengan pemisah ribuan dan maksimal 3 digit desimal.
+     *
+     * @param out StringBuilder tujuan
+     * @param unscaledValue nilai tanpa skala (misalnya 12345 untuk 123,45 dengan scale 2)
+     * @param scale jumlah digit desimal dari unscaledValue
+     * @return StringBuilder yang sama untuk chaining
+     */
+    public static StringBuilder append(StringBuilder out, long unscaledValue, int scale) {
+        return appendScaled(out, unscaledValue, scale, DEFAULT_FRACTION_DIGITS, false);
+    }
+
+    /**
+     * Menulis nilai dengan pemisah ribuan dan tepat 2 digit desimal.
+     *
+     * @param out StringBuilder tujuan
+     * @param unscaledValue nilai tanpa skala
+     * @param scale jumlah digit desimal dari unscaledValue
+     * @return StringBuilder yang sama untuk chaining
+     */
+    public static StringBuilder appendWithDecimals(StringBuilder out, long unscaledValue, int scale) {
+        return appendScaled(out, unscaledValue, scale, FIXED_FRACTION_DIGITS, true);
+    }
+
+    /**
+     * Menulis nilai BigDecimal dengan pemisah ribuan dan maksimal 3 digit desimal.
+     *
+     * @param out StringBuilder tujuan
+     * @param amount nilai yang akan diformat (tidak boleh null)
+     * @return StringBuilder yang sama untuk chaining
+     */
+    public static StringBuilder append(StringBuilder out, BigDecimal amount) {
+        return appendDecimal(out, amount, DEFAULT_FRACTION_DIGITS, false);
+    }
+
+    /**
+     * Menulis nilai BigDecimal dengan pemisah ribuan dan tepat 2 digit desimal.
+     *
+     * @param out StringBuilder tujuan
+     * @param amount nilai yang akan diformat (tidak boleh null)
+     * @return StringBuilder yang sama untuk chaining
+     */
+    public static StringBuilder appendWithDecimals(StringBuilder out, BigDecimal amount) {
+        return appendDecimal(out, amount, FIXED_FRACTION_DIGITS, true);
+    }
+
+    /**
+     * Menulis nilai sebagai byte ASCII ke ByteBuffer dengan maksimal 3 digit desimal.
+     *
+     * @param out buffer tujuan (harus memiliki sisa ruang yang cukup)
+     * @param unscaledValue nilai tanpa skala
+     * @param scale jumlah digit desimal dari unscaledValue
+     * @return buffer yang sama untuk chaining
+     */
+    public static ByteBuffer write(ByteBuffer out, long unscaledValue, int scale) {
+        return writeScaled(out, unscaledValue, scale, DEFAULT_FRACTION_DIGITS, false);
+    }
+
+    /**
+     * Menulis nilai sebagai byte ASCII ke ByteBuffer dengan tepat 2 digit desimal.
+     *
+     * @param out buffer tujuan (harus memiliki sisa ruang yang cukup)
+     * @param unscaledValue nilai tanpa skala
+     * @param scale jumlah digit desimal dari unscaledValue
+     * @return buffer yang sama untuk chaining
+     */
+    public static ByteBuffer writeWithDecimals(ByteBuffer out, long unscaledValue, int scale) {
+        return writeScaled(out, unscaledValue, scale, FIXED_FRACTION_DIGITS, true);
+    }
+
+    /**
+     * Menulis nilai BigDecimal sebagai byte ASCII ke ByteBuffer dengan maksimal 3 digit desimal.
+     *
+     * @param out buffer tujuan (harus memiliki sisa ruang yang cukup)
+     * @param amount nilai yang akan diformat (tidak boleh null)
+     * @return buffer yang sama untuk chaining
+     */
+    public static ByteBuffer write(ByteBuffer out, BigDecimal amount) {
+        if (amount.precision() <= MAX_LONG_PRECISION) {
+            return writeScaled(out, unscaledLong(amount), amount.scale(), DEFAULT_FRACTION_DIGITS, false);
+        }
+        return writeAscii(out, appendDecimal(new StringBuilder(40), amount, DEFAULT_FRACTION_DIGITS, false));
+    }
+
+    /**
+     * Menulis nilai BigDecimal sebagai byte ASCII ke ByteBuffer dengan tepat 2 digit desimal.
+     *
+     * @param out buffer tujuan (harus memiliki sisa ruang yang cukup)
+     * @param amount nilai yang akan diformat (tidak boleh null)
+     * @return buffer yang sama untuk chaining
+     */
+    public static ByteBuffer writeWithDecimals(ByteBuffer out, BigDecimal amount) {
+        if (amount.precision() <= MAX_LONG_PRECISION) {
+            return writeScaled(out, unscaledLong(amount), amount.scale(), FIXED_FRACTION_DIGITS, true);
+        }
+        return writeAscii(out, appendDecimal(new StringBuilder(40), amount, FIXED_FRACTION_DIGITS, true));
+    }
+
+    private static StringBuilder appendDecimal(StringBuilder out, BigDecimal amount, int fractionDigits, boolean pad) {
+        if (amount.precision() <= MAX_LONG_PRECISION) {
+            return appendScaled(out, unscaledLong(amount), amount.scale(), fractionDigits, pad);
+        }
+        return appendSlow(out, amount, fractionDigits, pad);
+    }
+
+    /**
+     * Mengambil nilai tanpa skala sebagai long.
+     *
+     * <p>Untuk scale 0 (bentuk nominal yang paling umum di aplikasi ini) nilai dibaca
+     * langsung tanpa membuat BigInteger perantara.</p>
+     */
+    private static long unscaledLong(BigDecimal amount) {
+        return amount.scale() == 0 ? amount.longValue() : amount.unscaledValue().longValue();
+    }
+
+    private static StringBuilder appendScaled(StringBuilder out, long unscaledValue, int scale, int fractionDigits, boolean pad) {
+        long rounded = round(unscaledValue, scale, fractionDigits);
+        if (rounded == Long.MIN_VALUE) {
+            return appendSlow(out, BigDecimal.valueOf(unscaledValue, scale), fractionDigits, pad);
+        }
+        if (unscaledValue < 0) {
+            out.append('-');
+        }
+        long magnitude = Math.abs(rounded);
+        long integerPart = magnitude / POW10[fractionDigits];
+        long fraction = magnitude % POW10[fractionDigits];
+
+        int digits = digitCount(integerPart);
+        for (int i = digits - 1; i >= 0; i--) {
+            out.append((char) ('0' + (integerPart / POW10[i]) % 10));
+            if (i > 0 && i % 3 == 0) {
+                out.append('.');
+            }
+        }
+
+        int fractionLength = fractionDigits;
+        if (!pad) {
+            while (fractionLength > 0 && fraction % 10 == 0) {
+                fraction /= 10;
+                fractionLength--;
+            }
+        }
+        if (fractionLength > 0) {
+            out.append(',');
+            for (int i = fractionLength - 1; i >= 0; i--) {
+                out.append((char) ('0' + (fraction / POW10[i]) % 10));
+            }
+        }
+        return out;
+    }
+
+    private static ByteBuffer writeScaled(ByteBuffer out, long unscaledValue, int scale, int fractionDigits, boolean pad) {
+        long rounded = round(unscaledValue, scale, fractionDigits);
+        if (rounded == Long.MIN_VALUE) {
+            return writeAscii(out, appendSlow(new StringBuilder(40), BigDecimal.valueOf(unscaledValue, scale), fractionDigits, pad));
+        }
+        if (unscaledValue < 0) {
+            out.put((byte) '-');
+        }
+        long magnitude = Math.abs(rounded);
+        long integerPart = magnitude / POW10[fractionDigits];
+        long fraction = magnitude % POW10[fractionDigits];
+
+        int digits = digitCount(integerPart);
+        for (int i = digits - 1; i >= 0; i--) {
+            out.put((byte) ('0' + (integerPart / POW10[i]) % 10));
+            if (i > 0 && i % 3 == 0) {
+                out.put((byte) '.');
+            }
+        }
+
+        int fractionLength = fractionDigits;
+        if (!pad) {
+            while (fractionLength > 0 && fraction % 10 == 0) {
+                fraction /= 10;
+                fractionLength--;
+            }
+        }
+        if (fractionLength > 0) {
+            out.put((byte) ',');
+            for (int i = fractionLength - 1; i >= 0; i--) {
+                out.put((byte) ('0' + (fraction / POW10[i]) % 10));
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Membulatkan nilai ke sejumlah digit desimal dengan aturan HALF_EVEN.
+     *
+     * @return nilai tanpa skala pada skala {@code fractionDigits}, atau {@link Long#MIN_VALUE}
+     *         jika hasilnya tidak dapat dihitung dengan aritmatika long
+     */
+    private static long round(long unscaledValue, int scale, int fractionDigits) {
+        if (unscaledValue == Long.MIN_VALUE) {
+            return Long.MIN_VALUE;
+        }
+        if (scale <= fractionDigits) {
+            int shift = fractionDigits - scale;
+            if (shift >= POW10.length) {
+                return unscaledValue == 0 ? 0 : Long.MIN_VALUE;
+            }
+            long factor = POW10[shift];
+            long magnitude = Math.abs(unscaledValue);
+            if (magnitude > Long.MAX_VALUE / factor) {
+                return Long.MIN_VALUE;
+            }
+            return unscaledValue * factor;
+        }
+
+        int shift = scale - fractionDigits;
+        if (shift >= POW10.length) {
+            // Semua digit yang tersisa berada di bawah setengah unit terkecil
+            return 0;
+        }
+        long divisor = POW10[shift];
+        long quotient = unscaledValue / divisor;
+        long remainder = Math.abs(unscaledValue % divisor);
+        long twice = remainder * 2;
+        if (twice > divisor || (twice == divisor && (quotient & 1) != 0)) {
+            quotient += unscaledValue < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    private static int digitCount(long value) {
+        int digits = 1;
+        while (digits < POW10.length && value >= POW10[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * Jalur lambat untuk nilai yang tidak muat di long; tetap menghasilkan format yang sama.
+     */
+    private static StringBuilder appendSlow(StringBuilder out, BigDecimal amount, int fractionDigits, boolean pad) {
+        BigDecimal rounded = amount.setScale(fractionDigits, RoundingMode.HALF_EVEN);
+        String digits = rounded.unscaledValue().abs().toString();
+        if (amount.signum() < 0) {
+            out.append('-');
+        }
+        if (digits.length() <= fractionDigits) {
+            digits = "0".repeat(fractionDigits - digits.length() + 1) + digits;
+        }
+        int integerLength = digits.length() - fractionDigits;
+        for (int i = 0; i < integerLength; i++) {
+            out.append(digits.charAt(i));
+            int remaining = integerLength - i - 1;
+            if (remaining > 0 && remaining % 3 == 0) {
+                out.append('.');
+            }
+        }
+        int fractionEnd = digits.length();
+        if (!pad) {
+            while (fractionEnd > integerLength && digits.charAt(fractionEnd - 1) == '0') {
+                fractionEnd--;
+            }
+        }
+        if (fractionEnd > integerLength) {
+            out.append(',').append(digits, integerLength, fractionEnd);
+        }
+        return out;
+    }
+
+    private static ByteBuffer writeAscii(ByteBuffer out, CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            out.put((byte) text.charAt(i));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,172 @@
+// PBO[package]: Menentukan paket tempat utilitas domain ini berada
+package domain.util;
+
+import domain.entity.TransactionEntity;
+import domain.value.TransactionType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * PBO[utility]: Utility class untuk menghitung pengaruh sebuah transaksi terhadap saldo rekening.
+ *
+ * <p>Aturan ini harus sama dengan cara {@code TransactionService} memperbarui saldo,
+ * sehingga dapat dipakai untuk rekening koran, saldo berjalan, maupun rekonsiliasi:</p>
+ * <ul>
+ *   <li>MONTHLY_CHARGE, WITHDRAW, WITHDRAW_VIA_CARD: saldo rekening asal berkurang sebesar amount</li>
+ *   <li>DEPOSIT, DEPOSIT_VIA_CARD, OPENING_BALANCE: saldo rekening asal bertambah sebesar amount</li>
+ *   <li>TRANSFER: rekening asal berkurang dan rekening tujuan bertambah sebesar amount</li>
+ *   <li>TRANSFER_VIA_CARD: amount sudah termasuk biaya 1%, sehingga rekening tujuan
+ *       hanya menerima amount * 100 / 101</li>
+ *   <li>INTEREST_ACCRUAL: hanya catatan bunga yang belum dikreditkan, saldo tidak berubah</li>
+ * </ul>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+// PBO[class]: Final class utilitas, tidak dapat diturunkan dan tidak dapat diinstansiasi.
+public final class TransactionEffects {
+    /**
+     * PBO[field-static-final]: Jumlah digit desimal untuk representasi nominal dalam satuan terkecil (long).
+     */
+    public static final int MINOR_UNIT_SCALE = 4;
+
+    private static final long MINOR_UNITS_PER_RUPIAH = 10_000L;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal HUNDRED_ONE = BigDecimal.valueOf(101);
+
+    // PBO[constructor]: Constructor privat untuk mencegah pembuatan instance utility class.
+    private TransactionEffects() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * PBO[method-static]: Menghitung perubahan saldo rekening akibat sebuah transaksi.
+     *
+     * @param transaction transaksi yang dihitung
+     * @param accountId ID rekening yang dilihat
+     * @return perubahan saldo (positif = kredit, negatif = debit, nol jika rekening tidak terlibat)
+     */
+    public static BigDecimal effectOn(TransactionEntity transaction, int accountId) {
+        if (!affectsBalance(transaction.transactionType())) {
+            return BigDecimal.ZERO;
+        }
+        if (transaction.accountId() == accountId) {
+            return isCredit(transaction.transactionType())
+                    ? transaction.amount()
+                    : transaction.amount().negate();
+        }
+        Integer destinationAccountId = transaction.destinationAccountId();
+        if (destinationAccountId != null && destinationAccountId == accountId) {
+            return destinationCredit(transaction);
+        }
+        return BigDecimal.ZERO;
+    }
+
+    /**
+     * PBO[method-static]: Menghitung jumlah yang diterima rekening tujuan sebuah transfer.
+     *
+     * @param transaction transaksi transfer
+     * @return jumlah yang dikreditkan ke rekening tujuan (tanpa biaya transfer)
+     */
+    public static BigDecimal destinationCredit(TransactionEntity transaction) {
+        if (transaction.transactionType() == TransactionType.TRANSFER_VIA_CARD) {
+            // amount = nominal + 1% biaya, sehingga nominal = amount * 100 / 101
+            return transaction.amount().multiply(HUNDRED).divide(HUNDRED_ONE, RoundingMode.HALF_EVEN);
+        }
+        return transaction.amount();
+    }
+
+    /**
+     * PBO[method-static]: Mengecek apakah tipe transaksi menambah saldo rekening asal.
+     *
+     * @param type tipe transaksi
+     * @return true untuk setoran dan saldo pembukaan, false untuk transaksi yang mendebit rekening asal
+     */
+    public static boolean isCredit(TransactionType type) {
+        return type == TransactionType.DEPOSIT || type == TransactionType.DEPOSIT_VIA_CARD
+                || type == TransactionType.OPENING_BALANCE;
+    }
+
+    /**
+     * PBO[method-static]: Mengecek apakah tipe transaksi mengubah saldo rekening.
+     *
+     * @param type tipe transaksi
+     * @return false untuk transaksi catatan seperti akrual bunga, true untuk transaksi lainnya
+     */
+    public static boolean affectsBalance(TransactionType type) {
+        return type != TransactionType.INTEREST_ACCRUAL;
+    }
+
+    /**
+     * PBO[method-static]: Menghitung perubahan saldo dalam satuan terkecil tanpa membuat objek baru.
+     *
+     * <p>Versi long dari {@link #effectOn(TransactionEntity, int)} untuk pemrosesan massal
+     * seperti rekonsiliasi. Nominal dengan skala 0 (kasus umum) dikonversi tanpa alokasi.</p>
+     *
+     * @param transaction transaksi yang dihitung
+     * @param accountId ID rekening yang dilihat
+     * @return perubahan saldo dalam satuan 1/10.000 Rupiah
+     */
+    public static long effectOnMinorUnits(TransactionEntity transaction, int accountId) {
+        if (!affectsBalance(transaction.transactionType())) {
+            return 0L;
+        }
+        long amount = toMinorUnits(transaction.amount());
+        if (transaction.accountId() == accountId) {
+            return isCredit(transaction.transactionType()) ? amount : -amount;
+        }
+        Integer destinationAccountId = transaction.destinationAccountId();
+        if (destinationAccountId != null && destinationAccountId == accountId) {
+            return destinationCreditMinorUnits(transaction.transactionType(), amount);
+        }
+        return 0L;
+    }
+
+    /**
+     * PBO[method-static]: Versi long dari {@link #destinationCredit(TransactionEntity)}.
+     *
+     * @param type tipe transaksi transfer
+     * @param amountMinorUnits amount transaksi dalam satuan terkecil
+     * @return jumlah yang dikreditkan ke rekening tujuan dalam satuan terkecil
+     */
+    public static long destinationCreditMinorUnits(TransactionType type, long amountMinorUnits) {
+        if (type != TransactionType.TRANSFER_VIA_CARD) {
+            return amountMinorUnits;
+        }
+        // Pembagian dengan pembulatan HALF_EVEN, sama dengan versi BigDecimal
+        long numerator = Math.multiplyExact(amountMinorUnits, 100L);
+        long quotient = Math.floorDiv(numerator, 101L);
+        long twiceRemainder = Math.floorMod(numerator, 101L) * 2L;
+        if (twiceRemainder > 101L || (twiceRemainder == 101L && (quotient & 1L) != 0)) {
+            quotient++;
+        }
+        return quotient;
+    }
+
+    /**
+     * PBO[method-static]: Mengubah nominal BigDecimal menjadi satuan terkecil (1/10.000 Rupiah).
+     *
+     * @param amount nominal dalam Rupiah
+     * @return nominal dalam satuan terkecil, dibulatkan HALF_EVEN jika lebih dari 4 desimal
+     * @throws ArithmeticException jika nominal melebihi jangkauan long
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        if (amount.scale() == 0) {
+            return Math.multiplyExact(amount.longValueExact(), MINOR_UNITS_PER_RUPIAH);
+        }
+        return amount.setScale(MINOR_UNIT_SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    /**
+     * PBO[method-static]: Mengubah satuan terkecil kembali menjadi nominal Rupiah.
+     *
+     * @param minorUnits nominal dalam satuan 1/10.000 Rupiah
+     * @return nominal dalam Rupiah tanpa nol desimal di belakang
+     */
+    public static BigDecimal fromMinorUnits(long minorUnits) {
+        BigDecimal amount = BigDecimal.valueOf(minorUnits, MINOR_UNIT_SCALE).stripTrailingZeros();
+        return amount.scale() < 0 ? amount.setScale(0) : amount;
+    }
+}
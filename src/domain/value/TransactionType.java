@@ -45,4 +45,19 @@ public enum TransactionType {
      * Penarikan via kartu - mengambil uang dari rekening menggunakan kartu ATM/Debit
      */
     WITHDRAW_VIA_CARD,
+
+    /**
+     * Akrual bunga harian - bunga yang sudah menjadi hak rekening tetapi belum dikreditkan ke saldo
+     *
+     * @since 1.1
+     */
+    INTEREST_ACCRUAL,
+
+    /**
+     * Saldo pembukaan - saldo awal rekening yang dicatat sebagai transaksi agar saldo dapat
+     * dibangun ulang sepenuhnya dari riwayat transaksi
+     *
+     * @since 1.1
+     */
+    OPENING_BALANCE,
 }
@@ -1,6 +1,9 @@
 package infrastructure;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.time.Duration;
 
 import application.dto.*;
 import application.service.*;
@@ -12,6 +15,8 @@ import domain.exception.*;
 import domain.value.AccountType;
 import infrastructure.container.AppContainer;
 import infrastructure.container.DefaultAppContainer;
+import infrastructure.metrics.MetricsHttpServer;
+import infrastructure.metrics.MetricsReporter;
 
 //PBO[concrete class]: Mengimpementasikan semua method yang telah dibuat
 public final class Application {
@@ -21,6 +26,8 @@ public final class Application {
     private CustomerService customerService;
     private TransactionService transactionService;
     private LogService log;
+    private MetricsReporter metricsReporter;
+    private MetricsHttpServer metricsServer;
 
     public void setup() {
         AppContainer container = new DefaultAppContainer();
@@ -45,6 +52,34 @@ public final class Application {
         log.system("Loading module <TransactionService>");
         transactionService = container.getTransactionService();
 
+        // Ringkasan metrik berkala, aktif jika -Dbankingapp.metrics.reportIntervalSeconds diisi
+        long reportInterval = Long.getLong("bankingapp.metrics.reportIntervalSeconds", 0L);
+        if (reportInterval > 0) {
+            log.system("Loading module <MetricsReporter>");
+            metricsReporter = new MetricsReporter(container.getMetricsRegistry(), log);
+            metricsReporter.start(Duration.ofSeconds(reportInterval));
+        }
+
+        // Endpoint Prometheus, aktif jika -Dbankingapp.metrics.port diisi (0 = port acak)
+        Integer metricsPort = Integer.getInteger("bankingapp.metrics.port");
+        if (metricsPort != null) {
+            log.system("Loading module <MetricsHttpServer>");
+            String metricsHost = System.getProperty("bankingapp.metrics.host", "127.0.0.1");
+            try {
+                metricsServer = new MetricsHttpServer(container.getMetricsRegistry(), new InetSocketAddress(metricsHost, metricsPort));
+                metricsServer.start();
+                InetSocketAddress address = metricsServer.getAddress();
+                log.system("Metrik tersedia di http://" + address.getHostString() + ":" + address.getPort() + "/metrics");
+            } catch (IOException e) {
+                log.error("Gagal menjalankan endpoint metrik: " + e.getMessage());
+            }
+        }
+
+        // Waktu pembuatan tiap komponen, aktif jika -Dbankingapp.container.timings=true
+        if (Boolean.getBoolean("bankingapp.container.timings") && container instanceof DefaultAppContainer defaultContainer) {
+            log.system("Waktu startup komponen:\n" + defaultContainer.getStartupTimings().format());
+        }
+
         log.system("Aplikasi berhasil disiapkan");
         log.system("");
         log.system("");
@@ -0,0 +1,44 @@
+package infrastructure;
+
+import application.service.TransactionService;
+import domain.entity.AccountEntity;
+import domain.value.AccountType;
+import infrastructure.container.AppContainer;
+import infrastructure.container.DefaultAppContainer;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+
+/**
+ * Probe startup untuk mengukur waktu dari JVM mulai hingga transaksi pertama selesai.
+ *
+ * <p>Dipakai oleh {@code Main --startup-probe} dan script {@code scripts/bench-startup.sh}
+ * untuk membandingkan startup dengan dan tanpa arsip AppCDS. Probe membuat container,
+ * membuka satu rekening, melakukan satu setoran via teller, lalu mencetak satu baris
+ * {@code time-to-first-transaction-ms=...}.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class StartupProbe {
+
+    private StartupProbe() {
+    }
+
+    /**
+     * Menjalankan probe dan mencetak hasilnya ke stdout.
+     */
+    public static void run() {
+        AppContainer container = new DefaultAppContainer();
+        AccountEntity account = container.getAccountRepository().save(new AccountEntity(
+                0, "9000000001", new BigDecimal("100000"), AccountType.SAVINGS, 1,
+                new BigDecimal("5000000"), new BigDecimal("10000000")));
+        TransactionService transactionService = container.getTransactionService();
+        transactionService.depositMoneyViaTeller(account.accountNumber(), new BigDecimal("50000"));
+
+        // Waktu mulai JVM dibaca setelah transaksi agar memuat java.management tidak ikut terukur
+        long elapsed = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        System.out.println("time-to-first-transaction-ms=" + elapsed);
+    }
+}
@@ -0,0 +1,153 @@
+package infrastructure.analytics;
+
+import domain.entity.TransactionEntity;
+import domain.repository.TransactionRepository;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Decorator TransactionRepository yang menjaga {@link TransactionColumnStore} tetap sinkron.
+ *
+ * <p>Setiap transaksi yang disimpan langsung ditambahkan ke salinan kolumnar. Perubahan dan
+ * penghapusan transaksi tidak dapat diterapkan ke kolom yang hanya bisa ditambah, sehingga
+ * keduanya menandai salinan kolumnar usang; salinan dibangun ulang dari repository saat
+ * {@link #columns()} dipanggil berikutnya. Semua operasi baca diteruskan apa adanya.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class ColumnarTransactionRepository implements TransactionRepository {
+    private final TransactionRepository delegate;
+    private final Object lock = new Object();
+    private volatile TransactionColumnStore columns;
+    private volatile boolean stale;
+
+    /**
+     * Konstruktor untuk ColumnarTransactionRepository.
+     *
+     * <p>Transaksi yang sudah ada di repository langsung disalin ke kolom.</p>
+     *
+     * @param delegate repository yang dibungkus
+     */
+    public ColumnarTransactionRepository(TransactionRepository delegate) {
+        this.delegate = delegate;
+        this.columns = load(delegate);
+    }
+
+    /**
+     * Mendapatkan salinan kolumnar transaksi, dibangun ulang terlebih dahulu jika usang.
+     *
+     * @return salinan kolumnar yang mencakup semua transaksi yang sudah disimpan
+     */
+    public TransactionColumnStore columns() {
+        if (stale) {
+            synchronized (lock) {
+                if (stale) {
+                    columns = load(delegate);
+                    stale = false;
+                }
+            }
+        }
+        return columns;
+    }
+
+    @Override
+    public Optional<TransactionEntity> findById(int id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<TransactionEntity> findByAccountIdWithDate(int accountId, String date) {
+        return delegate.findByAccountIdWithDate(accountId, date);
+    }
+
+    @Override
+    public List<TransactionEntity> findByDestinationAccountId(int destinationAccountId) {
+        return delegate.findByDestinationAccountId(destinationAccountId);
+    }
+
+    @Override
+    public Iterator<TransactionEntity> iterateByAccountId(int accountId, String fromDate, String toDate) {
+        return delegate.iterateByAccountId(accountId, fromDate, toDate);
+    }
+
+    @Override
+    public List<TransactionEntity> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<TransactionEntity> scan(Predicate<? super TransactionEntity> filter) {
+        return delegate.scan(filter);
+    }
+
+    @Override
+    public Stream<TransactionEntity> scanRange(int fromId, int toId) {
+        return delegate.scanRange(fromId, toId);
+    }
+
+    @Override
+    public int lastId() {
+        return delegate.lastId();
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public TransactionEntity update(TransactionEntity transaction) {
+        TransactionEntity updated = delegate.update(transaction);
+        stale = true;
+        return updated;
+    }
+
+    @Override
+    public TransactionEntity save(TransactionEntity transaction) {
+        // Penyimpanan dan penambahan kolom satu paket agar pembangunan ulang tidak melewatkan transaksi
+        synchronized (lock) {
+            TransactionEntity saved = delegate.save(transaction);
+            columns.append(saved);
+            return saved;
+        }
+    }
+
+    @Override
+    public List<TransactionEntity> saveAll(List<TransactionEntity> transactions) {
+        synchronized (lock) {
+            List<TransactionEntity> saved = delegate.saveAll(transactions);
+            for (TransactionEntity transaction : saved) {
+                columns.append(transaction);
+            }
+            return saved;
+        }
+    }
+
+    @Override
+    public boolean deleteById(int id) {
+        boolean deleted = delegate.deleteById(id);
+        if (deleted) {
+            stale = true;
+        }
+        return deleted;
+    }
+
+    @Override
+    public TransactionRepository snapshot() {
+        return delegate.snapshot();
+    }
+
+    private static TransactionColumnStore load(TransactionRepository repository) {
+        TransactionColumnStore store = new TransactionColumnStore();
+        try (Stream<TransactionEntity> transactions = repository.scan(null)) {
+            transactions.forEach(store::append);
+        }
+        return store;
+    }
+}
@@ -0,0 +1,390 @@
+package infrastructure.analytics;
+
+import domain.entity.AccountEntity;
+import domain.entity.TransactionEntity;
+import domain.repository.AccountRepository;
+import domain.value.AccountType;
+import domain.value.TransactionType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Salinan kolumnar transaksi untuk laporan manajemen (volume per tipe, per hari, per tipe rekening).
+ *
+ * <p>Setiap transaksi disimpan sebagai satu baris pada lima kolom primitif: ID rekening asal,
+ * ordinal {@link TransactionType}, nominal dalam satuan minor (sen), epoch day, dan timestamp.
+ * Kolom dibagi menjadi segmen berukuran tetap sehingga penambahan baris tidak pernah menyalin
+ * data lama. Setiap segmen mencatat rentang epoch day-nya (zone map) agar agregasi per rentang
+ * tanggal dapat melewati segmen yang tidak relevan tanpa membacanya.</p>
+ *
+ * <p>Agregasi dijalankan per segmen secara paralel dengan loop sederhana atas array primitif,
+ * tanpa boxing dan tanpa membuat {@link TransactionEntity}. Penambahan baris disinkronkan;
+ * pembaca tidak mengambil lock dan hanya melihat baris yang sudah dipublikasikan lewat
+ * {@link #size()} saat agregasi dimulai.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class TransactionColumnStore {
+    /**
+     * Epoch day untuk transaksi tanpa tanggal.
+     */
+    public static final int NO_DAY = Integer.MIN_VALUE;
+
+    private static final int SEGMENT_SHIFT = 16;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+    private static final int MINOR_UNIT_SCALE = 2;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private volatile Segment[] segments = new Segment[0];
+    private volatile long size;
+
+    // Cache tanggal terakhir; transaksi berurutan hampir selalu bertanggal sama
+    private String lastDate;
+    private int lastDay = NO_DAY;
+
+    /**
+     * Menambahkan satu transaksi sebagai baris baru.
+     *
+     * @param transaction transaksi yang disimpan
+     * @throws ArithmeticException jika nominal tidak muat dalam satuan minor bertipe long
+     */
+    public synchronized void append(TransactionEntity transaction) {
+        String date = transaction.date();
+        if (date == null) {
+            lastDay = NO_DAY;
+        } else if (!date.equals(lastDate)) {
+            lastDay = toEpochDay(date);
+        }
+        lastDate = date;
+        append(transaction.accountId(), transaction.transactionType(), toMinorUnits(transaction.amount()),
+                lastDay, transaction.timestamp());
+    }
+
+    /**
+     * Menambahkan satu baris dari nilai kolom mentah.
+     *
+     * @param accountId ID rekening asal
+     * @param type tipe transaksi
+     * @param amountMinor nominal dalam satuan minor
+     * @param epochDay tanggal transaksi sebagai epoch day, atau {@link #NO_DAY}
+     * @param timestamp timestamp transaksi
+     */
+    public synchronized void append(int accountId, TransactionType type, long amountMinor, int epochDay, long timestamp) {
+        long row = size;
+        int segmentIndex = (int) (row >>> SEGMENT_SHIFT);
+        Segment[] current = segments;
+        if (segmentIndex == current.length) {
+            current = Arrays.copyOf(current, current.length + 1);
+            current[segmentIndex] = new Segment();
+            segments = current;
+        }
+        current[segmentIndex].set((int) (row & SEGMENT_MASK), accountId, (byte) type.ordinal(), amountMinor,
+                epochDay, timestamp);
+        size = row + 1;
+    }
+
+    /**
+     * Mendapatkan jumlah baris yang sudah dipublikasikan.
+     *
+     * @return jumlah baris
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Menghitung jumlah dan total nominal transaksi per tipe untuk seluruh baris.
+     *
+     * @return total per tipe transaksi
+     */
+    public TypeTotals totalsByType() {
+        return totalsByType(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Menghitung jumlah dan total nominal transaksi per tipe dalam rentang tanggal.
+     *
+     * @param fromDay epoch day awal inklusif
+     * @param toDay epoch day akhir inklusif
+     * @return total per tipe transaksi
+     */
+    public TypeTotals totalsByType(int fromDay, int toDay) {
+        Totals totals = aggregate(TYPES.length, (segment, rows, result) -> {
+            if (segment.minDay > toDay || segment.maxDay < fromDay) {
+                return;
+            }
+            byte[] types = segment.types;
+            long[] amounts = segment.amounts;
+            if (segment.minDay >= fromDay && segment.maxDay <= toDay) {
+                for (int i = 0; i < rows; i++) {
+                    int type = types[i];
+                    result.counts[type]++;
+                    result.amounts[type] += amounts[i];
+                }
+            } else {
+                int[] days = segment.days;
+                for (int i = 0; i < rows; i++) {
+                    int day = days[i];
+                    if (day >= fromDay && day <= toDay) {
+                        int type = types[i];
+                        result.counts[type]++;
+                        result.amounts[type] += amounts[i];
+                    }
+                }
+            }
+        });
+        return new TypeTotals(totals.counts, totals.amounts);
+    }
+
+    /**
+     * Menghitung jumlah dan total nominal transaksi per hari dalam rentang tanggal.
+     *
+     * @param type tipe transaksi yang dihitung, atau null untuk semua tipe
+     * @param fromDay epoch day awal inklusif
+     * @param toDay epoch day akhir inklusif
+     * @return total per hari, satu elemen untuk setiap hari dalam rentang
+     * @throws IllegalArgumentException jika rentang tidak valid atau lebih dari satu juta hari
+     */
+    public DailyTotals totalsByDay(TransactionType type, int fromDay, int toDay) {
+        long width = (long) toDay - fromDay + 1;
+        if (width <= 0 || width > 1_000_000) {
+            throw new IllegalArgumentException("Rentang hari tidak valid: " + fromDay + " s/d " + toDay);
+        }
+        int typeOrdinal = type == null ? -1 : type.ordinal();
+        Totals totals = aggregate((int) width, (segment, rows, result) -> {
+            if (segment.minDay > toDay || segment.maxDay < fromDay) {
+                return;
+            }
+            byte[] types = segment.types;
+            long[] amounts = segment.amounts;
+            int[] days = segment.days;
+            for (int i = 0; i < rows; i++) {
+                int offset = days[i] - fromDay;
+                // Satu perbandingan unsigned sekaligus menyaring hari sebelum dan sesudah rentang
+                if (Integer.compareUnsigned(offset, (int) width) < 0 && (typeOrdinal < 0 || types[i] == typeOrdinal)) {
+                    result.counts[offset]++;
+                    result.amounts[offset] += amounts[i];
+                }
+            }
+        });
+        return new DailyTotals(fromDay, totals.counts, totals.amounts);
+    }
+
+    /**
+     * Menghitung total nominal per kelompok rekening asal, misalnya per {@link AccountType}.
+     *
+     * @param groupByAccountId kelompok untuk setiap ID rekening; nilai negatif berarti diabaikan
+     * @param groupCount jumlah kelompok
+     * @param type tipe transaksi yang dihitung, atau null untuk semua tipe
+     * @return jumlah dan total nominal per kelompok
+     */
+    public GroupTotals totalsByAccountGroup(int[] groupByAccountId, int groupCount, TransactionType type) {
+        int typeOrdinal = type == null ? -1 : type.ordinal();
+        Totals totals = aggregate(groupCount, (segment, rows, result) -> {
+            byte[] types = segment.types;
+            long[] amounts = segment.amounts;
+            int[] accountIds = segment.accountIds;
+            for (int i = 0; i < rows; i++) {
+                int accountId = accountIds[i];
+                if (accountId < 0 || accountId >= groupByAccountId.length
+                        || (typeOrdinal >= 0 && types[i] != typeOrdinal)) {
+                    continue;
+                }
+                int group = groupByAccountId[accountId];
+                if (group >= 0) {
+                    result.counts[group]++;
+                    result.amounts[group] += amounts[i];
+                }
+            }
+        });
+        return new GroupTotals(totals.counts, totals.amounts);
+    }
+
+    /**
+     * Menghitung total nominal per {@link AccountType} rekening asal.
+     *
+     * @param accountRepository repository untuk memetakan ID rekening ke tipe rekening
+     * @param type tipe transaksi yang dihitung, atau null untuk semua tipe
+     * @return total nominal per tipe rekening
+     */
+    public Map<AccountType, BigDecimal> totalsByAccountType(AccountRepository accountRepository, TransactionType type) {
+        int maxId = accountRepository.scan(null).mapToInt(AccountEntity::id).max().orElse(-1);
+        int[] groupByAccountId = new int[maxId + 1];
+        Arrays.fill(groupByAccountId, -1);
+        accountRepository.scan(null).forEach(account -> groupByAccountId[account.id()] = account.accountType().ordinal());
+
+        GroupTotals totals = totalsByAccountGroup(groupByAccountId, AccountType.values().length, type);
+        Map<AccountType, BigDecimal> result = new EnumMap<>(AccountType.class);
+        for (AccountType accountType : AccountType.values()) {
+            result.put(accountType, fromMinorUnits(totals.amounts()[accountType.ordinal()]));
+        }
+        return result;
+    }
+
+    /**
+     * Mengubah nominal menjadi satuan minor (dua angka desimal), dibulatkan HALF_EVEN.
+     *
+     * @param amount nominal
+     * @return nominal dalam satuan minor
+     * @throws ArithmeticException jika hasil tidak muat dalam long
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        int scale = amount.scale();
+        if (scale >= 0 && scale <= MINOR_UNIT_SCALE && amount.precision() <= 16) {
+            long unscaled = amount.unscaledValue().longValue();
+            return scale == MINOR_UNIT_SCALE ? unscaled : unscaled * (scale == 1 ? 10 : 100);
+        }
+        return amount.setScale(MINOR_UNIT_SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Mengubah nominal dalam satuan minor kembali menjadi BigDecimal.
+     *
+     * @param amountMinor nominal dalam satuan minor
+     * @return nominal dengan dua angka desimal
+     */
+    public static BigDecimal fromMinorUnits(long amountMinor) {
+        return BigDecimal.valueOf(amountMinor, MINOR_UNIT_SCALE);
+    }
+
+    /**
+     * Mengubah tanggal YYYY-MM-DD menjadi epoch day.
+     *
+     * @param date tanggal dalam format YYYY-MM-DD, atau null
+     * @return epoch day, atau {@link #NO_DAY} jika tanggal null
+     * @throws java.time.format.DateTimeParseException jika format tanggal tidak valid
+     */
+    public static int toEpochDay(String date) {
+        return date == null ? NO_DAY : (int) LocalDate.parse(date).toEpochDay();
+    }
+
+    private Totals aggregate(int width, Kernel kernel) {
+        long rows = size;
+        Segment[] snapshot = segments;
+        int segmentCount = (int) ((rows + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        return IntStream.range(0, segmentCount)
+                .parallel()
+                .collect(() -> new Totals(width),
+                        (totals, index) -> kernel.apply(snapshot[index],
+                                (int) Math.min(SEGMENT_SIZE, rows - ((long) index << SEGMENT_SHIFT)), totals),
+                        Totals::add);
+    }
+
+    /**
+     * Loop agregasi atas satu segmen.
+     */
+    @FunctionalInterface
+    private interface Kernel {
+        void apply(Segment segment, int rows, Totals result);
+    }
+
+    /**
+     * Akumulator jumlah baris dan total nominal per kunci.
+     */
+    private static final class Totals {
+        private final long[] counts;
+        private final long[] amounts;
+
+        private Totals(int width) {
+            this.counts = new long[width];
+            this.amounts = new long[width];
+        }
+
+        private void add(Totals other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+                amounts[i] += other.amounts[i];
+            }
+        }
+    }
+
+    /**
+     * Satu segmen kolom beserta rentang epoch day baris di dalamnya.
+     */
+    private static final class Segment {
+        private final int[] accountIds = new int[SEGMENT_SIZE];
+        private final byte[] types = new byte[SEGMENT_SIZE];
+        private final long[] amounts = new long[SEGMENT_SIZE];
+        private final int[] days = new int[SEGMENT_SIZE];
+        private final long[] timestamps = new long[SEGMENT_SIZE];
+        private int minDay = Integer.MAX_VALUE;
+        private int maxDay = Integer.MIN_VALUE;
+
+        private void set(int row, int accountId, byte type, long amountMinor, int epochDay, long timestamp) {
+            accountIds[row] = accountId;
+            types[row] = type;
+            amounts[row] = amountMinor;
+            days[row] = epochDay;
+            timestamps[row] = timestamp;
+            minDay = Math.min(minDay, epochDay);
+            maxDay = Math.max(maxDay, epochDay);
+        }
+    }
+
+    /**
+     * Hasil agregasi per tipe transaksi, diindeks dengan ordinal {@link TransactionType}.
+     *
+     * @param counts jumlah transaksi per tipe
+     * @param amountsMinor total nominal per tipe dalam satuan minor
+     */
+    public record TypeTotals(long[] counts, long[] amountsMinor) {
+        /**
+         * Mendapatkan jumlah transaksi untuk satu tipe.
+         *
+         * @param type tipe transaksi
+         * @return jumlah transaksi
+         */
+        public long count(TransactionType type) {
+            return counts[type.ordinal()];
+        }
+
+        /**
+         * Mendapatkan total nominal untuk satu tipe.
+         *
+         * @param type tipe transaksi
+         * @return total nominal
+         */
+        public BigDecimal amount(TransactionType type) {
+            return fromMinorUnits(amountsMinor[type.ordinal()]);
+        }
+    }
+
+    /**
+     * Hasil agregasi per hari; elemen ke-{@code i} adalah hari {@code firstDay + i}.
+     *
+     * @param firstDay epoch day elemen pertama
+     * @param counts jumlah transaksi per hari
+     * @param amountsMinor total nominal per hari dalam satuan minor
+     */
+    public record DailyTotals(int firstDay, long[] counts, long[] amountsMinor) {
+        /**
+         * Mendapatkan total nominal untuk satu tanggal.
+         *
+         * @param date tanggal
+         * @return total nominal, nol jika tanggal di luar rentang
+         */
+        public BigDecimal amount(LocalDate date) {
+            long offset = date.toEpochDay() - firstDay;
+            return offset < 0 || offset >= amountsMinor.length ? BigDecimal.ZERO.setScale(MINOR_UNIT_SCALE)
+                    : fromMinorUnits(amountsMinor[(int) offset]);
+        }
+    }
+
+    /**
+     * Hasil agregasi per kelompok rekening.
+     *
+     * @param counts jumlah transaksi per kelompok
+     * @param amounts total nominal per kelompok dalam satuan minor
+     */
+    public record GroupTotals(long[] counts, long[] amounts) {
+    }
+}
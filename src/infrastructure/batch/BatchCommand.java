@@ -0,0 +1,80 @@
+package infrastructure.batch;
+
+import java.math.BigDecimal;
+
+/**
+ * Satu baris perintah batch yang sudah di-parse.
+ *
+ * <p>Objek ini sengaja mutable dan dipakai ulang: {@link BatchRunner} mengambilnya dari
+ * pool, parser mengisinya, worker mengeksekusinya, lalu objek dikembalikan ke pool.
+ * Dengan begitu jumlah objek perintah tetap berapa pun ukuran file input.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+final class BatchCommand {
+
+    /**
+     * Jenis perintah. Nama perintah transaksi sama dengan {@link domain.value.TransactionType}.
+     */
+    enum Kind {
+        CARD_TYPE,
+        OPEN_ACCOUNT,
+        MONTHLY_CHARGE,
+        TRANSFER,
+        DEPOSIT,
+        WITHDRAW,
+        TRANSFER_VIA_CARD,
+        DEPOSIT_VIA_CARD,
+        WITHDRAW_VIA_CARD,
+        /** Baris tidak valid; alasannya ada di {@link BatchCommand#error}. */
+        INVALID
+    }
+
+    long lineNumber;
+    Kind kind;
+    String accountNumber;
+    String destinationAccountNumber;
+    String name;
+    BigDecimal amount;
+    BigDecimal[] limits = new BigDecimal[4];
+    int pin;
+    boolean hasCard;
+    String error;
+    // Diisi pembaca saat dispatch: stripe rekening yang disentuh dan nomor antrean perintah di stripe tersebut
+    int originStripe;
+    int destinationStripe;
+    long originTicket;
+    long destinationTicket;
+
+    /**
+     * Mengosongkan field sebelum objek diisi ulang oleh parser.
+     */
+    void reset(long lineNumber) {
+        this.lineNumber = lineNumber;
+        this.kind = null;
+        this.accountNumber = null;
+        this.destinationAccountNumber = null;
+        this.name = null;
+        this.amount = null;
+        this.pin = 0;
+        this.hasCard = false;
+        this.error = null;
+        this.originStripe = -1;
+        this.destinationStripe = -1;
+        for (int i = 0; i < limits.length; i++) {
+            limits[i] = null;
+        }
+    }
+
+    /**
+     * Menandai baris sebagai tidak valid. Alasan pertama yang dicatat dipertahankan.
+     */
+    void invalid(String reason) {
+        this.kind = Kind.INVALID;
+        if (this.error == null) {
+            this.error = reason;
+        }
+    }
+}
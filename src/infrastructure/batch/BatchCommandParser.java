@@ -0,0 +1,300 @@
+package infrastructure.batch;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parser baris perintah batch yang bekerja langsung di atas {@link ByteBuffer}.
+ *
+ * <p>Setiap baris berisi field yang dipisahkan koma; spasi di sekitar field diabaikan:</p>
+ * <pre>
+ * CARD_TYPE,nama,biayaBulanan,limitTransfer,limitTarik,limitSetor,saldoMinimum
+ * OPEN_ACCOUNT,nomorRekening,saldoAwal[,namaTipeKartu,pin]
+ * MONTHLY_CHARGE,nomorRekening
+ * TRANSFER,rekeningAsal,rekeningTujuan,jumlah
+ * TRANSFER_VIA_CARD,rekeningAsal,rekeningTujuan,jumlah,pin
+ * DEPOSIT,nomorRekening,jumlah
+ * DEPOSIT_VIA_CARD,nomorRekening,jumlah,pin
+ * WITHDRAW,nomorRekening,jumlah
+ * WITHDRAW_VIA_CARD,nomorRekening,jumlah,pin
+ * </pre>
+ *
+ * <p>Parser tidak membuat String untuk baris maupun field: nama perintah dicocokkan per byte,
+ * nominal dibaca sebagai long bernilai skala lalu dibungkus {@link BigDecimal#valueOf(long, int)},
+ * dan nomor rekening diambil dari cache kecil berukuran tetap sehingga rekening yang sering
+ * muncul tidak membuat String baru. Instance tidak thread-safe dan hanya dipakai oleh
+ * thread pembaca.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+final class BatchCommandParser {
+    private static final int MAX_FIELDS = 8;
+    private static final int MAX_DIGITS = 18;
+    private static final int STRING_CACHE_SIZE = 8192;
+    private static final BatchCommand.Kind[] KINDS = BatchCommand.Kind.values();
+    private static final byte[][] KIND_NAMES = new byte[KINDS.length][];
+
+    static {
+        for (BatchCommand.Kind kind : KINDS) {
+            KIND_NAMES[kind.ordinal()] = kind.name().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private final int[] fieldStart = new int[MAX_FIELDS];
+    private final int[] fieldEnd = new int[MAX_FIELDS];
+    private final String[] stringCache = new String[STRING_CACHE_SIZE];
+    private ByteBuffer buffer;
+
+    /**
+     * Mengecek apakah baris kosong atau komentar (diawali '#') sehingga harus dilewati.
+     *
+     * @param buffer buffer yang berisi baris
+     * @param start posisi awal baris (inklusif)
+     * @param end posisi akhir baris (eksklusif, tanpa '\n')
+     * @return true jika baris tidak berisi perintah
+     */
+    static boolean isBlankOrComment(ByteBuffer buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '#') {
+                return true;
+            }
+            if (!isSpace(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Mem-parse satu baris ke dalam command yang sudah di-reset.
+     *
+     * <p>Baris yang tidak valid tidak melempar exception; command ditandai
+     * {@link BatchCommand.Kind#INVALID} beserta alasannya.</p>
+     *
+     * @param buffer buffer yang berisi baris
+     * @param start posisi awal baris (inklusif)
+     * @param end posisi akhir baris (eksklusif, tanpa '\n')
+     * @param command command tujuan
+     */
+    void parse(ByteBuffer buffer, int start, int end, BatchCommand command) {
+        this.buffer = buffer;
+        int fields = split(start, end);
+        if (fields < 0) {
+            command.invalid("Terlalu banyak field");
+            return;
+        }
+
+        BatchCommand.Kind kind = matchKind();
+        if (kind == null) {
+            command.invalid("Perintah tidak dikenal");
+            return;
+        }
+        command.kind = kind;
+
+        switch (kind) {
+            case CARD_TYPE -> {
+                if (expectFields(command, fields, 7, 7)) {
+                    command.name = text(1);
+                    command.amount = amount(command, 2);
+                    for (int i = 0; i < 4; i++) {
+                        command.limits[i] = amount(command, 3 + i);
+                    }
+                }
+            }
+            case OPEN_ACCOUNT -> {
+                if (fields == 3 || expectFields(command, fields, 5, 5)) {
+                    command.accountNumber = text(1);
+                    command.amount = amount(command, 2);
+                    if (fields == 5) {
+                        command.hasCard = true;
+                        command.name = text(3);
+                        command.pin = pin(command, 4);
+                    }
+                }
+            }
+            case MONTHLY_CHARGE -> {
+                if (expectFields(command, fields, 2, 2)) {
+                    command.accountNumber = text(1);
+                }
+            }
+            case TRANSFER, TRANSFER_VIA_CARD -> {
+                boolean viaCard = kind == BatchCommand.Kind.TRANSFER_VIA_CARD;
+                if (expectFields(command, fields, viaCard ? 5 : 4, viaCard ? 5 : 4)) {
+                    command.accountNumber = text(1);
+                    command.destinationAccountNumber = text(2);
+                    command.amount = amount(command, 3);
+                    if (viaCard) {
+                        command.pin = pin(command, 4);
+                    }
+                }
+            }
+            case DEPOSIT, WITHDRAW, DEPOSIT_VIA_CARD, WITHDRAW_VIA_CARD -> {
+                boolean viaCard = kind == BatchCommand.Kind.DEPOSIT_VIA_CARD
+                        || kind == BatchCommand.Kind.WITHDRAW_VIA_CARD;
+                if (expectFields(command, fields, viaCard ? 4 : 3, viaCard ? 4 : 3)) {
+                    command.accountNumber = text(1);
+                    command.amount = amount(command, 2);
+                    if (viaCard) {
+                        command.pin = pin(command, 3);
+                    }
+                }
+            }
+            case INVALID -> command.invalid("Perintah tidak dikenal");
+        }
+    }
+
+    /**
+     * Memecah baris menjadi field dan memangkas spasi di kedua sisi.
+     *
+     * @return jumlah field, atau -1 jika melebihi batas
+     */
+    private int split(int start, int end) {
+        int fields = 0;
+        int fieldBegin = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || buffer.get(i) == ',') {
+                if (fields == MAX_FIELDS) {
+                    return -1;
+                }
+                int s = fieldBegin;
+                int e = i;
+                while (s < e && isSpace(buffer.get(s))) {
+                    s++;
+                }
+                while (e > s && isSpace(buffer.get(e - 1))) {
+                    e--;
+                }
+                fieldStart[fields] = s;
+                fieldEnd[fields] = e;
+                fields++;
+                fieldBegin = i + 1;
+            }
+        }
+        return fields;
+    }
+
+    private BatchCommand.Kind matchKind() {
+        int length = fieldEnd[0] - fieldStart[0];
+        for (int k = 0; k < KINDS.length; k++) {
+            byte[] name = KIND_NAMES[k];
+            if (KINDS[k] == BatchCommand.Kind.INVALID || name.length != length) {
+                continue;
+            }
+            boolean match = true;
+            for (int i = 0; i < length && match; i++) {
+                match = buffer.get(fieldStart[0] + i) == name[i];
+            }
+            if (match) {
+                return KINDS[k];
+            }
+        }
+        return null;
+    }
+
+    private static boolean expectFields(BatchCommand command, int fields, int min, int max) {
+        if (fields < min || fields > max) {
+            command.invalid("Jumlah field tidak sesuai untuk " + command.kind.name());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Membaca field sebagai teks ASCII melalui cache direct-mapped berukuran tetap.
+     */
+    private String text(int field) {
+        int start = fieldStart[field];
+        int length = fieldEnd[field] - start;
+        int hash = 0x811C9DC5;
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ (buffer.get(start + i) & 0xFF)) * 0x01000193;
+        }
+        int slot = (hash ^ (hash >>> 16)) & (STRING_CACHE_SIZE - 1);
+        String cached = stringCache[slot];
+        if (cached != null && sameBytes(cached, start, length)) {
+            return cached;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(start, bytes);
+        String value = new String(bytes, StandardCharsets.ISO_8859_1);
+        stringCache[slot] = value;
+        return value;
+    }
+
+    private boolean sameBytes(String value, int start, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) != (buffer.get(start + i) & 0xFF)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Membaca nominal desimal (opsional bertanda minus) tanpa membuat String perantara.
+     */
+    private BigDecimal amount(BatchCommand command, int field) {
+        int start = fieldStart[field];
+        int end = fieldEnd[field];
+        boolean negative = start < end && buffer.get(start) == '-';
+        if (negative) {
+            start++;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '.' && scale < 0) {
+                scale = 0;
+            } else if (b >= '0' && b <= '9') {
+                if (++digits > MAX_DIGITS) {
+                    command.invalid("Nominal terlalu panjang pada field " + field);
+                    return null;
+                }
+                unscaled = unscaled * 10 + (b - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else {
+                command.invalid("Nominal tidak valid pada field " + field);
+                return null;
+            }
+        }
+        if (digits == 0) {
+            command.invalid("Nominal kosong pada field " + field);
+            return null;
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
+    private int pin(BatchCommand command, int field) {
+        int start = fieldStart[field];
+        int end = fieldEnd[field];
+        if (start == end || end - start > 9) {
+            command.invalid("PIN tidak valid");
+            return 0;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b < '0' || b > '9') {
+                command.invalid("PIN tidak valid");
+                return 0;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+}
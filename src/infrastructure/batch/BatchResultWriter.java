@@ -0,0 +1,135 @@
+package infrastructure.batch;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Penulis file hasil batch melalui {@link FileChannel} dengan satu buffer yang dipakai ulang.
+ *
+ * <p>Setiap perintah menghasilkan satu baris {@code nomorBaris,STATUS,detail} dengan status
+ * {@code OK} (detail berisi ID transaksi, rekening, atau tipe kartu yang dibuat),
+ * {@code REJECTED} (detail berisi error code) atau {@code ERROR} (detail berisi pesan).
+ * Baris ditulis sesuai urutan selesai; urutan input dapat dipulihkan dengan
+ * {@code sort -t, -n -k1}. Method penulis disinkronkan agar dapat dipanggil dari semua
+ * worker; angka ditulis langsung sebagai digit ASCII tanpa membuat String.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+final class BatchResultWriter implements AutoCloseable {
+    private static final byte[] OK = ",OK,".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] REJECTED = ",REJECTED,".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ERROR = ",ERROR,".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_LONG_DIGITS = 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] digits = new byte[MAX_LONG_DIGITS];
+
+    /**
+     * Membuka (atau menimpa) file hasil.
+     *
+     * @param output path file hasil
+     * @param bufferSize ukuran buffer tulis dalam byte
+     * @throws IOException jika file tidak dapat dibuka
+     */
+    BatchResultWriter(Path output, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    synchronized void success(long lineNumber, long id) {
+        ensureCapacity(2 * MAX_LONG_DIGITS + OK.length + 1);
+        putLong(lineNumber);
+        buffer.put(OK);
+        putLong(id);
+        buffer.put((byte) '\n');
+    }
+
+    synchronized void rejected(long lineNumber, String errorCode) {
+        write(lineNumber, REJECTED, errorCode);
+    }
+
+    synchronized void error(long lineNumber, String message) {
+        write(lineNumber, ERROR, message == null ? "" : message.replace('\n', ' ').replace('\r', ' '));
+    }
+
+    private void write(long lineNumber, byte[] status, String detail) {
+        byte[] bytes = detail.getBytes(StandardCharsets.UTF_8);
+        int needed = MAX_LONG_DIGITS + status.length + bytes.length + 1;
+        ensureCapacity(needed);
+        putLong(lineNumber);
+        buffer.put(status);
+        if (needed <= buffer.capacity()) {
+            buffer.put(bytes);
+        } else {
+            // Pesan yang lebih besar dari buffer ditulis langsung ke channel
+            drain();
+            writeFully(ByteBuffer.wrap(bytes));
+        }
+        ensureCapacity(1);
+        buffer.put((byte) '\n');
+    }
+
+    private void putLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            buffer.put(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        int position = MAX_LONG_DIGITS;
+        do {
+            digits[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        buffer.put(digits, position, MAX_LONG_DIGITS - position);
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (buffer.remaining() < Math.min(bytes, buffer.capacity())) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer source) {
+        try {
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Menulis sisa buffer lalu menutup file.
+     *
+     * @throws IOException jika penulisan atau penutupan gagal
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            drain();
+        } catch (UncheckedIOException e) {
+            channel.close();
+            throw e.getCause();
+        }
+        channel.close();
+    }
+}
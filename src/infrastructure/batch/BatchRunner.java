@@ -0,0 +1,546 @@
+package infrastructure.batch;
+
+import application.dto.AssignCardDto;
+import application.dto.CreateCardTypeDto;
+import application.service.AccountService;
+import application.service.CardTypeService;
+import application.service.TransactionResult;
+import application.service.TransactionService;
+import domain.entity.AccountEntity;
+import domain.entity.CardTypeEntity;
+import domain.repository.AccountRepository;
+import domain.repository.CardTypeRepository;
+import domain.value.AccountType;
+import infrastructure.container.AppContainer;
+import infrastructure.container.ContainerConfig;
+import infrastructure.container.DefaultAppContainer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runner batch yang memutar ulang file perintah transaksi melalui {@link TransactionService}.
+ *
+ * <p>File input dibaca dengan {@link FileChannel} ke satu direct buffer yang dipakai ulang
+ * dan di-parse per byte oleh {@link BatchCommandParser} (format baris dijelaskan di sana),
+ * sehingga pemakaian memori tetap berapa pun ukuran file. Perintah dikirim ke sejumlah
+ * worker menurut rekening asalnya.</p>
+ *
+ * <p>Urutan dijaga per rekening, termasuk rekening tujuan transfer yang ditangani worker lain.
+ * Saat dispatch, pembaca memberi setiap perintah nomor antrean untuk stripe rekening asal dan
+ * rekening tujuannya sesuai urutan baris di file. Worker baru mengeksekusi perintah setelah
+ * semua perintah sebelumnya pada stripe yang sama selesai, lalu memajukan stripe tersebut.
+ * Dengan begitu pembukaan rekening dan setoran di baris awal selalu terlihat oleh transfer atau
+ * penarikan di baris berikutnya, hasilnya sama berapa pun paralelismenya, dan dua perintah
+ * pada rekening yang sama tidak pernah berjalan bersamaan meskipun {@link TransactionService}
+ * membaca lalu menulis saldo tanpa lock. Perintah yang paling awal di antara perintah yang belum
+ * selesai selalu dapat berjalan, sehingga penantian ini tidak dapat deadlock.</p>
+ *
+ * <p>Objek perintah diambil dari pool berukuran tetap dan antrean worker dibatasi, sehingga
+ * pembaca otomatis tertahan ketika worker tertinggal. Perintah {@code CARD_TYPE} dieksekusi
+ * langsung oleh thread pembaca agar sudah tersedia untuk baris berikutnya. Hasil ditulis oleh
+ * {@link BatchResultWriter}.</p>
+ *
+ * <pre>
+ * java -cp out Main --batch input.txt hasil.txt [paralelisme]
+ * </pre>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class BatchRunner {
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    public static final int DEFAULT_READ_BUFFER_SIZE = 1 << 20;
+    private static final int WRITE_BUFFER_SIZE = 256 * 1024;
+    private static final int ORDER_STRIPES = 1 << 16;
+    private static final int WAIT_SPINS = 100;
+    private static final int WAIT_YIELDS = 1_000;
+    private static final long WAIT_PARK_NANOS = 10_000;
+    private static final BigDecimal DEFAULT_DAILY_TRANSFER_LIMIT = new BigDecimal("5000000");
+    private static final BigDecimal DEFAULT_DAILY_WITHDRAW_LIMIT = new BigDecimal("10000000");
+    private static final BatchCommand STOP = new BatchCommand();
+
+    private final TransactionService transactionService;
+    private final AccountService accountService;
+    private final CardTypeService cardTypeService;
+    private final AccountRepository accountRepository;
+    private final CardTypeRepository cardTypeRepository;
+    private final int parallelism;
+    private final int queueCapacity;
+    private final int readBufferSize;
+    private final Map<String, CardTypeEntity> cardTypes = new ConcurrentHashMap<>();
+
+    /**
+     * Konstruktor untuk BatchRunner dengan service dari container dan ukuran default.
+     *
+     * @param container container penyedia service dan repository
+     * @param parallelism jumlah worker
+     */
+    public BatchRunner(AppContainer container, int parallelism) {
+        this(container.getTransactionService(), container.getAccountService(), container.getCardTypeService(),
+                container.getAccountRepository(), container.getCardTypeRepository(),
+                parallelism, DEFAULT_QUEUE_CAPACITY, DEFAULT_READ_BUFFER_SIZE);
+    }
+
+    /**
+     * Konstruktor untuk BatchRunner.
+     *
+     * @param transactionService service untuk mengeksekusi transaksi
+     * @param accountService service untuk menugaskan kartu pada perintah OPEN_ACCOUNT
+     * @param cardTypeService service untuk membuat tipe kartu pada perintah CARD_TYPE
+     * @param accountRepository repository untuk membuka rekening
+     * @param cardTypeRepository repository untuk mencari tipe kartu yang sudah ada
+     * @param parallelism jumlah worker (minimal 1)
+     * @param queueCapacity kapasitas antrean per worker
+     * @param readBufferSize ukuran buffer baca, sekaligus panjang maksimum satu baris
+     */
+    public BatchRunner(TransactionService transactionService, AccountService accountService,
+                       CardTypeService cardTypeService, AccountRepository accountRepository,
+                       CardTypeRepository cardTypeRepository, int parallelism, int queueCapacity,
+                       int readBufferSize) {
+        if (parallelism < 1 || queueCapacity < 1 || readBufferSize < 1) {
+            throw new IllegalArgumentException("parallelism, queueCapacity dan readBufferSize harus positif");
+        }
+        this.transactionService = transactionService;
+        this.accountService = accountService;
+        this.cardTypeService = cardTypeService;
+        this.accountRepository = accountRepository;
+        this.cardTypeRepository = cardTypeRepository;
+        this.parallelism = parallelism;
+        this.queueCapacity = queueCapacity;
+        this.readBufferSize = readBufferSize;
+    }
+
+    /**
+     * Menjalankan batch dari baris perintah.
+     *
+     * <p>Container dibuat dari system property, tetapi screening velocity kartu selalu dimatikan:
+     * aturan velocity dihitung dari jam dinding, sehingga hasilnya akan bergantung pada kecepatan
+     * pemutaran ulang, bukan hanya pada isi file.</p>
+     *
+     * @param args {@code <input> <output> [paralelisme]}
+     * @throws IOException jika file input atau output tidak dapat diakses
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Penggunaan: --batch <input> <output> [paralelisme]");
+            System.exit(2);
+        }
+        int parallelism = args.length > 2
+                ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+        BatchRunner runner = new BatchRunner(
+                new DefaultAppContainer(ContainerConfig.fromSystemProperties().withVelocityRules(List.of())), parallelism);
+        BatchSummary summary = runner.run(Path.of(args[0]), Path.of(args[1]));
+        System.out.println(summary.format());
+    }
+
+    /**
+     * Memproses seluruh file input dan menulis hasil per baris ke file output.
+     *
+     * @param input file perintah
+     * @param output file hasil (ditimpa jika sudah ada)
+     * @return ringkasan eksekusi
+     * @throws IOException jika file tidak dapat dibaca atau ditulis
+     */
+    public BatchSummary run(Path input, Path output) throws IOException {
+        long start = System.nanoTime();
+        Execution execution = new Execution(parallelism * (queueCapacity + 1) + 1);
+
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ);
+             BatchResultWriter writer = new BatchResultWriter(output, WRITE_BUFFER_SIZE)) {
+            execution.writer = writer;
+            Worker[] workers = new Worker[parallelism];
+            for (int i = 0; i < parallelism; i++) {
+                workers[i] = new Worker(execution, new ArrayBlockingQueue<>(queueCapacity));
+                workers[i].thread = Thread.ofPlatform().name("batch-worker-" + i).start(workers[i]);
+            }
+
+            try {
+                read(channel, execution, workers);
+            } finally {
+                stop(workers);
+            }
+        }
+
+        Throwable failure = execution.failure.get();
+        if (failure instanceof UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Worker batch gagal", failure);
+        }
+        return new BatchSummary(execution.commands, execution.succeeded.sum(), execution.rejected.sum(),
+                execution.failed.sum(), execution.bytesRead, System.nanoTime() - start);
+    }
+
+    /**
+     * Membaca file per blok dan memotongnya menjadi baris. Sisa baris yang terpotong di akhir
+     * blok digeser ke awal buffer sebelum blok berikutnya dibaca.
+     */
+    private void read(FileChannel channel, Execution execution, Worker[] workers) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(readBufferSize);
+        BatchCommandParser parser = new BatchCommandParser();
+        long lineNumber = 0;
+        boolean skippingLongLine = false;
+        int scanFrom = 0;
+
+        while (true) {
+            int read = channel.read(buffer);
+            boolean eof = read < 0;
+            if (read > 0) {
+                execution.bytesRead += read;
+            }
+            int end = buffer.position();
+            int lineStart = 0;
+            for (int i = scanFrom; i < end; i++) {
+                if (buffer.get(i) != '\n') {
+                    continue;
+                }
+                if (skippingLongLine) {
+                    skippingLongLine = false;
+                } else {
+                    dispatch(buffer, lineStart, i, ++lineNumber, parser, execution, workers);
+                }
+                lineStart = i + 1;
+            }
+
+            if (eof) {
+                if (lineStart < end && !skippingLongLine) {
+                    dispatch(buffer, lineStart, end, ++lineNumber, parser, execution, workers);
+                }
+                return;
+            }
+            if (lineStart == 0 && end == buffer.capacity()) {
+                // Satu baris lebih panjang dari buffer: laporkan lalu buang sampai '\n' berikutnya
+                if (!skippingLongLine) {
+                    execution.writer.error(++lineNumber, "Baris melebihi " + readBufferSize + " byte");
+                    execution.commands++;
+                    execution.failed.increment();
+                    skippingLongLine = true;
+                }
+                buffer.clear();
+                scanFrom = 0;
+                continue;
+            }
+            buffer.limit(end).position(lineStart);
+            buffer.compact();
+            scanFrom = buffer.position();
+        }
+    }
+
+    private void dispatch(ByteBuffer buffer, int start, int end, long lineNumber, BatchCommandParser parser,
+                          Execution execution, Worker[] workers) {
+        if (BatchCommandParser.isBlankOrComment(buffer, start, end)) {
+            return;
+        }
+        execution.commands++;
+        BatchCommand command = take(execution.free);
+        command.reset(lineNumber);
+        parser.parse(buffer, start, end, command);
+
+        if (command.kind == BatchCommand.Kind.INVALID) {
+            execution.writer.error(lineNumber, command.error);
+            execution.failed.increment();
+            execution.free.add(command);
+        } else if (command.kind == BatchCommand.Kind.CARD_TYPE) {
+            executeSafely(command, execution);
+            execution.free.add(command);
+        } else {
+            command.originStripe = stripe(command.accountNumber);
+            command.originTicket = execution.issued[command.originStripe]++;
+            if (command.destinationAccountNumber != null) {
+                int destination = stripe(command.destinationAccountNumber);
+                if (destination != command.originStripe) {
+                    command.destinationStripe = destination;
+                    command.destinationTicket = execution.issued[destination]++;
+                }
+            }
+            put(workers[command.originStripe % workers.length].queue, command);
+        }
+    }
+
+    private void stop(Worker[] workers) {
+        for (Worker worker : workers) {
+            if (worker != null && worker.thread != null) {
+                put(worker.queue, STOP);
+            }
+        }
+        for (Worker worker : workers) {
+            if (worker != null && worker.thread != null) {
+                boolean interrupted = false;
+                while (true) {
+                    try {
+                        worker.thread.join();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * Mengeksekusi perintah dan mencatat exception sebagai baris ERROR. Error I/O pada file
+     * hasil disimpan sebagai kegagalan batch dan dilempar ulang di akhir {@link #run}.
+     */
+    private void executeSafely(BatchCommand command, Execution execution) {
+        try {
+            execute(command, execution);
+        } catch (UncheckedIOException e) {
+            execution.failure.compareAndSet(null, e);
+        } catch (RuntimeException e) {
+            execution.failed.increment();
+            try {
+                execution.writer.error(command.lineNumber, e.getClass().getSimpleName() + ": " + e.getMessage());
+            } catch (UncheckedIOException io) {
+                execution.failure.compareAndSet(null, io);
+            }
+        }
+    }
+
+    /**
+     * Mengeksekusi satu perintah. Perintah worker dipanggil setelah {@link #await} sehingga
+     * tidak ada perintah lain pada stripe rekening yang sama yang sedang berjalan.
+     */
+    private void execute(BatchCommand command, Execution execution) {
+        switch (command.kind) {
+            case CARD_TYPE -> createCardType(command, execution);
+            case OPEN_ACCOUNT -> openAccount(command, execution);
+            case MONTHLY_CHARGE -> report(command, execution,
+                    transactionService.tryApplyCardMonthlyCharge(command.accountNumber));
+            case TRANSFER -> report(command, execution, transactionService.trySendMoneyViaTeller(
+                    command.accountNumber, command.destinationAccountNumber, command.amount));
+            case TRANSFER_VIA_CARD -> report(command, execution, transactionService.trySendMoneyUsingCard(
+                    command.accountNumber, command.destinationAccountNumber, command.amount, command.pin));
+            case DEPOSIT -> report(command, execution,
+                    transactionService.tryDepositMoneyViaTeller(command.accountNumber, command.amount));
+            case DEPOSIT_VIA_CARD -> report(command, execution, transactionService.tryDepositMoneyUsingCard(
+                    command.accountNumber, command.amount, command.pin));
+            case WITHDRAW -> report(command, execution,
+                    transactionService.tryWithdrawMoneyViaTeller(command.accountNumber, command.amount));
+            case WITHDRAW_VIA_CARD -> report(command, execution, transactionService.tryWithdrawMoneyUsingCard(
+                    command.accountNumber, command.amount, command.pin));
+            case INVALID -> throw new IllegalStateException("Perintah tidak dapat dieksekusi worker");
+        }
+    }
+
+    /**
+     * Menunggu sampai semua perintah sebelumnya pada stripe rekening asal dan tujuan selesai.
+     */
+    private static void await(BatchCommand command, Execution execution) {
+        awaitTurn(execution.completed, command.originStripe, command.originTicket);
+        if (command.destinationStripe >= 0) {
+            awaitTurn(execution.completed, command.destinationStripe, command.destinationTicket);
+        }
+    }
+
+    private static void awaitTurn(AtomicLongArray completed, int stripe, long ticket) {
+        // Penantian biasanya singkat: spin dulu, lalu memberi giliran, baru tidur sebentar
+        for (int attempt = 0; completed.getAcquire(stripe) != ticket; attempt++) {
+            if (attempt < WAIT_SPINS) {
+                Thread.onSpinWait();
+            } else if (attempt < WAIT_SPINS + WAIT_YIELDS) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(WAIT_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Memajukan stripe rekening asal dan tujuan agar perintah berikutnya dapat berjalan.
+     */
+    private static void release(BatchCommand command, Execution execution) {
+        if (command.destinationStripe >= 0) {
+            execution.completed.setRelease(command.destinationStripe, command.destinationTicket + 1);
+        }
+        execution.completed.setRelease(command.originStripe, command.originTicket + 1);
+    }
+
+    private void createCardType(BatchCommand command, Execution execution) {
+        CardTypeEntity cardType = cardTypeService.createCardType(new CreateCardTypeDto(
+                command.name,
+                "Dibuat oleh batch",
+                command.amount,
+                command.limits[0],
+                command.limits[1],
+                command.limits[2],
+                command.limits[3]
+        ));
+        cardTypes.put(cardType.name(), cardType);
+        execution.writer.success(command.lineNumber, cardType.id());
+        execution.succeeded.increment();
+    }
+
+    private void openAccount(BatchCommand command, Execution execution) {
+        if (command.amount.signum() < 0) {
+            execution.writer.rejected(command.lineNumber, TransactionResult.Code.INVALID_TRANSACTION_AMOUNT.errorCode());
+            execution.rejected.increment();
+            return;
+        }
+        if (accountRepository.findByAccountNumber(command.accountNumber).isPresent()) {
+            execution.writer.error(command.lineNumber, "Nomor rekening sudah terdaftar: " + command.accountNumber);
+            execution.failed.increment();
+            return;
+        }
+        CardTypeEntity cardType = null;
+        if (command.hasCard) {
+            cardType = findCardType(command.name);
+            if (cardType == null) {
+                execution.writer.rejected(command.lineNumber, TransactionResult.Code.CARD_TYPE_NOT_FOUND.errorCode());
+                execution.rejected.increment();
+                return;
+            }
+        }
+
+        AccountEntity account = accountRepository.save(new AccountEntity(
+                0,
+                command.accountNumber,
+                command.amount,
+                AccountType.SAVINGS,
+                0,
+                DEFAULT_DAILY_TRANSFER_LIMIT,
+                DEFAULT_DAILY_WITHDRAW_LIMIT
+        ));
+        if (cardType != null) {
+            accountService.assignCard(new AssignCardDto(account, cardType, command.pin));
+        }
+        execution.writer.success(command.lineNumber, account.id());
+        execution.succeeded.increment();
+    }
+
+    private CardTypeEntity findCardType(String name) {
+        CardTypeEntity cardType = cardTypes.get(name);
+        if (cardType == null) {
+            cardType = cardTypeRepository.scan(candidate -> candidate.name().equals(name)).findFirst().orElse(null);
+            if (cardType != null) {
+                cardTypes.putIfAbsent(name, cardType);
+            }
+        }
+        return cardType;
+    }
+
+    private static void report(BatchCommand command, Execution execution, TransactionResult result) {
+        switch (result) {
+            case TransactionResult.Success success -> {
+                execution.writer.success(command.lineNumber, success.transaction().id());
+                execution.succeeded.increment();
+            }
+            case TransactionResult.Rejected rejected -> {
+                execution.writer.rejected(command.lineNumber, rejected.code().errorCode());
+                execution.rejected.increment();
+            }
+        }
+    }
+
+    private static int stripe(String accountNumber) {
+        return spread(accountNumber.hashCode()) & (ORDER_STRIPES - 1);
+    }
+
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16)) * 0x45D9F3B;
+    }
+
+    private static <T> T take(BlockingQueue<T> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Pembacaan batch diinterupsi", e);
+        }
+    }
+
+    private static <T> void put(BlockingQueue<T> queue, T value) {
+        try {
+            queue.put(value);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Pembacaan batch diinterupsi", e);
+        }
+    }
+
+    /**
+     * State bersama satu kali eksekusi batch.
+     */
+    private static final class Execution {
+        private final BlockingQueue<BatchCommand> free;
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        // Nomor antrean berikutnya per stripe (hanya ditulis pembaca) dan nomor antrean yang sedang dilayani
+        private final long[] issued = new long[ORDER_STRIPES];
+        private final AtomicLongArray completed = new AtomicLongArray(ORDER_STRIPES);
+        private BatchResultWriter writer;
+        private long commands;
+        private long bytesRead;
+
+        private Execution(int poolSize) {
+            this.free = new ArrayBlockingQueue<>(poolSize);
+            for (int i = 0; i < poolSize; i++) {
+                free.add(new BatchCommand());
+            }
+        }
+    }
+
+    /**
+     * Worker yang mengeksekusi perintah dari antreannya secara berurutan.
+     */
+    private final class Worker implements Runnable {
+        private final Execution execution;
+        private final BlockingQueue<BatchCommand> queue;
+        private Thread thread;
+
+        private Worker(Execution execution, BlockingQueue<BatchCommand> queue) {
+            this.execution = execution;
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                BatchCommand command;
+                try {
+                    command = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (command == STOP) {
+                    return;
+                }
+                // Setelah error I/O, antrean tetap dikosongkan dan stripe tetap dimajukan
+                // agar pembaca dan worker lain tidak tertahan
+                await(command, execution);
+                try {
+                    if (execution.failure.get() == null) {
+                        executeSafely(command, execution);
+                    }
+                } finally {
+                    release(command, execution);
+                }
+                execution.free.add(command);
+            }
+        }
+    }
+}
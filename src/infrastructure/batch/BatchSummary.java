@@ -0,0 +1,39 @@
+package infrastructure.batch;
+
+/**
+ * Ringkasan satu kali eksekusi {@link BatchRunner}.
+ *
+ * @param commands jumlah baris perintah yang diproses (tidak termasuk baris kosong dan komentar)
+ * @param succeeded jumlah perintah yang berhasil
+ * @param rejected jumlah perintah yang ditolak validasi bisnis
+ * @param failed jumlah baris yang tidak valid atau gagal karena error lain
+ * @param bytesRead jumlah byte input yang dibaca
+ * @param elapsedNanos lama eksekusi dalam nanodetik
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public record BatchSummary(long commands, long succeeded, long rejected, long failed, long bytesRead,
+                           long elapsedNanos) {
+
+    /**
+     * Menghitung throughput perintah per detik.
+     *
+     * @return jumlah perintah per detik, atau 0 jika durasi nol
+     */
+    public double commandsPerSecond() {
+        return elapsedNanos == 0 ? 0 : commands * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Memformat ringkasan menjadi satu baris untuk log.
+     *
+     * @return ringkasan dalam bentuk teks
+     */
+    public String format() {
+        return String.format("perintah=%d ok=%d ditolak=%d gagal=%d input=%.1f MiB waktu=%.2f s throughput=%.0f/s",
+                commands, succeeded, rejected, failed, bytesRead / (1024.0 * 1024.0),
+                elapsedNanos / 1_000_000_000.0, commandsPerSecond());
+    }
+}
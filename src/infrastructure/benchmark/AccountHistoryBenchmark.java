@@ -0,0 +1,117 @@
+package infrastructure.benchmark;
+
+import domain.entity.TransactionEntity;
+import domain.repository.TransactionRepository;
+import domain.value.TransactionType;
+import infrastructure.repository.InMemoryTransactionRepository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Benchmark riwayat transaksi per rekening melalui posting list dibandingkan scan linear.
+ *
+ * <p>Repository diisi transaksi acak antar sejumlah rekening (sebagian dengan timestamp tidak
+ * berurutan). Tahap pertama memastikan riwayat gabungan, transaksi masuk, dan transaksi harian
+ * sama persis dengan hasil scan yang diurutkan; jika berbeda program keluar dengan kode 1.
+ * Tahap kedua mengukur waktu per query riwayat untuk kedua cara.</p>
+ *
+ * <pre>
+ * java -cp out infrastructure.benchmark.AccountHistoryBenchmark [jumlahTransaksi] [jumlahRekening]
+ * </pre>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class AccountHistoryBenchmark {
+    private static final int DEFAULT_TRANSACTIONS = 1_000_000;
+    private static final int DEFAULT_ACCOUNTS = 10_000;
+    private static final Comparator<TransactionEntity> BY_TIMESTAMP =
+            Comparator.comparingLong(TransactionEntity::timestamp).thenComparingInt(TransactionEntity::id);
+
+    private AccountHistoryBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int transactionCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TRANSACTIONS;
+        int accountCount = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ACCOUNTS;
+        TransactionRepository repository = new InMemoryTransactionRepository();
+        SplittableRandom random = new SplittableRandom(42);
+        long timestamp = 1_792_000_000L;
+        for (int i = 0; i < transactionCount; i++) {
+            int accountId = random.nextInt(accountCount) + 1;
+            boolean transfer = random.nextInt(3) == 0;
+            // Sekitar 1% transaksi datang terlambat dengan timestamp lebih kecil
+            long at = random.nextInt(100) == 0 ? timestamp - random.nextInt(1_000) : timestamp++;
+            repository.save(new TransactionEntity(0, accountId, transfer ? random.nextInt(accountCount) + 1 : null,
+                    BigDecimal.valueOf(10_000L * (random.nextInt(100) + 1)),
+                    transfer ? TransactionType.TRANSFER : TransactionType.DEPOSIT,
+                    "2026-10-" + (10 + (int) ((at - 1_792_000_000L) * 20 / (transactionCount + 1))), at));
+        }
+
+        int[] sample = new int[200];
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = random.nextInt(accountCount) + 1;
+        }
+        for (int accountId : sample) {
+            verify(repository, accountId);
+        }
+        System.out.println("verifikasi OK: " + sample.length + " rekening");
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            long rows = 0;
+            for (int accountId : sample) {
+                Iterator<TransactionEntity> history = repository.iterateByAccountId(accountId, null, null);
+                while (history.hasNext()) {
+                    history.next();
+                    rows++;
+                }
+            }
+            long indexed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < 20; i++) {
+                scanHistory(repository, sample[i]);
+            }
+            long scanned = System.nanoTime() - start;
+            System.out.printf("posting list %,10.1f us/query (%.1f baris) | scan %,12.1f us/query%n",
+                    indexed / 1_000.0 / sample.length, (double) rows / sample.length, scanned / 1_000.0 / 20);
+        }
+    }
+
+    private static void verify(TransactionRepository repository, int accountId) {
+        List<TransactionEntity> history = new ArrayList<>();
+        repository.iterateByAccountId(accountId, null, null).forEachRemaining(history::add);
+        check("riwayat", accountId, scanHistory(repository, accountId), history);
+
+        check("masuk", accountId, repository.scan(t -> t.destinationAccountId() != null
+                && t.destinationAccountId() == accountId).sorted(BY_TIMESTAMP).toList(),
+                repository.findByDestinationAccountId(accountId));
+
+        check("harian", accountId, repository.scan(t -> t.accountId() == accountId
+                && "2026-10-15".equals(t.date())).sorted(BY_TIMESTAMP).toList(),
+                repository.findByAccountIdWithDate(accountId, "2026-10-15"));
+    }
+
+    private static List<TransactionEntity> scanHistory(TransactionRepository repository, int accountId) {
+        return repository.scan(t -> t.accountId() == accountId
+                        || (t.destinationAccountId() != null && t.destinationAccountId() == accountId))
+                .sorted(BY_TIMESTAMP)
+                .toList();
+    }
+
+    private static void check(String query, int accountId, List<TransactionEntity> expected,
+                              List<TransactionEntity> actual) {
+        if (!expected.equals(actual)) {
+            System.err.println("Hasil " + query + " berbeda untuk rekening " + accountId
+                    + ": scan=" + expected.size() + " index=" + actual.size());
+            System.exit(1);
+        }
+    }
+}
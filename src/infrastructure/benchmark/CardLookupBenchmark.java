@@ -0,0 +1,87 @@
+package infrastructure.benchmark;
+
+import domain.entity.AccountCardEntity;
+import domain.repository.AccountCardRepository;
+import infrastructure.repository.InMemoryAccountCardRepository;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Benchmark pencarian kartu berdasarkan nomor kartu seperti pada autentikasi ATM.
+ *
+ * <p>Repository diisi sejumlah kartu, lalu diukur waktu per pencarian untuk nomor yang
+ * terdaftar dan nomor acak yang tidak terdaftar, beserta rasio nomor tidak terdaftar yang
+ * lolos Bloom filter (terlihat dari jumlah yang tidak ditolak lebih cepat) dan jumlah byte
+ * yang dialokasikan per pencarian. Sebagai pembanding diukur juga scan linear.</p>
+ *
+ * <pre>
+ * java -cp out infrastructure.benchmark.CardLookupBenchmark [jumlahKartu]
+ * </pre>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class CardLookupBenchmark {
+    private static final int DEFAULT_CARDS = 200_000;
+    private static final int LOOKUPS = 2_000_000;
+
+    private CardLookupBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int cardCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CARDS;
+        AccountCardRepository repository = new InMemoryAccountCardRepository();
+        List<String> known = new ArrayList<>(cardCount);
+        for (int i = 0; i < cardCount; i++) {
+            String cardNumber = Long.toString(1_000_000_000L + i * 7L);
+            repository.save(new AccountCardEntity(0, i + 1, cardNumber, 123456, 1, true, "2027-09-09"));
+            known.add(cardNumber);
+        }
+        String[] unknown = new String[4096];
+        for (int i = 0; i < unknown.length; i++) {
+            // Nomor bukan kelipatan 7 dari basis sehingga pasti tidak terdaftar
+            unknown[i] = Long.toString(1_000_000_000L + ThreadLocalRandom.current().nextLong(cardCount) * 7L + 3);
+            unknown[i].hashCode();
+        }
+        String[] hits = new String[4096];
+        for (int i = 0; i < hits.length; i++) {
+            hits[i] = known.get(ThreadLocalRandom.current().nextInt(cardCount));
+        }
+
+        for (int round = 0; round < 3; round++) {
+            measure("terdaftar      ", repository, hits, true);
+            measure("tidak terdaftar", repository, unknown, false);
+        }
+
+        int scans = 200;
+        long start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < scans; i++) {
+            String cardNumber = unknown[i];
+            found += repository.scan(candidate -> cardNumber.equals(candidate.cardNumber())).findFirst().isPresent() ? 1 : 0;
+        }
+        System.out.printf("scan linear (tidak terdaftar) %,12.1f ns/pencarian (ditemukan %d)%n",
+                (double) (System.nanoTime() - start) / scans, found);
+    }
+
+    private static void measure(String label, AccountCardRepository repository, String[] keys, boolean expectFound) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        int mismatches = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (repository.findByCardNumber(keys[i & (keys.length - 1)]).isPresent() != expectFound) {
+                mismatches++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        System.out.printf("%s %8.1f ns/pencarian %6.2f B/pencarian salah=%d%n",
+                label, (double) elapsed / LOOKUPS, (double) allocated / LOOKUPS, mismatches);
+    }
+}
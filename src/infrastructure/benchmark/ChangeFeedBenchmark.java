@@ -0,0 +1,246 @@
+package infrastructure.benchmark;
+
+import application.service.ChangeFeed.Batch;
+import application.service.ChangeFeed.ChangeEvent;
+import application.service.ChangeFeed.Operation;
+import application.service.ChangeFeed.Source;
+import application.service.ChangeFeed.Subscription;
+import domain.entity.AccountEntity;
+import domain.entity.TransactionEntity;
+import domain.repository.TransactionRepository;
+import domain.value.AccountType;
+import domain.value.TransactionType;
+import infrastructure.changefeed.PublishingTransactionRepository;
+import infrastructure.changefeed.RingChangeFeed;
+import infrastructure.container.ContainerConfig;
+import infrastructure.container.DefaultAppContainer;
+import infrastructure.repository.InMemoryTransactionRepository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Uji kebenaran dan benchmark {@link RingChangeFeed}.
+ *
+ * <p>Tahap pertama memeriksa bahwa event dari beberapa thread penerbit diterima konsumen
+ * lengkap dan berurutan, bahwa konsumen lambat kehilangan event tertua dengan jumlah yang
+ * dilaporkan tepat (event diterima ditambah event hilang sama dengan event yang diterbitkan),
+ * bahwa subscription dapat dilanjutkan dari nomor urut tertentu, dan bahwa repository container
+ * menerbitkan event untuk rekening baru, transaksi, dan perubahan saldo. Jika ada yang salah
+ * program keluar dengan kode 1. Tahap kedua mengukur biaya penerbitan per event dan tambahan
+ * biaya {@link TransactionRepository#save} akibat decorator change feed.</p>
+ *
+ * <pre>
+ * java -cp out infrastructure.benchmark.ChangeFeedBenchmark [jumlahEvent]
+ * </pre>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class ChangeFeedBenchmark {
+    private static final int DEFAULT_EVENTS = 20_000_000;
+    private static final int PRODUCERS = 4;
+
+    private ChangeFeedBenchmark() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int eventCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_EVENTS;
+        verifyConcurrent(1 << 20, 1_000_000);
+        verifyConcurrent(1 << 10, 2_000_000);
+        verifyResume();
+        verifyContainer();
+        System.out.println("verifikasi OK");
+        benchmark(eventCount);
+    }
+
+    /**
+     * Beberapa penerbit menerbitkan event bernomor per penerbit sementara satu konsumen membaca.
+     * Dengan kapasitas kecil konsumen tertinggal, sehingga yang diperiksa adalah urutan dan
+     * kelengkapan penghitungan event hilang.
+     */
+    private static void verifyConcurrent(int capacity, int eventCount) throws InterruptedException {
+        RingChangeFeed feed = new RingChangeFeed(capacity);
+        Subscription subscription = feed.subscribe("verifikasi");
+        int perProducer = eventCount / PRODUCERS;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            Integer producer = p;
+            Thread thread = new Thread(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < perProducer; i++) {
+                    feed.publish(Source.TRANSACTION, Operation.INSERT, i, producer);
+                }
+            });
+            thread.start();
+            producers.add(thread);
+        }
+        start.countDown();
+
+        long total = (long) perProducer * PRODUCERS;
+        long received = 0;
+        long missed = 0;
+        long expectedSequence = 0;
+        int[] lastId = new int[PRODUCERS];
+        Arrays.fill(lastId, -1);
+        while (received + missed < total) {
+            Batch batch = subscription.poll(256);
+            missed += batch.missed();
+            expectedSequence += batch.missed();
+            for (ChangeEvent event : batch.events()) {
+                if (event.sequence() != expectedSequence) {
+                    fail("nomor urut " + event.sequence() + ", seharusnya " + expectedSequence);
+                }
+                int producer = (Integer) event.entity();
+                // Tanpa event hilang, ID per penerbit harus bersambung; dengan event hilang cukup naik
+                if (missed == 0 ? event.entityId() != lastId[producer] + 1 : event.entityId() <= lastId[producer]) {
+                    fail("event penerbit " + producer + " tidak berurutan: " + event.entityId()
+                            + " setelah " + lastId[producer]);
+                }
+                lastId[producer] = event.entityId();
+                expectedSequence++;
+                received++;
+            }
+            if (capacity < total) {
+                // Konsumen sengaja memberi giliran ke penerbit agar tertinggal lebih dari kapasitas
+                Thread.yield();
+            }
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        if (received + missed != total || missed != subscription.missedCount() || subscription.lag() != 0) {
+            fail("diterima " + received + " + hilang " + missed + " != " + total);
+        }
+        if (capacity >= total && missed != 0) {
+            fail("konsumen kehilangan " + missed + " event walaupun kapasitas cukup");
+        }
+        if (missed > 0 != subscription.isSlow()) {
+            fail("status konsumen lambat salah");
+        }
+        subscription.close();
+        if (!feed.subscriptions().isEmpty()) {
+            fail("subscription yang ditutup masih terdaftar");
+        }
+    }
+
+    private static void verifyResume() {
+        RingChangeFeed feed = new RingChangeFeed(1_000);
+        if (feed.capacity() != 1_024) {
+            fail("kapasitas tidak dibulatkan ke pangkat dua: " + feed.capacity());
+        }
+        for (int i = 0; i < 5_000; i++) {
+            feed.publish(Source.CUSTOMER, Operation.UPDATE, i, null);
+        }
+        Subscription resumed = feed.subscribe("lanjutan", 4_500);
+        Batch batch = resumed.poll(100);
+        if (batch.missed() != 0 || batch.events().size() != 100 || batch.events().get(0).entityId() != 4_500) {
+            fail("subscription lanjutan membaca dari posisi yang salah");
+        }
+        Subscription behind = feed.subscribe("tertinggal", 0);
+        if (!behind.isSlow()) {
+            fail("subscription tertinggal tidak ditandai lambat");
+        }
+        batch = behind.poll(10_000);
+        if (batch.missed() != 5_000 - 1_024 || batch.events().size() != 1_024
+                || batch.events().get(0).sequence() != 5_000 - 1_024 || behind.position() != 5_000) {
+            fail("event hilang dihitung salah: " + batch.missed());
+        }
+        if (!behind.poll(10).isEmpty()) {
+            fail("batch setelah ujung feed tidak kosong");
+        }
+    }
+
+    private static void verifyContainer() {
+        DefaultAppContainer container = new DefaultAppContainer(ContainerConfig.defaults());
+        Subscription subscription = container.getChangeFeed().subscribe("notifikasi");
+        AccountEntity account = container.getAccountRepository().save(new AccountEntity(0, "9100000001",
+                new BigDecimal("100000"), AccountType.SAVINGS, 1, new BigDecimal("5000000"), new BigDecimal("5000000")));
+        container.getTransactionService().depositMoneyViaTeller(account.accountNumber(), new BigDecimal("25000"));
+        List<ChangeEvent> events = subscription.poll(100).events();
+        List<String> kinds = events.stream().map(event -> event.source() + " " + event.operation()).toList();
+        if (!kinds.equals(List.of("ACCOUNT INSERT", "TRANSACTION INSERT", "ACCOUNT UPDATE"))) {
+            fail("event container: " + kinds);
+        }
+        if (!(events.get(1).entity() instanceof TransactionEntity transaction)
+                || transaction.transactionType() != TransactionType.DEPOSIT
+                || !(events.get(2).entity() instanceof AccountEntity updated)
+                || updated.balance().compareTo(new BigDecimal("125000")) != 0) {
+            fail("isi event container salah: " + events);
+        }
+    }
+
+    private static void benchmark(int eventCount) throws InterruptedException {
+        RingChangeFeed feed = new RingChangeFeed(RingChangeFeed.DEFAULT_CAPACITY);
+        Subscription subscription = feed.subscribe("benchmark");
+        Object entity = new Object();
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < eventCount; i++) {
+                feed.publish(Source.TRANSACTION, Operation.INSERT, i, entity);
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("publish 1 thread: %,d event, %.1f ns/event%n", eventCount, (double) elapsed / eventCount);
+        }
+        Batch drained = subscription.poll(feed.capacity());
+        System.out.printf("konsumen lambat: %,d event hilang, %,d event dibaca, lambat=%s%n",
+                drained.missed(), drained.events().size(), subscription.isSlow());
+
+        List<Thread> producers = new ArrayList<>();
+        int perProducer = eventCount / PRODUCERS;
+        long start = System.nanoTime();
+        for (int p = 0; p < PRODUCERS; p++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    feed.publish(Source.TRANSACTION, Operation.INSERT, i, entity);
+                }
+            });
+            thread.start();
+            producers.add(thread);
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("publish %d thread (%d core): %,d event, %.1f ns/event%n", PRODUCERS,
+                Runtime.getRuntime().availableProcessors(), (long) perProducer * PRODUCERS,
+                (double) elapsed / ((long) perProducer * PRODUCERS));
+
+        int saves = Math.min(eventCount, 2_000_000);
+        BigDecimal amount = new BigDecimal("25000");
+        for (int round = 0; round < 3; round++) {
+            long plain = timeSaves(new InMemoryTransactionRepository(), saves, amount);
+            long published = timeSaves(new PublishingTransactionRepository(new InMemoryTransactionRepository(),
+                    new RingChangeFeed(RingChangeFeed.DEFAULT_CAPACITY)), saves, amount);
+            System.out.printf("TransactionRepository.save: %.1f ns tanpa feed, %.1f ns dengan feed%n",
+                    (double) plain / saves, (double) published / saves);
+        }
+    }
+
+    private static long timeSaves(TransactionRepository repository, int count, BigDecimal amount) {
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            repository.save(new TransactionEntity(0, 1 + (i & 1023), null, amount, TransactionType.DEPOSIT,
+                    "2026-10-19", 1_792_368_000L + i));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void fail(String message) {
+        System.err.println("Verifikasi gagal: " + message);
+        System.exit(1);
+    }
+}
@@ -0,0 +1,257 @@
+package infrastructure.benchmark;
+
+import domain.entity.AccountCardEntity;
+import domain.entity.AccountEntity;
+import domain.entity.CardTypeEntity;
+import domain.entity.CustomerEntity;
+import domain.entity.TransactionEntity;
+import domain.value.AccountType;
+import domain.value.TransactionType;
+import infrastructure.codec.BinaryFormat;
+import infrastructure.codec.EntityCodec;
+import infrastructure.codec.EntityCodecs;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Uji round-trip dan benchmark throughput codec biner dibandingkan Java serialization.
+ *
+ * <p>Tahap pertama memastikan setiap entity (termasuk kasus tepi seperti field null, teks
+ * non-ASCII, nominal negatif dan berdesimal) kembali identik setelah encode/decode, baik
+ * pada heap buffer maupun direct buffer, dan bahwa teks dengan surrogate tanpa pasangan di-encode
+ * sama persis dengan {@code String.getBytes(UTF_8)}; jika ada yang berbeda program keluar dengan kode 1.
+ * Tahap kedua mengukur waktu encode+decode per entity dan ukuran hasilnya. Karena entity
+ * tidak mengimplementasikan {@link java.io.Serializable}, pembanding Java serialization
+ * menulis komponen record sebagai {@code Object[]} dalam satu stream per batch.</p>
+ *
+ * <pre>
+ * java -cp out infrastructure.benchmark.CodecBenchmark [jumlahBatch]
+ * </pre>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class CodecBenchmark {
+    private static final int DEFAULT_BATCHES = 300;
+    private static final int BATCH_SIZE = 1000;
+
+    private CodecBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        int batches = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BATCHES;
+        List<Case<?>> cases = cases();
+
+        int verified = 0;
+        for (Case<?> testCase : cases) {
+            verified += testCase.verifyRoundTrip();
+        }
+        verified += verifyStrings();
+        System.out.println("round-trip OK: " + verified + " entity");
+
+        for (Case<?> testCase : cases) {
+            testCase.benchmark(batches);
+        }
+    }
+
+    /**
+     * Surrogate tanpa pasangan dihitung 1 byte seperti ASCII, tetapi harus ditulis sebagai '?'
+     * oleh heap buffer maupun direct buffer.
+     */
+    private static int verifyStrings() {
+        List<String> values = List.of("ab\uD800c", "\uDC00", "x\uD83C", "\uDE00\uD83Cy", "abc", "é€𝄞", "");
+        ByteBuffer heap = ByteBuffer.allocate(256);
+        ByteBuffer direct = ByteBuffer.allocateDirect(256);
+        for (String value : values) {
+            byte[] expected = value.getBytes(StandardCharsets.UTF_8);
+            for (ByteBuffer buffer : new ByteBuffer[] {heap, direct}) {
+                buffer.clear();
+                BinaryFormat.putString(buffer, value);
+                buffer.flip();
+                byte[] written = new byte[buffer.remaining()];
+                buffer.get(written);
+                buffer.flip();
+                String decoded = BinaryFormat.getString(buffer);
+                if (!Arrays.equals(Arrays.copyOfRange(written, 1, written.length), expected)
+                        || written[0] != expected.length + 1
+                        || !decoded.equals(new String(expected, StandardCharsets.UTF_8))) {
+                    System.err.println("Round-trip String gagal untuk " + value.chars()
+                            .mapToObj(Integer::toHexString).toList() + " (direct=" + buffer.isDirect() + "): "
+                            + Arrays.toString(written));
+                    System.exit(1);
+                }
+            }
+        }
+        return values.size();
+    }
+
+    private static List<Case<?>> cases() {
+        List<Case<?>> cases = new ArrayList<>();
+
+        List<TransactionEntity> transactions = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            TransactionType type = TransactionType.values()[i % TransactionType.values().length];
+            transactions.add(new TransactionEntity(i + 1, i % 500 + 1, i % 3 == 0 ? i % 500 + 2 : null,
+                    i % 4 == 0 ? BigDecimal.valueOf(150_000L + i, 2) : BigDecimal.valueOf(10_000L * (i + 1)),
+                    type, "2026-10-" + (10 + i % 20), 1_792_000_000L + i));
+        }
+        cases.add(new Case<>("TransactionEntity", EntityCodecs.TRANSACTION, transactions,
+                List.of(new TransactionEntity(0, 0, null, BigDecimal.ZERO, TransactionType.DEPOSIT, null, 0),
+                        new TransactionEntity(Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE,
+                                new BigDecimal("-123456789012345.6789"), TransactionType.TRANSFER_VIA_CARD,
+                                "", Long.MIN_VALUE),
+                        new TransactionEntity(7, 8, -1, new BigDecimal("1E+3"), TransactionType.WITHDRAW,
+                                "2026-01-01", Long.MAX_VALUE)),
+                t -> new Object[] {t.id(), t.accountId(), t.destinationAccountId(), t.amount(), t.transactionType(),
+                        t.date(), t.timestamp()},
+                f -> new TransactionEntity((Integer) f[0], (Integer) f[1], (Integer) f[2], (BigDecimal) f[3],
+                        (TransactionType) f[4], (String) f[5], (Long) f[6])));
+
+        List<AccountEntity> accounts = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            accounts.add(new AccountEntity(i + 1, Long.toString(8_000_000_000L + i),
+                    BigDecimal.valueOf(1_000_000L * (i % 50 + 1) + i, i % 5 == 0 ? 2 : 0),
+                    AccountType.values()[i % AccountType.values().length], i % 300 + 1,
+                    new BigDecimal("5000000"), new BigDecimal("10000000")));
+        }
+        cases.add(new Case<>("AccountEntity", EntityCodecs.ACCOUNT, accounts,
+                List.of(new AccountEntity(1, null, new BigDecimal("0.0001"), AccountType.BUSINESS, -5,
+                        new BigDecimal("-1"), new BigDecimal("9223372036854775807"))),
+                a -> new Object[] {a.id(), a.accountNumber(), a.balance(), a.accountType(), a.customerId(),
+                        a.dailyTransferLimit(), a.dailyWithdrawLimit()},
+                f -> new AccountEntity((Integer) f[0], (String) f[1], (BigDecimal) f[2], (AccountType) f[3],
+                        (Integer) f[4], (BigDecimal) f[5], (BigDecimal) f[6])));
+
+        List<CustomerEntity> customers = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            customers.add(new CustomerEntity(i + 1, "Nasabah " + i, "nasabah" + i + "@bank.co.id",
+                    "0812" + (10_000_000 + i), "Jl. Gatot Subroto No. " + i + ", Denpasar", "1990-01-" + (10 + i % 18)));
+        }
+        cases.add(new Case<>("CustomerEntity", EntityCodecs.CUSTOMER, customers,
+                List.of(new CustomerEntity(2, "Ni Luh Ayu Śrī 🌺", "ayu@bank.co.id", null, "Jl. Raya Ubud\nGianyar", null),
+                        new CustomerEntity(3, "", "", "", "é€𝄞", "2000-02-29")),
+                c -> new Object[] {c.id(), c.name(), c.email(), c.phoneNumber(), c.address(), c.dateOfBirth()},
+                f -> new CustomerEntity((Integer) f[0], (String) f[1], (String) f[2], (String) f[3], (String) f[4],
+                        (String) f[5])));
+
+        List<AccountCardEntity> cards = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            cards.add(new AccountCardEntity(i + 1, i + 1, Long.toString(5_000_000_000L + i), 100_000 + i, i % 3 + 1,
+                    i % 7 != 0, "2027-09-09"));
+        }
+        cases.add(new Case<>("AccountCardEntity", EntityCodecs.ACCOUNT_CARD, cards,
+                List.of(new AccountCardEntity(1, 2, null, 0, 0, false, null)),
+                c -> new Object[] {c.id(), c.accountId(), c.cardNumber(), c.pin(), c.cardTypeId(), c.active(),
+                        c.expiredDate()},
+                f -> new AccountCardEntity((Integer) f[0], (Integer) f[1], (String) f[2], (Integer) f[3],
+                        (Integer) f[4], (Boolean) f[5], (String) f[6])));
+
+        List<CardTypeEntity> cardTypes = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            cardTypes.add(new CardTypeEntity(i + 1, "Tipe " + i, "Kartu dengan limit tinggi",
+                    new BigDecimal("15000"), new BigDecimal("50000000"), new BigDecimal("20000000"),
+                    new BigDecimal("30000000"), BigDecimal.valueOf(i * 1000L)));
+        }
+        cases.add(new Case<>("CardTypeEntity", EntityCodecs.CARD_TYPE, cardTypes,
+                List.of(new CardTypeEntity(9, "Diamond", null, new BigDecimal("0.00"), BigDecimal.ONE,
+                        BigDecimal.TEN, new BigDecimal("-0.5"), new BigDecimal("1.23456789"))),
+                c -> new Object[] {c.id(), c.name(), c.description(), c.monthlyPrice(), c.dailyTransferLimit(),
+                        c.dailyWithdrawLimit(), c.dailyDepositLimit(), c.minimumBalance()},
+                f -> new CardTypeEntity((Integer) f[0], (String) f[1], (String) f[2], (BigDecimal) f[3],
+                        (BigDecimal) f[4], (BigDecimal) f[5], (BigDecimal) f[6], (BigDecimal) f[7])));
+
+        return cases;
+    }
+
+    /**
+     * Data uji dan pembanding Java serialization untuk satu jenis entity.
+     */
+    private record Case<T>(String name, EntityCodec<T> codec, List<T> entities, List<T> edgeCases,
+                           Function<T, Object[]> toFields, Function<Object[], T> fromFields) {
+
+        private int verifyRoundTrip() {
+            List<T> all = new ArrayList<>(entities);
+            all.addAll(edgeCases);
+            ByteBuffer heap = ByteBuffer.allocate(64 * 1024);
+            ByteBuffer direct = ByteBuffer.allocateDirect(64 * 1024);
+            for (T entity : all) {
+                for (ByteBuffer buffer : new ByteBuffer[] {heap, direct}) {
+                    buffer.clear();
+                    codec.encode(entity, buffer);
+                    int written = buffer.position();
+                    buffer.flip();
+                    T decoded = codec.decode(buffer);
+                    if (!entity.equals(decoded) || buffer.hasRemaining() || written > codec.maxEncodedSize(entity)) {
+                        System.err.println("Round-trip gagal untuk " + name + ":\n  asli  : " + entity
+                                + "\n  decode: " + decoded + "\n  sisa=" + buffer.remaining()
+                                + " ditulis=" + written + " maks=" + codec.maxEncodedSize(entity));
+                        System.exit(1);
+                    }
+                }
+            }
+            return all.size();
+        }
+
+        private void benchmark(int batches) throws IOException, ClassNotFoundException {
+            ByteBuffer buffer = ByteBuffer.allocate(entities.size() * 256);
+            long codecBytes = 0;
+            long javaBytes = 0;
+            long codecNanos = 0;
+            long javaNanos = 0;
+            long checksum = 0;
+
+            // Putaran pertama adalah warm-up dan tidak dihitung
+            for (int round = 0; round < 2; round++) {
+                codecNanos = 0;
+                javaNanos = 0;
+                for (int batch = 0; batch < batches; batch++) {
+                    long start = System.nanoTime();
+                    buffer.clear();
+                    for (T entity : entities) {
+                        codec.encode(entity, buffer);
+                    }
+                    codecBytes = buffer.position();
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        checksum += codec.decode(buffer).hashCode();
+                    }
+                    codecNanos += System.nanoTime() - start;
+
+                    start = System.nanoTime();
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream(entities.size() * 256);
+                    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                        for (T entity : entities) {
+                            out.writeObject(toFields.apply(entity));
+                        }
+                    }
+                    javaBytes = bytes.size();
+                    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                        for (int i = 0; i < entities.size(); i++) {
+                            checksum += fromFields.apply((Object[]) in.readObject()).hashCode();
+                        }
+                    }
+                    javaNanos += System.nanoTime() - start;
+                }
+            }
+
+            long count = (long) batches * entities.size();
+            System.out.printf("%-18s codec %7.1f ns/entity %6.1f B/entity | java %8.1f ns/entity %6.1f B/entity"
+                            + " | %5.1fx lebih cepat, %4.1fx lebih kecil (checksum %d)%n",
+                    name, (double) codecNanos / count, (double) codecBytes / entities.size(),
+                    (double) javaNanos / count, (double) javaBytes / entities.size(),
+                    (double) javaNanos / codecNanos, (double) javaBytes / codecBytes, checksum & 0xFF);
+        }
+    }
+}
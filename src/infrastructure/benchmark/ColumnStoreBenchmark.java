@@ -0,0 +1,163 @@
+package infrastructure.benchmark;
+
+import domain.entity.AccountEntity;
+import domain.entity.TransactionEntity;
+import domain.repository.AccountRepository;
+import domain.value.AccountType;
+import domain.value.TransactionType;
+import infrastructure.analytics.ColumnarTransactionRepository;
+import infrastructure.analytics.TransactionColumnStore;
+import infrastructure.repository.InMemoryAccountRepository;
+import infrastructure.repository.InMemoryTransactionRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Uji kebenaran dan benchmark agregasi {@link TransactionColumnStore}.
+ *
+ * <p>Tahap pertama menyimpan transaksi acak lewat {@link ColumnarTransactionRepository}, lalu
+ * membandingkan total per tipe, per hari, dan per tipe rekening dengan hasil iterasi
+ * {@code findAll()}; jika berbeda program keluar dengan kode 1. Tahap kedua mengisi kolom
+ * langsung dengan sejumlah baris (bawaan 20 juta, 100 juta butuh heap sekitar 3 GB) lalu
+ * mengukur group-by-type dan group-by-day.</p>
+ *
+ * <pre>
+ * java -Xmx3g -cp out infrastructure.benchmark.ColumnStoreBenchmark [jumlahBaris]
+ * </pre>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class ColumnStoreBenchmark {
+    private static final long DEFAULT_ROWS = 20_000_000L;
+    private static final int ACCOUNTS = 1_000;
+    private static final int FIRST_DAY = (int) LocalDate.of(2026, 1, 1).toEpochDay();
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private ColumnStoreBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        long rows = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_ROWS;
+        verify();
+        System.out.println("verifikasi OK");
+
+        TransactionColumnStore store = new TransactionColumnStore();
+        SplittableRandom random = new SplittableRandom(7);
+        long start = System.nanoTime();
+        for (long i = 0; i < rows; i++) {
+            // Sekitar 270 ribu transaksi per hari, ditambahkan berurutan waktu
+            int day = FIRST_DAY + (int) (i / 270_000);
+            store.append(random.nextInt(ACCOUNTS), TYPES[random.nextInt(TYPES.length)],
+                    100L * (random.nextInt(1_000_000) + 1), day, 1_767_225_600L + i);
+        }
+        System.out.printf("isi %,d baris: %.0f ms%n", rows, (System.nanoTime() - start) / 1e6);
+
+        int lastDay = FIRST_DAY + (int) (rows / 270_000);
+        for (int round = 0; round < 5; round++) {
+            start = System.nanoTime();
+            TransactionColumnStore.TypeTotals byType = store.totalsByType();
+            long typeNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            TransactionColumnStore.DailyTotals byDay = store.totalsByDay(null, FIRST_DAY, lastDay);
+            long dayNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            TransactionColumnStore.TypeTotals lastWeek = store.totalsByType(lastDay - 6, lastDay);
+            long rangeNanos = System.nanoTime() - start;
+
+            System.out.printf("group-by-type %6.0f ms | group-by-day %6.0f ms | tipe 7 hari terakhir %5.1f ms"
+                            + " (MONTHLY_CHARGE %s, hari pertama %d transaksi, 7 hari %d transaksi)%n",
+                    typeNanos / 1e6, dayNanos / 1e6, rangeNanos / 1e6,
+                    byType.amount(TransactionType.MONTHLY_CHARGE), byDay.counts()[0], sum(lastWeek.counts()));
+        }
+    }
+
+    private static void verify() {
+        InMemoryAccountRepository accounts = new InMemoryAccountRepository();
+        for (int i = 0; i < 200; i++) {
+            accounts.save(new AccountEntity(0, Long.toString(8_000_000_000L + i), BigDecimal.ZERO,
+                    AccountType.values()[i % AccountType.values().length], 1, BigDecimal.ONE, BigDecimal.ONE));
+        }
+        ColumnarTransactionRepository repository = new ColumnarTransactionRepository(new InMemoryTransactionRepository());
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < 300_000; i++) {
+            BigDecimal amount = i % 5 == 0 ? BigDecimal.valueOf(random.nextInt(10_000_000) + 1, 2)
+                    : BigDecimal.valueOf(1_000L * (random.nextInt(10_000) + 1));
+            repository.save(new TransactionEntity(0, random.nextInt(200) + 1, null, amount,
+                    TYPES[random.nextInt(TYPES.length)], LocalDate.ofEpochDay(FIRST_DAY + i / 1_000).toString(), i));
+        }
+        // Penghapusan menandai kolom usang sehingga jalur pembangunan ulang ikut diuji
+        repository.deleteById(1);
+
+        TransactionColumnStore store = repository.columns();
+        int fromDay = FIRST_DAY + 40;
+        int toDay = FIRST_DAY + 120;
+        long[] typeCounts = new long[TYPES.length];
+        BigDecimal[] typeAmounts = new BigDecimal[TYPES.length];
+        long[] dayCounts = new long[toDay - fromDay + 1];
+        Map<AccountType, BigDecimal> accountTypeAmounts = new EnumMap<>(AccountType.class);
+        for (AccountType accountType : AccountType.values()) {
+            accountTypeAmounts.put(accountType, BigDecimal.ZERO.setScale(2));
+        }
+        Arrays.fill(typeAmounts, BigDecimal.ZERO.setScale(2));
+        for (TransactionEntity transaction : repository.findAll()) {
+            int day = (int) LocalDate.parse(transaction.date()).toEpochDay();
+            int type = transaction.transactionType().ordinal();
+            if (day >= fromDay && day <= toDay) {
+                typeCounts[type]++;
+                typeAmounts[type] = typeAmounts[type].add(transaction.amount());
+                if (transaction.transactionType() == TransactionType.WITHDRAW) {
+                    dayCounts[day - fromDay]++;
+                }
+            }
+            if (transaction.transactionType() == TransactionType.DEPOSIT) {
+                AccountType accountType = accountType(accounts, transaction.accountId());
+                accountTypeAmounts.merge(accountType, transaction.amount(), BigDecimal::add);
+            }
+        }
+
+        TransactionColumnStore.TypeTotals byType = store.totalsByType(fromDay, toDay);
+        for (TransactionType type : TYPES) {
+            check("tipe " + type, typeCounts[type.ordinal()], byType.count(type));
+            check("nominal " + type, typeAmounts[type.ordinal()], byType.amount(type));
+        }
+        TransactionColumnStore.DailyTotals byDay = store.totalsByDay(TransactionType.WITHDRAW, fromDay, toDay);
+        for (int i = 0; i < dayCounts.length; i++) {
+            check("hari " + i, dayCounts[i], byDay.counts()[i]);
+        }
+        Map<AccountType, BigDecimal> byAccountType = store.totalsByAccountType(accounts, TransactionType.DEPOSIT);
+        for (AccountType accountType : AccountType.values()) {
+            check("tipe rekening " + accountType, accountTypeAmounts.get(accountType), byAccountType.get(accountType));
+        }
+    }
+
+    private static AccountType accountType(AccountRepository accounts, int accountId) {
+        return accounts.findById(accountId).orElseThrow().accountType();
+    }
+
+    private static void check(String label, Object expected, Object actual) {
+        boolean equal = expected instanceof BigDecimal expectedAmount
+                ? expectedAmount.compareTo((BigDecimal) actual) == 0
+                : expected.equals(actual);
+        if (!equal) {
+            System.err.println("Hasil " + label + " berbeda: iterasi=" + expected + " kolom=" + actual);
+            System.exit(1);
+        }
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            total += value;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,103 @@
+package infrastructure.benchmark;
+
+import application.service.TransactionService;
+import domain.entity.AccountEntity;
+import domain.value.AccountType;
+import infrastructure.container.ContainerConfig;
+import infrastructure.container.DefaultAppContainer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark waktu startup container untuk job CLI singkat yang hanya butuh TransactionService.
+ *
+ * <p>Setiap konfigurasi dijalankan di JVM baru (agar biaya class loading ikut terukur)
+ * sebanyak beberapa kali. Setiap run mencetak waktu pembuatan container, waktu hingga
+ * transaksi pertama selesai, waktu sejak JVM mulai, serta waktu pembuatan tiap komponen.</p>
+ *
+ * <pre>
+ * java -cp out infrastructure.benchmark.ContainerStartupBenchmark [run per konfigurasi]
+ * </pre>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class ContainerStartupBenchmark {
+    private static final int DEFAULT_RUNS = 5;
+    private static final String CHILD_FLAG = "--child";
+
+    private ContainerStartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 2 && CHILD_FLAG.equals(args[0])) {
+            runChild(args[1]);
+            return;
+        }
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+        for (String config : new String[] {"eager", "lazy"}) {
+            for (int run = 1; run <= runs; run++) {
+                for (String line : launch(config)) {
+                    // Rincian per komponen hanya dicetak untuk run terakhir
+                    if (run == runs || !line.startsWith("  ")) {
+                        System.out.println(line);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Menjalankan satu run di JVM ini: membuat container, lalu satu setoran via teller.
+     */
+    private static void runChild(String configName) {
+        long start = System.nanoTime();
+        ContainerConfig config = ContainerConfig.defaults().withEager("eager".equals(configName));
+        DefaultAppContainer container = new DefaultAppContainer(config);
+        long containerReady = System.nanoTime();
+
+        AccountEntity account = container.getAccountRepository().save(new AccountEntity(
+                0, "9000000001", new BigDecimal("100000"), AccountType.SAVINGS, 1,
+                new BigDecimal("5000000"), new BigDecimal("10000000")));
+        TransactionService transactionService = container.getTransactionService();
+        transactionService.depositMoneyViaTeller(account.accountNumber(), new BigDecimal("50000"));
+        long firstTransaction = System.nanoTime();
+
+        Instant jvmStart = ProcessHandle.current().info().startInstant().orElse(Instant.now());
+        System.out.printf("config=%-5s container=%7.3f ms  transaksiPertama=%7.3f ms  sejakJvmMulai=%5d ms%n",
+                configName,
+                (containerReady - start) / 1_000_000.0,
+                (firstTransaction - start) / 1_000_000.0,
+                Duration.between(jvmStart, Instant.now()).toMillis());
+        for (String line : container.getStartupTimings().format().split("\n")) {
+            System.out.println("  " + line);
+        }
+    }
+
+    private static List<String> launch(String config) throws IOException, InterruptedException {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                ContainerStartupBenchmark.class.getName(), CHILD_FLAG, config)
+                .redirectErrorStream(true)
+                .redirectInput(new File(System.getProperty("os.name").startsWith("Windows") ? "NUL" : "/dev/null"))
+                .start();
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        process.waitFor();
+        return lines;
+    }
+}
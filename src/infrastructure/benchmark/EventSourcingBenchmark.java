@@ -0,0 +1,286 @@
+package infrastructure.benchmark;
+
+import application.service.TransactionService;
+import domain.entity.AccountEntity;
+import domain.entity.TransactionEntity;
+import domain.repository.AccountRepository;
+import domain.repository.TransactionRepository;
+import domain.util.TransactionEffects;
+import domain.value.AccountType;
+import domain.value.TransactionType;
+import infrastructure.container.ContainerConfig;
+import infrastructure.container.DefaultAppContainer;
+import infrastructure.container.RepositoryBackend;
+import infrastructure.repository.AccountBalanceProjection;
+import infrastructure.repository.InMemoryTransactionRepository;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Uji kebenaran dan benchmark {@link AccountBalanceProjection} dan backend rekening
+ * {@link RepositoryBackend#EVENT_SOURCED}.
+ *
+ * <p>Tahap pertama menjalankan setoran, penarikan, dan transfer acak lewat
+ * {@link TransactionService} pada container event-sourced. Saldo setiap rekening harus sama
+ * dengan penjumlahan BigDecimal {@link TransactionEffects#effectOn} atas seluruh log dan sama dengan
+ * proyeksi yang dibangun ulang. Rebuild dan catch-up paralel harus sama dengan versi berurutan
+ * dan penjumlahan satuan terkecil, begitu juga setelah checkpoint ditulis, dibaca, lalu dikejar;
+ * checkpoint dari log lain harus ditolak. Jika ada yang salah program
+ * keluar dengan kode 1. Tahap kedua mengukur rebuild proyeksi dari log berisi jutaan transaksi
+ * (bawaan 5 juta untuk 1 juta rekening), catch-up inkremental, dan pemulihan dari checkpoint.</p>
+ *
+ * <pre>
+ * java -cp out infrastructure.benchmark.EventSourcingBenchmark [jumlahTransaksi] [jumlahRekening]
+ * </pre>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class EventSourcingBenchmark {
+    private static final int DEFAULT_EVENTS = 5_000_000;
+    private static final int DEFAULT_ACCOUNTS = 1_000_000;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private EventSourcingBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int eventCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_EVENTS;
+        int accountCount = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ACCOUNTS;
+        Path directory = Files.createTempDirectory("projection");
+        try {
+            verifyRepository();
+            verifyParallel();
+            verifyCheckpoint(directory.resolve("verify.bin"));
+            System.out.println("verifikasi OK");
+            benchmark(eventCount, accountCount, directory.resolve("benchmark.bin"));
+        } finally {
+            try (var files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    private static void verifyRepository() {
+        DefaultAppContainer container = new DefaultAppContainer(ContainerConfig.defaults()
+                .withAccountRepository(RepositoryBackend.EVENT_SOURCED));
+        AccountRepository accounts = container.getAccountRepository();
+        TransactionService service = container.getTransactionService();
+        SplittableRandom random = new SplittableRandom(17);
+        int accountCount = 200;
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < accountCount; i++) {
+            BigDecimal opening = random.nextInt(4) == 0 ? BigDecimal.ZERO
+                    : BigDecimal.valueOf(random.nextLong(100_000_000_000L), 4);
+            AccountEntity saved = accounts.save(new AccountEntity(0, Long.toString(8_000_000_000L + i), opening,
+                    AccountType.SAVINGS, 1, new BigDecimal("1000000000"), new BigDecimal("1000000000")));
+            if (saved.balance().compareTo(opening) != 0) {
+                fail("saldo pembukaan rekening " + saved.id() + " = " + saved.balance());
+            }
+            numbers.add(saved.accountNumber());
+        }
+
+        AccountRepository before = accounts.snapshot();
+        AccountEntity first = before.findByAccountNumber(numbers.get(0)).orElseThrow();
+        for (int i = 0; i < 20_000; i++) {
+            String account = numbers.get(random.nextInt(accountCount));
+            BigDecimal amount = BigDecimal.valueOf(random.nextLong(1, 5_000_000_000L), 4);
+            switch (random.nextInt(3)) {
+                case 0 -> service.tryDepositMoneyViaTeller(account, amount);
+                case 1 -> service.tryWithdrawMoneyViaTeller(account, amount);
+                default -> service.trySendMoneyViaTeller(account, numbers.get(random.nextInt(accountCount)), amount);
+            }
+        }
+        // Saldo pada parameter update diabaikan
+        AccountEntity current = accounts.findById(first.id()).orElseThrow();
+        accounts.update(new AccountEntity(current.id(), current.accountNumber(), new BigDecimal("123"),
+                current.accountType(), current.customerId(), current.dailyTransferLimit(), current.dailyWithdrawLimit()));
+        if (accounts.findById(first.id()).orElseThrow().balance().compareTo(current.balance()) != 0) {
+            fail("update mengubah saldo rekening event-sourced");
+        }
+        if (before.findById(first.id()).orElseThrow().balance().compareTo(first.balance()) != 0) {
+            fail("saldo snapshot berubah setelah transaksi baru");
+        }
+
+        TransactionRepository log = container.getTransactionRepository();
+        Map<Integer, BigDecimal> expected = expectedBalances(log);
+        AccountBalanceProjection rebuilt = new AccountBalanceProjection(log);
+        rebuilt.rebuild();
+        for (AccountEntity account : accounts.findAll()) {
+            BigDecimal reference = expected.getOrDefault(account.id(), BigDecimal.ZERO);
+            if (account.balance().compareTo(reference) != 0
+                    || TransactionEffects.toMinorUnits(reference) != rebuilt.balance(account.id())) {
+                fail("saldo rekening " + account.id() + " berbeda: repository=" + account.balance()
+                        + " BigDecimal=" + reference + " rebuild=" + rebuilt.balance(account.id()));
+            }
+        }
+    }
+
+    private static void verifyParallel() {
+        InMemoryTransactionRepository log = new InMemoryTransactionRepository();
+        // Rekening di atas satu partisi dan lebih dari satu rentang log agar kedua tahap paralel teruji
+        append(log, 300_000, 150_000, new SplittableRandom(5));
+        AccountBalanceProjection sequential = new AccountBalanceProjection(log, new ForkJoinPool(1));
+        AccountBalanceProjection parallel = new AccountBalanceProjection(log, new ForkJoinPool(4));
+        sequential.rebuild();
+        parallel.rebuild();
+        // Catch-up paralel di atas proyeksi yang sudah berisi saldo
+        append(log, 100_000, 200_000, new SplittableRandom(6));
+        sequential.catchUp();
+        parallel.catchUp();
+        // Log acak berisi TRANSFER_VIA_CARD, yang versi BigDecimal-nya dibulatkan pada skala nominal
+        long[] expected = expectedMinorUnits(log, 200_002);
+        for (int id = 0; id <= 200_001; id++) {
+            long reference = expected[id];
+            if (sequential.balance(id) != reference || parallel.balance(id) != reference) {
+                fail("saldo rekening " + id + " berbeda: BigDecimal=" + reference + " berurutan="
+                        + sequential.balance(id) + " paralel=" + parallel.balance(id));
+            }
+        }
+    }
+
+    private static void verifyCheckpoint(Path file) {
+        InMemoryTransactionRepository log = new InMemoryTransactionRepository();
+        SplittableRandom random = new SplittableRandom(9);
+        append(log, 50_000, 5_000, random);
+        AccountBalanceProjection projection = new AccountBalanceProjection(log);
+        AccountBalanceProjection.Checkpoint written = projection.checkpoint();
+        written.writeTo(file);
+        append(log, 20_000, 5_000, random);
+
+        AccountBalanceProjection restored = new AccountBalanceProjection(log);
+        if (!restored.restore(AccountBalanceProjection.Checkpoint.readFrom(file))) {
+            fail("checkpoint yang cocok ditolak");
+        }
+        AccountBalanceProjection rebuilt = new AccountBalanceProjection(log);
+        rebuilt.rebuild();
+        for (int id = 0; id <= 5_001; id++) {
+            if (restored.balance(id) != rebuilt.balance(id) || projection.balance(id) != rebuilt.balance(id)) {
+                fail("saldo rekening " + id + " setelah checkpoint berbeda: " + restored.balance(id)
+                        + " != " + rebuilt.balance(id));
+            }
+        }
+
+        InMemoryTransactionRepository other = new InMemoryTransactionRepository();
+        append(other, 60_000, 5_000, new SplittableRandom(10));
+        if (new AccountBalanceProjection(other).restore(AccountBalanceProjection.Checkpoint.readFrom(file))) {
+            fail("checkpoint dari log lain diterima");
+        }
+        if (new AccountBalanceProjection(new InMemoryTransactionRepository()).restore(written)) {
+            fail("checkpoint diterima oleh log kosong");
+        }
+    }
+
+    private static void benchmark(int eventCount, int accountCount, Path file) {
+        InMemoryTransactionRepository log = new InMemoryTransactionRepository();
+        long start = System.nanoTime();
+        append(log, eventCount, accountCount, new SplittableRandom(1));
+        System.out.printf("log: %,d transaksi untuk %,d rekening disimpan dalam %.0f ms%n",
+                eventCount, accountCount, (System.nanoTime() - start) / 1e6);
+
+        AccountBalanceProjection projection = new AccountBalanceProjection(log);
+        for (int round = 0; round < 3; round++) {
+            start = System.nanoTime();
+            projection.rebuild();
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("rebuild: %.0f ms (%,.0f transaksi/detik, %d core, perkiraan 50 juta: %.1f s)%n",
+                    elapsed / 1e6, eventCount / (elapsed / 1e9), ForkJoinPool.getCommonPoolParallelism(),
+                    elapsed / 1e9 * 50_000_000 / eventCount);
+        }
+
+        start = System.nanoTime();
+        AccountBalanceProjection.Checkpoint checkpoint = projection.checkpoint();
+        checkpoint.writeTo(file);
+        long written = System.nanoTime() - start;
+        append(log, 10_000, accountCount, new SplittableRandom(2));
+        start = System.nanoTime();
+        AccountBalanceProjection restored = new AccountBalanceProjection(log);
+        if (!restored.restore(AccountBalanceProjection.Checkpoint.readFrom(file))) {
+            fail("checkpoint benchmark ditolak");
+        }
+        long restoredNanos = System.nanoTime() - start;
+        System.out.printf("checkpoint: tulis %.0f ms, pulihkan + catch-up 10.000 transaksi %.0f ms%n",
+                written / 1e6, restoredNanos / 1e6);
+
+        projection.catchUp();
+        BigDecimal amount = new BigDecimal("25000");
+        start = System.nanoTime();
+        int applied = 0;
+        for (int i = 0; i < 100_000; i++) {
+            log.save(new TransactionEntity(0, 1 + i % accountCount, null, amount, TransactionType.DEPOSIT,
+                    "2026-10-19", 1_792_368_000L + i));
+            applied += projection.catchUp();
+        }
+        System.out.printf("catch-up inkremental: %,d transaksi, %.1f us/transaksi (termasuk simpan)%n",
+                applied, (System.nanoTime() - start) / 1e3 / applied);
+    }
+
+    /**
+     * Menambahkan transaksi acak ke log lewat penulisan massal. Nominal dan tanggal dipakai ulang
+     * agar memori yang diukur adalah log, bukan objek BigDecimal dan String per transaksi.
+     */
+    private static void append(TransactionRepository log, int count, int accountCount, SplittableRandom random) {
+        BigDecimal[] amounts = new BigDecimal[1_024];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = BigDecimal.valueOf(random.nextLong(1, 10_000_000_000L), random.nextInt(5));
+        }
+        String date = "2026-10-19";
+        List<TransactionEntity> batch = new ArrayList<>(8_192);
+        for (int i = 0; i < count; i++) {
+            int accountId = 1 + random.nextInt(accountCount);
+            TransactionType type = TYPES[random.nextInt(TYPES.length)];
+            Integer destination = type == TransactionType.TRANSFER || type == TransactionType.TRANSFER_VIA_CARD
+                    ? 1 + random.nextInt(accountCount) : null;
+            batch.add(new TransactionEntity(0, accountId, destination, amounts[random.nextInt(amounts.length)],
+                    type, date, 1_792_368_000L + i));
+            if (batch.size() == 8_192) {
+                log.saveAll(batch);
+                batch.clear();
+            }
+        }
+        log.saveAll(batch);
+    }
+
+    private static Map<Integer, BigDecimal> expectedBalances(TransactionRepository log) {
+        Map<Integer, BigDecimal> balances = new HashMap<>();
+        log.scan(null).forEach(transaction -> {
+            balances.merge(transaction.accountId(), TransactionEffects.effectOn(transaction, transaction.accountId()),
+                    BigDecimal::add);
+            if (transaction.destinationAccountId() != null) {
+                balances.merge(transaction.destinationAccountId(), TransactionEffects.destinationCredit(transaction),
+                        BigDecimal::add);
+            }
+        });
+        return balances;
+    }
+
+    private static long[] expectedMinorUnits(TransactionRepository log, int accountCount) {
+        long[] balances = new long[accountCount];
+        log.scan(null).forEach(transaction -> {
+            balances[transaction.accountId()] += TransactionEffects.effectOnMinorUnits(transaction, transaction.accountId());
+            if (transaction.destinationAccountId() != null) {
+                balances[transaction.destinationAccountId()] += TransactionEffects.destinationCreditMinorUnits(
+                        transaction.transactionType(), TransactionEffects.toMinorUnits(transaction.amount()));
+            }
+        });
+        return balances;
+    }
+
+    private static void fail(String message) {
+        System.err.println("Verifikasi gagal: " + message);
+        System.exit(1);
+    }
+}
@@ -0,0 +1,214 @@
+package infrastructure.benchmark;
+
+import application.service.AccrualCheckpointStore;
+import application.service.InterestAccrualReport;
+import application.service.InterestAccrualService;
+import domain.entity.AccountEntity;
+import domain.entity.TransactionEntity;
+import domain.value.AccountType;
+import domain.value.TransactionType;
+import infrastructure.repository.InMemoryAccountRepository;
+import infrastructure.repository.InMemoryTransactionRepository;
+import infrastructure.service.FileAccrualCheckpointStore;
+import infrastructure.service.InMemoryAccrualCheckpointStore;
+import infrastructure.service.WitaTimeService;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Uji kebenaran dan benchmark {@link InterestAccrualService}.
+ *
+ * <p>Tahap pertama menjalankan akrual yang sengaja digagalkan pada sebagian partisi, sebelum
+ * maupun sesudah transaksinya tersimpan, lalu menjalankannya ulang.
+ * Setiap rekening harus memiliki tepat satu akrual dengan nominal yang sama dengan perhitungan
+ * BigDecimal, dan proses ketiga tidak boleh mencatat apa pun. Setelah itu checkpoint file dibuka
+ * ulang dengan log transaksi baru, seperti restart dengan repository di memori, dan semua akrual
+ * harus dicatat ulang; jika tidak program keluar dengan kode 1. Tahap kedua mengukur akrual seluruh rekening (bawaan 1 juta) untuk beberapa tanggal.</p>
+ *
+ * <pre>
+ * java -cp out infrastructure.benchmark.InterestAccrualBenchmark [jumlahRekening]
+ * </pre>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class InterestAccrualBenchmark {
+    private static final int DEFAULT_ACCOUNTS = 1_000_000;
+    private static final AccountType[] TYPES = AccountType.values();
+
+    private InterestAccrualBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int accountCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ACCOUNTS;
+        verify();
+        verifyRestart();
+        System.out.println("verifikasi OK");
+
+        InMemoryAccountRepository accounts = accounts(accountCount, 3);
+        InMemoryTransactionRepository transactions = new InMemoryTransactionRepository();
+        InterestAccrualService service = new InterestAccrualService(accounts, transactions, new WitaTimeService(),
+                new InMemoryAccrualCheckpointStore());
+        LocalDate date = LocalDate.of(2026, 10, 1);
+        for (int round = 0; round < 5; round++) {
+            InterestAccrualReport report = service.accrue(date.plusDays(round).toString());
+            System.out.printf("%s: %,d rekening, %,d akrual, total %s, %.0f ms (%,.0f rekening/detik, %d core)%n",
+                    report.date(), report.accountsScanned(), report.accrualsPosted(), report.totalInterest(),
+                    report.elapsedNanos() / 1e6, report.accountsScanned() / (report.elapsedNanos() / 1e9),
+                    ForkJoinPool.getCommonPoolParallelism());
+        }
+    }
+
+    private static void verify() {
+        int accountCount = 5 * InterestAccrualService.PARTITION_SIZE + 123;
+        InMemoryAccountRepository accounts = accounts(accountCount, 5);
+        InMemoryTransactionRepository transactions = new InMemoryTransactionRepository();
+        CrashingCheckpointStore checkpoints = new CrashingCheckpointStore();
+        InterestAccrualService service = new InterestAccrualService(accounts, transactions, new WitaTimeService(),
+                checkpoints);
+        String date = "2028-02-29";
+
+        checkpoints.crash = true;
+        try {
+            service.accrue(date);
+            fail("akrual pertama seharusnya gagal");
+        } catch (IllegalStateException e) {
+            // Sebagian partisi tercatat mulai tanpa transaksi, sebagian lagi sudah menyimpan transaksinya
+        }
+        checkpoints.crash = false;
+        InterestAccrualReport recovered = service.accrue(date);
+        if (recovered.partitionsRecovered() == 0 || recovered.accrualsPosted() == 0) {
+            fail("tidak ada partisi yang dipulihkan: " + recovered);
+        }
+        InterestAccrualReport repeated = service.accrue(date);
+        if (repeated.accrualsPosted() != 0 || repeated.partitionsSkipped() != repeated.partitions()) {
+            fail("akrual ulang mencatat transaksi baru: " + repeated);
+        }
+
+        Map<Integer, BigDecimal> posted = new HashMap<>();
+        for (TransactionEntity transaction : transactions.findAll()) {
+            if (transaction.transactionType() != TransactionType.INTEREST_ACCRUAL || !date.equals(transaction.date())) {
+                fail("transaksi tidak terduga: " + transaction);
+            }
+            if (posted.put(transaction.accountId(), transaction.amount()) != null) {
+                fail("akrual ganda untuk rekening " + transaction.accountId());
+            }
+        }
+        Map<AccountType, BigDecimal> rates = InterestAccrualService.defaultRates();
+        for (AccountEntity account : accounts.findAll()) {
+            BigDecimal rate = rates.getOrDefault(account.accountType(), BigDecimal.ZERO);
+            BigDecimal expected = account.balance().signum() <= 0 ? BigDecimal.ZERO
+                    : account.balance().multiply(rate).divide(BigDecimal.valueOf(366), 2, RoundingMode.HALF_EVEN);
+            BigDecimal actual = posted.getOrDefault(account.id(), BigDecimal.ZERO);
+            if (expected.compareTo(actual) != 0) {
+                fail("akrual rekening " + account.id() + " berbeda: BigDecimal=" + expected + " akrual=" + actual);
+            }
+        }
+    }
+
+    /**
+     * Checkpoint file bertahan setelah restart sedangkan log transaksi di memori hilang; partisi
+     * yang tercatat selesai harus diproses ulang, bukan dilewati.
+     */
+    private static void verifyRestart() throws IOException {
+        InMemoryAccountRepository accounts = accounts(3 * InterestAccrualService.PARTITION_SIZE + 7, 11);
+        String date = "2026-10-19";
+        Path file = Files.createTempFile("accrual-checkpoint", ".log");
+        try {
+            InterestAccrualReport first;
+            try (FileAccrualCheckpointStore checkpoints = new FileAccrualCheckpointStore(file)) {
+                first = new InterestAccrualService(accounts, new InMemoryTransactionRepository(), new WitaTimeService(),
+                        checkpoints).accrue(date);
+            }
+            InMemoryTransactionRepository restarted = new InMemoryTransactionRepository();
+            try (FileAccrualCheckpointStore checkpoints = new FileAccrualCheckpointStore(file)) {
+                InterestAccrualService service = new InterestAccrualService(accounts, restarted, new WitaTimeService(),
+                        checkpoints);
+                InterestAccrualReport second = service.accrue(date);
+                if (second.accrualsPosted() != first.accrualsPosted() || second.partitionsSkipped() != 0) {
+                    fail("akrual setelah restart dilewati: " + second + ", sebelumnya " + first);
+                }
+                InterestAccrualReport third = service.accrue(date);
+                if (third.accrualsPosted() != 0 || third.partitionsSkipped() != third.partitions()) {
+                    fail("akrual ulang setelah restart mencatat transaksi baru: " + third);
+                }
+            }
+            try (FileAccrualCheckpointStore checkpoints = new FileAccrualCheckpointStore(file)) {
+                InterestAccrualReport reopened = new InterestAccrualService(accounts, restarted, new WitaTimeService(),
+                        checkpoints).accrue(date);
+                if (reopened.accrualsPosted() != 0 || reopened.partitionsSkipped() != reopened.partitions()) {
+                    fail("checkpoint yang dibuka ulang tidak melewati partisi selesai: " + reopened);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static InMemoryAccountRepository accounts(int count, long seed) {
+        InMemoryAccountRepository accounts = new InMemoryAccountRepository();
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < count; i++) {
+            BigDecimal balance = switch (random.nextInt(10)) {
+                case 0 -> BigDecimal.ZERO;
+                case 1 -> BigDecimal.valueOf(-random.nextInt(1_000_000));
+                // Nominal dengan pecahan satuan terkecil dan saldo yang melewati jangkauan perkalian long
+                case 2 -> BigDecimal.valueOf(random.nextLong(1_000_000_000_000L), 4);
+                case 3 -> BigDecimal.valueOf(random.nextLong(900_000_000_000_000L));
+                default -> BigDecimal.valueOf(1_000L * random.nextInt(100_000_000));
+            };
+            accounts.save(new AccountEntity(0, Long.toString(7_000_000_000L + i), balance,
+                    TYPES[random.nextInt(TYPES.length)], 1, BigDecimal.ONE, BigDecimal.ONE));
+        }
+        return accounts;
+    }
+
+    private static void fail(String message) {
+        System.err.println("Verifikasi gagal: " + message);
+        System.exit(1);
+    }
+
+    /**
+     * Checkpoint yang gagal sebelum atau sesudah sebagian partisi menyimpan akrualnya, seperti proses yang crash.
+     */
+    private static final class CrashingCheckpointStore implements AccrualCheckpointStore {
+        private final InMemoryAccrualCheckpointStore delegate = new InMemoryAccrualCheckpointStore();
+        private volatile boolean crash;
+
+        @Override
+        public State state(String date, int partition) {
+            return delegate.state(date, partition);
+        }
+
+        @Override
+        public PostedRange postedRange(String date, int partition) {
+            return delegate.postedRange(date, partition);
+        }
+
+        @Override
+        public void markStarted(String date, int partition) {
+            delegate.markStarted(date, partition);
+            if (crash && partition % 3 == 1) {
+                throw new IllegalStateException("crash sebelum partisi " + partition + " tersimpan");
+            }
+        }
+
+        @Override
+        public void markCompleted(String date, int partition, PostedRange posted) {
+            if (crash && partition % 3 == 2) {
+                throw new IllegalStateException("crash setelah partisi " + partition + " tersimpan");
+            }
+            delegate.markCompleted(date, partition, posted);
+        }
+    }
+}
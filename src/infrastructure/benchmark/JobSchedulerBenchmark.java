@@ -0,0 +1,275 @@
+package infrastructure.benchmark;
+
+import application.service.JobScheduler.ScheduledJob;
+import application.service.LogService;
+import application.service.TimeService;
+import infrastructure.container.ContainerConfig;
+import infrastructure.container.DefaultAppContainer;
+import infrastructure.metrics.LatencyHistogram;
+import infrastructure.service.CliLogService;
+import infrastructure.service.ManualClock;
+import infrastructure.service.TimingWheelScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Uji kebenaran dan benchmark {@link TimingWheelScheduler}.
+ *
+ * <p>Tahap pertama memakai {@link ManualClock} dan executor langsung sehingga hasilnya
+ * deterministik: timer acak dalam rentang dua tahun harus berjalan tepat satu kali, tidak
+ * pernah sebelum jatuh tempo, berurutan menurut tick, dan timer yang dibatalkan tidak boleh
+ * berjalan. Jadwal bulanan dari tanggal 31 dan jatuh tempo di luar jangkauan roda juga
+ * diperiksa, begitu pula bahwa TimeService dan JobScheduler container memakai clock yang sama;
+ * jika ada yang salah program keluar dengan kode 1. Tahap kedua mengukur biaya
+ * menjadwalkan dan membatalkan jutaan timer (bawaan 2 juta), lalu menjalankan semuanya
+ * lewat pool worker dan mencetak histogram keterlambatannya.</p>
+ *
+ * <pre>
+ * java -cp out infrastructure.benchmark.JobSchedulerBenchmark [jumlahTimer]
+ * </pre>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class JobSchedulerBenchmark {
+    private static final int DEFAULT_TIMERS = 2_000_000;
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+    private static final ZoneId ZONE = ZoneId.of("Asia/Makassar");
+
+    private JobSchedulerBenchmark() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int timerCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TIMERS;
+        LogService log = new CliLogService();
+        verifyOneShot(log);
+        verifyMonthly(log);
+        verifyBeyondWheel(log);
+        verifyContainerClock();
+        System.out.println("verifikasi OK");
+        benchmark(timerCount, log);
+    }
+
+    private static void verifyOneShot(LogService log) {
+        int count = 200_000;
+        ManualClock clock = new ManualClock(START);
+        TimingWheelScheduler scheduler = new TimingWheelScheduler(clock, Duration.ofSeconds(1), Runnable::run, log);
+        SplittableRandom random = new SplittableRandom(11);
+        long horizon = Duration.ofDays(730).toMillis();
+        long[] deadlines = new long[count];
+        AtomicIntegerArray runs = new AtomicIntegerArray(count);
+        long[] lastFired = {Long.MIN_VALUE};
+        List<ScheduledJob> jobs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = i;
+            // Sebagian timer jatuh tempo di masa lalu atau tepat di batas tick
+            long offset = switch (random.nextInt(8)) {
+                case 0 -> -random.nextLong(10_000);
+                case 1 -> 1_000L * random.nextLong(horizon / 1_000);
+                default -> random.nextLong(horizon);
+            };
+            deadlines[i] = START.toEpochMilli() + offset;
+            jobs.add(scheduler.schedule("timer-" + i, () -> {
+                long now = clock.millis();
+                if (now < deadlines[id]) {
+                    fail("timer " + id + " berjalan sebelum jatuh tempo");
+                }
+                // Timer yang sudah lewat saat dijadwalkan berjalan pada tick pertama
+                long tick = Math.max(Math.ceilDiv(deadlines[id], 1_000L), START.getEpochSecond());
+                if (tick < lastFired[0]) {
+                    fail("timer " + id + " berjalan tidak berurutan");
+                }
+                lastFired[0] = Math.max(lastFired[0], tick);
+                runs.incrementAndGet(id);
+            }, Instant.ofEpochMilli(deadlines[i])));
+        }
+        boolean[] cancelled = new boolean[count];
+        for (int i = 0; i < count; i += 7) {
+            cancelled[i] = jobs.get(i).cancel();
+        }
+        // Pembatalan kedua tidak berpengaruh
+        if (jobs.get(0).cancel()) {
+            fail("pembatalan ganda berhasil");
+        }
+
+        long end = START.toEpochMilli() + horizon + 1_000;
+        while (clock.millis() < end) {
+            clock.advance(Duration.ofMillis(random.nextLong(1, 3 * 86_400_000L)));
+            scheduler.advance();
+            if (random.nextInt(4) == 0) {
+                // Pembatalan di tengah jalan hanya berhasil untuk timer yang belum berjalan
+                int id = random.nextInt(count);
+                boolean wasPending = runs.get(id) == 0 && !cancelled[id];
+                boolean result = jobs.get(id).cancel();
+                if (result != wasPending) {
+                    fail("hasil pembatalan timer " + id + " salah: " + result);
+                }
+                cancelled[id] |= result;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            int expected = cancelled[i] ? 0 : 1;
+            if (runs.get(i) != expected) {
+                fail("timer " + i + " berjalan " + runs.get(i) + " kali, seharusnya " + expected);
+            }
+        }
+        if (scheduler.pendingCount() != 0) {
+            fail("masih ada timer tersisa: " + scheduler.pendingCount());
+        }
+    }
+
+    /**
+     * Clock dari ContainerConfig harus dipakai TimeService dan JobScheduler sekaligus: job yang
+     * dijadwalkan pada tengah malam WITA berjalan tepat ketika tanggal bisnis berganti.
+     */
+    private static void verifyContainerClock() throws InterruptedException {
+        ManualClock clock = new ManualClock(START);
+        DefaultAppContainer container = new DefaultAppContainer(ContainerConfig.defaults().withClock(clock));
+        TimeService time = container.getTimeService();
+        String today = time.today();
+        Instant midnight = LocalDateTime.ofInstant(START, ZONE).toLocalDate().plusDays(1).atStartOfDay(ZONE).toInstant();
+        CountDownLatch ran = new CountDownLatch(1);
+        String[] dateAtRun = new String[1];
+        container.getJobScheduler().schedule("tutup-hari", () -> {
+            dateAtRun[0] = time.today();
+            ran.countDown();
+        }, midnight);
+        if (ran.await(1_500, TimeUnit.MILLISECONDS)) {
+            fail("job container berjalan sebelum clock container mencapai jadwalnya");
+        }
+        clock.set(midnight);
+        if (!ran.await(10, TimeUnit.SECONDS)) {
+            fail("job container tidak berjalan setelah clock container mencapai jadwalnya");
+        }
+        if (dateAtRun[0].equals(today)) {
+            fail("tanggal bisnis saat job berjalan masih " + today);
+        }
+    }
+
+    private static void verifyMonthly(LogService log) {
+        ManualClock clock = new ManualClock(START);
+        TimingWheelScheduler scheduler = new TimingWheelScheduler(clock, Duration.ofSeconds(1), Runnable::run, log);
+        Instant first = LocalDateTime.parse("2026-01-31T01:00:00").atZone(ZONE).toInstant();
+        List<String> fired = new ArrayList<>();
+        ScheduledJob job = scheduler.scheduleMonthly("biaya-kartu", () -> fired.add(
+                clock.instant().atZone(ZONE).toLocalDate().toString()), first, ZONE);
+        // Aplikasi "mati" setahun: setiap jadwal yang terlewat tetap dijalankan sekali
+        clock.advance(Duration.ofDays(365));
+        scheduler.advance();
+        if (fired.size() != 12 || job.runCount() != 12) {
+            fail("jadwal bulanan berjalan " + fired.size() + " kali, seharusnya 12");
+        }
+        Instant expectedNext = LocalDateTime.parse("2027-01-31T01:00:00").atZone(ZONE).toInstant();
+        if (!expectedNext.equals(job.nextRunAt())) {
+            fail("jatuh tempo bulanan berikutnya salah: " + job.nextRunAt());
+        }
+
+        clock.set(START);
+        scheduler = new TimingWheelScheduler(clock, Duration.ofSeconds(1), Runnable::run, log);
+        List<String> dates = new ArrayList<>();
+        ScheduledJob live = scheduler.scheduleMonthly("biaya-kartu", () -> dates.add(
+                clock.instant().atZone(ZONE).toLocalDate().toString()), first, ZONE);
+        for (int hour = 0; hour < 24 * 100; hour++) {
+            clock.advance(Duration.ofHours(1));
+            scheduler.advance();
+        }
+        if (!dates.equals(List.of("2026-01-31", "2026-02-28", "2026-03-31"))
+                || live.lastLateness().compareTo(Duration.ofHours(1)) >= 0) {
+            fail("tanggal jadwal bulanan salah: " + dates + " keterlambatan " + live.lastLateness());
+        }
+        live.cancel();
+        clock.advance(Duration.ofDays(60));
+        if (scheduler.advance() != 0 || dates.size() != 3) {
+            fail("jadwal bulanan yang dibatalkan tetap berjalan");
+        }
+    }
+
+    private static void verifyBeyondWheel(LogService log) {
+        // Tick 1 ms: roda hanya menjangkau sekitar 49 hari, jatuh tempo 120 hari diparkir lalu ditempatkan ulang
+        ManualClock clock = new ManualClock(START);
+        TimingWheelScheduler scheduler = new TimingWheelScheduler(clock, Duration.ofMillis(1), Runnable::run, log);
+        Instant due = START.plus(Duration.ofDays(120)).plusMillis(7);
+        long[] firedAt = {-1};
+        scheduler.schedule("jauh", () -> firedAt[0] = clock.millis(), due);
+        ScheduledJob failing = scheduler.scheduleAtFixedRate("gagal", () -> {
+            throw new IllegalStateException("uji kegagalan");
+        }, START.plusSeconds(1), Duration.ofDays(30));
+        for (int day = 0; day < 130; day++) {
+            clock.advance(Duration.ofDays(1));
+            scheduler.advance();
+            if (day == 118 && firedAt[0] >= 0) {
+                fail("timer jauh berjalan terlalu awal");
+            }
+        }
+        if (firedAt[0] < due.toEpochMilli() || firedAt[0] >= due.toEpochMilli() + Duration.ofDays(1).toMillis()) {
+            fail("timer jauh berjalan pada " + Instant.ofEpochMilli(firedAt[0]));
+        }
+        // Pekerjaan berulang yang gagal tetap dijadwalkan ulang
+        if (failing.failureCount() != 5 || failing.runCount() != 5) {
+            fail("pekerjaan gagal berjalan " + failing.runCount() + " kali");
+        }
+    }
+
+    private static void benchmark(int count, LogService log) {
+        ManualClock clock = new ManualClock(START);
+        TimingWheelScheduler scheduler = new TimingWheelScheduler(clock, Duration.ofSeconds(1),
+                TimingWheelScheduler.DEFAULT_WORKERS, TimingWheelScheduler.DEFAULT_QUEUE_CAPACITY, log);
+        SplittableRandom random = new SplittableRandom(3);
+        AtomicLong completed = new AtomicLong();
+        Runnable task = completed::incrementAndGet;
+        ScheduledJob[] jobs = new ScheduledJob[count];
+        long horizon = Duration.ofDays(31).toMillis();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            jobs[i] = scheduler.schedule("instruksi", task, START.plusMillis(random.nextLong(horizon)));
+        }
+        long scheduled = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 1; i < count; i += 2) {
+            jobs[i].cancel();
+        }
+        long cancelled = System.nanoTime() - start;
+        System.out.printf("schedule: %,d timer, %.0f ns/timer; cancel: %,d timer, %.0f ns/timer; %,d menunggu%n",
+                count, (double) scheduled / count, count / 2, (double) cancelled / (count / 2),
+                scheduler.pendingCount());
+
+        // Waktu dimajukan per menit, dan setiap menit ditunggu sampai worker selesai agar
+        // keterlambatan mencerminkan ukuran langkah clock, bukan clock manual yang berlari mendahului worker
+        start = System.nanoTime();
+        int dispatched = 0;
+        while (clock.millis() <= START.toEpochMilli() + horizon) {
+            clock.advance(Duration.ofMinutes(1));
+            dispatched += scheduler.advance();
+            while (completed.get() < dispatched) {
+                Thread.yield();
+            }
+        }
+        if (completed.get() != count / 2) {
+            fail("jumlah timer yang berjalan " + completed.get() + ", seharusnya " + count / 2);
+        }
+        long fired = System.nanoTime() - start;
+        LatencyHistogram.Snapshot lateness = scheduler.latenessSnapshot();
+        System.out.printf("advance: %,d timer dijalankan, %.0f ns/timer; keterlambatan p50=%ds p99=%ds max=%ds%n",
+                dispatched, (double) fired / dispatched, lateness.p50Nanos() / 1_000_000_000,
+                lateness.p99Nanos() / 1_000_000_000, lateness.maxNanos() / 1_000_000_000);
+        scheduler.close();
+    }
+
+    private static void fail(String message) {
+        System.err.println("Verifikasi gagal: " + message);
+        System.exit(1);
+    }
+}
@@ -0,0 +1,133 @@
+package infrastructure.benchmark;
+
+import application.dto.AssignCardDto;
+import application.dto.CreateAccountDto;
+import application.dto.CreateCardTypeDto;
+import application.dto.CreateCustomerDto;
+import application.service.TransactionResult;
+import application.service.TransactionService;
+import domain.entity.AccountEntity;
+import domain.entity.CardTypeEntity;
+import domain.entity.CustomerEntity;
+import domain.exception.BankingException;
+import domain.exception.CardException;
+import domain.value.AccountType;
+import infrastructure.container.AppContainer;
+import infrastructure.container.ContainerConfig;
+import infrastructure.container.DefaultAppContainer;
+
+import java.math.BigDecimal;
+
+/**
+ * Benchmark sederhana untuk jalur penolakan transaksi (PIN salah).
+ *
+ * <p>Menjalankan penarikan via kartu dengan PIN salah secara berulang, sekali dengan
+ * stack trace penolakan bisnis dimatikan (default) dan sekali dengan stack trace
+ * dinyalakan, lalu mencetak rata-rata waktu per penolakan. Sebagai pembanding,
+ * API non-throwing {@link TransactionService#tryWithdrawMoneyUsingCard} juga diukur.</p>
+ *
+ * <pre>
+ * java -cp out infrastructure.benchmark.RejectionPathBenchmark [iterasi]
+ * </pre>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class RejectionPathBenchmark {
+    private static final int DEFAULT_ITERATIONS = 200_000;
+    private static final int CORRECT_PIN = 123456;
+    private static final int WRONG_PIN = 654321;
+
+    private RejectionPathBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITERATIONS;
+        boolean previous = BankingException.isRejectionStackTraceEnabled();
+
+        // Penguncian kartu dimatikan agar setiap iterasi benar-benar melewati pengecekan PIN
+        AppContainer container = new DefaultAppContainer(ContainerConfig.fromSystemProperties().withMaxPinFailures(0));
+        String accountNumber = setupAccount(container);
+        TransactionService transactionService = container.getTransactionService();
+
+        try {
+            for (boolean stackTrace : new boolean[] {false, true, false, true}) {
+                BankingException.setRejectionStackTraceEnabled(stackTrace);
+                long elapsed = run(transactionService, accountNumber, iterations);
+                System.out.printf("stackTrace=%-5s iterasi=%d  %,.1f ns/penolakan%n",
+                        stackTrace, iterations, (double) elapsed / iterations);
+            }
+            for (int round = 0; round < 2; round++) {
+                long elapsed = runResult(transactionService, accountNumber, iterations);
+                System.out.printf("result API       iterasi=%d  %,.1f ns/penolakan%n",
+                        iterations, (double) elapsed / iterations);
+            }
+        } finally {
+            BankingException.setRejectionStackTraceEnabled(previous);
+        }
+    }
+
+    private static long run(TransactionService transactionService, String accountNumber, int iterations) {
+        BigDecimal amount = new BigDecimal("10000");
+        int rejected = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            try {
+                transactionService.withdrawMoneyUsingCard(accountNumber, amount, WRONG_PIN);
+            } catch (CardException.InvalidPin e) {
+                rejected++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (rejected != iterations) {
+            throw new IllegalStateException("Expected " + iterations + " rejections, got " + rejected);
+        }
+        return elapsed;
+    }
+
+    private static long runResult(TransactionService transactionService, String accountNumber, int iterations) {
+        BigDecimal amount = new BigDecimal("10000");
+        int rejected = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            TransactionResult result = transactionService.tryWithdrawMoneyUsingCard(accountNumber, amount, WRONG_PIN);
+            if (result instanceof TransactionResult.Rejected r && r.code() == TransactionResult.Code.INVALID_PIN) {
+                rejected++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (rejected != iterations) {
+            throw new IllegalStateException("Expected " + iterations + " rejections, got " + rejected);
+        }
+        return elapsed;
+    }
+
+    private static String setupAccount(AppContainer container) {
+        CardTypeEntity cardType = container.getCardTypeService().createCardType(
+                new CreateCardTypeDto(
+                        "Benchmark",
+                        "Kartu untuk benchmark",
+                        new BigDecimal("15000"),
+                        new BigDecimal("5000000"),
+                        new BigDecimal("2000000"),
+                        new BigDecimal("3000000"),
+                        new BigDecimal("50000")
+                )
+        );
+        CustomerEntity customer = container.getCustomerService().createCustomer(
+                new CreateCustomerDto(
+                        "Benchmark",
+                        "benchmark@example.com",
+                        "620000000000",
+                        "Denpasar, Bali",
+                        "2000-01-01"
+                )
+        );
+        AccountEntity account = container.getAccountService().createAccount(
+                new CreateAccountDto(customer, new BigDecimal("1000000"), AccountType.SAVINGS)
+        );
+        container.getAccountService().assignCard(new AssignCardDto(account, cardType, CORRECT_PIN));
+        return account.accountNumber();
+    }
+}
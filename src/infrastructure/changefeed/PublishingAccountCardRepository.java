@@ -0,0 +1,92 @@
+package infrastructure.changefeed;
+
+import application.service.ChangeFeed;
+import application.service.ChangeFeed.Operation;
+import application.service.ChangeFeed.Source;
+import domain.entity.AccountCardEntity;
+import domain.repository.AccountCardRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Decorator AccountCardRepository yang mencatat setiap penyimpanan, perubahan, dan penghapusan data
+ * kartu rekening ke {@link ChangeFeed}.
+ *
+ * <p>Event dicatat setelah operasi pada repository yang dibungkus berhasil, berisi entitas
+ * yang dikembalikan repository tersebut. Operasi baca diteruskan tanpa tambahan biaya.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class PublishingAccountCardRepository implements AccountCardRepository {
+    private final AccountCardRepository delegate;
+    private final ChangeFeed feed;
+
+    /**
+     * Konstruktor untuk PublishingAccountCardRepository.
+     *
+     * @param delegate repository yang dibungkus
+     * @param feed change feed tujuan pencatatan perubahan
+     */
+    public PublishingAccountCardRepository(AccountCardRepository delegate, ChangeFeed feed) {
+        this.delegate = delegate;
+        this.feed = feed;
+    }
+
+    @Override
+    public Optional<AccountCardEntity> findById(int id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Optional<AccountCardEntity> findByAccountId(int accountId) {
+        return delegate.findByAccountId(accountId);
+    }
+
+    @Override
+    public Optional<AccountCardEntity> findByCardNumber(String cardNumber) {
+        return delegate.findByCardNumber(cardNumber);
+    }
+
+    @Override
+    public List<AccountCardEntity> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<AccountCardEntity> scan(Predicate<? super AccountCardEntity> filter) {
+        return delegate.scan(filter);
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public AccountCardEntity save(AccountCardEntity accountCard) {
+        AccountCardEntity saved = delegate.save(accountCard);
+        feed.publish(Source.ACCOUNT_CARD, Operation.INSERT, saved.id(), saved);
+        return saved;
+    }
+
+    @Override
+    public AccountCardEntity update(AccountCardEntity accountCard) {
+        AccountCardEntity updated = delegate.update(accountCard);
+        feed.publish(Source.ACCOUNT_CARD, Operation.UPDATE, updated.id(), updated);
+        return updated;
+    }
+
+    @Override
+    public boolean deleteById(int id) {
+        boolean deleted = delegate.deleteById(id);
+        if (deleted) {
+            feed.publish(Source.ACCOUNT_CARD, Operation.DELETE, id, null);
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,98 @@
+package infrastructure.changefeed;
+
+import application.service.ChangeFeed;
+import application.service.ChangeFeed.Operation;
+import application.service.ChangeFeed.Source;
+import domain.entity.AccountEntity;
+import domain.repository.AccountRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Decorator AccountRepository yang mencatat setiap penyimpanan, perubahan, dan penghapusan data
+ * rekening ke {@link ChangeFeed}.
+ *
+ * <p>Event dicatat setelah operasi pada repository yang dibungkus berhasil, berisi entitas
+ * yang dikembalikan repository tersebut. Operasi baca diteruskan tanpa tambahan biaya.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class PublishingAccountRepository implements AccountRepository {
+    private final AccountRepository delegate;
+    private final ChangeFeed feed;
+
+    /**
+     * Konstruktor untuk PublishingAccountRepository.
+     *
+     * @param delegate repository yang dibungkus
+     * @param feed change feed tujuan pencatatan perubahan
+     */
+    public PublishingAccountRepository(AccountRepository delegate, ChangeFeed feed) {
+        this.delegate = delegate;
+        this.feed = feed;
+    }
+
+    @Override
+    public Optional<AccountEntity> findById(int id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Optional<AccountEntity> findByCustomerId(int customerId) {
+        return delegate.findByCustomerId(customerId);
+    }
+
+    @Override
+    public Optional<AccountEntity> findByAccountNumber(String accountNumber) {
+        return delegate.findByAccountNumber(accountNumber);
+    }
+
+    @Override
+    public List<AccountEntity> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<AccountEntity> scan(Predicate<? super AccountEntity> filter) {
+        return delegate.scan(filter);
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public AccountEntity save(AccountEntity account) {
+        AccountEntity saved = delegate.save(account);
+        feed.publish(Source.ACCOUNT, Operation.INSERT, saved.id(), saved);
+        return saved;
+    }
+
+    @Override
+    public AccountEntity update(AccountEntity account) {
+        AccountEntity updated = delegate.update(account);
+        feed.publish(Source.ACCOUNT, Operation.UPDATE, updated.id(), updated);
+        return updated;
+    }
+
+    @Override
+    public boolean deleteById(int id) {
+        boolean deleted = delegate.deleteById(id);
+        if (deleted) {
+            feed.publish(Source.ACCOUNT, Operation.DELETE, id, null);
+        }
+        return deleted;
+    }
+
+    @Override
+    public AccountRepository snapshot() {
+        // Snapshot bersifat read-only, sehingga tidak ada perubahan yang perlu dicatat
+        return delegate.snapshot();
+    }
+}
@@ -0,0 +1,82 @@
+package infrastructure.changefeed;
+
+import application.service.ChangeFeed;
+import application.service.ChangeFeed.Operation;
+import application.service.ChangeFeed.Source;
+import domain.entity.CardTypeEntity;
+import domain.repository.CardTypeRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Decorator CardTypeRepository yang mencatat setiap penyimpanan, perubahan, dan penghapusan data
+ * tipe kartu ke {@link ChangeFeed}.
+ *
+ * <p>Event dicatat setelah operasi pada repository yang dibungkus berhasil, berisi entitas
+ * yang dikembalikan repository tersebut. Operasi baca diteruskan tanpa tambahan biaya.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class PublishingCardTypeRepository implements CardTypeRepository {
+    private final CardTypeRepository delegate;
+    private final ChangeFeed feed;
+
+    /**
+     * Konstruktor untuk PublishingCardTypeRepository.
+     *
+     * @param delegate repository yang dibungkus
+     * @param feed change feed tujuan pencatatan perubahan
+     */
+    public PublishingCardTypeRepository(CardTypeRepository delegate, ChangeFeed feed) {
+        this.delegate = delegate;
+        this.feed = feed;
+    }
+
+    @Override
+    public Optional<CardTypeEntity> findById(int id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<CardTypeEntity> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<CardTypeEntity> scan(Predicate<? super CardTypeEntity> filter) {
+        return delegate.scan(filter);
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public CardTypeEntity save(CardTypeEntity cardType) {
+        CardTypeEntity saved = delegate.save(cardType);
+        feed.publish(Source.CARD_TYPE, Operation.INSERT, saved.id(), saved);
+        return saved;
+    }
+
+    @Override
+    public CardTypeEntity update(CardTypeEntity cardType) {
+        CardTypeEntity updated = delegate.update(cardType);
+        feed.publish(Source.CARD_TYPE, Operation.UPDATE, updated.id(), updated);
+        return updated;
+    }
+
+    @Override
+    public boolean deleteById(int id) {
+        boolean deleted = delegate.deleteById(id);
+        if (deleted) {
+            feed.publish(Source.CARD_TYPE, Operation.DELETE, id, null);
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,87 @@
+package infrastructure.changefeed;
+
+import application.service.ChangeFeed;
+import application.service.ChangeFeed.Operation;
+import application.service.ChangeFeed.Source;
+import domain.entity.CustomerEntity;
+import domain.repository.CustomerRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Decorator CustomerRepository yang mencatat setiap penyimpanan, perubahan, dan penghapusan data
+ * nasabah ke {@link ChangeFeed}.
+ *
+ * <p>Event dicatat setelah operasi pada repository yang dibungkus berhasil, berisi entitas
+ * yang dikembalikan repository tersebut. Operasi baca diteruskan tanpa tambahan biaya.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class PublishingCustomerRepository implements CustomerRepository {
+    private final CustomerRepository delegate;
+    private final ChangeFeed feed;
+
+    /**
+     * Konstruktor untuk PublishingCustomerRepository.
+     *
+     * @param delegate repository yang dibungkus
+     * @param feed change feed tujuan pencatatan perubahan
+     */
+    public PublishingCustomerRepository(CustomerRepository delegate, ChangeFeed feed) {
+        this.delegate = delegate;
+        this.feed = feed;
+    }
+
+    @Override
+    public Optional<CustomerEntity> findById(int id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Optional<CustomerEntity> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public List<CustomerEntity> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<CustomerEntity> scan(Predicate<? super CustomerEntity> filter) {
+        return delegate.scan(filter);
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public CustomerEntity save(CustomerEntity customer) {
+        CustomerEntity saved = delegate.save(customer);
+        feed.publish(Source.CUSTOMER, Operation.INSERT, saved.id(), saved);
+        return saved;
+    }
+
+    @Override
+    public CustomerEntity update(CustomerEntity customer) {
+        CustomerEntity updated = delegate.update(customer);
+        feed.publish(Source.CUSTOMER, Operation.UPDATE, updated.id(), updated);
+        return updated;
+    }
+
+    @Override
+    public boolean deleteById(int id) {
+        boolean deleted = delegate.deleteById(id);
+        if (deleted) {
+            feed.publish(Source.CUSTOMER, Operation.DELETE, id, null);
+        }
+        return deleted;
+    }
+}
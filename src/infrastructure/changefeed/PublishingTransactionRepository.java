@@ -0,0 +1,122 @@
+package infrastructure.changefeed;
+
+import application.service.ChangeFeed;
+import application.service.ChangeFeed.Operation;
+import application.service.ChangeFeed.Source;
+import domain.entity.TransactionEntity;
+import domain.repository.TransactionRepository;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Decorator TransactionRepository yang mencatat setiap penyimpanan, perubahan, dan penghapusan
+ * data transaksi ke {@link ChangeFeed}.
+ *
+ * <p>Event dicatat setelah operasi pada repository yang dibungkus berhasil, berisi entitas
+ * yang dikembalikan repository tersebut. Hasil {@link #saveAll(List)} dicatat dengan nomor urut
+ * yang berurutan tanpa diselingi event lain. Operasi baca diteruskan tanpa tambahan biaya.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class PublishingTransactionRepository implements TransactionRepository {
+    private final TransactionRepository delegate;
+    private final ChangeFeed feed;
+
+    /**
+     * Konstruktor untuk PublishingTransactionRepository.
+     *
+     * @param delegate repository yang dibungkus
+     * @param feed change feed tujuan pencatatan perubahan
+     */
+    public PublishingTransactionRepository(TransactionRepository delegate, ChangeFeed feed) {
+        this.delegate = delegate;
+        this.feed = feed;
+    }
+
+    @Override
+    public Optional<TransactionEntity> findById(int id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<TransactionEntity> findByAccountIdWithDate(int accountId, String date) {
+        return delegate.findByAccountIdWithDate(accountId, date);
+    }
+
+    @Override
+    public List<TransactionEntity> findByDestinationAccountId(int destinationAccountId) {
+        return delegate.findByDestinationAccountId(destinationAccountId);
+    }
+
+    @Override
+    public Iterator<TransactionEntity> iterateByAccountId(int accountId, String fromDate, String toDate) {
+        return delegate.iterateByAccountId(accountId, fromDate, toDate);
+    }
+
+    @Override
+    public List<TransactionEntity> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<TransactionEntity> scan(Predicate<? super TransactionEntity> filter) {
+        return delegate.scan(filter);
+    }
+
+    @Override
+    public Stream<TransactionEntity> scanRange(int fromId, int toId) {
+        return delegate.scanRange(fromId, toId);
+    }
+
+    @Override
+    public int lastId() {
+        return delegate.lastId();
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public TransactionEntity update(TransactionEntity transaction) {
+        TransactionEntity updated = delegate.update(transaction);
+        feed.publish(Source.TRANSACTION, Operation.UPDATE, updated.id(), updated);
+        return updated;
+    }
+
+    @Override
+    public TransactionEntity save(TransactionEntity transaction) {
+        TransactionEntity saved = delegate.save(transaction);
+        feed.publish(Source.TRANSACTION, Operation.INSERT, saved.id(), saved);
+        return saved;
+    }
+
+    @Override
+    public List<TransactionEntity> saveAll(List<TransactionEntity> transactions) {
+        List<TransactionEntity> saved = delegate.saveAll(transactions);
+        feed.publishAll(Source.TRANSACTION, Operation.INSERT, saved, TransactionEntity::id);
+        return saved;
+    }
+
+    @Override
+    public boolean deleteById(int id) {
+        boolean deleted = delegate.deleteById(id);
+        if (deleted) {
+            feed.publish(Source.TRANSACTION, Operation.DELETE, id, null);
+        }
+        return deleted;
+    }
+
+    @Override
+    public TransactionRepository snapshot() {
+        // Snapshot bersifat read-only, sehingga tidak ada perubahan yang perlu dicatat
+        return delegate.snapshot();
+    }
+}
@@ -0,0 +1,224 @@
+package infrastructure.changefeed;
+
+import application.service.ChangeFeed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.ToIntFunction;
+
+/**
+ * {@link ChangeFeed} di atas ring berukuran tetap yang dapat ditulis banyak thread tanpa lock.
+ *
+ * <p>Penerbit mengklaim nomor urut dengan satu operasi atomik pada {@code cursor}, lalu
+ * menerbitkan {@link ChangeEvent} immutable ke slot {@code sequence & mask} dengan store
+ * release. Penerbit tidak pernah menunggu konsumen: slot lama langsung ditimpa, sehingga biaya
+ * penerbitan tetap satu atomic add, satu alokasi kecil, dan satu store.</p>
+ *
+ * <p>Konsumen membaca slot dengan load acquire dan mencocokkan nomor urut event dengan nomor
+ * urut yang diharapkan:</p>
+ * <ul>
+ *   <li>sama: event dibaca dan posisi maju;</li>
+ *   <li>lebih besar: slot sudah ditimpa putaran berikutnya, sehingga event yang tertimpa dihitung
+ *       hilang dan posisi melompat ke event tertua yang masih tersimpan;</li>
+ *   <li>lebih kecil atau kosong: nomor urut sudah diklaim tetapi penerbitnya belum selesai menulis,
+ *       sehingga batch berhenti di sini agar urutan tetap terjaga.</li>
+ * </ul>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class RingChangeFeed implements ChangeFeed {
+    /**
+     * Kapasitas bawaan ring.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private final AtomicReferenceArray<ChangeEvent> slots;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong();
+    private final List<RingSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * Konstruktor untuk RingChangeFeed.
+     *
+     * @param capacity jumlah event terbaru yang disimpan; dibulatkan ke atas menjadi pangkat dua
+     * @throws IllegalArgumentException jika kapasitas kurang dari 2 atau lebih dari 2^30
+     */
+    public RingChangeFeed(int capacity) {
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Kapasitas change feed harus antara 2 dan 2^30: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    @Override
+    public long publish(Source source, Operation operation, int entityId, Object entity) {
+        long sequence = cursor.getAndIncrement();
+        slots.setRelease((int) sequence & mask, new ChangeEvent(sequence, source, operation, entityId, entity));
+        return sequence;
+    }
+
+    @Override
+    public <T> void publishAll(Source source, Operation operation, List<T> entities, ToIntFunction<? super T> entityId) {
+        int count = entities.size();
+        if (count == 0) {
+            return;
+        }
+        // Satu klaim untuk seluruh batch agar event batch tidak diselingi penerbit lain
+        long sequence = cursor.getAndAdd(count);
+        for (T entity : entities) {
+            slots.setRelease((int) sequence & mask,
+                    new ChangeEvent(sequence, source, operation, entityId.applyAsInt(entity), entity));
+            sequence++;
+        }
+    }
+
+    @Override
+    public Subscription subscribe(String name) {
+        return subscribe(name, cursor.get());
+    }
+
+    @Override
+    public Subscription subscribe(String name, long fromSequence) {
+        if (fromSequence < 0) {
+            throw new IllegalArgumentException("Nomor urut change feed tidak boleh negatif: " + fromSequence);
+        }
+        RingSubscription subscription = new RingSubscription(name, fromSequence);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    @Override
+    public List<Subscription> subscriptions() {
+        return List.copyOf(subscriptions);
+    }
+
+    @Override
+    public int capacity() {
+        return slots.length();
+    }
+
+    @Override
+    public long headSequence() {
+        return cursor.get();
+    }
+
+    /**
+     * Mendapatkan lag terbesar di antara subscription aktif.
+     *
+     * @return lag terbesar, 0 jika tidak ada subscription
+     */
+    public long maxLag() {
+        long max = 0L;
+        for (RingSubscription subscription : subscriptions) {
+            max = Math.max(max, subscription.lag());
+        }
+        return max;
+    }
+
+    /**
+     * Menghitung subscription aktif yang lambat.
+     *
+     * @return jumlah subscription dengan {@link Subscription#isSlow()} bernilai true
+     */
+    public int slowSubscriptionCount() {
+        int count = 0;
+        for (RingSubscription subscription : subscriptions) {
+            if (subscription.isSlow()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Posisi baca satu konsumen. Posisi hanya ditulis thread konsumen dan dibaca thread pemantau.
+     */
+    private final class RingSubscription implements Subscription {
+        private final String name;
+        private volatile long position;
+        private volatile long missedCount;
+
+        private RingSubscription(String name, long position) {
+            this.name = name;
+            this.position = position;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public Batch poll(int maxEvents) {
+            if (maxEvents < 1) {
+                throw new IllegalArgumentException("Ukuran batch change feed minimal 1: " + maxEvents);
+            }
+            long next = position;
+            long head = cursor.get();
+            long missed = 0L;
+            if (head - next > slots.length()) {
+                missed = head - slots.length() - next;
+                next = head - slots.length();
+            }
+            List<ChangeEvent> events = new ArrayList<>((int) Math.min(maxEvents, Math.max(head - next, 0L)));
+            while (events.size() < maxEvents && next < head) {
+                ChangeEvent event = slots.getAcquire((int) next & mask);
+                long found = event == null ? -1L : event.sequence();
+                if (found == next) {
+                    events.add(event);
+                    next++;
+                } else if (found > next) {
+                    // Slot sudah ditimpa putaran berikutnya selama batch ini dibaca
+                    long oldest = Math.max(next + 1, cursor.get() - slots.length());
+                    if (events.isEmpty()) {
+                        missed += oldest - next;
+                        next = oldest;
+                    } else {
+                        // Celah dilaporkan pada batch berikutnya agar event tiap batch tetap bersambung
+                        break;
+                    }
+                } else {
+                    // Nomor urut sudah diklaim tetapi penerbitnya belum selesai menulis
+                    break;
+                }
+            }
+            position = next;
+            if (missed > 0) {
+                missedCount += missed;
+            }
+            return new Batch(events, missed);
+        }
+
+        @Override
+        public long position() {
+            return position;
+        }
+
+        @Override
+        public long lag() {
+            return Math.max(cursor.get() - position, 0L);
+        }
+
+        @Override
+        public long missedCount() {
+            return missedCount;
+        }
+
+        @Override
+        public boolean isSlow() {
+            return missedCount > 0 || lag() >= slots.length() / 2;
+        }
+
+        @Override
+        public void close() {
+            subscriptions.remove(this);
+        }
+    }
+}
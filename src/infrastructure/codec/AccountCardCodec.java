@@ -0,0 +1,47 @@
+package infrastructure.codec;
+
+import domain.entity.AccountCardEntity;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codec biner untuk {@link AccountCardEntity} (kartu rekening).
+ *
+ * <p>Urutan field: id, accountId, cardNumber, pin, cardTypeId, active, expiredDate.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class AccountCardCodec implements EntityCodec<AccountCardEntity> {
+    @Override
+    public void encode(AccountCardEntity entity, ByteBuffer buffer) {
+        BinaryFormat.putSignedVarInt(buffer, entity.id());
+        BinaryFormat.putSignedVarInt(buffer, entity.accountId());
+        BinaryFormat.putString(buffer, entity.cardNumber());
+        BinaryFormat.putSignedVarInt(buffer, entity.pin());
+        BinaryFormat.putSignedVarInt(buffer, entity.cardTypeId());
+        BinaryFormat.putBoolean(buffer, entity.active());
+        BinaryFormat.putString(buffer, entity.expiredDate());
+    }
+
+    @Override
+    public AccountCardEntity decode(ByteBuffer buffer) {
+        return new AccountCardEntity(
+                BinaryFormat.getSignedVarInt(buffer),
+                BinaryFormat.getSignedVarInt(buffer),
+                BinaryFormat.getString(buffer),
+                BinaryFormat.getSignedVarInt(buffer),
+                BinaryFormat.getSignedVarInt(buffer),
+                BinaryFormat.getBoolean(buffer),
+                BinaryFormat.getString(buffer)
+        );
+    }
+
+    @Override
+    public int maxEncodedSize(AccountCardEntity entity) {
+        return 21
+                + BinaryFormat.maxStringSize(entity.cardNumber())
+                + BinaryFormat.maxStringSize(entity.expiredDate());
+    }
+}
@@ -0,0 +1,52 @@
+package infrastructure.codec;
+
+import domain.entity.AccountEntity;
+import domain.value.AccountType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codec biner untuk {@link AccountEntity} (rekening).
+ *
+ * <p>Urutan field: id, accountNumber, balance, accountType, customerId, dailyTransferLimit, dailyWithdrawLimit.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class AccountCodec implements EntityCodec<AccountEntity> {
+    private static final AccountType[] ACCOUNT_TYPE_VALUES = AccountType.values();
+
+    @Override
+    public void encode(AccountEntity entity, ByteBuffer buffer) {
+        BinaryFormat.putSignedVarInt(buffer, entity.id());
+        BinaryFormat.putString(buffer, entity.accountNumber());
+        BinaryFormat.putAmount(buffer, entity.balance());
+        BinaryFormat.putEnum(buffer, entity.accountType());
+        BinaryFormat.putSignedVarInt(buffer, entity.customerId());
+        BinaryFormat.putAmount(buffer, entity.dailyTransferLimit());
+        BinaryFormat.putAmount(buffer, entity.dailyWithdrawLimit());
+    }
+
+    @Override
+    public AccountEntity decode(ByteBuffer buffer) {
+        return new AccountEntity(
+                BinaryFormat.getSignedVarInt(buffer),
+                BinaryFormat.getString(buffer),
+                BinaryFormat.getAmount(buffer),
+                BinaryFormat.getEnum(buffer, ACCOUNT_TYPE_VALUES),
+                BinaryFormat.getSignedVarInt(buffer),
+                BinaryFormat.getAmount(buffer),
+                BinaryFormat.getAmount(buffer)
+        );
+    }
+
+    @Override
+    public int maxEncodedSize(AccountEntity entity) {
+        return 15
+                + BinaryFormat.maxStringSize(entity.accountNumber())
+                + BinaryFormat.maxAmountSize()
+                + BinaryFormat.maxAmountSize()
+                + BinaryFormat.maxAmountSize();
+    }
+}
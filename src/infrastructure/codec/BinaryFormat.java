@@ -0,0 +1,386 @@
+package infrastructure.codec;
+
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Primitif format biner yang dipakai semua {@link EntityCodec}.
+ *
+ * <ul>
+ *   <li><b>varint</b>: 7 bit per byte, bit tertinggi menandakan masih ada byte lanjutan.
+ *       Nilai bertanda di-zigzag terlebih dahulu agar bilangan negatif kecil tetap pendek.</li>
+ *   <li><b>nominal</b>: skala (zigzag varint) diikuti nilai tanpa skala (zigzag varlong),
+ *       sehingga {@code 12.50} tersimpan sebagai skala 2 dan nilai 1250 tanpa kehilangan skala.</li>
+ *   <li><b>enum</b>: ordinal sebagai varint.</li>
+ *   <li><b>String</b>: panjang UTF-8 ditambah satu sebagai varint (0 berarti null), diikuti byte UTF-8.
+ *       Karakter di-encode langsung ke buffer tanpa array byte perantara.</li>
+ * </ul>
+ *
+ * <p>Semua method membaca dan menulis pada posisi buffer saat ini. Buffer yang terlalu kecil
+ * menghasilkan {@link java.nio.BufferOverflowException} atau
+ * {@link java.nio.BufferUnderflowException}; data yang rusak menghasilkan
+ * {@link IllegalArgumentException}.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class BinaryFormat {
+    private static final int MAX_VARINT_BYTES = 5;
+    private static final int MAX_VARLONG_BYTES = 10;
+
+    private BinaryFormat() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Menulis int tanpa tanda sebagai varint.
+     *
+     * @param buffer buffer tujuan
+     * @param value nilai (diperlakukan sebagai 32 bit tanpa tanda)
+     */
+    public static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Membaca varint tanpa tanda.
+     *
+     * @param buffer buffer sumber
+     * @return nilai 32 bit
+     */
+    public static int getVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < MAX_VARINT_BYTES * 7; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint lebih dari " + MAX_VARINT_BYTES + " byte");
+    }
+
+    /**
+     * Menulis long tanpa tanda sebagai varint.
+     *
+     * @param buffer buffer tujuan
+     * @param value nilai (diperlakukan sebagai 64 bit tanpa tanda)
+     */
+    public static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Membaca varlong tanpa tanda.
+     *
+     * @param buffer buffer sumber
+     * @return nilai 64 bit
+     */
+    public static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < MAX_VARLONG_BYTES * 7; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varlong lebih dari " + MAX_VARLONG_BYTES + " byte");
+    }
+
+    /**
+     * Menulis int bertanda sebagai zigzag varint.
+     *
+     * @param buffer buffer tujuan
+     * @param value nilai bertanda
+     */
+    public static void putSignedVarInt(ByteBuffer buffer, int value) {
+        putVarInt(buffer, (value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Membaca zigzag varint.
+     *
+     * @param buffer buffer sumber
+     * @return nilai bertanda
+     */
+    public static int getSignedVarInt(ByteBuffer buffer) {
+        int raw = getVarInt(buffer);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    /**
+     * Menulis long bertanda sebagai zigzag varlong.
+     *
+     * @param buffer buffer tujuan
+     * @param value nilai bertanda
+     */
+    public static void putSignedVarLong(ByteBuffer buffer, long value) {
+        putVarLong(buffer, (value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Membaca zigzag varlong.
+     *
+     * @param buffer buffer sumber
+     * @return nilai bertanda
+     */
+    public static long getSignedVarLong(ByteBuffer buffer) {
+        long raw = getVarLong(buffer);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    /**
+     * Menulis Integer yang boleh null. Nilai 0 pada data berarti null.
+     *
+     * @param buffer buffer tujuan
+     * @param value nilai atau null
+     */
+    public static void putNullableInt(ByteBuffer buffer, Integer value) {
+        if (value == null) {
+            buffer.put((byte) 0);
+            return;
+        }
+        int v = value;
+        putVarLong(buffer, (((v << 1) ^ (v >> 31)) & 0xFFFF_FFFFL) + 1);
+    }
+
+    /**
+     * Membaca Integer yang boleh null.
+     *
+     * @param buffer buffer sumber
+     * @return nilai atau null
+     */
+    public static Integer getNullableInt(ByteBuffer buffer) {
+        long raw = getVarLong(buffer);
+        if (raw == 0) {
+            return null;
+        }
+        int zigzag = (int) (raw - 1);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    /**
+     * Menulis nominal sebagai skala dan nilai tanpa skala.
+     *
+     * <p>Nominal dengan skala 0 (kasus umum) ditulis tanpa membuat objek apa pun.</p>
+     *
+     * @param buffer buffer tujuan
+     * @param amount nominal, tidak boleh null
+     * @throws ArithmeticException jika nilai tanpa skala melebihi jangkauan long
+     */
+    public static void putAmount(ByteBuffer buffer, BigDecimal amount) {
+        int scale = amount.scale();
+        long unscaled = scale == 0 ? amount.longValueExact() : amount.unscaledValue().longValueExact();
+        putSignedVarInt(buffer, scale);
+        putSignedVarLong(buffer, unscaled);
+    }
+
+    /**
+     * Membaca nominal.
+     *
+     * @param buffer buffer sumber
+     * @return nominal dengan skala yang sama seperti saat ditulis
+     */
+    public static BigDecimal getAmount(ByteBuffer buffer) {
+        int scale = getSignedVarInt(buffer);
+        return BigDecimal.valueOf(getSignedVarLong(buffer), scale);
+    }
+
+    /**
+     * Menulis ordinal enum.
+     *
+     * @param buffer buffer tujuan
+     * @param value konstanta enum, tidak boleh null
+     */
+    public static void putEnum(ByteBuffer buffer, Enum<?> value) {
+        putVarInt(buffer, value.ordinal());
+    }
+
+    /**
+     * Membaca ordinal enum.
+     *
+     * @param buffer buffer sumber
+     * @param values hasil {@code values()} yang di-cache pemanggil
+     * @param <E> tipe enum
+     * @return konstanta enum
+     */
+    public static <E extends Enum<E>> E getEnum(ByteBuffer buffer, E[] values) {
+        int ordinal = getVarInt(buffer);
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IllegalArgumentException("Ordinal enum tidak valid: " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    /**
+     * Menulis boolean sebagai satu byte.
+     *
+     * @param buffer buffer tujuan
+     * @param value nilai
+     */
+    public static void putBoolean(ByteBuffer buffer, boolean value) {
+        buffer.put((byte) (value ? 1 : 0));
+    }
+
+    /**
+     * Membaca boolean.
+     *
+     * @param buffer buffer sumber
+     * @return nilai
+     */
+    public static boolean getBoolean(ByteBuffer buffer) {
+        byte b = buffer.get();
+        if (b != 0 && b != 1) {
+            throw new IllegalArgumentException("Boolean tidak valid: " + b);
+        }
+        return b == 1;
+    }
+
+    /**
+     * Menulis String yang boleh null sebagai UTF-8 dengan prefix panjang.
+     *
+     * @param buffer buffer tujuan
+     * @param value teks atau null
+     */
+    public static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.put((byte) 0);
+            return;
+        }
+        int length = value.length();
+        int asciiPrefix = asciiPrefix(value);
+        // Jalur cepat hanya jika semua char di bawah 0x80; surrogate tanpa pasangan juga 1 byte tetapi ditulis '?'
+        boolean ascii = asciiPrefix == length;
+        int utf8Length = ascii ? length : utf8Length(value, asciiPrefix);
+        putVarInt(buffer, utf8Length + 1);
+        if (ascii && buffer.hasArray()) {
+            // Jalur cepat ASCII: tulis langsung ke array milik heap buffer
+            if (buffer.remaining() < length) {
+                throw new BufferOverflowException();
+            }
+            byte[] array = buffer.array();
+            int offset = buffer.arrayOffset() + buffer.position();
+            for (int i = 0; i < length; i++) {
+                array[offset + i] = (byte) value.charAt(i);
+            }
+            buffer.position(buffer.position() + length);
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >>> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >>> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >>> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >>> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                // Surrogate tanpa pasangan ditulis sebagai '?', sama seperti String.getBytes(UTF_8)
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | (c >>> 12)));
+                buffer.put((byte) (0x80 | ((c >>> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    /**
+     * Membaca String yang boleh null.
+     *
+     * <p>Untuk buffer heap, String dibuat langsung dari array milik buffer. Untuk direct buffer,
+     * byte disalin sekali ke array sementara sebelum didekode.</p>
+     *
+     * @param buffer buffer sumber
+     * @return teks atau null
+     */
+    public static String getString(ByteBuffer buffer) {
+        int prefix = getVarInt(buffer);
+        if (prefix == 0) {
+            return null;
+        }
+        int length = prefix - 1;
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Panjang String tidak valid: " + length);
+        }
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    /**
+     * Menghitung jumlah byte maksimum sebuah String yang di-encode, termasuk prefix panjang.
+     *
+     * @param value teks atau null
+     * @return batas atas ukuran dalam byte
+     */
+    public static int maxStringSize(String value) {
+        return value == null ? 1 : MAX_VARINT_BYTES + value.length() * 3;
+    }
+
+    /**
+     * Batas atas ukuran nominal yang di-encode.
+     *
+     * @return ukuran maksimum dalam byte
+     */
+    public static int maxAmountSize() {
+        return MAX_VARINT_BYTES + MAX_VARLONG_BYTES;
+    }
+
+    // Jumlah char di awal teks yang semuanya di bawah 0x80
+    private static int asciiPrefix(String value) {
+        int length = value.length();
+        int i = 0;
+        while (i < length && value.charAt(i) < 0x80) {
+            i++;
+        }
+        return i;
+    }
+
+    // Panjang UTF-8 teks, dengan char sebelum from sudah diketahui ASCII
+    private static int utf8Length(String value, int from) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = from; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    // Pasangan surrogate: 2 char menjadi 4 byte
+                    bytes += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+}
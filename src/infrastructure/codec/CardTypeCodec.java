@@ -0,0 +1,54 @@
+package infrastructure.codec;
+
+import domain.entity.CardTypeEntity;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codec biner untuk {@link CardTypeEntity} (tipe kartu).
+ *
+ * <p>Urutan field: id, name, description, monthlyPrice, dailyTransferLimit, dailyWithdrawLimit, dailyDepositLimit, minimumBalance.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class CardTypeCodec implements EntityCodec<CardTypeEntity> {
+    @Override
+    public void encode(CardTypeEntity entity, ByteBuffer buffer) {
+        BinaryFormat.putSignedVarInt(buffer, entity.id());
+        BinaryFormat.putString(buffer, entity.name());
+        BinaryFormat.putString(buffer, entity.description());
+        BinaryFormat.putAmount(buffer, entity.monthlyPrice());
+        BinaryFormat.putAmount(buffer, entity.dailyTransferLimit());
+        BinaryFormat.putAmount(buffer, entity.dailyWithdrawLimit());
+        BinaryFormat.putAmount(buffer, entity.dailyDepositLimit());
+        BinaryFormat.putAmount(buffer, entity.minimumBalance());
+    }
+
+    @Override
+    public CardTypeEntity decode(ByteBuffer buffer) {
+        return new CardTypeEntity(
+                BinaryFormat.getSignedVarInt(buffer),
+                BinaryFormat.getString(buffer),
+                BinaryFormat.getString(buffer),
+                BinaryFormat.getAmount(buffer),
+                BinaryFormat.getAmount(buffer),
+                BinaryFormat.getAmount(buffer),
+                BinaryFormat.getAmount(buffer),
+                BinaryFormat.getAmount(buffer)
+        );
+    }
+
+    @Override
+    public int maxEncodedSize(CardTypeEntity entity) {
+        return 5
+                + BinaryFormat.maxStringSize(entity.name())
+                + BinaryFormat.maxStringSize(entity.description())
+                + BinaryFormat.maxAmountSize()
+                + BinaryFormat.maxAmountSize()
+                + BinaryFormat.maxAmountSize()
+                + BinaryFormat.maxAmountSize()
+                + BinaryFormat.maxAmountSize();
+    }
+}
@@ -0,0 +1,48 @@
+package infrastructure.codec;
+
+import domain.entity.CustomerEntity;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codec biner untuk {@link CustomerEntity} (nasabah).
+ *
+ * <p>Urutan field: id, name, email, phoneNumber, address, dateOfBirth.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class CustomerCodec implements EntityCodec<CustomerEntity> {
+    @Override
+    public void encode(CustomerEntity entity, ByteBuffer buffer) {
+        BinaryFormat.putSignedVarInt(buffer, entity.id());
+        BinaryFormat.putString(buffer, entity.name());
+        BinaryFormat.putString(buffer, entity.email());
+        BinaryFormat.putString(buffer, entity.phoneNumber());
+        BinaryFormat.putString(buffer, entity.address());
+        BinaryFormat.putString(buffer, entity.dateOfBirth());
+    }
+
+    @Override
+    public CustomerEntity decode(ByteBuffer buffer) {
+        return new CustomerEntity(
+                BinaryFormat.getSignedVarInt(buffer),
+                BinaryFormat.getString(buffer),
+                BinaryFormat.getString(buffer),
+                BinaryFormat.getString(buffer),
+                BinaryFormat.getString(buffer),
+                BinaryFormat.getString(buffer)
+        );
+    }
+
+    @Override
+    public int maxEncodedSize(CustomerEntity entity) {
+        return 5
+                + BinaryFormat.maxStringSize(entity.name())
+                + BinaryFormat.maxStringSize(entity.email())
+                + BinaryFormat.maxStringSize(entity.phoneNumber())
+                + BinaryFormat.maxStringSize(entity.address())
+                + BinaryFormat.maxStringSize(entity.dateOfBirth());
+    }
+}
@@ -0,0 +1,55 @@
+package infrastructure.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codec biner untuk satu jenis entity domain.
+ *
+ * <p>Encoding bersifat posisional tanpa header: field ditulis sesuai urutan komponen record
+ * menggunakan primitif {@link BinaryFormat}. Pemanggil bertanggung jawab atas framing
+ * (misalnya prefix panjang per record) dan versi format jika data disimpan lama. Codec tidak
+ * menyimpan state sehingga satu instance dapat dipakai bersama oleh banyak thread, selama
+ * setiap thread memakai buffer sendiri.</p>
+ *
+ * <pre>
+ * ByteBuffer buffer = ByteBuffer.allocate(4096);
+ * EntityCodecs.TRANSACTION.encode(transaction, buffer);
+ * buffer.flip();
+ * TransactionEntity copy = EntityCodecs.TRANSACTION.decode(buffer);
+ * </pre>
+ *
+ * @param <T> tipe entity
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public interface EntityCodec<T> {
+
+    /**
+     * Menulis entity pada posisi buffer saat ini.
+     *
+     * @param entity entity yang di-encode
+     * @param buffer buffer tujuan; posisi maju sebanyak byte yang ditulis
+     * @throws java.nio.BufferOverflowException jika sisa buffer tidak cukup
+     */
+    void encode(T entity, ByteBuffer buffer);
+
+    /**
+     * Membaca entity dari posisi buffer saat ini.
+     *
+     * @param buffer buffer sumber; posisi maju sebanyak byte yang dibaca
+     * @return entity hasil decode
+     * @throws java.nio.BufferUnderflowException jika data terpotong
+     * @throws IllegalArgumentException jika data rusak
+     */
+    T decode(ByteBuffer buffer);
+
+    /**
+     * Menghitung batas atas ukuran entity setelah di-encode, untuk memastikan kapasitas buffer.
+     *
+     * @param entity entity yang akan di-encode
+     * @return ukuran maksimum dalam byte
+     */
+    int maxEncodedSize(T entity);
+}
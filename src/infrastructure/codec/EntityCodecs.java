@@ -0,0 +1,28 @@
+package infrastructure.codec;
+
+import domain.entity.AccountCardEntity;
+import domain.entity.AccountEntity;
+import domain.entity.CardTypeEntity;
+import domain.entity.CustomerEntity;
+import domain.entity.TransactionEntity;
+
+/**
+ * Instance bersama codec biner untuk semua entity domain.
+ *
+ * <p>Codec tidak menyimpan state sehingga cukup satu instance per jenis entity.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class EntityCodecs {
+    public static final EntityCodec<AccountEntity> ACCOUNT = new AccountCodec();
+    public static final EntityCodec<AccountCardEntity> ACCOUNT_CARD = new AccountCardCodec();
+    public static final EntityCodec<CardTypeEntity> CARD_TYPE = new CardTypeCodec();
+    public static final EntityCodec<CustomerEntity> CUSTOMER = new CustomerCodec();
+    public static final EntityCodec<TransactionEntity> TRANSACTION = new TransactionCodec();
+
+    private EntityCodecs() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+}
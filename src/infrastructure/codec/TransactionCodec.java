@@ -0,0 +1,50 @@
+package infrastructure.codec;
+
+import domain.entity.TransactionEntity;
+import domain.value.TransactionType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codec biner untuk {@link TransactionEntity} (transaksi).
+ *
+ * <p>Urutan field: id, accountId, destinationAccountId, amount, transactionType, date, timestamp.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class TransactionCodec implements EntityCodec<TransactionEntity> {
+    private static final TransactionType[] TRANSACTION_TYPE_VALUES = TransactionType.values();
+
+    @Override
+    public void encode(TransactionEntity entity, ByteBuffer buffer) {
+        BinaryFormat.putSignedVarInt(buffer, entity.id());
+        BinaryFormat.putSignedVarInt(buffer, entity.accountId());
+        BinaryFormat.putNullableInt(buffer, entity.destinationAccountId());
+        BinaryFormat.putAmount(buffer, entity.amount());
+        BinaryFormat.putEnum(buffer, entity.transactionType());
+        BinaryFormat.putString(buffer, entity.date());
+        BinaryFormat.putSignedVarLong(buffer, entity.timestamp());
+    }
+
+    @Override
+    public TransactionEntity decode(ByteBuffer buffer) {
+        return new TransactionEntity(
+                BinaryFormat.getSignedVarInt(buffer),
+                BinaryFormat.getSignedVarInt(buffer),
+                BinaryFormat.getNullableInt(buffer),
+                BinaryFormat.getAmount(buffer),
+                BinaryFormat.getEnum(buffer, TRANSACTION_TYPE_VALUES),
+                BinaryFormat.getString(buffer),
+                BinaryFormat.getSignedVarLong(buffer)
+        );
+    }
+
+    @Override
+    public int maxEncodedSize(TransactionEntity entity) {
+        return 35
+                + BinaryFormat.maxAmountSize()
+                + BinaryFormat.maxStringSize(entity.date());
+    }
+}
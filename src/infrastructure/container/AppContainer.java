@@ -4,6 +4,7 @@ package infrastructure.container;
 // PBO[import]: Mengimpor semua class yang diperlukan dari package service dan repository
 import application.service.*;
 import domain.repository.*;
+import infrastructure.metrics.MetricsRegistry;
 
 
 // PBO[interface]: AppContainer adalah interface yang mendefinisikan kontrak untuk menyediakan dependency (Repository dan Service)
@@ -38,4 +39,25 @@ public interface AppContainer {
 
     // PBO[service getter]: Mendapatkan objek LogService
     LogService getLogService();
+
+    // PBO[service getter]: Mendapatkan objek TimeService
+    TimeService getTimeService();
+
+    // PBO[service getter]: Mendapatkan objek StatementService
+    StatementService getStatementService();
+
+    // PBO[service getter]: Mendapatkan objek ReconciliationService
+    ReconciliationService getReconciliationService();
+
+    // PBO[service getter]: Mendapatkan objek InterestAccrualService
+    InterestAccrualService getInterestAccrualService();
+
+    // PBO[service getter]: Mendapatkan penjadwal pekerjaan berkala yang sudah berjalan
+    JobScheduler getJobScheduler();
+
+    // PBO[service getter]: Mendapatkan aliran perubahan data dari semua repository
+    ChangeFeed getChangeFeed();
+
+    // PBO[metrics getter]: Mendapatkan registry metrik latensi dan kode error
+    MetricsRegistry getMetricsRegistry();
 }
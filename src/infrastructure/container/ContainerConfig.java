@@ -0,0 +1,239 @@
+// PBO[package]: Menentukan paket tempat record ini berada
+package infrastructure.container;
+
+import application.service.PinAttemptGuard;
+import application.service.RecentTransactionBuffer;
+import application.service.VelocityRule;
+import infrastructure.changefeed.RingChangeFeed;
+import domain.repository.*;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * PBO[record]: Konfigurasi {@link DefaultAppContainer}: factory tiap repository dan mode inisialisasi.
+ *
+ * <p>Setiap factory menerima container sehingga implementasi repository dapat memakai komponen
+ * lain (misalnya TimeService atau LogService). Factory hanya dipanggil saat repository pertama
+ * kali dibutuhkan, kecuali {@code eager} bernilai true.</p>
+ *
+ * <pre>
+ * ContainerConfig config = ContainerConfig.defaults()
+ *         .withTransactionRepository(RepositoryBackend.IN_MEMORY)
+ *         .withEager(false);
+ * AppContainer container = new DefaultAppContainer(config);
+ * </pre>
+ *
+ * @param accountCardRepository factory AccountCardRepository
+ * @param accountRepository factory AccountRepository
+ * @param cardTypeRepository factory CardTypeRepository
+ * @param customerRepository factory CustomerRepository
+ * @param transactionRepository factory TransactionRepository
+ * @param eager true untuk membuat semua komponen saat container dibuat (perilaku lama)
+ * @param recentTransactionCapacity jumlah transaksi terbaru yang disimpan per rekening untuk mini-statement
+ * @param velocityRules aturan screening fraud velocity transaksi kartu; kosong berarti screening dimatikan
+ * @param maxPinFailures jumlah PIN salah sebelum kartu dikunci sementara; 0 berarti tidak dibatasi
+ * @param accrualCheckpointFile file checkpoint akrual bunga, atau null untuk checkpoint di memori
+ * @param changeFeedCapacity jumlah event perubahan terbaru yang disimpan change feed
+ * @param clock sumber waktu bersama untuk TimeService dan JobScheduler
+ *
+ * @since 1.1
+ * @author
+ *  Gede Dhanu Purnayasa
+ *  Made Marsel Biliana Wijaya
+ */
+public record ContainerConfig(
+        Function<AppContainer, AccountCardRepository> accountCardRepository,
+        Function<AppContainer, AccountRepository> accountRepository,
+        Function<AppContainer, CardTypeRepository> cardTypeRepository,
+        Function<AppContainer, CustomerRepository> customerRepository,
+        Function<AppContainer, TransactionRepository> transactionRepository,
+        boolean eager,
+        int recentTransactionCapacity,
+        List<VelocityRule> velocityRules,
+        int maxPinFailures,
+        Path accrualCheckpointFile,
+        int changeFeedCapacity,
+        Clock clock
+) {
+    // PBO[field-static-final]: Prefix system property untuk memilih backend per repository
+    private static final String BACKEND_PROPERTY = "bankingapp.repository.";
+
+    /**
+     * PBO[method-static]: Konfigurasi bawaan: semua repository in-memory dan inisialisasi lazy.
+     *
+     * @return konfigurasi bawaan
+     */
+    public static ContainerConfig defaults() {
+        RepositoryBackend backend = RepositoryBackend.IN_MEMORY;
+        return new ContainerConfig(
+                backend::createAccountCardRepository,
+                backend::createAccountRepository,
+                backend::createCardTypeRepository,
+                backend::createCustomerRepository,
+                backend::createTransactionRepository,
+                false,
+                RecentTransactionBuffer.DEFAULT_CAPACITY,
+                VelocityRule.defaults(),
+                PinAttemptGuard.DEFAULT_MAX_FAILURES,
+                null,
+                RingChangeFeed.DEFAULT_CAPACITY,
+                Clock.systemUTC()
+        );
+    }
+
+    /**
+     * PBO[method-static]: Konfigurasi dari system property.
+     *
+     * <ul>
+     *   <li>{@code bankingapp.repository.account_card}, {@code .account}, {@code .card_type},
+     *       {@code .customer}, {@code .transaction}: nama {@link RepositoryBackend}</li>
+     *   <li>{@code bankingapp.container.eager}: true untuk inisialisasi eager</li>
+     *   <li>{@code bankingapp.transaction.recent_capacity}: jumlah transaksi terbaru per rekening</li>
+     *   <li>{@code bankingapp.fraud.velocity}: false untuk mematikan screening velocity kartu</li>
+     *   <li>{@code bankingapp.card.max_pin_failures}: jumlah PIN salah sebelum kartu dikunci, 0 untuk tidak dibatasi</li>
+     *   <li>{@code bankingapp.interest.checkpoint_file}: file checkpoint akrual bunga</li>
+     *   <li>{@code bankingapp.changefeed.capacity}: jumlah event perubahan terbaru yang disimpan change feed</li>
+     * </ul>
+     *
+     * @return konfigurasi bawaan yang ditimpa oleh system property yang diisi
+     * @throws IllegalArgumentException jika nama backend tidak dikenal
+     */
+    public static ContainerConfig fromSystemProperties() {
+        ContainerConfig config = defaults()
+                .withEager(Boolean.getBoolean("bankingapp.container.eager"))
+                .withRecentTransactionCapacity(Integer.getInteger("bankingapp.transaction.recent_capacity",
+                        RecentTransactionBuffer.DEFAULT_CAPACITY))
+                .withMaxPinFailures(Integer.getInteger("bankingapp.card.max_pin_failures",
+                        PinAttemptGuard.DEFAULT_MAX_FAILURES))
+                .withChangeFeedCapacity(Integer.getInteger("bankingapp.changefeed.capacity",
+                        RingChangeFeed.DEFAULT_CAPACITY));
+        if ("false".equalsIgnoreCase(System.getProperty("bankingapp.fraud.velocity"))) {
+            config = config.withVelocityRules(List.of());
+        }
+        String checkpointFile = System.getProperty("bankingapp.interest.checkpoint_file");
+        if (checkpointFile != null) {
+            config = config.withAccrualCheckpointFile(Path.of(checkpointFile));
+        }
+        String accountCard = System.getProperty(BACKEND_PROPERTY + "account_card");
+        if (accountCard != null) {
+            config = config.withAccountCardRepository(RepositoryBackend.fromName(accountCard));
+        }
+        String account = System.getProperty(BACKEND_PROPERTY + "account");
+        if (account != null) {
+            config = config.withAccountRepository(RepositoryBackend.fromName(account));
+        }
+        String cardType = System.getProperty(BACKEND_PROPERTY + "card_type");
+        if (cardType != null) {
+            config = config.withCardTypeRepository(RepositoryBackend.fromName(cardType));
+        }
+        String customer = System.getProperty(BACKEND_PROPERTY + "customer");
+        if (customer != null) {
+            config = config.withCustomerRepository(RepositoryBackend.fromName(customer));
+        }
+        String transaction = System.getProperty(BACKEND_PROPERTY + "transaction");
+        if (transaction != null) {
+            config = config.withTransactionRepository(RepositoryBackend.fromName(transaction));
+        }
+        return config;
+    }
+
+    // PBO[method]: Mengganti backend AccountCardRepository
+    public ContainerConfig withAccountCardRepository(RepositoryBackend backend) {
+        return withAccountCardRepository(backend::createAccountCardRepository);
+    }
+
+    // PBO[method]: Mengganti factory AccountCardRepository
+    public ContainerConfig withAccountCardRepository(Function<AppContainer, AccountCardRepository> factory) {
+        return new ContainerConfig(factory, accountRepository, cardTypeRepository, customerRepository, transactionRepository, eager,
+                recentTransactionCapacity, velocityRules, maxPinFailures, accrualCheckpointFile, changeFeedCapacity, clock);
+    }
+
+    // PBO[method]: Mengganti backend AccountRepository
+    public ContainerConfig withAccountRepository(RepositoryBackend backend) {
+        return withAccountRepository(backend::createAccountRepository);
+    }
+
+    // PBO[method]: Mengganti factory AccountRepository
+    public ContainerConfig withAccountRepository(Function<AppContainer, AccountRepository> factory) {
+        return new ContainerConfig(accountCardRepository, factory, cardTypeRepository, customerRepository, transactionRepository, eager,
+                recentTransactionCapacity, velocityRules, maxPinFailures, accrualCheckpointFile, changeFeedCapacity, clock);
+    }
+
+    // PBO[method]: Mengganti backend CardTypeRepository
+    public ContainerConfig withCardTypeRepository(RepositoryBackend backend) {
+        return withCardTypeRepository(backend::createCardTypeRepository);
+    }
+
+    // PBO[method]: Mengganti factory CardTypeRepository
+    public ContainerConfig withCardTypeRepository(Function<AppContainer, CardTypeRepository> factory) {
+        return new ContainerConfig(accountCardRepository, accountRepository, factory, customerRepository, transactionRepository, eager,
+                recentTransactionCapacity, velocityRules, maxPinFailures, accrualCheckpointFile, changeFeedCapacity, clock);
+    }
+
+    // PBO[method]: Mengganti backend CustomerRepository
+    public ContainerConfig withCustomerRepository(RepositoryBackend backend) {
+        return withCustomerRepository(backend::createCustomerRepository);
+    }
+
+    // PBO[method]: Mengganti factory CustomerRepository
+    public ContainerConfig withCustomerRepository(Function<AppContainer, CustomerRepository> factory) {
+        return new ContainerConfig(accountCardRepository, accountRepository, cardTypeRepository, factory, transactionRepository, eager,
+                recentTransactionCapacity, velocityRules, maxPinFailures, accrualCheckpointFile, changeFeedCapacity, clock);
+    }
+
+    // PBO[method]: Mengganti backend TransactionRepository
+    public ContainerConfig withTransactionRepository(RepositoryBackend backend) {
+        return withTransactionRepository(backend::createTransactionRepository);
+    }
+
+    // PBO[method]: Mengganti factory TransactionRepository
+    public ContainerConfig withTransactionRepository(Function<AppContainer, TransactionRepository> factory) {
+        return new ContainerConfig(accountCardRepository, accountRepository, cardTypeRepository, customerRepository, factory, eager,
+                recentTransactionCapacity, velocityRules, maxPinFailures, accrualCheckpointFile, changeFeedCapacity, clock);
+    }
+
+    // PBO[method]: Mengganti mode inisialisasi
+    public ContainerConfig withEager(boolean eager) {
+        return new ContainerConfig(accountCardRepository, accountRepository, cardTypeRepository, customerRepository, transactionRepository, eager,
+                recentTransactionCapacity, velocityRules, maxPinFailures, accrualCheckpointFile, changeFeedCapacity, clock);
+    }
+
+    // PBO[method]: Mengganti jumlah transaksi terbaru yang disimpan per rekening
+    public ContainerConfig withRecentTransactionCapacity(int recentTransactionCapacity) {
+        return new ContainerConfig(accountCardRepository, accountRepository, cardTypeRepository, customerRepository, transactionRepository, eager,
+                recentTransactionCapacity, velocityRules, maxPinFailures, accrualCheckpointFile, changeFeedCapacity, clock);
+    }
+
+    // PBO[method]: Mengganti aturan screening fraud velocity transaksi kartu
+    public ContainerConfig withVelocityRules(List<VelocityRule> velocityRules) {
+        return new ContainerConfig(accountCardRepository, accountRepository, cardTypeRepository, customerRepository, transactionRepository, eager,
+                recentTransactionCapacity, List.copyOf(velocityRules), maxPinFailures, accrualCheckpointFile, changeFeedCapacity, clock);
+    }
+
+    // PBO[method]: Mengganti jumlah PIN salah sebelum kartu dikunci sementara
+    public ContainerConfig withMaxPinFailures(int maxPinFailures) {
+        return new ContainerConfig(accountCardRepository, accountRepository, cardTypeRepository, customerRepository, transactionRepository, eager,
+                recentTransactionCapacity, velocityRules, maxPinFailures, accrualCheckpointFile, changeFeedCapacity, clock);
+    }
+
+    // PBO[method]: Mengganti file checkpoint akrual bunga
+    public ContainerConfig withAccrualCheckpointFile(Path accrualCheckpointFile) {
+        return new ContainerConfig(accountCardRepository, accountRepository, cardTypeRepository, customerRepository, transactionRepository, eager,
+                recentTransactionCapacity, velocityRules, maxPinFailures, accrualCheckpointFile, changeFeedCapacity, clock);
+    }
+
+    // PBO[method]: Mengganti jumlah event perubahan terbaru yang disimpan change feed
+    public ContainerConfig withChangeFeedCapacity(int changeFeedCapacity) {
+        return new ContainerConfig(accountCardRepository, accountRepository, cardTypeRepository, customerRepository, transactionRepository, eager,
+                recentTransactionCapacity, velocityRules, maxPinFailures, accrualCheckpointFile, changeFeedCapacity, clock);
+    }
+
+    // PBO[method]: Mengganti sumber waktu, misalnya ManualClock untuk pengujian
+    public ContainerConfig withClock(Clock clock) {
+        return new ContainerConfig(accountCardRepository, accountRepository, cardTypeRepository, customerRepository, transactionRepository, eager,
+                recentTransactionCapacity, velocityRules, maxPinFailures, accrualCheckpointFile, changeFeedCapacity, clock);
+    }
+}
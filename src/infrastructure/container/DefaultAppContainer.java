@@ -4,100 +4,319 @@ package infrastructure.container;
 // PBO[import]: Mengimpor class yang diperlukan dari package service, repository, dan implementasi infrastructure
 import application.service.*;
 import domain.repository.*;
-import infrastructure.repository.*;
+import infrastructure.analytics.ColumnarTransactionRepository;
+import infrastructure.analytics.TransactionColumnStore;
+import infrastructure.changefeed.*;
+import infrastructure.metrics.*;
 import infrastructure.service.CliLogService;
+import infrastructure.service.FileAccrualCheckpointStore;
+import infrastructure.service.InMemoryAccrualCheckpointStore;
+import infrastructure.service.TimingWheelScheduler;
+import infrastructure.service.WitaTimeService;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 // PBO[class]: DefaultAppContainer adalah implementasi konkrit dari interface AppContainer
+// Setiap komponen dibuat secara lazy dan thread-safe saat getter-nya pertama kali dipanggil,
+// sehingga proses yang hanya butuh satu service tidak membayar biaya startup seluruh aplikasi.
 public class DefaultAppContainer implements AppContainer {
+    // PBO[field]: Konfigurasi backend repository dan mode inisialisasi
+    private final ContainerConfig config;
+    // PBO[field]: Catatan waktu pembuatan setiap komponen
+    private final StartupTimings startupTimings = new StartupTimings();
+
     // PBO[field]: Dependency repository yang disediakan oleh container
-    private final AccountCardRepository accountCardRepository;
-    private final AccountRepository accountRepository;
-    private final CardTypeRepository cardTypeRepository;
-    private final CustomerRepository customerRepository;
-    private final TransactionRepository transactionRepository;
+    private final Lazy<AccountCardRepository> accountCardRepository;
+    private final Lazy<AccountRepository> accountRepository;
+    private final Lazy<CardTypeRepository> cardTypeRepository;
+    private final Lazy<CustomerRepository> customerRepository;
+    private final Lazy<TransactionRepository> transactionRepository;
+    private final Lazy<ColumnarTransactionRepository> columnarTransactionRepository;
 
     // PBO[field]: Dependency service yang disediakan oleh container
-    private final AccountService accountService;
-    private final CardTypeService cardTypeService;
-    private final CustomerService customerService;
-    private final TransactionService transactionService;
-    private final LogService logService;
+    private final Lazy<AccountService> accountService;
+    private final Lazy<CardTypeService> cardTypeService;
+    private final Lazy<CustomerService> customerService;
+    private final Lazy<TransactionService> transactionService;
+    private final Lazy<LogService> logService;
+    private final Lazy<TimeService> timeService;
+    private final Lazy<StatementService> statementService;
+    private final Lazy<ReconciliationService> reconciliationService;
+    private final Lazy<InterestAccrualService> interestAccrualService;
+    private final Lazy<PinAttemptGuard> pinAttemptGuard;
+    private final Lazy<TimingWheelScheduler> jobScheduler;
+    private final Lazy<RingChangeFeed> changeFeed;
+    // PBO[field]: Saldo awal hari untuk rekonsiliasi; dicatat tanpa membuat ReconciliationService
+    private final OpeningBalances openingBalances = new OpeningBalances();
+
+    // PBO[field]: Registry metrik yang diisi oleh decorator repository dan service
+    private final Lazy<MetricsRegistry> metricsRegistry;
 
-    // PBO[constructor]: Menginisialisasi semua repository dan service yang digunakan aplikasi
+    // PBO[constructor]: Membuat container dengan konfigurasi dari system property
     public DefaultAppContainer() {
-        // PBO[repository instance]: Menggunakan implementasi in-memory untuk repository
-        accountCardRepository = new InMemoryAccountCardRepository();
-        accountRepository = new InMemoryAccountRepository();
-        cardTypeRepository = new InMemoryCardTypeRepository();
-        customerRepository = new InMemoryCustomerRepository();
-        transactionRepository = new InMemoryTransactionRepository();
+        this(ContainerConfig.fromSystemProperties());
+    }
+
+    // PBO[constructor]: Mendaftarkan factory setiap komponen; komponen baru dibuat saat dibutuhkan
+    // Lambda factory menangkap this, tetapi baru dipanggil setelah semua field Lazy terisi
+    @SuppressWarnings("this-escape")
+    public DefaultAppContainer(ContainerConfig config) {
+        this.config = config;
+
+        metricsRegistry = lazy("MetricsRegistry", MetricsRegistry::new);
+
+        // Semua repository mencatat perubahan data ke satu change feed untuk konsumen hilir
+        changeFeed = lazy("ChangeFeed", () -> {
+            RingChangeFeed feed = new RingChangeFeed(config.changeFeedCapacity());
+            getMetricsRegistry().gauge("changefeed.head_sequence", feed::headSequence);
+            getMetricsRegistry().gauge("changefeed.max_lag", feed::maxLag);
+            getMetricsRegistry().gauge("changefeed.slow_subscribers", feed::slowSubscriptionCount);
+            return feed;
+        });
+
+        // PBO[repository instance]: Backend dipilih lewat ContainerConfig lalu dibungkus decorator change feed dan metrik
+        accountCardRepository = lazy("AccountCardRepository", () -> {
+            AccountCardRepository storage = config.accountCardRepository().apply(this);
+            getMetricsRegistry().gauge("repository.rows.account_card", storage::count);
+            return new MeteredAccountCardRepository(new PublishingAccountCardRepository(storage, getChangeFeed()),
+                    getMetricsRegistry());
+        });
+        accountRepository = lazy("AccountRepository", () -> {
+            AccountRepository storage = config.accountRepository().apply(this);
+            getMetricsRegistry().gauge("repository.rows.account", storage::count);
+            AccountRepository repository = new MeteredAccountRepository(new PublishingAccountRepository(storage, getChangeFeed()),
+                    getMetricsRegistry());
+            // Belum ada transaksi yang dapat mengubah saldo sebelum repository rekening dibuat
+            recordOpeningBalances(getTimeService().today(), repository);
+            return repository;
+        });
+        cardTypeRepository = lazy("CardTypeRepository", () -> {
+            CardTypeRepository storage = config.cardTypeRepository().apply(this);
+            getMetricsRegistry().gauge("repository.rows.card_type", storage::count);
+            return new MeteredCardTypeRepository(new PublishingCardTypeRepository(storage, getChangeFeed()),
+                    getMetricsRegistry());
+        });
+        customerRepository = lazy("CustomerRepository", () -> {
+            CustomerRepository storage = config.customerRepository().apply(this);
+            getMetricsRegistry().gauge("repository.rows.customer", storage::count);
+            return new MeteredCustomerRepository(new PublishingCustomerRepository(storage, getChangeFeed()),
+                    getMetricsRegistry());
+        });
+        // Salinan kolumnar untuk laporan manajemen ikut diperbarui setiap transaksi disimpan
+        columnarTransactionRepository = lazy("ColumnarTransactionRepository", () -> {
+            TransactionRepository storage = config.transactionRepository().apply(this);
+            getMetricsRegistry().gauge("repository.rows.transaction", storage::count);
+            return new ColumnarTransactionRepository(storage);
+        });
+        transactionRepository = lazy("TransactionRepository", () -> new MeteredTransactionRepository(
+                new PublishingTransactionRepository(columnarTransactionRepository.get(), getChangeFeed()),
+                getMetricsRegistry()));
+
+        // PBO[service instance]: Service dibuat dengan dependency yang juga diambil secara lazy
+        logService = lazy("LogService", CliLogService::new);
+        // Service waktu dan scheduler memakai clock yang sama agar tanggal bisnis dan jadwal job selaras
+        timeService = lazy("TimeService", () -> {
+            WitaTimeService time = new WitaTimeService(config.clock());
+            // Saldo awal hari baru hanya dicatat jika repository rekening sudah dibuat
+            time.addDateRolloverListener((previousDate, currentDate) -> {
+                AccountRepository accounts = accountRepository.getIfCreated();
+                if (accounts != null) {
+                    recordOpeningBalances(currentDate, accounts);
+                }
+            });
+            return time;
+        });
+        // Satu pembatas PIN dipakai bersama agar PIN salah di semua service dihitung ke kartu yang sama;
+        // ukuran awal tabelnya mengikuti jumlah kartu yang sudah tersimpan
+        pinAttemptGuard = lazy("PinAttemptGuard", () -> new PinAttemptGuard(getTimeService(), config.maxPinFailures(),
+                PinAttemptGuard.DEFAULT_DECAY_SECONDS, PinAttemptGuard.DEFAULT_LOCKOUT_SECONDS,
+                PinAttemptGuard.capacityFor(getAccountCardRepository().count())));
+        accountService = lazy("AccountService", () -> new MeteredAccountService(
+                getAccountRepository(), getCardTypeRepository(), getAccountCardRepository(), getPinAttemptGuard(),
+                getMetricsRegistry()));
+        cardTypeService = lazy("CardTypeService", () -> new CardTypeService(getCardTypeRepository()));
+        customerService = lazy("CustomerService", () -> new CustomerService(getCustomerRepository()));
+        transactionService = lazy("TransactionService", () -> new MeteredTransactionService(
+                getAccountRepository(), getAccountCardRepository(), getCardTypeRepository(), getTransactionRepository(),
+                getTimeService(), new RecentTransactionBuffer(config.recentTransactionCapacity()),
+                new CardVelocityScreen(config.velocityRules()), getPinAttemptGuard(), getMetricsRegistry()));
+        statementService = lazy("StatementService", () -> new StatementService(getAccountRepository(), getTransactionRepository()));
+        // Saldo awal hari sudah dicatat container, sehingga service ini boleh dibuat saat pertama dibutuhkan
+        reconciliationService = lazy("ReconciliationService", () -> new ReconciliationService(
+                getAccountRepository(), getTransactionRepository(), openingBalances, ForkJoinPool.commonPool()));
+
+        interestAccrualService = lazy("InterestAccrualService", () -> new InterestAccrualService(
+                getAccountRepository(), getTransactionRepository(), getTimeService(),
+                config.accrualCheckpointFile() != null
+                        ? new FileAccrualCheckpointStore(config.accrualCheckpointFile())
+                        : new InMemoryAccrualCheckpointStore()));
+
+        // Tidak ikut mode eager agar thread driver dan worker hanya berjalan jika ada pekerjaan terjadwal
+        jobScheduler = lazy("JobScheduler", () -> {
+            TimingWheelScheduler scheduler = new TimingWheelScheduler(config.clock(), getLogService());
+            getMetricsRegistry().gauge("scheduler.pending", scheduler::pendingCount);
+            getMetricsRegistry().gauge("scheduler.lateness_p99_ms",
+                    () -> scheduler.latenessSnapshot().p99Nanos() / 1_000_000);
+            scheduler.start();
+            return scheduler;
+        });
 
-        // PBO[service instance]: Menginisialisasi service dengan dependency yang sesuai
-        logService = new CliLogService();
-        accountService = new AccountService(accountRepository, cardTypeRepository, accountCardRepository);
-        cardTypeService = new CardTypeService(cardTypeRepository);
-        customerService = new CustomerService(customerRepository);
-        transactionService = new TransactionService(accountRepository, accountCardRepository, cardTypeRepository, transactionRepository);
+        if (config.eager()) {
+            for (Lazy<?> component : List.of(metricsRegistry, changeFeed, accountCardRepository, accountRepository, cardTypeRepository,
+                    customerRepository, columnarTransactionRepository, transactionRepository, logService, timeService, accountService, cardTypeService,
+                    customerService, transactionService, statementService, reconciliationService, interestAccrualService)) {
+                component.get();
+            }
+        }
     }
 
+    // PBO[method]: Membuat komponen lazy yang waktu pembuatannya dicatat
+    private <T> Lazy<T> lazy(String name, Supplier<? extends T> factory) {
+        return new Lazy<>(name, factory, startupTimings);
+    }
+
+    // PBO[method]: Mencatat saldo awal beserta ID transaksi pertama jika repository transaksi sudah dibuat
+    private void recordOpeningBalances(String date, AccountRepository accounts) {
+        openingBalances.record(date, accounts, transactionRepository.getIfCreated());
+    }
+
+    /**
+     * PBO[method]: Mengambil konfigurasi yang dipakai container ini.
+     *
+     * @return konfigurasi container
+     */
+    public ContainerConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * PBO[method]: Mengambil catatan waktu pembuatan komponen yang sudah dibuat.
+     *
+     * @return waktu startup per komponen
+     */
+    public StartupTimings getStartupTimings() {
+        return startupTimings;
+    }
 
     // PBO[override]: Mengimplementasikan kontrak AppContainer — menyediakan AccountCardRepository (dikembalikan sebagai interface untuk loose coupling).
     @Override
     public AccountCardRepository getAccountCardRepository() {
-        return accountCardRepository;
+        return accountCardRepository.get();
     }
 
     // PBO[override]: Mengimplementasikan kontrak AppContainer — menyediakan AccountRepository (abstraksi untuk operasi akun).
     @Override
     public AccountRepository getAccountRepository() {
-        return accountRepository;
+        return accountRepository.get();
     }
 
     // PBO[override]: Mengimplementasikan kontrak AppContainer — menyediakan CardTypeRepository.
     @Override
     public CardTypeRepository getCardTypeRepository() {
-        return cardTypeRepository;
+        return cardTypeRepository.get();
     }
 
     // PBO[override]: Mengimplementasikan kontrak AppContainer — menyediakan CustomerRepository.
     @Override
     public CustomerRepository getCustomerRepository() {
-        return customerRepository;
+        return customerRepository.get();
     }
 
     // PBO[override]: Mengimplementasikan kontrak AppContainer — menyediakan TransactionRepository.
     @Override
     public TransactionRepository getTransactionRepository() {
-        return transactionRepository;
+        return transactionRepository.get();
+    }
+
+    /**
+     * PBO[method]: Mengambil salinan kolumnar transaksi untuk laporan manajemen.
+     *
+     * @return salinan kolumnar yang mencakup semua transaksi yang sudah disimpan
+     */
+    public TransactionColumnStore getTransactionColumnStore() {
+        return columnarTransactionRepository.get().columns();
+    }
+
+    /**
+     * PBO[method]: Mengambil pembatas percobaan PIN yang dipakai bersama oleh AccountService dan TransactionService.
+     *
+     * @return pembatas percobaan PIN, atau null jika {@link ContainerConfig#maxPinFailures()} bernilai 0
+     */
+    public PinAttemptGuard getPinAttemptGuard() {
+        return config.maxPinFailures() > 0 ? pinAttemptGuard.get() : null;
     }
 
     // PBO[override]: Mengimplementasikan kontrak AppContainer — menyediakan AccountService.
     @Override
     public AccountService getAccountService() {
-        return accountService;
+        return accountService.get();
     }
 
     // PBO[override]: Mengimplementasikan kontrak AppContainer — menyediakan CardTypeService.
     @Override
     public CardTypeService getCardTypeService() {
-        return cardTypeService;
+        return cardTypeService.get();
     }
 
     // PBO[override]: Mengimplementasikan kontrak AppContainer — menyediakan CustomerService.
     @Override
     public CustomerService getCustomerService() {
-        return customerService;
+        return customerService.get();
     }
 
     // PBO[override]: Mengimplementasikan kontrak AppContainer — menyediakan TransactionService.
     @Override
     public TransactionService getTransactionService() {
-        return transactionService;
+        return transactionService.get();
     }
 
     // PBO[override]: Mengimplementasikan kontrak AppContainer — menyediakan LogService.
     @Override
     public LogService getLogService() {
-        return logService;
+        return logService.get();
+    }
+
+    // PBO[override]: Mengimplementasikan kontrak AppContainer — menyediakan TimeService.
+    @Override
+    public TimeService getTimeService() {
+        return timeService.get();
+    }
+
+    // PBO[override]: Mengimplementasikan kontrak AppContainer — menyediakan StatementService.
+    @Override
+    public StatementService getStatementService() {
+        return statementService.get();
+    }
+
+    // PBO[override]: Mengimplementasikan kontrak AppContainer — menyediakan ReconciliationService.
+    @Override
+    public ReconciliationService getReconciliationService() {
+        return reconciliationService.get();
+    }
+
+    // PBO[override]: Mengimplementasikan kontrak AppContainer — menyediakan InterestAccrualService.
+    @Override
+    public InterestAccrualService getInterestAccrualService() {
+        return interestAccrualService.get();
+    }
+
+    // PBO[override]: Mengimplementasikan kontrak AppContainer — menyediakan JobScheduler.
+    @Override
+    public JobScheduler getJobScheduler() {
+        return jobScheduler.get();
+    }
+
+    // PBO[override]: Mengimplementasikan kontrak AppContainer — menyediakan ChangeFeed.
+    @Override
+    public ChangeFeed getChangeFeed() {
+        return changeFeed.get();
+    }
+
+    // PBO[override]: Mengimplementasikan kontrak AppContainer — menyediakan MetricsRegistry.
+    @Override
+    public MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry.get();
     }
 }
@@ -0,0 +1,66 @@
+// PBO[package]: Menentukan paket tempat class ini berada
+package infrastructure.container;
+
+import java.util.function.Supplier;
+
+/**
+ * PBO[class]: Supplier yang membuat nilainya sekali saja, pada pemanggilan {@link #get()} pertama.
+ *
+ * <p>Memakai double-checked locking di atas field volatile: setelah nilai dibuat, setiap
+ * {@code get()} hanya membaca satu field volatile tanpa lock. Waktu pembuatan dilaporkan ke
+ * {@link StartupTimings} agar biaya startup tiap komponen dapat dibandingkan.</p>
+ *
+ * @param <T> tipe komponen
+ *
+ * @since 1.1
+ * @author
+ *  Gede Dhanu Purnayasa
+ *  Made Marsel Biliana Wijaya
+ */
+final class Lazy<T> implements Supplier<T> {
+    // PBO[field]: Nama komponen untuk laporan waktu startup
+    private final String name;
+    // PBO[field]: Pembuat komponen; hanya dipanggil sekali
+    private final Supplier<? extends T> factory;
+    // PBO[field]: Tujuan pencatatan waktu pembuatan
+    private final StartupTimings timings;
+    // PBO[field]: Komponen yang sudah dibuat, atau null jika belum
+    private volatile T value;
+
+    Lazy(String name, Supplier<? extends T> factory, StartupTimings timings) {
+        this.name = name;
+        this.factory = factory;
+        this.timings = timings;
+    }
+
+    /**
+     * PBO[method]: Mengambil komponen, membuatnya terlebih dahulu jika belum ada.
+     *
+     * @return komponen yang sama untuk setiap pemanggilan
+     */
+    @Override
+    public T get() {
+        T result = value;
+        if (result == null) {
+            synchronized (this) {
+                result = value;
+                if (result == null) {
+                    long start = System.nanoTime();
+                    result = factory.get();
+                    timings.record(name, System.nanoTime() - start);
+                    value = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * PBO[method]: Mengambil komponen tanpa membuatnya.
+     *
+     * @return komponen, atau null jika belum dibuat
+     */
+    T getIfCreated() {
+        return value;
+    }
+}
@@ -0,0 +1,84 @@
+// PBO[package]: Menentukan paket tempat enum ini berada
+package infrastructure.container;
+
+import domain.repository.*;
+import infrastructure.repository.*;
+
+import java.util.Locale;
+
+/**
+ * PBO[enum]: Pilihan implementasi storage untuk repository yang dibuat oleh {@link DefaultAppContainer}.
+ *
+ * <p>Backend dipilih per repository melalui {@link ContainerConfig}, misalnya dengan system
+ * property {@code -Dbankingapp.repository.transaction=in-memory}. Nama backend pada
+ * konfigurasi boleh ditulis {@code in-memory} maupun {@code IN_MEMORY}.</p>
+ *
+ * <p>Backend {@link #EVENT_SOURCED} hanya berbeda untuk repository rekening: saldo tidak disimpan
+ * melainkan diproyeksikan dari transaksi di {@link AppContainer#getTransactionRepository()}, misalnya
+ * dengan {@code -Dbankingapp.repository.account=event-sourced}.</p>
+ *
+ * @since 1.1
+ * @author
+ *  Gede Dhanu Purnayasa
+ *  Made Marsel Biliana Wijaya
+ */
+public enum RepositoryBackend {
+    // PBO[enum constant]: Storage in-memory berbasis EntityTable (snapshot isolation, tanpa persistensi)
+    IN_MEMORY,
+    // PBO[enum constant]: Saldo rekening diproyeksikan dari log transaksi; repository lain sama dengan IN_MEMORY
+    EVENT_SOURCED;
+
+    /**
+     * PBO[method-static]: Mencari backend berdasarkan nama konfigurasi.
+     *
+     * @param name nama backend, misalnya {@code in-memory}
+     * @return backend yang sesuai
+     * @throws IllegalArgumentException jika nama backend tidak dikenal
+     */
+    public static RepositoryBackend fromName(String name) {
+        String normalized = name.trim().replace('-', '_').toUpperCase(Locale.ROOT);
+        for (RepositoryBackend backend : values()) {
+            if (backend.name().equals(normalized)) {
+                return backend;
+            }
+        }
+        throw new IllegalArgumentException("Backend repository tidak dikenal: " + name);
+    }
+
+    // PBO[method]: Membuat AccountCardRepository untuk backend ini
+    AccountCardRepository createAccountCardRepository(AppContainer container) {
+        return switch (this) {
+            case IN_MEMORY, EVENT_SOURCED -> new InMemoryAccountCardRepository();
+        };
+    }
+
+    // PBO[method]: Membuat AccountRepository untuk backend ini
+    AccountRepository createAccountRepository(AppContainer container) {
+        return switch (this) {
+            case IN_MEMORY -> new InMemoryAccountRepository();
+            case EVENT_SOURCED -> new EventSourcedAccountRepository(container.getTransactionRepository(),
+                    container.getTimeService());
+        };
+    }
+
+    // PBO[method]: Membuat CardTypeRepository untuk backend ini
+    CardTypeRepository createCardTypeRepository(AppContainer container) {
+        return switch (this) {
+            case IN_MEMORY, EVENT_SOURCED -> new InMemoryCardTypeRepository();
+        };
+    }
+
+    // PBO[method]: Membuat CustomerRepository untuk backend ini
+    CustomerRepository createCustomerRepository(AppContainer container) {
+        return switch (this) {
+            case IN_MEMORY, EVENT_SOURCED -> new InMemoryCustomerRepository();
+        };
+    }
+
+    // PBO[method]: Membuat TransactionRepository untuk backend ini
+    TransactionRepository createTransactionRepository(AppContainer container) {
+        return switch (this) {
+            case IN_MEMORY, EVENT_SOURCED -> new InMemoryTransactionRepository();
+        };
+    }
+}
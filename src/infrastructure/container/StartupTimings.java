@@ -0,0 +1,55 @@
+// PBO[package]: Menentukan paket tempat class ini berada
+package infrastructure.container;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * PBO[class]: Catatan waktu pembuatan setiap komponen container, berurutan sesuai urutan pembuatan.
+ *
+ * <p>Waktu yang dicatat bersifat inklusif: jika TransactionService memicu pembuatan
+ * repository, waktu repository tersebut juga termasuk dalam waktu TransactionService.</p>
+ *
+ * @since 1.1
+ * @author
+ *  Gede Dhanu Purnayasa
+ *  Made Marsel Biliana Wijaya
+ */
+public final class StartupTimings {
+    // PBO[field]: Waktu pembuatan per komponen dalam nanodetik, berurutan sesuai urutan selesai dibuat
+    private final Map<String, Long> nanosByComponent = new LinkedHashMap<>();
+
+    // PBO[method]: Mencatat waktu pembuatan satu komponen
+    synchronized void record(String component, long nanos) {
+        nanosByComponent.put(component, nanos);
+    }
+
+    /**
+     * PBO[method]: Mengambil salinan waktu pembuatan setiap komponen yang sudah dibuat.
+     *
+     * @return map nama komponen ke durasi pembuatan, berurutan sesuai urutan selesai dibuat
+     */
+    public synchronized Map<String, Duration> snapshot() {
+        Map<String, Duration> copy = new LinkedHashMap<>();
+        nanosByComponent.forEach((component, nanos) -> copy.put(component, Duration.ofNanos(nanos)));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * PBO[method]: Menyusun laporan waktu startup dalam beberapa baris teks.
+     *
+     * @return satu baris per komponen dalam format {@code nama: x.xxx ms}
+     */
+    public synchronized String format() {
+        StringBuilder builder = new StringBuilder();
+        nanosByComponent.forEach((component, nanos) -> {
+            if (!builder.isEmpty()) {
+                builder.append('\n');
+            }
+            builder.append(component).append(": ").append(String.format("%.3f ms", nanos / 1_000_000.0));
+        });
+        return builder.toString();
+    }
+}
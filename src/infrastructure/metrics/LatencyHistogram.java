@@ -0,0 +1,133 @@
+package infrastructure.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram latensi lock-free dengan bucket log-linear (gaya HDR histogram).
+ *
+ * <p>Setiap pangkat dua dibagi menjadi {@value #SUB_BUCKETS} sub-bucket linear, sehingga
+ * galat relatif nilai persentil paling besar 12,5% pada rentang nanodetik hingga menit
+ * dengan hanya {@value #BUCKET_COUNT} counter. Pencatatan hanya berupa perhitungan indeks
+ * dengan operasi bit dan satu increment atomik, tanpa lock maupun alokasi.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Mencatat satu sampel latensi.
+     *
+     * @param nanos durasi dalam nanodetik; nilai negatif dianggap nol
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0L);
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    /**
+     * Mengambil ringkasan histogram saat ini.
+     *
+     * <p>Counter dibaca satu per satu tanpa menghentikan pencatatan, sehingga ringkasan
+     * dapat sedikit tertinggal dari sampel yang sedang dicatat bersamaan.</p>
+     *
+     * @return ringkasan jumlah sampel, rata-rata, persentil, dan nilai maksimum
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        long max = maxNanos.get();
+        long sum = totalNanos.sum();
+        long mean = count == 0 ? 0 : sum / Math.max(totalCount.sum(), 1);
+        return new Snapshot(
+                count,
+                sum,
+                mean,
+                percentile(copy, count, 0.50, max),
+                percentile(copy, count, 0.90, max),
+                percentile(copy, count, 0.99, max),
+                percentile(copy, count, 0.999, max),
+                max
+        );
+    }
+
+    /**
+     * Menghitung indeks bucket untuk sebuah nilai.
+     *
+     * @param value nilai non-negatif
+     * @return indeks bucket
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int mantissa = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + mantissa;
+    }
+
+    /**
+     * Menghitung batas atas (inklusif) nilai yang masuk ke sebuah bucket.
+     *
+     * @param index indeks bucket
+     * @return nilai terbesar dalam bucket
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long mantissa = SUB_BUCKETS + (index % SUB_BUCKETS);
+        long lower = mantissa << (exponent - SUB_BUCKET_BITS);
+        return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    private static long percentile(long[] counts, long total, double quantile, long max) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Ringkasan histogram pada satu titik waktu. Semua nilai dalam nanodetik.
+     *
+     * @param count jumlah sampel
+     * @param sumNanos total latensi seluruh sampel
+     * @param meanNanos rata-rata latensi
+     * @param p50Nanos persentil ke-50
+     * @param p90Nanos persentil ke-90
+     * @param p99Nanos persentil ke-99
+     * @param p999Nanos persentil ke-99,9
+     * @param maxNanos latensi terbesar
+     */
+    public record Snapshot(long count, long sumNanos, long meanNanos, long p50Nanos, long p90Nanos, long p99Nanos,
+                           long p999Nanos, long maxNanos) {
+    }
+}
@@ -0,0 +1,136 @@
+package infrastructure.metrics;
+
+import domain.entity.AccountCardEntity;
+import domain.repository.AccountCardRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Decorator AccountCardRepository yang mencatat latensi setiap operasi ke {@link MetricsRegistry}.
+ *
+ * <p>Untuk method yang mengembalikan stream atau cursor, yang diukur hanya pembuatan
+ * stream/cursor-nya, bukan waktu membaca seluruh data kartu rekening.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class MeteredAccountCardRepository implements AccountCardRepository {
+    private final AccountCardRepository delegate;
+    private final OperationMetrics findById;
+    private final OperationMetrics findByAccountId;
+    private final OperationMetrics findByCardNumber;
+    private final OperationMetrics findAll;
+    private final OperationMetrics scan;
+    private final OperationMetrics save;
+    private final OperationMetrics update;
+    private final OperationMetrics deleteById;
+
+    /**
+     * Konstruktor untuk MeteredAccountCardRepository.
+     *
+     * @param delegate repository yang dibungkus
+     * @param registry registry tujuan pencatatan metrik
+     */
+    public MeteredAccountCardRepository(AccountCardRepository delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        String prefix = "AccountCardRepository.";
+        this.findById = registry.operation(prefix + "findById");
+        this.findByAccountId = registry.operation(prefix + "findByAccountId");
+        this.findByCardNumber = registry.operation(prefix + "findByCardNumber");
+        this.findAll = registry.operation(prefix + "findAll");
+        this.scan = registry.operation(prefix + "scan");
+        this.save = registry.operation(prefix + "save");
+        this.update = registry.operation(prefix + "update");
+        this.deleteById = registry.operation(prefix + "deleteById");
+    }
+
+    @Override
+    public Optional<AccountCardEntity> findById(int id) {
+        long start = findById.start();
+        try {
+            return delegate.findById(id);
+        } finally {
+            findById.stop(start);
+        }
+    }
+
+    @Override
+    public Optional<AccountCardEntity> findByAccountId(int accountId) {
+        long start = findByAccountId.start();
+        try {
+            return delegate.findByAccountId(accountId);
+        } finally {
+            findByAccountId.stop(start);
+        }
+    }
+
+    @Override
+    public Optional<AccountCardEntity> findByCardNumber(String cardNumber) {
+        long start = findByCardNumber.start();
+        try {
+            return delegate.findByCardNumber(cardNumber);
+        } finally {
+            findByCardNumber.stop(start);
+        }
+    }
+
+    @Override
+    public List<AccountCardEntity> findAll() {
+        long start = findAll.start();
+        try {
+            return delegate.findAll();
+        } finally {
+            findAll.stop(start);
+        }
+    }
+
+    @Override
+    public Stream<AccountCardEntity> scan(Predicate<? super AccountCardEntity> filter) {
+        long start = scan.start();
+        try {
+            return delegate.scan(filter);
+        } finally {
+            scan.stop(start);
+        }
+    }
+
+    // Tidak diukur: dipanggil oleh gauge jumlah baris pada setiap scrape
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public AccountCardEntity save(AccountCardEntity account) {
+        long start = save.start();
+        try {
+            return delegate.save(account);
+        } finally {
+            save.stop(start);
+        }
+    }
+
+    @Override
+    public AccountCardEntity update(AccountCardEntity account) {
+        long start = update.start();
+        try {
+            return delegate.update(account);
+        } finally {
+            update.stop(start);
+        }
+    }
+
+    @Override
+    public boolean deleteById(int id) {
+        long start = deleteById.start();
+        try {
+            return delegate.deleteById(id);
+        } finally {
+            deleteById.stop(start);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package infrastructure.metrics;
+
+import domain.entity.AccountEntity;
+import domain.repository.AccountRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Decorator AccountRepository yang mencatat latensi setiap operasi ke {@link MetricsRegistry}.
+ *
+ * <p>Untuk method yang mengembalikan stream atau cursor, yang diukur hanya pembuatan
+ * stream/cursor-nya, bukan waktu membaca seluruh data rekening.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class MeteredAccountRepository implements AccountRepository {
+    private final AccountRepository delegate;
+    private final MetricsRegistry registry;
+    private final OperationMetrics findById;
+    private final OperationMetrics findByCustomerId;
+    private final OperationMetrics findByAccountNumber;
+    private final OperationMetrics findAll;
+    private final OperationMetrics scan;
+    private final OperationMetrics save;
+    private final OperationMetrics update;
+    private final OperationMetrics deleteById;
+
+    /**
+     * Konstruktor untuk MeteredAccountRepository.
+     *
+     * @param delegate repository yang dibungkus
+     * @param registry registry tujuan pencatatan metrik
+     */
+    public MeteredAccountRepository(AccountRepository delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+        String prefix = "AccountRepository.";
+        this.findById = registry.operation(prefix + "findById");
+        this.findByCustomerId = registry.operation(prefix + "findByCustomerId");
+        this.findByAccountNumber = registry.operation(prefix + "findByAccountNumber");
+        this.findAll = registry.operation(prefix + "findAll");
+        this.scan = registry.operation(prefix + "scan");
+        this.save = registry.operation(prefix + "save");
+        this.update = registry.operation(prefix + "update");
+        this.deleteById = registry.operation(prefix + "deleteById");
+    }
+
+    @Override
+    public Optional<AccountEntity> findById(int id) {
+        long start = findById.start();
+        try {
+            return delegate.findById(id);
+        } finally {
+            findById.stop(start);
+        }
+    }
+
+    @Override
+    public Optional<AccountEntity> findByCustomerId(int customerId) {
+        long start = findByCustomerId.start();
+        try {
+            return delegate.findByCustomerId(customerId);
+        } finally {
+            findByCustomerId.stop(start);
+        }
+    }
+
+    @Override
+    public Optional<AccountEntity> findByAccountNumber(String accountNumber) {
+        long start = findByAccountNumber.start();
+        try {
+            return delegate.findByAccountNumber(accountNumber);
+        } finally {
+            findByAccountNumber.stop(start);
+        }
+    }
+
+    @Override
+    public List<AccountEntity> findAll() {
+        long start = findAll.start();
+        try {
+            return delegate.findAll();
+        } finally {
+            findAll.stop(start);
+        }
+    }
+
+    @Override
+    public Stream<AccountEntity> scan(Predicate<? super AccountEntity> filter) {
+        long start = scan.start();
+        try {
+            return delegate.scan(filter);
+        } finally {
+            scan.stop(start);
+        }
+    }
+
+    // Tidak diukur: dipanggil oleh gauge jumlah baris pada setiap scrape
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public AccountEntity save(AccountEntity account) {
+        long start = save.start();
+        try {
+            return delegate.save(account);
+        } finally {
+            save.stop(start);
+        }
+    }
+
+    @Override
+    public AccountEntity update(AccountEntity account) {
+        long start = update.start();
+        try {
+            return delegate.update(account);
+        } finally {
+            update.stop(start);
+        }
+    }
+
+    @Override
+    public boolean deleteById(int id) {
+        long start = deleteById.start();
+        try {
+            return delegate.deleteById(id);
+        } finally {
+            deleteById.stop(start);
+        }
+    }
+
+    @Override
+    public AccountRepository snapshot() {
+        return new MeteredAccountRepository(delegate.snapshot(), registry);
+    }
+}
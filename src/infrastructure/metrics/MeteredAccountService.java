@@ -0,0 +1,101 @@
+package infrastructure.metrics;
+
+import application.dto.AssignCardDto;
+import application.dto.CreateAccountDto;
+import application.service.AccountService;
+import application.service.PinAttemptGuard;
+import domain.entity.AccountCardEntity;
+import domain.entity.AccountEntity;
+import domain.repository.AccountCardRepository;
+import domain.repository.AccountRepository;
+import domain.repository.CardTypeRepository;
+
+/**
+ * AccountService yang mencatat latensi, kegagalan, dan kode error setiap operasi.
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class MeteredAccountService extends AccountService {
+    private final MetricsRegistry registry;
+    private final OperationMetrics createAccount;
+    private final OperationMetrics reloadAccount;
+    private final OperationMetrics updatePin;
+    private final OperationMetrics assignCard;
+
+    /**
+     * Konstruktor untuk MeteredAccountService.
+     *
+     * @param accountRepository repository untuk mengakses data rekening
+     * @param cardTypeRepository repository untuk mengakses data tipe kartu
+     * @param accountCardRepository repository untuk mengakses data kartu rekening
+     * @param pinAttemptGuard pembatas percobaan PIN salah per kartu, atau null jika tidak dibatasi
+     * @param registry registry tujuan pencatatan metrik
+     */
+    public MeteredAccountService(AccountRepository accountRepository, CardTypeRepository cardTypeRepository,
+                                 AccountCardRepository accountCardRepository, PinAttemptGuard pinAttemptGuard,
+                                 MetricsRegistry registry) {
+        super(accountRepository, cardTypeRepository, accountCardRepository, pinAttemptGuard);
+        this.registry = registry;
+        String prefix = "AccountService.";
+        this.createAccount = registry.operation(prefix + "createAccount");
+        this.reloadAccount = registry.operation(prefix + "reloadAccount");
+        this.updatePin = registry.operation(prefix + "updatePin");
+        this.assignCard = registry.operation(prefix + "assignCard");
+    }
+
+    @Override
+    public AccountEntity createAccount(CreateAccountDto accountDto) {
+        long start = createAccount.start();
+        try {
+            return super.createAccount(accountDto);
+        } catch (RuntimeException e) {
+            throw fail(createAccount, e);
+        } finally {
+            createAccount.stop(start);
+        }
+    }
+
+    @Override
+    public AccountEntity reloadAccount(AccountEntity account) {
+        long start = reloadAccount.start();
+        try {
+            return super.reloadAccount(account);
+        } catch (RuntimeException e) {
+            throw fail(reloadAccount, e);
+        } finally {
+            reloadAccount.stop(start);
+        }
+    }
+
+    @Override
+    public void updatePin(AccountEntity account, int oldPin, int newPin) {
+        long start = updatePin.start();
+        try {
+            super.updatePin(account, oldPin, newPin);
+        } catch (RuntimeException e) {
+            throw fail(updatePin, e);
+        } finally {
+            updatePin.stop(start);
+        }
+    }
+
+    @Override
+    public AccountCardEntity assignCard(AssignCardDto assignCardDto) {
+        long start = assignCard.start();
+        try {
+            return super.assignCard(assignCardDto);
+        } catch (RuntimeException e) {
+            throw fail(assignCard, e);
+        } finally {
+            assignCard.stop(start);
+        }
+    }
+
+    private RuntimeException fail(OperationMetrics operation, RuntimeException exception) {
+        operation.fail();
+        registry.recordError(exception);
+        return exception;
+    }
+}
@@ -0,0 +1,112 @@
+package infrastructure.metrics;
+
+import domain.entity.CardTypeEntity;
+import domain.repository.CardTypeRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Decorator CardTypeRepository yang mencatat latensi setiap operasi ke {@link MetricsRegistry}.
+ *
+ * <p>Untuk method yang mengembalikan stream atau cursor, yang diukur hanya pembuatan
+ * stream/cursor-nya, bukan waktu membaca seluruh data jenis kartu.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class MeteredCardTypeRepository implements CardTypeRepository {
+    private final CardTypeRepository delegate;
+    private final OperationMetrics findById;
+    private final OperationMetrics findAll;
+    private final OperationMetrics scan;
+    private final OperationMetrics save;
+    private final OperationMetrics update;
+    private final OperationMetrics deleteById;
+
+    /**
+     * Konstruktor untuk MeteredCardTypeRepository.
+     *
+     * @param delegate repository yang dibungkus
+     * @param registry registry tujuan pencatatan metrik
+     */
+    public MeteredCardTypeRepository(CardTypeRepository delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        String prefix = "CardTypeRepository.";
+        this.findById = registry.operation(prefix + "findById");
+        this.findAll = registry.operation(prefix + "findAll");
+        this.scan = registry.operation(prefix + "scan");
+        this.save = registry.operation(prefix + "save");
+        this.update = registry.operation(prefix + "update");
+        this.deleteById = registry.operation(prefix + "deleteById");
+    }
+
+    @Override
+    public Optional<CardTypeEntity> findById(int id) {
+        long start = findById.start();
+        try {
+            return delegate.findById(id);
+        } finally {
+            findById.stop(start);
+        }
+    }
+
+    @Override
+    public List<CardTypeEntity> findAll() {
+        long start = findAll.start();
+        try {
+            return delegate.findAll();
+        } finally {
+            findAll.stop(start);
+        }
+    }
+
+    @Override
+    public Stream<CardTypeEntity> scan(Predicate<? super CardTypeEntity> filter) {
+        long start = scan.start();
+        try {
+            return delegate.scan(filter);
+        } finally {
+            scan.stop(start);
+        }
+    }
+
+    // Tidak diukur: dipanggil oleh gauge jumlah baris pada setiap scrape
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public CardTypeEntity save(CardTypeEntity account) {
+        long start = save.start();
+        try {
+            return delegate.save(account);
+        } finally {
+            save.stop(start);
+        }
+    }
+
+    @Override
+    public CardTypeEntity update(CardTypeEntity account) {
+        long start = update.start();
+        try {
+            return delegate.update(account);
+        } finally {
+            update.stop(start);
+        }
+    }
+
+    @Override
+    public boolean deleteById(int id) {
+        long start = deleteById.start();
+        try {
+            return delegate.deleteById(id);
+        } finally {
+            deleteById.stop(start);
+        }
+    }
+}
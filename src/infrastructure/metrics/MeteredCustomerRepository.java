@@ -0,0 +1,124 @@
+package infrastructure.metrics;
+
+import domain.entity.CustomerEntity;
+import domain.repository.CustomerRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Decorator CustomerRepository yang mencatat latensi setiap operasi ke {@link MetricsRegistry}.
+ *
+ * <p>Untuk method yang mengembalikan stream atau cursor, yang diukur hanya pembuatan
+ * stream/cursor-nya, bukan waktu membaca seluruh data nasabah.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class MeteredCustomerRepository implements CustomerRepository {
+    private final CustomerRepository delegate;
+    private final OperationMetrics findById;
+    private final OperationMetrics findByEmail;
+    private final OperationMetrics findAll;
+    private final OperationMetrics scan;
+    private final OperationMetrics update;
+    private final OperationMetrics save;
+    private final OperationMetrics deleteById;
+
+    /**
+     * Konstruktor untuk MeteredCustomerRepository.
+     *
+     * @param delegate repository yang dibungkus
+     * @param registry registry tujuan pencatatan metrik
+     */
+    public MeteredCustomerRepository(CustomerRepository delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        String prefix = "CustomerRepository.";
+        this.findById = registry.operation(prefix + "findById");
+        this.findByEmail = registry.operation(prefix + "findByEmail");
+        this.findAll = registry.operation(prefix + "findAll");
+        this.scan = registry.operation(prefix + "scan");
+        this.update = registry.operation(prefix + "update");
+        this.save = registry.operation(prefix + "save");
+        this.deleteById = registry.operation(prefix + "deleteById");
+    }
+
+    @Override
+    public Optional<CustomerEntity> findById(int id) {
+        long start = findById.start();
+        try {
+            return delegate.findById(id);
+        } finally {
+            findById.stop(start);
+        }
+    }
+
+    @Override
+    public Optional<CustomerEntity> findByEmail(String email) {
+        long start = findByEmail.start();
+        try {
+            return delegate.findByEmail(email);
+        } finally {
+            findByEmail.stop(start);
+        }
+    }
+
+    @Override
+    public List<CustomerEntity> findAll() {
+        long start = findAll.start();
+        try {
+            return delegate.findAll();
+        } finally {
+            findAll.stop(start);
+        }
+    }
+
+    @Override
+    public Stream<CustomerEntity> scan(Predicate<? super CustomerEntity> filter) {
+        long start = scan.start();
+        try {
+            return delegate.scan(filter);
+        } finally {
+            scan.stop(start);
+        }
+    }
+
+    // Tidak diukur: dipanggil oleh gauge jumlah baris pada setiap scrape
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public CustomerEntity update(CustomerEntity customer) {
+        long start = update.start();
+        try {
+            return delegate.update(customer);
+        } finally {
+            update.stop(start);
+        }
+    }
+
+    @Override
+    public CustomerEntity save(CustomerEntity customer) {
+        long start = save.start();
+        try {
+            return delegate.save(customer);
+        } finally {
+            save.stop(start);
+        }
+    }
+
+    @Override
+    public boolean deleteById(int id) {
+        long start = deleteById.start();
+        try {
+            return delegate.deleteById(id);
+        } finally {
+            deleteById.stop(start);
+        }
+    }
+}
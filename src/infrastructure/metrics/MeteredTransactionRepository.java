@@ -0,0 +1,186 @@
+package infrastructure.metrics;
+
+import domain.entity.TransactionEntity;
+import domain.repository.TransactionRepository;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Decorator TransactionRepository yang mencatat latensi setiap operasi ke {@link MetricsRegistry}.
+ *
+ * <p>Untuk method yang mengembalikan stream atau cursor, yang diukur hanya pembuatan
+ * stream/cursor-nya, bukan waktu membaca seluruh data transaksi.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class MeteredTransactionRepository implements TransactionRepository {
+    private final TransactionRepository delegate;
+    private final MetricsRegistry registry;
+    private final OperationMetrics findById;
+    private final OperationMetrics findByAccountIdWithDate;
+    private final OperationMetrics findByDestinationAccountId;
+    private final OperationMetrics iterateByAccountId;
+    private final OperationMetrics findAll;
+    private final OperationMetrics scan;
+    private final OperationMetrics scanRange;
+    private final OperationMetrics update;
+    private final OperationMetrics save;
+    private final OperationMetrics saveAll;
+    private final OperationMetrics deleteById;
+
+    /**
+     * Konstruktor untuk MeteredTransactionRepository.
+     *
+     * @param delegate repository yang dibungkus
+     * @param registry registry tujuan pencatatan metrik
+     */
+    public MeteredTransactionRepository(TransactionRepository delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+        String prefix = "TransactionRepository.";
+        this.findById = registry.operation(prefix + "findById");
+        this.findByAccountIdWithDate = registry.operation(prefix + "findByAccountIdWithDate");
+        this.findByDestinationAccountId = registry.operation(prefix + "findByDestinationAccountId");
+        this.iterateByAccountId = registry.operation(prefix + "iterateByAccountId");
+        this.findAll = registry.operation(prefix + "findAll");
+        this.scan = registry.operation(prefix + "scan");
+        this.scanRange = registry.operation(prefix + "scanRange");
+        this.update = registry.operation(prefix + "update");
+        this.save = registry.operation(prefix + "save");
+        this.saveAll = registry.operation(prefix + "saveAll");
+        this.deleteById = registry.operation(prefix + "deleteById");
+    }
+
+    @Override
+    public Optional<TransactionEntity> findById(int id) {
+        long start = findById.start();
+        try {
+            return delegate.findById(id);
+        } finally {
+            findById.stop(start);
+        }
+    }
+
+    @Override
+    public List<TransactionEntity> findByAccountIdWithDate(int accountId, String date) {
+        long start = findByAccountIdWithDate.start();
+        try {
+            return delegate.findByAccountIdWithDate(accountId, date);
+        } finally {
+            findByAccountIdWithDate.stop(start);
+        }
+    }
+
+    @Override
+    public List<TransactionEntity> findByDestinationAccountId(int destinationAccountId) {
+        long start = findByDestinationAccountId.start();
+        try {
+            return delegate.findByDestinationAccountId(destinationAccountId);
+        } finally {
+            findByDestinationAccountId.stop(start);
+        }
+    }
+
+    @Override
+    public Iterator<TransactionEntity> iterateByAccountId(int accountId, String fromDate, String toDate) {
+        long start = iterateByAccountId.start();
+        try {
+            return delegate.iterateByAccountId(accountId, fromDate, toDate);
+        } finally {
+            iterateByAccountId.stop(start);
+        }
+    }
+
+    @Override
+    public List<TransactionEntity> findAll() {
+        long start = findAll.start();
+        try {
+            return delegate.findAll();
+        } finally {
+            findAll.stop(start);
+        }
+    }
+
+    @Override
+    public Stream<TransactionEntity> scan(Predicate<? super TransactionEntity> filter) {
+        long start = scan.start();
+        try {
+            return delegate.scan(filter);
+        } finally {
+            scan.stop(start);
+        }
+    }
+
+    @Override
+    public Stream<TransactionEntity> scanRange(int fromId, int toId) {
+        long start = scanRange.start();
+        try {
+            return delegate.scanRange(fromId, toId);
+        } finally {
+            scanRange.stop(start);
+        }
+    }
+
+    // Tidak diukur: dipanggil oleh pembaca log sebelum setiap pembacaan untuk mengecek transaksi baru
+    @Override
+    public int lastId() {
+        return delegate.lastId();
+    }
+
+    // Tidak diukur: dipanggil oleh gauge jumlah baris pada setiap scrape
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public TransactionEntity update(TransactionEntity customer) {
+        long start = update.start();
+        try {
+            return delegate.update(customer);
+        } finally {
+            update.stop(start);
+        }
+    }
+
+    @Override
+    public TransactionEntity save(TransactionEntity customer) {
+        long start = save.start();
+        try {
+            return delegate.save(customer);
+        } finally {
+            save.stop(start);
+        }
+    }
+
+    @Override
+    public List<TransactionEntity> saveAll(List<TransactionEntity> transactions) {
+        long start = saveAll.start();
+        try {
+            return delegate.saveAll(transactions);
+        } finally {
+            saveAll.stop(start);
+        }
+    }
+
+    @Override
+    public boolean deleteById(int id) {
+        long start = deleteById.start();
+        try {
+            return delegate.deleteById(id);
+        } finally {
+            deleteById.stop(start);
+        }
+    }
+
+    @Override
+    public TransactionRepository snapshot() {
+        return new MeteredTransactionRepository(delegate.snapshot(), registry);
+    }
+}
@@ -0,0 +1,172 @@
+package infrastructure.metrics;
+
+import application.service.CardVelocityScreen;
+import application.service.PinAttemptGuard;
+import application.service.RecentTransactionBuffer;
+import application.service.TimeService;
+import application.service.TransactionResult;
+import application.service.TransactionService;
+import domain.repository.AccountCardRepository;
+import domain.repository.AccountRepository;
+import domain.repository.CardTypeRepository;
+import domain.repository.TransactionRepository;
+
+import java.math.BigDecimal;
+
+/**
+ * TransactionService yang mencatat latensi, penolakan, dan kode error setiap operasi.
+ *
+ * <p>Yang di-override hanya method {@code try*}, karena method versi exception
+ * ({@code sendMoneyUsingCard}, {@code withdrawMoneyViaTeller}, ...) memanggil versi
+ * {@code try*} tersebut. Dengan begitu kedua gaya API tercatat di operasi yang sama
+ * tanpa dihitung dua kali. Penolakan dicatat per {@link TransactionResult.Code#errorCode()};
+ * exception apa pun yang lolos dari operasi juga dihitung sebagai kegagalan melalui
+ * {@link MetricsRegistry#recordError(RuntimeException)}.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class MeteredTransactionService extends TransactionService {
+    private final MetricsRegistry registry;
+    private final OperationMetrics applyCardMonthlyCharge;
+    private final OperationMetrics sendMoneyUsingCard;
+    private final OperationMetrics sendMoneyViaTeller;
+    private final OperationMetrics withdrawMoneyUsingCard;
+    private final OperationMetrics depositMoneyUsingCard;
+    private final OperationMetrics withdrawMoneyViaTeller;
+    private final OperationMetrics depositMoneyViaTeller;
+
+    /**
+     * Konstruktor untuk MeteredTransactionService.
+     *
+     * @param accountRepository repository untuk mengakses data rekening
+     * @param accountCardRepository repository untuk mengakses data kartu rekening
+     * @param cardTypeRepository repository untuk mengakses data tipe kartu
+     * @param transactionRepository repository untuk menyimpan transaksi
+     * @param timeService service untuk mendapatkan waktu bisnis
+     * @param recentTransactions buffer transaksi terbaru per rekening untuk mini-statement
+     * @param velocityScreen screening fraud velocity untuk transaksi kartu
+     * @param pinAttemptGuard pembatas percobaan PIN salah per kartu, atau null jika tidak dibatasi
+     * @param registry registry tujuan pencatatan metrik
+     */
+    public MeteredTransactionService(AccountRepository accountRepository, AccountCardRepository accountCardRepository,
+                                     CardTypeRepository cardTypeRepository, TransactionRepository transactionRepository,
+                                     TimeService timeService, RecentTransactionBuffer recentTransactions,
+                                     CardVelocityScreen velocityScreen, PinAttemptGuard pinAttemptGuard,
+                                     MetricsRegistry registry) {
+        super(accountRepository, accountCardRepository, cardTypeRepository, transactionRepository, timeService,
+                recentTransactions, velocityScreen, pinAttemptGuard);
+        this.registry = registry;
+        String prefix = "TransactionService.";
+        this.applyCardMonthlyCharge = registry.operation(prefix + "applyCardMonthlyCharge");
+        this.sendMoneyUsingCard = registry.operation(prefix + "sendMoneyUsingCard");
+        this.sendMoneyViaTeller = registry.operation(prefix + "sendMoneyViaTeller");
+        this.withdrawMoneyUsingCard = registry.operation(prefix + "withdrawMoneyUsingCard");
+        this.depositMoneyUsingCard = registry.operation(prefix + "depositMoneyUsingCard");
+        this.withdrawMoneyViaTeller = registry.operation(prefix + "withdrawMoneyViaTeller");
+        this.depositMoneyViaTeller = registry.operation(prefix + "depositMoneyViaTeller");
+    }
+
+    @Override
+    public TransactionResult tryApplyCardMonthlyCharge(String accountNumber) {
+        long start = applyCardMonthlyCharge.start();
+        try {
+            return observe(applyCardMonthlyCharge, super.tryApplyCardMonthlyCharge(accountNumber));
+        } catch (RuntimeException e) {
+            throw fail(applyCardMonthlyCharge, e);
+        } finally {
+            applyCardMonthlyCharge.stop(start);
+        }
+    }
+
+    @Override
+    public TransactionResult trySendMoneyUsingCard(String originAccountNumber, String destinationAccountNumber,
+                                                   BigDecimal amount, int pin) {
+        long start = sendMoneyUsingCard.start();
+        try {
+            return observe(sendMoneyUsingCard,
+                    super.trySendMoneyUsingCard(originAccountNumber, destinationAccountNumber, amount, pin));
+        } catch (RuntimeException e) {
+            throw fail(sendMoneyUsingCard, e);
+        } finally {
+            sendMoneyUsingCard.stop(start);
+        }
+    }
+
+    @Override
+    public TransactionResult trySendMoneyViaTeller(String originAccountNumber, String destinationAccountNumber,
+                                                   BigDecimal amount) {
+        long start = sendMoneyViaTeller.start();
+        try {
+            return observe(sendMoneyViaTeller,
+                    super.trySendMoneyViaTeller(originAccountNumber, destinationAccountNumber, amount));
+        } catch (RuntimeException e) {
+            throw fail(sendMoneyViaTeller, e);
+        } finally {
+            sendMoneyViaTeller.stop(start);
+        }
+    }
+
+    @Override
+    public TransactionResult tryWithdrawMoneyUsingCard(String accountNumber, BigDecimal amount, int pin) {
+        long start = withdrawMoneyUsingCard.start();
+        try {
+            return observe(withdrawMoneyUsingCard, super.tryWithdrawMoneyUsingCard(accountNumber, amount, pin));
+        } catch (RuntimeException e) {
+            throw fail(withdrawMoneyUsingCard, e);
+        } finally {
+            withdrawMoneyUsingCard.stop(start);
+        }
+    }
+
+    @Override
+    public TransactionResult tryDepositMoneyUsingCard(String accountNumber, BigDecimal amount, int pin) {
+        long start = depositMoneyUsingCard.start();
+        try {
+            return observe(depositMoneyUsingCard, super.tryDepositMoneyUsingCard(accountNumber, amount, pin));
+        } catch (RuntimeException e) {
+            throw fail(depositMoneyUsingCard, e);
+        } finally {
+            depositMoneyUsingCard.stop(start);
+        }
+    }
+
+    @Override
+    public TransactionResult tryWithdrawMoneyViaTeller(String accountNumber, BigDecimal amount) {
+        long start = withdrawMoneyViaTeller.start();
+        try {
+            return observe(withdrawMoneyViaTeller, super.tryWithdrawMoneyViaTeller(accountNumber, amount));
+        } catch (RuntimeException e) {
+            throw fail(withdrawMoneyViaTeller, e);
+        } finally {
+            withdrawMoneyViaTeller.stop(start);
+        }
+    }
+
+    @Override
+    public TransactionResult tryDepositMoneyViaTeller(String accountNumber, BigDecimal amount) {
+        long start = depositMoneyViaTeller.start();
+        try {
+            return observe(depositMoneyViaTeller, super.tryDepositMoneyViaTeller(accountNumber, amount));
+        } catch (RuntimeException e) {
+            throw fail(depositMoneyViaTeller, e);
+        } finally {
+            depositMoneyViaTeller.stop(start);
+        }
+    }
+
+    private TransactionResult observe(OperationMetrics operation, TransactionResult result) {
+        if (result instanceof TransactionResult.Rejected rejected) {
+            operation.fail();
+            registry.recordError(rejected.code().errorCode());
+        }
+        return result;
+    }
+
+    private RuntimeException fail(OperationMetrics operation, RuntimeException exception) {
+        operation.fail();
+        registry.recordError(exception);
+        return exception;
+    }
+}
@@ -0,0 +1,101 @@
+package infrastructure.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Endpoint HTTP ringan yang menyajikan metrik dalam format teks Prometheus.
+ *
+ * <p>Dibangun di atas {@code com.sun.net.httpserver} bawaan JDK. Permintaan
+ * {@code GET /metrics} dilayani oleh satu thread daemon yang memakai ulang buffer
+ * {@link PrometheusFormatter}, sehingga scrape tidak bersaing dengan thread transaksi
+ * selain membaca counter atomik.</p>
+ *
+ * <pre>
+ * MetricsHttpServer server = new MetricsHttpServer(registry, new InetSocketAddress("127.0.0.1", 0));
+ * server.start();
+ * // curl http://127.0.0.1:{server.getAddress().getPort()}/metrics
+ * server.close();
+ * </pre>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class MetricsHttpServer implements AutoCloseable {
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final MetricsRegistry registry;
+    private final PrometheusFormatter formatter = new PrometheusFormatter();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Konstruktor untuk MetricsHttpServer. Socket langsung di-bind, tetapi permintaan
+     * baru dilayani setelah {@link #start()}.
+     *
+     * @param registry registry yang disajikan
+     * @param address alamat bind; gunakan port 0 untuk port acak
+     * @throws IOException jika socket tidak dapat di-bind
+     */
+    public MetricsHttpServer(MetricsRegistry registry, InetSocketAddress address) throws IOException {
+        this.registry = registry;
+        this.server = HttpServer.create(address, 0);
+        this.executor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", this::handle);
+    }
+
+    /**
+     * Mulai melayani permintaan.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Mendapatkan alamat yang benar-benar di-bind (berguna jika port 0).
+     *
+     * @return alamat server
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Menghentikan server dan thread pelayannya.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            // Executor hanya satu thread, sehingga buffer formatter tidak dipakai bersamaan
+            byte[] body = formatter.renderBytes(registry.snapshot());
+            int length = formatter.length();
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body, 0, length);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package infrastructure.metrics;
+
+import domain.exception.BankingException;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Registry metrik aplikasi: latensi per operasi dan jumlah kejadian per kode error.
+ *
+ * <p>Semua counter memakai {@link LongAdder} dan histogram lock-free, sehingga pencatatan
+ * dari banyak thread tidak saling menunggu. Decorator mengambil {@link OperationMetrics}
+ * sekali saat dibuat; pencarian di map hanya terjadi saat mencatat kode error.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class MetricsRegistry {
+    private final ConcurrentMap<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> errorCodes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * Mendapatkan (atau membuat) metrik untuk sebuah operasi.
+     *
+     * @param name nama operasi dalam format {@code Komponen.method}
+     * @return metrik operasi
+     */
+    public OperationMetrics operation(String name) {
+        return operations.computeIfAbsent(name, OperationMetrics::new);
+    }
+
+    /**
+     * Mencatat satu kejadian untuk kode error tertentu.
+     *
+     * @param errorCode kode error dari {@code BankingException} atau {@code TransactionResult.Code}
+     */
+    public void recordError(String errorCode) {
+        LongAdder counter = errorCodes.get(errorCode);
+        if (counter == null) {
+            counter = errorCodes.computeIfAbsent(errorCode, code -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    /**
+     * Mencatat satu kejadian untuk exception yang menggagalkan sebuah operasi.
+     *
+     * <p>{@link BankingException} dicatat dengan kode error-nya; exception lain (misalnya
+     * {@code ArithmeticException} atau {@code IllegalStateException}) dicatat dengan nama
+     * kelasnya agar kegagalan tak terduga tetap terlihat di metrik.</p>
+     *
+     * @param exception exception yang dilempar operasi
+     */
+    public void recordError(RuntimeException exception) {
+        recordError(exception instanceof BankingException banking
+                ? banking.getErrorCode()
+                : exception.getClass().getSimpleName());
+    }
+
+    /**
+     * Mendaftarkan gauge, yaitu nilai yang dibaca ulang setiap kali snapshot diambil.
+     *
+     * <p>Supplier dipanggil dari thread pembaca metrik (reporter atau endpoint HTTP),
+     * bukan dari jalur transaksi.</p>
+     *
+     * @param name nama gauge dengan pemisah titik, misalnya {@code repository.rows.account}
+     * @param value sumber nilai gauge
+     */
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * Mengambil ringkasan seluruh metrik saat ini.
+     *
+     * @return snapshot metrik, operasi diurutkan berdasarkan nama
+     */
+    public MetricsSnapshot snapshot() {
+        Map<String, Long> errors = new TreeMap<>();
+        errorCodes.forEach((code, counter) -> errors.put(code, counter.sum()));
+        Map<String, Long> gaugeValues = new TreeMap<>();
+        gauges.forEach((name, value) -> gaugeValues.put(name, value.getAsLong()));
+        return new MetricsSnapshot(
+                Instant.now(),
+                operations.values().stream()
+                        .map(OperationMetrics::snapshot)
+                        .sorted(Comparator.comparing(OperationMetrics.Snapshot::name))
+                        .toList(),
+                errors,
+                gaugeValues
+        );
+    }
+}
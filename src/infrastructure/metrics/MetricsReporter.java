@@ -0,0 +1,102 @@
+package infrastructure.metrics;
+
+import application.service.LogService;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Menulis ringkasan {@link MetricsRegistry} secara berkala melalui {@link LogService}.
+ *
+ * <p>Reporter berjalan di satu thread daemon sehingga tidak menahan aplikasi saat berhenti.
+ * Operasi yang belum pernah dipanggil tidak ditampilkan.</p>
+ *
+ * <pre>
+ * MetricsReporter reporter = new MetricsReporter(registry, logService);
+ * reporter.start(Duration.ofSeconds(30));
+ * ...
+ * reporter.close();
+ * </pre>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class MetricsReporter implements AutoCloseable {
+    private final MetricsRegistry registry;
+    private final LogService logService;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Konstruktor untuk MetricsReporter.
+     *
+     * @param registry registry yang diringkas
+     * @param logService tujuan penulisan ringkasan
+     */
+    public MetricsReporter(MetricsRegistry registry, LogService logService) {
+        this.registry = registry;
+        this.logService = logService;
+    }
+
+    /**
+     * Mulai menulis ringkasan secara berkala.
+     *
+     * @param interval jeda antar ringkasan
+     * @throws IllegalStateException jika reporter sudah berjalan
+     */
+    public synchronized void start(Duration interval) {
+        if (scheduler != null) {
+            throw new IllegalStateException("MetricsReporter sudah berjalan");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        scheduler.scheduleAtFixedRate(this::report, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Menulis satu ringkasan metrik saat ini.
+     */
+    public void report() {
+        MetricsSnapshot snapshot = registry.snapshot();
+        StringBuilder builder = new StringBuilder("Metrik ").append(snapshot.capturedAt());
+        for (OperationMetrics.Snapshot operation : snapshot.operations()) {
+            LatencyHistogram.Snapshot latency = operation.latency();
+            if (latency.count() == 0) {
+                continue;
+            }
+            builder.append('\n').append(operation.name())
+                    .append(" count=").append(latency.count())
+                    .append(" failures=").append(operation.failures())
+                    .append(" mean=").append(micros(latency.meanNanos()))
+                    .append(" p50=").append(micros(latency.p50Nanos()))
+                    .append(" p99=").append(micros(latency.p99Nanos()))
+                    .append(" max=").append(micros(latency.maxNanos()));
+        }
+        snapshot.errorCodes().forEach((code, count) ->
+                builder.append('\n').append("error ").append(code).append(" count=").append(count));
+        snapshot.gauges().forEach((name, value) ->
+                builder.append('\n').append("gauge ").append(name).append(" value=").append(value));
+        logService.system(builder.toString());
+    }
+
+    /**
+     * Menghentikan penulisan berkala.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%.1fus", nanos / 1_000.0);
+    }
+}
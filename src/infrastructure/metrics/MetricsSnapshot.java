@@ -0,0 +1,32 @@
+package infrastructure.metrics;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Ringkasan seluruh metrik aplikasi pada satu titik waktu.
+ *
+ * @param capturedAt waktu snapshot diambil
+ * @param operations metrik per operasi, diurutkan berdasarkan nama
+ * @param errorCodes jumlah kejadian per kode error, diurutkan berdasarkan kode
+ * @param gauges nilai gauge per nama, diurutkan berdasarkan nama
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public record MetricsSnapshot(Instant capturedAt, List<OperationMetrics.Snapshot> operations,
+                              Map<String, Long> errorCodes, Map<String, Long> gauges) {
+
+    /**
+     * Membuat snapshot dengan salinan koleksi yang tidak dapat diubah.
+     */
+    public MetricsSnapshot {
+        operations = List.copyOf(operations);
+        errorCodes = Collections.unmodifiableMap(new TreeMap<>(errorCodes));
+        gauges = Collections.unmodifiableMap(new TreeMap<>(gauges));
+    }
+}
@@ -0,0 +1,86 @@
+package infrastructure.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter dan histogram latensi untuk satu operasi, misalnya
+ * {@code TransactionService.sendMoneyUsingCard}.
+ *
+ * <p>Objek ini dibuat sekali oleh {@link MetricsRegistry} dan disimpan sebagai field oleh
+ * decorator, sehingga jalur panas tidak perlu mencari nama operasi di map.</p>
+ *
+ * <pre>
+ * long start = metrics.start();
+ * try {
+ *     ...
+ * } finally {
+ *     metrics.stop(start);
+ * }
+ * </pre>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class OperationMetrics {
+    private final String name;
+    private final LongAdder failures = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Mendapatkan nama operasi.
+     *
+     * @return nama operasi dalam format {@code Komponen.method}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Menandai awal pemanggilan operasi.
+     *
+     * @return waktu mulai dalam nanodetik untuk diteruskan ke {@link #stop(long)}
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Mencatat selesainya pemanggilan operasi.
+     *
+     * @param startNanos nilai dari {@link #start()}
+     */
+    public void stop(long startNanos) {
+        latency.record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Mencatat pemanggilan operasi yang gagal atau ditolak.
+     */
+    public void fail() {
+        failures.increment();
+    }
+
+    /**
+     * Mengambil ringkasan metrik operasi ini.
+     *
+     * @return ringkasan jumlah panggilan, kegagalan, dan latensi
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(name, failures.sum(), latency.snapshot());
+    }
+
+    /**
+     * Ringkasan metrik satu operasi.
+     *
+     * @param name nama operasi
+     * @param failures jumlah pemanggilan yang gagal atau ditolak
+     * @param latency ringkasan histogram latensi (jumlah sampel = jumlah pemanggilan)
+     */
+    public record Snapshot(String name, long failures, LatencyHistogram.Snapshot latency) {
+    }
+}
@@ -0,0 +1,170 @@
+package infrastructure.metrics;
+
+/**
+ * Menulis {@link MetricsSnapshot} dalam format teks Prometheus (exposition format 0.0.4).
+ *
+ * <p>Metrik yang dihasilkan:</p>
+ * <ul>
+ *   <li>{@code bankingapp_operation_calls_total{operation}}: jumlah pemanggilan (throughput via {@code rate()})</li>
+ *   <li>{@code bankingapp_operation_failures_total{operation}}: jumlah pemanggilan yang gagal atau ditolak</li>
+ *   <li>{@code bankingapp_operation_latency_seconds{operation,quantile}}: summary latensi beserta {@code _sum} dan {@code _count}</li>
+ *   <li>{@code bankingapp_operation_latency_max_seconds{operation}}: latensi terbesar</li>
+ *   <li>{@code bankingapp_banking_errors_total{code}}: jumlah kejadian per kode error</li>
+ *   <li>gauge terdaftar, misalnya {@code repository.rows.account} menjadi {@code bankingapp_repository_rows_account}</li>
+ * </ul>
+ *
+ * <p>Formatter menulis ke satu {@link StringBuilder} yang dipakai ulang dan mengubah
+ * nanodetik ke detik dengan aritmetika integer, sehingga satu kali scrape hampir tidak
+ * membuat objek selain snapshot itu sendiri. Instance tidak thread-safe.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public final class PrometheusFormatter {
+    private static final String PREFIX = "bankingapp_";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final StringBuilder buffer = new StringBuilder(8192);
+    private byte[] bytes = new byte[8192];
+    private int length;
+
+    /**
+     * Merender snapshot ke buffer internal.
+     *
+     * @param snapshot snapshot metrik
+     * @return isi teks hasil render; valid sampai pemanggilan render berikutnya
+     */
+    public CharSequence render(MetricsSnapshot snapshot) {
+        StringBuilder out = buffer;
+        out.setLength(0);
+
+        header(out, "operation_calls_total", "counter", "Jumlah pemanggilan operasi");
+        for (OperationMetrics.Snapshot operation : snapshot.operations()) {
+            sample(out, "operation_calls_total", "operation", operation.name(), operation.latency().count());
+        }
+
+        header(out, "operation_failures_total", "counter", "Jumlah pemanggilan operasi yang gagal atau ditolak");
+        for (OperationMetrics.Snapshot operation : snapshot.operations()) {
+            sample(out, "operation_failures_total", "operation", operation.name(), operation.failures());
+        }
+
+        header(out, "operation_latency_seconds", "summary", "Latensi operasi");
+        for (OperationMetrics.Snapshot operation : snapshot.operations()) {
+            LatencyHistogram.Snapshot latency = operation.latency();
+            quantile(out, operation.name(), "0.5", latency.p50Nanos());
+            quantile(out, operation.name(), "0.9", latency.p90Nanos());
+            quantile(out, operation.name(), "0.99", latency.p99Nanos());
+            quantile(out, operation.name(), "0.999", latency.p999Nanos());
+            seconds(out, "operation_latency_seconds_sum", operation.name(), latency.sumNanos());
+            sample(out, "operation_latency_seconds_count", "operation", operation.name(), latency.count());
+        }
+
+        header(out, "operation_latency_max_seconds", "gauge", "Latensi operasi terbesar sejak aplikasi berjalan");
+        for (OperationMetrics.Snapshot operation : snapshot.operations()) {
+            seconds(out, "operation_latency_max_seconds", operation.name(), operation.latency().maxNanos());
+        }
+
+        header(out, "banking_errors_total", "counter", "Jumlah BankingException atau penolakan per kode error");
+        snapshot.errorCodes().forEach((code, count) -> sample(out, "banking_errors_total", "code", code, count));
+
+        snapshot.gauges().forEach((name, value) -> {
+            String metric = name.replace('.', '_');
+            header(out, metric, "gauge", name);
+            out.append(PREFIX).append(metric).append(' ').append(value).append('\n');
+        });
+        return out;
+    }
+
+    /**
+     * Merender snapshot dan mengubahnya ke byte ASCII/UTF-8 pada buffer internal.
+     *
+     * @param snapshot snapshot metrik
+     * @return buffer byte; hanya {@link #length()} byte pertama yang valid
+     */
+    public byte[] renderBytes(MetricsSnapshot snapshot) {
+        CharSequence text = render(snapshot);
+        int size = text.length();
+        if (bytes.length < size * 3) {
+            bytes = new byte[Math.max(size * 3, bytes.length * 2)];
+        }
+        int position = 0;
+        for (int i = 0; i < size; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes[position++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[position++] = (byte) (0xC0 | (c >> 6));
+                bytes[position++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                // Nama metrik dan label hanya berisi karakter BMP, surrogate ditulis sebagai '?'
+                if (Character.isSurrogate(c)) {
+                    bytes[position++] = '?';
+                    continue;
+                }
+                bytes[position++] = (byte) (0xE0 | (c >> 12));
+                bytes[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        length = position;
+        return bytes;
+    }
+
+    /**
+     * Jumlah byte valid dari pemanggilan {@link #renderBytes(MetricsSnapshot)} terakhir.
+     *
+     * @return panjang isi buffer byte
+     */
+    public int length() {
+        return length;
+    }
+
+    private static void header(StringBuilder out, String metric, String type, String help) {
+        out.append("# HELP ").append(PREFIX).append(metric).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(PREFIX).append(metric).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String metric, String label, String labelValue, long value) {
+        out.append(PREFIX).append(metric).append('{').append(label).append("=\"");
+        escape(out, labelValue);
+        out.append("\"} ").append(value).append('\n');
+    }
+
+    private static void quantile(StringBuilder out, String operation, String quantile, long nanos) {
+        out.append(PREFIX).append("operation_latency_seconds{operation=\"");
+        escape(out, operation);
+        out.append("\",quantile=\"").append(quantile).append("\"} ");
+        appendSeconds(out, nanos);
+        out.append('\n');
+    }
+
+    private static void seconds(StringBuilder out, String metric, String operation, long nanos) {
+        out.append(PREFIX).append(metric).append("{operation=\"");
+        escape(out, operation);
+        out.append("\"} ");
+        appendSeconds(out, nanos);
+        out.append('\n');
+    }
+
+    private static void appendSeconds(StringBuilder out, long nanos) {
+        out.append(nanos / NANOS_PER_SECOND).append('.');
+        long fraction = nanos % NANOS_PER_SECOND;
+        for (long digit = NANOS_PER_SECOND / 10; digit > 1 && fraction < digit; digit /= 10) {
+            out.append('0');
+        }
+        out.append(fraction);
+    }
+
+    private static void escape(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '"' -> out.append("\\\"");
+                case '\n' -> out.append("\\n");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,517 @@
+// PBO[package]: Menentukan paket infrastructure.repository agar proyeksi ini dapat dipakai oleh repository event-sourced
+package infrastructure.repository;
+
+import domain.entity.TransactionEntity; // PBO[import]: Event yang diputar ulang dari log transaksi
+import domain.repository.TransactionRepository; // PBO[import]: Log transaksi yang menjadi sumber kebenaran
+import domain.util.TransactionEffects; // PBO[import]: Aturan pengaruh transaksi terhadap saldo dalam satuan terkecil
+import domain.value.TransactionType; // PBO[import]: Tipe transaksi untuk menentukan arah pengaruh saldo
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * PBO[class]: Proyeksi saldo rekening yang dibangun dari log transaksi (event sourcing).
+ *
+ * <p>Riwayat di {@link TransactionRepository} adalah sumber kebenaran; saldo setiap rekening
+ * hanyalah lipatan pengaruh transaksi menurut {@link TransactionEffects} dalam satuan terkecil.
+ * Proyeksi mencatat posisinya di log, yaitu ID transaksi terakhir yang sudah diterapkan, dan
+ * mengejar (catch-up) transaksi baru secara inkremental sebelum saldo dibaca. Karena ID
+ * transaksi diberikan dan dipublikasikan berurutan, transaksi setelah posisi dibaca dengan
+ * {@link TransactionRepository#scanRange(int, int)} tanpa memindai ulang riwayat.</p>
+ *
+ * <p>Catch-up yang besar, termasuk {@link #rebuild()}, berjalan paralel di atas {@link ForkJoinPool}
+ * dalam dua tahap:</p>
+ * <ol>
+ *   <li>Log dibagi menjadi rentang ID sebanyak parallelism pool; setiap rentang dilipat ke
+ *       array delta long miliknya sendiri, tanpa atomic dan tanpa BigDecimal baru per transaksi.</li>
+ *   <li>Rekening dibagi menjadi partisi rentang ID; setiap partisi menjumlahkan delta dari
+ *       semua rentang log lalu menerapkannya ke saldo partisinya, sehingga tidak ada dua thread
+ *       yang menulis rekening yang sama.</li>
+ * </ol>
+ * <p>Catch-up kecil (transaksi baru sejak pembacaan terakhir) diterapkan langsung secara berurutan.</p>
+ *
+ * <p>State proyeksi dapat diambil sebagai {@link Checkpoint} (posisi log dan saldo semua rekening)
+ * lalu ditulis ke file secara atomik. Saat dipulihkan, proyeksi cukup mengejar transaksi setelah
+ * posisi checkpoint. Checkpoint menyimpan sidik transaksi pada posisinya; checkpoint yang tidak
+ * cocok dengan log (misalnya log in-memory yang kosong lagi setelah restart) ditolak.</p>
+ *
+ * <p>Catch-up diserialisasi dengan lock, sedangkan pembaca tidak mengambil lock jika proyeksi
+ * sudah mengejar log. Transaksi yang diubah atau dihapus setelah diterapkan tidak ikut
+ * dikoreksi: dalam mode event-sourced log diperlakukan append-only, dan {@link #rebuild()}
+ * membangun ulang proyeksi dari awal jika dibutuhkan.</p>
+ *
+ * @since 1.1
+ * @author
+ *  Gede Dhanu Purnayasa
+ *  Made Marsel Biliana Wijaya
+ */
+public final class AccountBalanceProjection {
+    // PBO[field-static-final]: Jumlah rekening per partisi, sekaligus ukuran satu segmen array saldo
+    private static final int PARTITION_BITS = 16;
+    private static final int PARTITION_SIZE = 1 << PARTITION_BITS;
+    private static final int PARTITION_MASK = PARTITION_SIZE - 1;
+    // PBO[field-static-final]: Jumlah transaksi minimum agar catch-up dijalankan paralel
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    // PBO[field]: Log transaksi sumber kebenaran
+    private final TransactionRepository log;
+    // PBO[field]: Pool fork/join untuk catch-up paralel
+    private final ForkJoinPool pool;
+    // PBO[field]: Lock untuk menyerialisasi catch-up; pembaca tidak memakainya
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // PBO[field]: Saldo dalam satuan terkecil per partisi rekening; array partisi diganti saat tumbuh
+    private volatile AtomicLongArray[] partitions = new AtomicLongArray[0];
+    // PBO[field]: ID transaksi terakhir yang sudah diterapkan
+    private volatile int position;
+
+    /**
+     * PBO[constructor]: Membuat proyeksi kosong di atas log transaksi menggunakan common pool.
+     *
+     * <p>Proyeksi belum membaca log sampai {@link #catchUp()}, {@link #rebuild()}, atau
+     * {@link #restore(Checkpoint)} dipanggil; pembacaan saldo pertama akan mengejar seluruh log.</p>
+     *
+     * @param log log transaksi
+     */
+    public AccountBalanceProjection(TransactionRepository log) {
+        this(log, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * PBO[constructor]: Membuat proyeksi kosong di atas log transaksi dengan pool tertentu.
+     *
+     * @param log log transaksi
+     * @param pool pool fork/join untuk catch-up paralel
+     */
+    public AccountBalanceProjection(TransactionRepository log, ForkJoinPool pool) {
+        this.log = log;
+        this.pool = pool;
+    }
+
+    /**
+     * PBO[method]: Mendapatkan posisi proyeksi di log.
+     *
+     * @return ID transaksi terakhir yang sudah diterapkan
+     */
+    public int position() {
+        return position;
+    }
+
+    /**
+     * PBO[method]: Mendapatkan saldo rekening setelah mengejar transaksi terbaru di log.
+     *
+     * @param accountId ID rekening
+     * @return saldo dalam satuan terkecil (1/10.000 Rupiah), 0 untuk rekening tanpa transaksi
+     */
+    public long balance(int accountId) {
+        catchUp();
+        return currentBalance(accountId);
+    }
+
+    /**
+     * PBO[method]: Mendapatkan saldo rekening pada posisi proyeksi saat ini tanpa mengejar log.
+     *
+     * @param accountId ID rekening
+     * @return saldo dalam satuan terkecil
+     */
+    long currentBalance(int accountId) {
+        AtomicLongArray[] current = partitions;
+        int partition = accountId >>> PARTITION_BITS;
+        if (accountId < 0 || partition >= current.length) {
+            return 0L;
+        }
+        return current[partition].getOpaque(accountId & PARTITION_MASK);
+    }
+
+    /**
+     * PBO[method]: Menerapkan transaksi yang disimpan setelah posisi proyeksi.
+     *
+     * <p>Jika tidak ada transaksi baru, method ini hanya membaca ID terakhir log tanpa lock.</p>
+     *
+     * @return jumlah ID transaksi yang dibaca pada panggilan ini
+     */
+    public int catchUp() {
+        if (log.lastId() <= position) {
+            return 0;
+        }
+        writeLock.lock();
+        try {
+            int from = position;
+            int to = log.lastId();
+            if (to <= from) {
+                return 0;
+            }
+            partitions = apply(partitions, from + 1, to + 1);
+            position = to;
+            return to - from;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * PBO[method]: Membangun ulang seluruh proyeksi dari awal log.
+     *
+     * <p>Proyeksi baru dibangun di samping proyeksi lama dan baru dipasang setelah selesai,
+     * sehingga pembaca tetap melihat saldo lama selama rebuild berjalan.</p>
+     *
+     * @return jumlah ID transaksi yang dibaca
+     */
+    public int rebuild() {
+        writeLock.lock();
+        try {
+            int to = log.lastId();
+            AtomicLongArray[] rebuilt = apply(new AtomicLongArray[0], 1, to + 1);
+            partitions = rebuilt;
+            position = to;
+            return to;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * PBO[method]: Mengambil salinan state proyeksi setelah mengejar log.
+     *
+     * @return checkpoint berisi posisi log dan saldo semua rekening
+     */
+    public Checkpoint checkpoint() {
+        writeLock.lock();
+        try {
+            catchUp();
+            AtomicLongArray[] current = partitions;
+            long[] balances = new long[current.length * PARTITION_SIZE];
+            int length = 0;
+            for (int i = 0; i < balances.length; i++) {
+                balances[i] = current[i >>> PARTITION_BITS].getPlain(i & PARTITION_MASK);
+                if (balances[i] != 0) {
+                    length = i + 1;
+                }
+            }
+            int at = position;
+            return new Checkpoint(at, fingerprint(log.findById(at).orElse(null)), Arrays.copyOf(balances, length));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * PBO[method]: Memasang state dari checkpoint lalu mengejar transaksi setelah posisinya.
+     *
+     * @param checkpoint checkpoint yang dipulihkan
+     * @return true jika checkpoint cocok dengan log dan dipasang, false jika ditolak
+     */
+    public boolean restore(Checkpoint checkpoint) {
+        writeLock.lock();
+        try {
+            int at = checkpoint.position();
+            if (at > log.lastId() || fingerprint(log.findById(at).orElse(null)) != checkpoint.fingerprint()) {
+                return false;
+            }
+            long[] balances = checkpoint.balances();
+            AtomicLongArray[] restored = new AtomicLongArray[(balances.length + PARTITION_MASK) >>> PARTITION_BITS];
+            for (int partition = 0; partition < restored.length; partition++) {
+                int from = partition << PARTITION_BITS;
+                restored[partition] = new AtomicLongArray(Arrays.copyOfRange(balances, from, from + PARTITION_SIZE));
+            }
+            partitions = restored;
+            position = at;
+        } finally {
+            writeLock.unlock();
+        }
+        catchUp();
+        return true;
+    }
+
+    /**
+     * PBO[method]: Menerapkan transaksi pada rentang ID [fromId, toId) ke array partisi.
+     *
+     * @param target array partisi tujuan
+     * @param fromId ID awal (inklusif)
+     * @param toId ID akhir (eksklusif)
+     * @return array partisi tujuan, mungkin array baru jika rekening bertambah
+     */
+    private AtomicLongArray[] apply(AtomicLongArray[] target, int fromId, int toId) {
+        int parallelism = pool.getParallelism();
+        if (toId - fromId < PARALLEL_THRESHOLD || parallelism < 2) {
+            DirectFold fold = new DirectFold(target);
+            log.scanRange(fromId, toId).forEach(fold);
+            return fold.target;
+        }
+
+        // Tahap 1: setiap rentang log dilipat ke array delta miliknya sendiri
+        int chunks = Math.min(parallelism, (toId - fromId) / PARALLEL_THRESHOLD);
+        int initialLength = Math.max(target.length, 1) << PARTITION_BITS;
+        List<FoldTask> folds = new ArrayList<>(chunks);
+        long span = toId - fromId;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            folds.add(new FoldTask(log, (int) (fromId + span * chunk / chunks),
+                    (int) (fromId + span * (chunk + 1) / chunks), initialLength));
+        }
+        pool.submit(() -> ForkJoinTask.invokeAll(folds)).join();
+        long[][] deltas = new long[chunks][];
+        int maxLength = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            deltas[chunk] = folds.get(chunk).join();
+            maxLength = Math.max(maxLength, deltas[chunk].length);
+        }
+
+        // Tahap 2: setiap partisi rekening menjumlahkan delta semua rentang log
+        AtomicLongArray[] grown = grow(target, (maxLength + PARTITION_MASK) >>> PARTITION_BITS);
+        pool.invoke(new MergeTask(grown, deltas, 0, grown.length));
+        return grown;
+    }
+
+    // PBO[method-static]: Menambah partisi kosong tanpa menyalin saldo partisi yang sudah ada
+    private static AtomicLongArray[] grow(AtomicLongArray[] target, int partitionCount) {
+        if (partitionCount <= target.length) {
+            return target;
+        }
+        AtomicLongArray[] grown = Arrays.copyOf(target, partitionCount);
+        for (int partition = target.length; partition < partitionCount; partition++) {
+            grown[partition] = new AtomicLongArray(PARTITION_SIZE);
+        }
+        return grown;
+    }
+
+    /**
+     * PBO[method-static]: Menghitung sidik transaksi untuk mencocokkan checkpoint dengan log.
+     *
+     * @param transaction transaksi pada posisi checkpoint, atau null jika tidak ada
+     * @return sidik transaksi, 0 untuk null
+     */
+    private static long fingerprint(TransactionEntity transaction) {
+        if (transaction == null) {
+            return 0L;
+        }
+        long hash = transaction.id();
+        hash = hash * 31 + transaction.accountId();
+        hash = hash * 31 + (transaction.destinationAccountId() == null ? -1 : transaction.destinationAccountId());
+        hash = hash * 31 + transaction.transactionType().ordinal();
+        hash = hash * 31 + transaction.amount().stripTrailingZeros().hashCode();
+        hash = hash * 31 + transaction.timestamp();
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * PBO[inner-class]: Aturan lipatan satu transaksi ke saldo rekening asal dan tujuannya.
+     */
+    private abstract static class Fold implements Consumer<TransactionEntity> {
+        @Override
+        public final void accept(TransactionEntity transaction) {
+            TransactionType type = transaction.transactionType();
+            if (!TransactionEffects.affectsBalance(type)) {
+                return;
+            }
+            long amount = TransactionEffects.toMinorUnits(transaction.amount());
+            add(transaction.accountId(), TransactionEffects.isCredit(type) ? amount : -amount);
+            Integer destinationId = transaction.destinationAccountId();
+            if (destinationId != null) {
+                add(destinationId, TransactionEffects.destinationCreditMinorUnits(type, amount));
+            }
+        }
+
+        abstract void add(int accountId, long delta);
+    }
+
+    /**
+     * PBO[inner-class]: Lipatan berurutan yang langsung mengubah saldo partisi.
+     */
+    private static final class DirectFold extends Fold {
+        private AtomicLongArray[] target;
+
+        private DirectFold(AtomicLongArray[] target) {
+            this.target = target;
+        }
+
+        @Override
+        void add(int accountId, long delta) {
+            if (accountId <= 0) {
+                return;
+            }
+            int partition = accountId >>> PARTITION_BITS;
+            if (partition >= target.length) {
+                target = grow(target, partition + 1);
+            }
+            // Hanya pemegang writeLock yang menulis; opaque agar pembaca tidak melihat nilai setengah jadi
+            AtomicLongArray balances = target[partition];
+            int index = accountId & PARTITION_MASK;
+            balances.setOpaque(index, balances.getPlain(index) + delta);
+        }
+    }
+
+    /**
+     * PBO[inner-class]: Task yang melipat rentang ID log [fromId, toId) ke array delta miliknya sendiri.
+     */
+    private static final class FoldTask extends RecursiveTask<long[]> {
+        private final transient TransactionRepository log;
+        private final int fromId;
+        private final int toId;
+        private final int initialLength;
+
+        private FoldTask(TransactionRepository log, int fromId, int toId, int initialLength) {
+            this.log = log;
+            this.fromId = fromId;
+            this.toId = toId;
+            this.initialLength = initialLength;
+        }
+
+        @Override
+        protected long[] compute() {
+            DeltaFold fold = new DeltaFold(initialLength);
+            log.scanRange(fromId, toId).forEach(fold);
+            return fold.deltas;
+        }
+    }
+
+    /**
+     * PBO[inner-class]: Lipatan ke array delta biasa yang hanya dipakai oleh satu thread.
+     */
+    private static final class DeltaFold extends Fold {
+        private long[] deltas;
+
+        private DeltaFold(int initialLength) {
+            this.deltas = new long[initialLength];
+        }
+
+        @Override
+        void add(int accountId, long delta) {
+            if (accountId <= 0) {
+                return;
+            }
+            if (accountId >= deltas.length) {
+                deltas = Arrays.copyOf(deltas, Math.max(deltas.length * 2, (accountId | PARTITION_MASK) + 1));
+            }
+            deltas[accountId] += delta;
+        }
+    }
+
+    /**
+     * PBO[inner-class]: Task yang menjumlahkan delta ke saldo untuk rentang partisi [fromPartition, toPartition).
+     */
+    private static final class MergeTask extends RecursiveAction {
+        private final AtomicLongArray[] target;
+        private final long[][] deltas;
+        private final int fromPartition;
+        private final int toPartition;
+
+        private MergeTask(AtomicLongArray[] target, long[][] deltas, int fromPartition, int toPartition) {
+            this.target = target;
+            this.deltas = deltas;
+            this.fromPartition = fromPartition;
+            this.toPartition = toPartition;
+        }
+
+        @Override
+        protected void compute() {
+            if (toPartition - fromPartition > 1) {
+                int middle = (fromPartition + toPartition) >>> 1;
+                invokeAll(new MergeTask(target, deltas, fromPartition, middle),
+                        new MergeTask(target, deltas, middle, toPartition));
+                return;
+            }
+            AtomicLongArray balances = target[fromPartition];
+            int base = fromPartition << PARTITION_BITS;
+            for (int index = 0; index < PARTITION_SIZE; index++) {
+                long sum = 0L;
+                for (long[] delta : deltas) {
+                    int accountId = base + index;
+                    if (accountId < delta.length) {
+                        sum += delta[accountId];
+                    }
+                }
+                if (sum != 0L) {
+                    balances.setOpaque(index, balances.getPlain(index) + sum);
+                }
+            }
+        }
+    }
+
+    /**
+     * PBO[record]: State proyeksi pada satu posisi log.
+     *
+     * @param position ID transaksi terakhir yang sudah diterapkan
+     * @param fingerprint sidik transaksi pada posisi tersebut untuk mendeteksi log yang berbeda
+     * @param balances saldo dalam satuan terkecil, diindeks dengan ID rekening
+     */
+    public record Checkpoint(int position, long fingerprint, long[] balances) {
+        // PBO[field-static-final]: Penanda format file checkpoint ("BAPJ") dan versinya
+        private static final int MAGIC = 0x4241504A;
+        private static final int VERSION = 1;
+
+        /**
+         * PBO[method]: Mendapatkan saldo rekening pada checkpoint ini.
+         *
+         * @param accountId ID rekening
+         * @return saldo dalam satuan terkecil, 0 untuk rekening tanpa transaksi
+         */
+        public long balance(int accountId) {
+            return accountId >= 0 && accountId < balances.length ? balances[accountId] : 0L;
+        }
+
+        /**
+         * PBO[method]: Menulis checkpoint ke file secara atomik (file sementara lalu rename).
+         *
+         * @param file path file checkpoint
+         * @throws UncheckedIOException jika file tidak dapat ditulis
+         */
+        public void writeTo(Path file) {
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                    out.writeInt(position);
+                    out.writeLong(fingerprint);
+                    out.writeInt(balances.length);
+                    for (long balance : balances) {
+                        out.writeLong(balance);
+                    }
+                }
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Gagal menulis checkpoint proyeksi " + file, e);
+            }
+        }
+
+        /**
+         * PBO[method-static]: Membaca checkpoint dari file.
+         *
+         * @param file path file checkpoint
+         * @return checkpoint yang tersimpan
+         * @throws UncheckedIOException jika file tidak dapat dibaca atau formatnya tidak dikenal
+         */
+        public static Checkpoint readFrom(Path file) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                    throw new IOException("Format checkpoint tidak dikenal");
+                }
+                int position = in.readInt();
+                long fingerprint = in.readLong();
+                long[] balances = new long[in.readInt()];
+                for (int i = 0; i < balances.length; i++) {
+                    balances[i] = in.readLong();
+                }
+                return new Checkpoint(position, fingerprint, balances);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Gagal membaca checkpoint proyeksi " + file, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,444 @@
+// PBO[package]: Menentukan paket infrastructure.repository agar storage ini dapat dipakai bersama oleh repository in-memory
+package infrastructure.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * PBO[class]: Storage in-memory bersama untuk repository dengan snapshot isolation (MVCC).
+ *
+ * <p>Isi tabel disimpan sebagai persistent vector: trie 32 cabang yang node-nya tidak pernah
+ * diubah setelah dipublikasikan. Setiap penulisan menyalin jalur dari root ke slot yang diubah
+ * (path copying, paling banyak beberapa array 32 elemen) lalu mempublikasikan {@link Snapshot}
+ * baru melalui satu field volatile. Versi lama tetap utuh selama masih dipegang pembaca dan
+ * dibersihkan oleh garbage collector setelahnya.</p>
+ *
+ * <p>Setiap entity disimpan pada slot {@code id - 1}. Entity yang dihapus meninggalkan slot
+ * kosong (tombstone) agar posisi entity lain tidak bergeser. Penulis diserialisasi dengan lock,
+ * sedangkan pembaca hanya membaca satu referensi volatile dan tidak pernah mengambil lock,
+ * sehingga throughput baca bertambah linear dengan jumlah core walaupun transfer tetap berjalan.</p>
+ *
+ * @param <T> tipe entity (record immutable)
+ *
+ * @since 1.1
+ * @author
+ *  Gede Dhanu Purnayasa
+ *  Made Marsel Biliana Wijaya
+ */
+final class EntityTable<T> {
+    // PBO[field-static-final]: Jumlah bit per level trie (32 cabang per node)
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    // PBO[field-static-final]: Rentang slot minimum sebelum spliterator mau dibagi lagi
+    private static final int MIN_SPLIT = 256;
+
+    // PBO[field]: Lock untuk menyerialisasi penulis; pembaca tidak pernah memakainya
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // PBO[field]: Versi tabel terbaru yang sudah dipublikasikan
+    private volatile Snapshot<T> current = new Snapshot<>(new Object[WIDTH], 0, 0, 0);
+
+    /**
+     * PBO[method]: Mengambil view konsisten dari isi tabel saat ini.
+     *
+     * <p>Snapshot tidak berubah walaupun tabel terus ditulis, sehingga beberapa query
+     * atas snapshot yang sama selalu melihat data pada titik waktu yang sama.</p>
+     *
+     * @return snapshot tabel saat ini
+     */
+    Snapshot<T> snapshot() {
+        return current;
+    }
+
+    /**
+     * PBO[method]: Menyimpan entity baru pada slot berikutnya.
+     *
+     * @param factory pembuat entity dari ID baru
+     * @return entity yang disimpan
+     */
+    T insert(IntFunction<T> factory) {
+        writeLock.lock();
+        try {
+            Snapshot<T> base = current;
+            int slot = base.size;
+            Object[] root = base.root;
+            int shift = base.shift;
+            if (slot == 1 << (shift + BITS)) {
+                // Trie penuh: tambah satu level di atas root lama
+                Object[] grown = new Object[WIDTH];
+                grown[0] = root;
+                root = grown;
+                shift += BITS;
+            }
+            T entity = factory.apply(slot + 1);
+            current = new Snapshot<>(assoc(root, shift, slot, entity), shift, slot + 1, base.tombstones);
+            return entity;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * PBO[method]: Menyimpan sekumpulan entity baru pada slot-slot berikutnya dalam satu penulisan.
+     *
+     * <p>Node trie disalin paling banyak sekali per batch (node yang sudah disalin oleh batch
+     * ini diubah langsung), dan seluruh batch dipublikasikan sebagai satu snapshot baru.
+     * Pembaca melihat semua entity batch sekaligus atau tidak sama sekali.</p>
+     *
+     * @param count jumlah entity yang disimpan
+     * @param factory pembuat entity ke-{@code index} dari ID barunya
+     * @return entity yang disimpan, berurutan sesuai index
+     */
+    List<T> insertAll(int count, BatchFactory<T> factory) {
+        List<T> inserted = new ArrayList<>(count);
+        writeLock.lock();
+        try {
+            Snapshot<T> base = current;
+            Object[] root = base.root;
+            int shift = base.shift;
+            int size = base.size;
+            Set<Object[]> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (int index = 0; index < count; index++) {
+                if (size == 1 << (shift + BITS)) {
+                    Object[] grown = new Object[WIDTH];
+                    grown[0] = root;
+                    root = grown;
+                    owned.add(grown);
+                    shift += BITS;
+                }
+                T entity = factory.create(index, size + 1);
+                root = assocOwned(root, shift, size, entity, owned);
+                inserted.add(entity);
+                size++;
+            }
+            current = new Snapshot<>(root, shift, size, base.tombstones);
+            return inserted;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * PBO[method]: Mengganti entity pada ID tertentu jika entity tersebut masih ada.
+     *
+     * @param id ID entity
+     * @param entity versi entity yang baru
+     * @return true jika berhasil diganti, false jika ID tidak ada atau sudah dihapus
+     */
+    boolean replace(int id, T entity) {
+        return write(id, entity);
+    }
+
+    /**
+     * PBO[method]: Menghapus entity dan meninggalkan tombstone pada slot-nya.
+     *
+     * @param id ID entity
+     * @return true jika entity ada dan berhasil dihapus
+     */
+    boolean remove(int id) {
+        return write(id, null);
+    }
+
+    /**
+     * PBO[method]: Mengambil entity berdasarkan ID dari versi terbaru.
+     *
+     * @param id ID entity
+     * @return entity, atau null jika tidak ada atau sudah dihapus
+     */
+    T get(int id) {
+        return current.get(id);
+    }
+
+    /**
+     * PBO[method]: Mencari entity pertama (ID terkecil) yang memenuhi predicate pada versi terbaru.
+     *
+     * @param filter kondisi pencarian
+     * @return entity pertama yang cocok, atau null
+     */
+    T findFirst(Predicate<? super T> filter) {
+        return current.findFirst(filter);
+    }
+
+    /**
+     * PBO[method]: Membuat stream atas versi terbaru tabel.
+     *
+     * @param filter kondisi entity yang diambil, atau null untuk semua entity
+     * @return stream sequential berurutan ID; panggil {@code parallel()} untuk scan paralel
+     */
+    Stream<T> scan(Predicate<? super T> filter) {
+        return current.scan(filter);
+    }
+
+    private boolean write(int id, T entity) {
+        writeLock.lock();
+        try {
+            Snapshot<T> base = current;
+            if (base.get(id) == null) {
+                return false;
+            }
+            current = new Snapshot<>(assoc(base.root, base.shift, id - 1, entity), base.shift, base.size,
+                    entity == null ? base.tombstones + 1 : base.tombstones);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * PBO[method-static]: Menyalin jalur dari node ke slot dan mengisi slot dengan nilai baru.
+     *
+     * @param node node asal (boleh null jika cabang belum ada)
+     * @param shift jumlah bit di atas level daun untuk node ini
+     * @param slot posisi slot
+     * @param value nilai baru
+     * @return salinan node yang sudah memuat nilai baru
+     */
+    private static Object[] assoc(Object[] node, int shift, int slot, Object value) {
+        Object[] copy = node == null ? new Object[WIDTH] : node.clone();
+        if (shift == 0) {
+            copy[slot & MASK] = value;
+        } else {
+            int index = (slot >>> shift) & MASK;
+            copy[index] = assoc((Object[]) copy[index], shift - BITS, slot, value);
+        }
+        return copy;
+    }
+
+    /**
+     * PBO[method-static]: Seperti {@link #assoc}, tetapi node yang sudah disalin oleh batch yang sama diubah langsung.
+     *
+     * @param node node asal (boleh null jika cabang belum ada)
+     * @param shift jumlah bit di atas level daun untuk node ini
+     * @param slot posisi slot
+     * @param value nilai baru
+     * @param owned node yang dibuat oleh batch ini dan belum dipublikasikan
+     * @return node yang sudah memuat nilai baru
+     */
+    private static Object[] assocOwned(Object[] node, int shift, int slot, Object value, Set<Object[]> owned) {
+        Object[] target = node;
+        if (target == null || !owned.contains(target)) {
+            target = node == null ? new Object[WIDTH] : node.clone();
+            owned.add(target);
+        }
+        if (shift == 0) {
+            target[slot & MASK] = value;
+        } else {
+            int index = (slot >>> shift) & MASK;
+            target[index] = assocOwned((Object[]) target[index], shift - BITS, slot, value, owned);
+        }
+        return target;
+    }
+
+    /**
+     * PBO[interface]: Pembuat entity untuk {@link #insertAll}.
+     *
+     * @param <T> tipe entity
+     */
+    @FunctionalInterface
+    interface BatchFactory<T> {
+        /**
+         * PBO[method]: Membuat entity ke-{@code index} dalam batch.
+         *
+         * @param index posisi entity dalam batch
+         * @param id ID baru untuk entity tersebut
+         * @return entity yang disimpan
+         */
+        T create(int index, int id);
+    }
+
+    /**
+     * PBO[inner-class]: Versi immutable dari isi tabel pada satu titik waktu.
+     *
+     * @param <T> tipe entity
+     */
+    static final class Snapshot<T> {
+        private final Object[] root;
+        private final int shift;
+        private final int size;
+        // Jumlah slot yang sudah dihapus, agar jumlah entity dapat dihitung tanpa scan
+        private final int tombstones;
+
+        private Snapshot(Object[] root, int shift, int size, int tombstones) {
+            this.root = root;
+            this.shift = shift;
+            this.size = size;
+            this.tombstones = tombstones;
+        }
+
+        /**
+         * PBO[method]: Mengambil jumlah slot pada snapshot ini, termasuk tombstone.
+         *
+         * @return jumlah slot yang akan diperiksa oleh scan penuh
+         */
+        int size() {
+            return size;
+        }
+
+        /**
+         * PBO[method]: Mengambil jumlah entity pada snapshot ini tanpa memindai slot.
+         *
+         * @return jumlah slot dikurangi tombstone
+         */
+        int count() {
+            return size - tombstones;
+        }
+
+        /**
+         * PBO[method]: Mengambil entity berdasarkan ID pada snapshot ini.
+         *
+         * @param id ID entity
+         * @return entity, atau null jika tidak ada atau sudah dihapus
+         */
+        T get(int id) {
+            int slot = id - 1;
+            if (slot < 0 || slot >= size) {
+                return null;
+            }
+            return entityAt(leafFor(slot), slot);
+        }
+
+        /**
+         * PBO[method]: Mencari entity pertama (ID terkecil) yang memenuhi predicate.
+         *
+         * @param filter kondisi pencarian
+         * @return entity pertama yang cocok, atau null
+         */
+        T findFirst(Predicate<? super T> filter) {
+            Object[] leaf = null;
+            for (int slot = 0; slot < size; slot++) {
+                if ((slot & MASK) == 0 || leaf == null) {
+                    leaf = leafFor(slot);
+                }
+                T entity = entityAt(leaf, slot);
+                if (entity != null && filter.test(entity)) {
+                    return entity;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * PBO[method]: Membuat stream atas snapshot ini tanpa menyalin data.
+         *
+         * <p>Predicate diterapkan langsung di dalam spliterator, sehingga entity yang tidak
+         * cocok tidak pernah masuk ke pipeline stream.</p>
+         *
+         * @param filter kondisi entity yang diambil, atau null untuk semua entity
+         * @return stream sequential berurutan ID; panggil {@code parallel()} untuk scan paralel
+         */
+        Stream<T> scan(Predicate<? super T> filter) {
+            return StreamSupport.stream(new SlotSpliterator<>(this, 0, size, filter), false);
+        }
+
+        /**
+         * PBO[method]: Membuat stream atas rentang ID [fromId, toId) tanpa menyusuri slot sebelumnya.
+         *
+         * @param fromId ID awal (inklusif)
+         * @param toId ID akhir (eksklusif)
+         * @return stream sequential berurutan ID; panggil {@code parallel()} untuk scan paralel
+         */
+        Stream<T> scanRange(int fromId, int toId) {
+            int from = Math.max(fromId - 1, 0);
+            int fence = Math.max(Math.min(toId - 1, size), from);
+            return StreamSupport.stream(new SlotSpliterator<>(this, from, fence, null), false);
+        }
+
+        private Object[] leafFor(int slot) {
+            Object[] node = root;
+            for (int level = shift; level > 0; level -= BITS) {
+                node = (Object[]) node[(slot >>> level) & MASK];
+            }
+            return node;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T entityAt(Object[] leaf, int slot) {
+            return (T) leaf[slot & MASK];
+        }
+    }
+
+    /**
+     * PBO[inner-class]: Spliterator atas rentang slot [index, fence) sebuah snapshot yang dapat dibagi dua.
+     */
+    private static final class SlotSpliterator<T> implements Spliterator<T> {
+        private final Snapshot<T> snapshot;
+        private final Predicate<? super T> filter;
+        private int index;
+        private final int fence;
+        private Object[] leaf;
+
+        private SlotSpliterator(Snapshot<T> snapshot, int index, int fence, Predicate<? super T> filter) {
+            this.snapshot = snapshot;
+            this.index = index;
+            this.fence = fence;
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (index < fence) {
+                T entity = next();
+                if (entity != null && (filter == null || filter.test(entity))) {
+                    action.accept(entity);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            while (index < fence) {
+                T entity = next();
+                if (entity != null && (filter == null || filter.test(entity))) {
+                    action.accept(entity);
+                }
+            }
+        }
+
+        private T next() {
+            int slot = index++;
+            if ((slot & MASK) == 0 || leaf == null) {
+                leaf = snapshot.leafFor(slot);
+            }
+            return Snapshot.entityAt(leaf, slot);
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int remaining = fence - index;
+            if (remaining < MIN_SPLIT * 2) {
+                return null;
+            }
+            // Titik potong dibulatkan ke batas daun agar kedua bagian tidak berbagi daun
+            int middle = (index + (remaining >>> 1)) & ~MASK;
+            if (middle <= index) {
+                return null;
+            }
+            SlotSpliterator<T> prefix = new SlotSpliterator<>(snapshot, index, middle, filter);
+            index = middle;
+            leaf = null;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+// PBO[package]: Menentukan paket infrastructure.repository agar implementasi repository ini dapat digunakan di lapisan infrastruktur
+package infrastructure.repository;
+
+import application.service.TimeService; // PBO[import]: Tanggal dan timestamp untuk transaksi saldo pembukaan
+import domain.entity.AccountEntity; // PBO[import]: Entitas rekening yang dikembalikan dengan saldo hasil proyeksi
+import domain.entity.TransactionEntity; // PBO[import]: Transaksi saldo pembukaan yang ditulis ke log
+import domain.repository.AccountRepository; // PBO[import]: Kontrak repository yang diimplementasikan kelas ini
+import domain.repository.TransactionRepository; // PBO[import]: Log transaksi sumber kebenaran saldo
+import domain.util.TransactionEffects; // PBO[import]: Konversi saldo satuan terkecil ke BigDecimal
+import domain.value.TransactionType; // PBO[import]: Tipe transaksi saldo pembukaan
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * PBO[class]: Implementasi AccountRepository berbasis event sourcing.
+ *
+ * <p>Data rekening selain saldo (nomor, tipe, nasabah, limit) disimpan di
+ * {@link InMemoryAccountRepository}, sedangkan saldo tidak pernah disimpan: saldo selalu
+ * dihitung dari log {@link TransactionRepository} oleh {@link AccountBalanceProjection}.
+ * Saldo pada {@link #update(AccountEntity)} diabaikan, sehingga saldo rekening tidak dapat
+ * menyimpang dari riwayat transaksinya. Saldo awal rekening baru dicatat sebagai transaksi
+ * {@link TransactionType#OPENING_BALANCE}.</p>
+ *
+ * <p>Jika dibuat dengan file checkpoint, proyeksi dipulihkan dari file tersebut lalu hanya
+ * mengejar transaksi setelah posisinya; checkpoint yang tidak cocok dengan log diabaikan dan
+ * proyeksi dibangun ulang dari awal. Checkpoint baru ditulis dengan {@link #writeCheckpoint()}.</p>
+ *
+ * @since 1.1
+ * @author
+ *  Gede Dhanu Purnayasa
+ *  Made Marsel Biliana Wijaya
+ */
+public class EventSourcedAccountRepository implements AccountRepository {
+    // PBO[field]: Data rekening tanpa saldo; saldo yang tersimpan di sini selalu 0
+    private final AccountRepository accounts;
+    // PBO[field]: Log transaksi tempat saldo pembukaan ditulis
+    private final TransactionRepository log;
+    // PBO[field]: Layanan waktu untuk tanggal transaksi saldo pembukaan
+    private final TimeService timeService;
+    // PBO[field]: Proyeksi saldo dari log transaksi
+    private final AccountBalanceProjection projection;
+    // PBO[field]: File checkpoint proyeksi, atau null jika checkpoint tidak ditulis ke file
+    private final Path checkpointFile;
+    // PBO[field]: Saldo yang dikunci untuk repository read-only, atau null untuk repository utama
+    private final AccountBalanceProjection.Checkpoint pinned;
+
+    /**
+     * PBO[constructor]: Membuat repository event-sourced yang membangun proyeksi dari awal log.
+     *
+     * @param log log transaksi sumber kebenaran saldo
+     * @param timeService layanan waktu untuk transaksi saldo pembukaan
+     */
+    public EventSourcedAccountRepository(TransactionRepository log, TimeService timeService) {
+        this(log, timeService, null);
+    }
+
+    /**
+     * PBO[constructor]: Membuat repository event-sourced yang memulihkan proyeksi dari file checkpoint.
+     *
+     * @param log log transaksi sumber kebenaran saldo
+     * @param timeService layanan waktu untuk transaksi saldo pembukaan
+     * @param checkpointFile file checkpoint proyeksi, atau null untuk selalu membangun dari awal
+     */
+    public EventSourcedAccountRepository(TransactionRepository log, TimeService timeService, Path checkpointFile) {
+        this.accounts = new InMemoryAccountRepository();
+        this.log = log;
+        this.timeService = timeService;
+        this.projection = new AccountBalanceProjection(log);
+        this.checkpointFile = checkpointFile;
+        this.pinned = null;
+        if (checkpointFile == null || !Files.exists(checkpointFile)
+                || !projection.restore(AccountBalanceProjection.Checkpoint.readFrom(checkpointFile))) {
+            projection.rebuild();
+        }
+    }
+
+    // PBO[constructor-private]: Dipakai oleh snapshot() untuk membuat view read-only atas satu versi data
+    private EventSourcedAccountRepository(EventSourcedAccountRepository source, AccountRepository accounts,
+                                          AccountBalanceProjection.Checkpoint pinned) {
+        this.accounts = accounts;
+        this.log = source.log;
+        this.timeService = source.timeService;
+        this.projection = source.projection;
+        this.checkpointFile = source.checkpointFile;
+        this.pinned = pinned;
+    }
+
+    /**
+     * PBO[method]: Mendapatkan proyeksi saldo yang dipakai repository ini.
+     *
+     * @return proyeksi saldo
+     */
+    public AccountBalanceProjection projection() {
+        return projection;
+    }
+
+    /**
+     * PBO[method]: Menulis checkpoint proyeksi ke file checkpoint repository ini.
+     *
+     * @return checkpoint yang ditulis
+     * @throws IllegalStateException jika repository dibuat tanpa file checkpoint
+     * @throws java.io.UncheckedIOException jika file tidak dapat ditulis
+     */
+    public AccountBalanceProjection.Checkpoint writeCheckpoint() {
+        if (checkpointFile == null) {
+            throw new IllegalStateException("Repository dibuat tanpa file checkpoint");
+        }
+        AccountBalanceProjection.Checkpoint checkpoint = projection.checkpoint();
+        checkpoint.writeTo(checkpointFile);
+        return checkpoint;
+    }
+
+    /**
+     * PBO[method]: Mencari rekening berdasarkan ID unik.
+     *
+     * @param id ID rekening yang dicari
+     * @return Optional berisi AccountEntity dengan saldo hasil proyeksi, kosong jika tidak ditemukan
+     */
+    @Override
+    public Optional<AccountEntity> findById(int id) {
+        return accounts.findById(id).map(this::withBalance);
+    }
+
+    /**
+     * PBO[method]: Mencari rekening berdasarkan ID nasabah.
+     *
+     * @param customerId ID nasabah pemilik rekening
+     * @return Optional berisi AccountEntity dengan saldo hasil proyeksi, kosong jika tidak ditemukan
+     */
+    @Override
+    public Optional<AccountEntity> findByCustomerId(int customerId) {
+        return accounts.findByCustomerId(customerId).map(this::withBalance);
+    }
+
+    /**
+     * PBO[method]: Mencari rekening berdasarkan nomor rekening.
+     *
+     * @param accountNumber nomor rekening yang dicari
+     * @return Optional berisi AccountEntity dengan saldo hasil proyeksi, kosong jika tidak ditemukan
+     */
+    @Override
+    public Optional<AccountEntity> findByAccountNumber(String accountNumber) {
+        return accounts.findByAccountNumber(accountNumber).map(this::withBalance);
+    }
+
+    /**
+     * PBO[method]: Mengambil semua data rekening dengan saldo hasil proyeksi.
+     *
+     * @return List baru berisi semua AccountEntity
+     */
+    @Override
+    public List<AccountEntity> findAll() {
+        return scan(null).collect(Collectors.toList());
+    }
+
+    /**
+     * PBO[method]: Memindai data rekening dengan saldo hasil proyeksi.
+     *
+     * <p>Filter diterapkan setelah saldo diisi, sehingga filter berdasarkan saldo tetap benar.</p>
+     *
+     * @param filter kondisi rekening yang diambil, atau null untuk semua data
+     * @return Stream berisi AccountEntity yang cocok, berurutan berdasarkan ID
+     */
+    @Override
+    public Stream<AccountEntity> scan(Predicate<? super AccountEntity> filter) {
+        if (pinned == null) {
+            projection.catchUp();
+        }
+        Stream<AccountEntity> projected = accounts.scan(null).map(this::currentWithBalance);
+        return filter == null ? projected : projected.filter(filter);
+    }
+
+    /**
+     * PBO[method]: Menghitung jumlah rekening tanpa memproyeksikan saldo.
+     *
+     * @return jumlah rekening yang tersimpan
+     */
+    @Override
+    public long count() {
+        return accounts.count();
+    }
+
+    /**
+     * PBO[method]: Menyimpan rekening baru dan mencatat saldo awalnya sebagai transaksi.
+     *
+     * @param account AccountEntity yang akan disimpan (tanpa ID)
+     * @return AccountEntity yang sudah disimpan dengan ID yang sudah di-assign
+     */
+    @Override
+    public AccountEntity save(AccountEntity account) {
+        checkWritable();
+        AccountEntity saved = accounts.save(withBalance(account, BigDecimal.ZERO));
+        if (account.balance() != null && account.balance().signum() != 0) {
+            log.save(new TransactionEntity(0, saved.id(), null, account.balance(),
+                    TransactionType.OPENING_BALANCE, timeService.today(), timeService.now()));
+        }
+        return withBalance(saved);
+    }
+
+    /**
+     * PBO[method]: Memperbarui data rekening selain saldo.
+     *
+     * <p>Saldo pada parameter diabaikan; perubahan saldo hanya terjadi lewat transaksi di log.</p>
+     *
+     * @param account AccountEntity dengan data yang diperbarui
+     * @return AccountEntity yang sudah diperbarui dengan saldo hasil proyeksi
+     * @throws domain.exception.EntityNotFoundException jika ID rekening tidak ditemukan
+     */
+    @Override
+    public AccountEntity update(AccountEntity account) {
+        checkWritable();
+        return withBalance(accounts.update(withBalance(account, BigDecimal.ZERO)));
+    }
+
+    /**
+     * PBO[method]: Menghapus rekening berdasarkan ID unik. Transaksi rekening tetap ada di log.
+     *
+     * @param id ID rekening yang akan dihapus
+     * @return true jika berhasil dihapus, false jika tidak ditemukan
+     */
+    @Override
+    public boolean deleteById(int id) {
+        checkWritable();
+        return accounts.deleteById(id);
+    }
+
+    /**
+     * PBO[method]: Membuat view read-only atas data rekening dan saldo saat ini.
+     *
+     * <p>Saldo snapshot disalin dari proyeksi pada posisi log saat snapshot dibuat.</p>
+     *
+     * @return repository read-only yang terikat pada satu versi data
+     */
+    @Override
+    public AccountRepository snapshot() {
+        if (pinned != null) {
+            return this;
+        }
+        // Data rekening diambil lebih dulu agar rekening baru di snapshot sudah punya saldo pembukaan
+        AccountRepository pinnedAccounts = accounts.snapshot();
+        return new EventSourcedAccountRepository(this, pinnedAccounts, projection.checkpoint());
+    }
+
+    // PBO[utility]: Mengisi saldo rekening dari proyeksi setelah mengejar log (atau dari snapshot)
+    private AccountEntity withBalance(AccountEntity account) {
+        if (pinned == null) {
+            projection.catchUp();
+        }
+        return currentWithBalance(account);
+    }
+
+    // PBO[utility]: Mengisi saldo rekening dari posisi proyeksi saat ini tanpa mengejar log
+    private AccountEntity currentWithBalance(AccountEntity account) {
+        long balance = pinned != null ? pinned.balance(account.id()) : projection.currentBalance(account.id());
+        return withBalance(account, TransactionEffects.fromMinorUnits(balance));
+    }
+
+    // PBO[utility-static]: Membuat salinan rekening dengan saldo tertentu
+    private static AccountEntity withBalance(AccountEntity account, BigDecimal balance) {
+        return new AccountEntity(account.id(), account.accountNumber(), balance, account.accountType(),
+                account.customerId(), account.dailyTransferLimit(), account.dailyWithdrawLimit());
+    }
+
+    // PBO[utility]: Menolak penulisan pada repository snapshot
+    private void checkWritable() {
+        if (pinned != null) {
+            throw new UnsupportedOperationException("Snapshot repository bersifat read-only");
+        }
+    }
+}
@@ -1,22 +1,33 @@
 // PBO[package]: Menentukan paket infrastructure.repository agar implementasi repository ini dapat digunakan di lapisan infrastruktur
 package infrastructure.repository;
 
+import application.diagnostic.RepositoryQueryEvent; // PBO[import]: Event JFR untuk mencatat pencarian beserta jumlah baris yang dipindai
 import domain.entity.AccountCardEntity; // PBO[import]: Mengimpor entitas kartu rekening agar dapat dimanipulasi oleh repository ini
 import domain.exception.EntityNotFoundException; // PBO[import]: Mengimpor exception untuk dilempar jika data tidak ditemukan saat update
 import domain.repository.AccountCardRepository; // PBO[import]: Mengimpor interface repository agar kelas ini dapat mengimplementasikan kontrak repository
 
 import java.util.ArrayList; // PBO[import]: Struktur data dinamis untuk menyimpan entitas dalam memori
-import java.util.Collections; // PBO[import]: Digunakan untuk membuat list yang aman untuk akses multi-thread
 import java.util.List; // PBO[import]: Tipe koleksi yang digunakan untuk menampung AccountCardEntity
+import java.util.Map; // PBO[import]: Tipe index nomor kartu ke ID kartu
+import java.util.Objects; // PBO[import]: Membandingkan nomor kartu yang boleh null
 import java.util.Optional; // PBO[import]: Tipe pembungkus hasil pencarian yang bisa kosong (empty) atau berisi nilai
-import java.util.concurrent.atomic.AtomicInteger; // PBO[import]: Variabel counter thread-safe untuk menghasilkan ID unik secara otomatis
+import java.util.concurrent.ConcurrentHashMap; // PBO[import]: Index hash yang aman dibaca tanpa lock
+import java.util.function.Predicate; // PBO[import]: Kondisi filter yang diterapkan langsung di storage saat scan
+import java.util.stream.Collectors; // PBO[import]: Mengumpulkan hasil scan ke dalam List baru
+import java.util.stream.Stream; // PBO[import]: Tipe hasil scan streaming
 
 /**
  * PBO[class]: Implementasi in-memory untuk AccountCardRepository.
  *
- * <p>Kelas ini menyimpan data kartu rekening (ATM/Debit) di dalam memori menggunakan List.
+ * <p>Kelas ini menyimpan data kartu rekening (ATM/Debit) di dalam memori menggunakan {@link EntityTable}.
  * Cocok untuk pengujian (unit test) atau prototipe tanpa database.
- * ID baru akan di-generate otomatis menggunakan AtomicInteger.</p>
+ * ID baru diberikan berurutan oleh storage, dan pembacaan tidak mengambil lock.</p>
+ *
+ * <p>Pencarian berdasarkan nomor kartu memakai index hash nomor kartu ke ID, dengan
+ * {@link StringBloomFilter} di depannya. Nomor kartu yang tidak dikenal (salah ketik atau
+ * percobaan nomor curian di ATM) ditolak oleh filter tanpa menyentuh index dan tanpa alokasi.
+ * Filter diperbarui setiap kali kartu baru disimpan; ketika jumlah kartu melewati kapasitas,
+ * atau terlalu banyak nomor usang akibat hapus/ubah, filter dibangun ulang dari index.</p>
  *
  * @since 1.0
  * @author
@@ -24,10 +35,18 @@ import java.util.concurrent.atomic.AtomicInteger; // PBO[import]: Variabel count
  *  Made Marsel Biliana Wijaya
  */
 public class InMemoryAccountCardRepository implements AccountCardRepository {
-    // PBO[field]: List sinkron untuk menyimpan data kartu rekening di memori agar aman diakses multi-thread
-    private final List<AccountCardEntity> accountCards = Collections.synchronizedList(new ArrayList<>());
-    // PBO[field]: Counter ID otomatis thread-safe untuk memberi ID unik pada entitas baru
-    private final AtomicInteger idCounter = new AtomicInteger(0);
+    // PBO[field]: Storage MVCC untuk menyimpan data kartu rekening di memori; pembaca tidak mengambil lock
+    private final EntityTable<AccountCardEntity> accountCards = new EntityTable<>();
+    // PBO[field-static-final]: Kapasitas awal Bloom filter nomor kartu
+    private static final int INITIAL_FILTER_CAPACITY = 1024;
+    // PBO[field]: Index hash nomor kartu ke ID kartu
+    private final Map<String, Integer> cardNumberIndex = new ConcurrentHashMap<>();
+    // PBO[field]: Bloom filter nomor kartu; diganti utuh saat dibangun ulang
+    private volatile StringBloomFilter cardNumberFilter = new StringBloomFilter(INITIAL_FILTER_CAPACITY);
+    // PBO[field]: Lock untuk menyerialisasi perubahan storage beserta index nomor kartu
+    private final Object indexLock = new Object();
+    // PBO[field]: Jumlah nomor kartu yang masih tercatat di filter padahal sudah tidak dipakai
+    private int staleFilterEntries;
 
     /**
      * PBO[method-Polymorphim]: Mencari kartu berdasarkan ID unik.
@@ -37,9 +56,11 @@ public class InMemoryAccountCardRepository implements AccountCardRepository {
      */
     @Override
     public Optional<AccountCardEntity> findById(int id) {
-        return accountCards.stream()
-                .filter(accountCard -> accountCard.id() == id)
-                .findFirst();
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        event.begin();
+        AccountCardEntity accountCard = accountCards.get(id);
+        event.complete("AccountCardRepository", "findById", 1, accountCard == null ? 0 : 1);
+        return Optional.ofNullable(accountCard);
     }
 
     /**
@@ -50,10 +71,39 @@ public class InMemoryAccountCardRepository implements AccountCardRepository {
      */
     @Override
     public Optional<AccountCardEntity> findByAccountId(int accountId) {
-        return accountCards.stream()
-                .filter(accountCard -> accountCard.accountId() == accountId)
-                .findFirst();
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        event.begin();
+        EntityTable.Snapshot<AccountCardEntity> snapshot = accountCards.snapshot();
+        AccountCardEntity accountCard = snapshot.findFirst(candidate -> candidate.accountId() == accountId);
+        // Pencarian berhenti di baris yang ditemukan, atau memeriksa seluruh slot jika tidak ada
+        event.complete("AccountCardRepository", "findByAccountId", accountCard != null ? accountCard.id() : snapshot.size(), accountCard == null ? 0 : 1);
+        return Optional.ofNullable(accountCard);
     }
+
+    /**
+     * PBO[method]: Mencari kartu berdasarkan nomor kartu melalui Bloom filter dan index hash.
+     *
+     * @param cardNumber nomor kartu yang dicari
+     * @return Optional berisi AccountCardEntity jika ditemukan, kosong jika tidak
+     */
+    @Override
+    public Optional<AccountCardEntity> findByCardNumber(String cardNumber) {
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        event.begin();
+        if (cardNumber == null || !cardNumberFilter.mightContain(cardNumber)) {
+            // Penolakan cepat: index tidak disentuh
+            event.complete("AccountCardRepository", "findByCardNumber", 0, 0);
+            return Optional.empty();
+        }
+        Integer id = cardNumberIndex.get(cardNumber);
+        AccountCardEntity accountCard = id == null ? null : accountCards.get(id);
+        if (accountCard != null && !cardNumber.equals(accountCard.cardNumber())) {
+            accountCard = null;
+        }
+        event.complete("AccountCardRepository", "findByCardNumber", id == null ? 0 : 1, accountCard == null ? 0 : 1);
+        return Optional.ofNullable(accountCard);
+    }
+
     /**
      * PBO[method]: Mengambil semua data kartu yang tersimpan di memori.
      *
@@ -61,7 +111,28 @@ public class InMemoryAccountCardRepository implements AccountCardRepository {
      */
     @Override
     public List<AccountCardEntity> findAll() {
-        return new ArrayList<>(accountCards);
+        return accountCards.scan(null).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * PBO[method]: Memindai data kartu rekening secara streaming tanpa menyalin storage.
+     *
+     * @param filter kondisi kartu rekening yang diambil, diterapkan langsung di storage
+     * @return Stream berisi AccountCardEntity yang cocok, berurutan berdasarkan ID
+     */
+    @Override
+    public Stream<AccountCardEntity> scan(Predicate<? super AccountCardEntity> filter) {
+        return accountCards.scan(filter);
+    }
+
+    /**
+     * PBO[method]: Menghitung jumlah data kartu rekening dari snapshot tanpa memindai slot.
+     *
+     * @return jumlah data kartu rekening yang belum dihapus
+     */
+    @Override
+    public long count() {
+        return accountCards.snapshot().count();
     }
     /**
      * PBO[method]: Menyimpan kartu baru ke repository dengan ID baru otomatis.
@@ -71,18 +142,19 @@ public class InMemoryAccountCardRepository implements AccountCardRepository {
      */
     @Override
     public AccountCardEntity save(AccountCardEntity accountCard) {
-        int newId = idCounter.incrementAndGet();
-        AccountCardEntity insertionEntity = new AccountCardEntity(
-                newId,
-                accountCard.accountId(),
-                accountCard.cardNumber(),
-                accountCard.pin(),
-                accountCard.cardTypeId(),
-                accountCard.active(),
-                accountCard.expiredDate()
-        );
-        accountCards.add(insertionEntity);
-        return insertionEntity;
+        synchronized (indexLock) {
+            AccountCardEntity saved = accountCards.insert(newId -> new AccountCardEntity(
+                    newId,
+                    accountCard.accountId(),
+                    accountCard.cardNumber(),
+                    accountCard.pin(),
+                    accountCard.cardTypeId(),
+                    accountCard.active(),
+                    accountCard.expiredDate()
+            ));
+            indexCardNumber(saved);
+            return saved;
+        }
     }
     /**
      * PBO[method]: Memperbarui data kartu yang sudah ada di repository.
@@ -93,9 +165,13 @@ public class InMemoryAccountCardRepository implements AccountCardRepository {
      */
     @Override
     public AccountCardEntity update(AccountCardEntity accountCard) {
-        for (int i = 0; i < accountCards.size(); i++) {
-            if (accountCards.get(i).id() == accountCard.id()) {
-                accountCards.set(i, accountCard);
+        synchronized (indexLock) {
+            AccountCardEntity previous = accountCards.get(accountCard.id());
+            if (accountCards.replace(accountCard.id(), accountCard)) {
+                if (!Objects.equals(previous.cardNumber(), accountCard.cardNumber())) {
+                    unindexCardNumber(previous);
+                    indexCardNumber(accountCard);
+                }
                 return accountCard;
             }
         }
@@ -110,6 +186,74 @@ public class InMemoryAccountCardRepository implements AccountCardRepository {
      */
     @Override
     public boolean deleteById(int id) {
-        return accountCards.removeIf(accountCard -> accountCard.id() == id);
+        synchronized (indexLock) {
+            AccountCardEntity previous = accountCards.get(id);
+            if (!accountCards.remove(id)) {
+                return false;
+            }
+            unindexCardNumber(previous);
+            return true;
+        }
+    }
+
+    /**
+     * PBO[method]: Menambahkan nomor kartu ke index dan filter. Dipanggil sambil memegang indexLock.
+     *
+     * <p>Jika nomor kartu ganda, index menunjuk ke kartu dengan ID terkecil seperti pencarian lain.</p>
+     *
+     * @param accountCard kartu yang baru disimpan
+     */
+    private void indexCardNumber(AccountCardEntity accountCard) {
+        String cardNumber = accountCard.cardNumber();
+        if (cardNumber == null) {
+            return;
+        }
+        cardNumberIndex.merge(cardNumber, accountCard.id(), Math::min);
+        StringBloomFilter filter = cardNumberFilter;
+        if (cardNumberIndex.size() > filter.capacity()) {
+            // Kapasitas terlampaui: bangun ulang dengan kapasitas dua kali lipat agar biaya rebuild teramortisasi
+            rebuildCardNumberFilter(filter.capacity() * 2);
+        } else {
+            filter.add(cardNumber);
+        }
+    }
+
+    /**
+     * PBO[method]: Menghapus nomor kartu dari index. Dipanggil sambil memegang indexLock.
+     *
+     * <p>Bloom filter tidak mendukung penghapusan, sehingga nomor lama hanya dihitung sebagai
+     * entri usang dan filter dibangun ulang jika entri usang mencapai separuh kapasitas.</p>
+     *
+     * @param accountCard versi kartu sebelum dihapus atau diubah
+     */
+    private void unindexCardNumber(AccountCardEntity accountCard) {
+        String cardNumber = accountCard.cardNumber();
+        if (cardNumber == null || !cardNumberIndex.remove(cardNumber, accountCard.id())) {
+            return;
+        }
+        // Kartu lain dengan nomor yang sama (jika ada) kembali masuk index
+        AccountCardEntity duplicate = accountCards.findFirst(candidate -> cardNumber.equals(candidate.cardNumber()));
+        if (duplicate != null) {
+            cardNumberIndex.put(cardNumber, duplicate.id());
+            return;
+        }
+        StringBloomFilter filter = cardNumberFilter;
+        if (++staleFilterEntries > filter.capacity() / 2) {
+            rebuildCardNumberFilter(Math.max(INITIAL_FILTER_CAPACITY, cardNumberIndex.size() * 2));
+        }
+    }
+
+    /**
+     * PBO[method]: Membangun filter baru dari isi index lalu mempublikasikannya. Dipanggil sambil memegang indexLock.
+     *
+     * @param capacity kapasitas filter baru
+     */
+    private void rebuildCardNumberFilter(int capacity) {
+        StringBloomFilter rebuilt = new StringBloomFilter(capacity);
+        for (String cardNumber : cardNumberIndex.keySet()) {
+            rebuilt.add(cardNumber);
+        }
+        cardNumberFilter = rebuilt;
+        staleFilterEntries = 0;
     }
 }
@@ -1,19 +1,22 @@
 // PBO[package]: Menentukan paket infrastructure.repository agar implementasi repository ini dapat digunakan di lapisan infrastruktur
 package infrastructure.repository;
 
+import application.diagnostic.RepositoryQueryEvent; // PBO[import]: Event JFR untuk mencatat pencarian beserta jumlah baris yang dipindai
 import domain.entity.AccountEntity; // PBO[import]: Mengimpor entitas rekening untuk dimanipulasi oleh repository ini
 import domain.exception.EntityNotFoundException; // PBO[import]: Mengimpor exception untuk dilempar jika data tidak ditemukan saat update
 import domain.repository.AccountRepository; // PBO[import]: Mengimpor interface repository agar kelas ini sesuai kontrak repository
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger; // PBO[import]: Variabel counter thread-safe untuk menghasilkan ID unik secara otomatis
+import java.util.function.Predicate; // PBO[import]: Kondisi filter yang diterapkan langsung di storage saat scan
+import java.util.stream.Collectors; // PBO[import]: Mengumpulkan hasil scan ke dalam List baru
+import java.util.stream.Stream; // PBO[import]: Tipe hasil scan streaming
 
 /**
  * PBO[class]: Implementasi in-memory untuk AccountRepository.
  *
- * <p>Kelas ini menyimpan data rekening di dalam memori menggunakan List.
+ * <p>Kelas ini menyimpan data rekening di dalam memori menggunakan {@link EntityTable}.
  * Cocok untuk pengujian (unit test) atau prototipe tanpa database.
- * ID baru akan di-generate otomatis menggunakan AtomicInteger.</p>
+ * ID baru diberikan berurutan oleh storage, dan pembacaan tidak mengambil lock.</p>
  *
  * @since 1.0
  * @author
@@ -21,10 +24,23 @@ import java.util.concurrent.atomic.AtomicInteger; // PBO[import]: Variabel count
  *  Made Marsel Biliana Wijaya
  */
 public class InMemoryAccountRepository implements AccountRepository {
-    // PBO[field]: List sinkron untuk menyimpan data rekening di memori agar aman diakses multi-thread
-    private final List<AccountEntity> accounts = Collections.synchronizedList(new ArrayList<>());
-    // PBO[field]: Counter ID otomatis thread-safe untuk memberi ID unik pada entitas baru
-    private final AtomicInteger idCounter = new AtomicInteger(0);
+    // PBO[field]: Storage MVCC untuk menyimpan data rekening di memori; pembaca tidak mengambil lock
+    private final EntityTable<AccountEntity> accounts;
+    // PBO[field]: Snapshot yang dikunci untuk repository read-only, atau null untuk repository utama
+    private final EntityTable.Snapshot<AccountEntity> pinned;
+
+    /**
+     * PBO[constructor]: Membuat repository rekening kosong yang dapat ditulis.
+     */
+    public InMemoryAccountRepository() {
+        this(new EntityTable<>(), null);
+    }
+
+    // PBO[constructor-private]: Dipakai oleh snapshot() untuk membuat view read-only atas satu versi tabel
+    private InMemoryAccountRepository(EntityTable<AccountEntity> accounts, EntityTable.Snapshot<AccountEntity> pinned) {
+        this.accounts = accounts;
+        this.pinned = pinned;
+    }
 
     /**
      * PBO[method]: Mencari rekening berdasarkan ID unik.
@@ -34,9 +50,11 @@ public class InMemoryAccountRepository implements AccountRepository {
      */
     @Override
     public Optional<AccountEntity> findById(int id) {
-        return accounts.stream()
-                .filter(account -> account.id() == id)
-                .findFirst();
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        event.begin();
+        AccountEntity account = view().get(id);
+        event.complete("AccountRepository", "findById", 1, account == null ? 0 : 1);
+        return Optional.ofNullable(account);
     }
 
     /**
@@ -47,9 +65,13 @@ public class InMemoryAccountRepository implements AccountRepository {
      */
     @Override
     public Optional<AccountEntity> findByCustomerId(int customerId) {
-        return accounts.stream()
-                .filter(account -> account.customerId() == customerId)
-                .findFirst();
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        event.begin();
+        EntityTable.Snapshot<AccountEntity> snapshot = view();
+        AccountEntity account = snapshot.findFirst(candidate -> candidate.customerId() == customerId);
+        // Pencarian berhenti di baris yang ditemukan, atau memeriksa seluruh slot jika tidak ada
+        event.complete("AccountRepository", "findByCustomerId", account != null ? account.id() : snapshot.size(), account == null ? 0 : 1);
+        return Optional.ofNullable(account);
     }
 
     /**
@@ -60,9 +82,13 @@ public class InMemoryAccountRepository implements AccountRepository {
      */
     @Override
     public Optional<AccountEntity> findByAccountNumber(String accountNumber) {
-        return accounts.stream()
-                .filter(account -> Objects.equals(account.accountNumber(), accountNumber))
-                .findFirst();
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        event.begin();
+        EntityTable.Snapshot<AccountEntity> snapshot = view();
+        AccountEntity account = snapshot.findFirst(candidate -> Objects.equals(candidate.accountNumber(), accountNumber));
+        // Pencarian berhenti di baris yang ditemukan, atau memeriksa seluruh slot jika tidak ada
+        event.complete("AccountRepository", "findByAccountNumber", account != null ? account.id() : snapshot.size(), account == null ? 0 : 1);
+        return Optional.ofNullable(account);
     }
 
     /**
@@ -72,7 +98,28 @@ public class InMemoryAccountRepository implements AccountRepository {
      */
     @Override
     public List<AccountEntity> findAll() {
-        return new ArrayList<>(accounts);
+        return view().scan(null).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * PBO[method]: Memindai data rekening secara streaming tanpa menyalin storage.
+     *
+     * @param filter kondisi rekening yang diambil, diterapkan langsung di storage
+     * @return Stream berisi AccountEntity yang cocok, berurutan berdasarkan ID
+     */
+    @Override
+    public Stream<AccountEntity> scan(Predicate<? super AccountEntity> filter) {
+        return view().scan(filter);
+    }
+
+    /**
+     * PBO[method]: Menghitung jumlah data rekening dari snapshot tanpa memindai slot.
+     *
+     * @return jumlah data rekening yang belum dihapus
+     */
+    @Override
+    public long count() {
+        return view().count();
     }
 
     /**
@@ -83,8 +130,8 @@ public class InMemoryAccountRepository implements AccountRepository {
      */
     @Override
     public AccountEntity save(AccountEntity account) {
-        int newId = idCounter.incrementAndGet();
-        AccountEntity insertionEntity = new AccountEntity(
+        checkWritable();
+        return accounts.insert(newId -> new AccountEntity(
                 newId,
                 account.accountNumber(),
                 account.balance(),
@@ -92,9 +139,7 @@ public class InMemoryAccountRepository implements AccountRepository {
                 account.customerId(),
                 account.dailyTransferLimit(),
                 account.dailyWithdrawLimit()
-        );
-        accounts.add(insertionEntity);
-        return insertionEntity;
+        ));
     }
 
     /**
@@ -106,11 +151,9 @@ public class InMemoryAccountRepository implements AccountRepository {
      */
     @Override
     public AccountEntity update(AccountEntity account) {
-        for (int i = 0; i < accounts.size(); i++) {
-            if (accounts.get(i).id() == account.id()) {
-                accounts.set(i, account);
-                return account;
-            }
+        checkWritable();
+        if (accounts.replace(account.id(), account)) {
+            return account;
         }
 
         throw new EntityNotFoundException("Akun tidak ditemukan");
@@ -124,6 +167,29 @@ public class InMemoryAccountRepository implements AccountRepository {
      */
     @Override
     public boolean deleteById(int id) {
-        return accounts.removeIf(account -> account.id() == id);
+        checkWritable();
+        return accounts.remove(id);
+    }
+
+    /**
+     * PBO[method]: Membuat view read-only atas versi data rekening saat ini.
+     *
+     * @return repository read-only yang terikat pada satu snapshot
+     */
+    @Override
+    public AccountRepository snapshot() {
+        return new InMemoryAccountRepository(accounts, view());
+    }
+
+    // PBO[utility]: Versi tabel yang dibaca: snapshot yang dikunci atau versi terbaru
+    private EntityTable.Snapshot<AccountEntity> view() {
+        return pinned != null ? pinned : accounts.snapshot();
+    }
+
+    // PBO[utility]: Menolak penulisan pada repository snapshot
+    private void checkWritable() {
+        if (pinned != null) {
+            throw new UnsupportedOperationException("Snapshot repository bersifat read-only");
+        }
     }
 }
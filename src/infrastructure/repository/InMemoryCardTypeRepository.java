@@ -1,22 +1,24 @@
 // PBO[package]: Menentukan paket infrastructure.repository agar implementasi repository ini dapat digunakan di lapisan infrastruktur
 package infrastructure.repository;
 
+import application.diagnostic.RepositoryQueryEvent; // PBO[import]: Event JFR untuk mencatat pencarian beserta jumlah baris yang dipindai
 import domain.entity.CardTypeEntity; // PBO[import]: Mengimpor entitas jenis kartu untuk dimanipulasi oleh repository ini
 import domain.exception.EntityNotFoundException; // PBO[import]: Mengimpor exception untuk dilempar jika data tidak ditemukan saat update
 import domain.repository.CardTypeRepository; // PBO[import]: Mengimpor interface repository agar kelas ini sesuai kontrak repository
 
 import java.util.ArrayList; // PBO[import]: Struktur data dinamis untuk menyimpan entitas dalam memori
-import java.util.Collections; // PBO[import]: Digunakan untuk membuat list yang aman untuk akses multi-thread
 import java.util.List; // PBO[import]: Tipe koleksi yang digunakan untuk menampung CardTypeEntity
 import java.util.Optional; // PBO[import]: Tipe pembungkus hasil pencarian yang bisa kosong (empty) atau berisi nilai
-import java.util.concurrent.atomic.AtomicInteger; // PBO[import]: Variabel counter thread-safe untuk menghasilkan ID unik secara otomatis
+import java.util.function.Predicate; // PBO[import]: Kondisi filter yang diterapkan langsung di storage saat scan
+import java.util.stream.Collectors; // PBO[import]: Mengumpulkan hasil scan ke dalam List baru
+import java.util.stream.Stream; // PBO[import]: Tipe hasil scan streaming
 
 /**
  * PBO[class]: Implementasi in-memory untuk CardTypeRepository.
  *
- * <p>Kelas ini menyimpan data jenis kartu (ATM/Debit) di dalam memori menggunakan List.
+ * <p>Kelas ini menyimpan data jenis kartu (ATM/Debit) di dalam memori menggunakan {@link EntityTable}.
  * Cocok untuk pengujian (unit test) atau prototipe tanpa database.
- * ID baru akan di-generate otomatis menggunakan AtomicInteger.</p>
+ * ID baru diberikan berurutan oleh storage, dan pembacaan tidak mengambil lock.</p>
  *
  * @since 1.0
  * @author
@@ -24,10 +26,8 @@ import java.util.concurrent.atomic.AtomicInteger; // PBO[import]: Variabel count
  *  Made Marsel Biliana Wijaya
  */
 public class InMemoryCardTypeRepository implements CardTypeRepository {
-    // PBO[field]: List sinkron untuk menyimpan data jenis kartu di memori agar aman diakses multi-thread
-    private final List<CardTypeEntity> cardTypes = Collections.synchronizedList(new ArrayList<>());
-    // PBO[field]: Counter ID otomatis thread-safe untuk memberi ID unik pada entitas baru
-    private final AtomicInteger idCounter = new AtomicInteger(0);
+    // PBO[field]: Storage MVCC untuk menyimpan data jenis kartu di memori; pembaca tidak mengambil lock
+    private final EntityTable<CardTypeEntity> cardTypes = new EntityTable<>();
     /**
      * PBO[method]: Mencari jenis kartu berdasarkan ID unik.
      *
@@ -36,9 +36,11 @@ public class InMemoryCardTypeRepository implements CardTypeRepository {
      */
     @Override
     public Optional<CardTypeEntity> findById(int id) {
-        return cardTypes.stream()
-                .filter(cardType -> cardType.id() == id)
-                .findFirst();
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        event.begin();
+        CardTypeEntity cardType = cardTypes.get(id);
+        event.complete("CardTypeRepository", "findById", 1, cardType == null ? 0 : 1);
+        return Optional.ofNullable(cardType);
     }
 
     /**
@@ -48,7 +50,28 @@ public class InMemoryCardTypeRepository implements CardTypeRepository {
      */
     @Override
     public List<CardTypeEntity> findAll() {
-        return new ArrayList<>(cardTypes);
+        return cardTypes.scan(null).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * PBO[method]: Memindai data jenis kartu secara streaming tanpa menyalin storage.
+     *
+     * @param filter kondisi jenis kartu yang diambil, diterapkan langsung di storage
+     * @return Stream berisi CardTypeEntity yang cocok, berurutan berdasarkan ID
+     */
+    @Override
+    public Stream<CardTypeEntity> scan(Predicate<? super CardTypeEntity> filter) {
+        return cardTypes.scan(filter);
+    }
+
+    /**
+     * PBO[method]: Menghitung jumlah data tipe kartu dari snapshot tanpa memindai slot.
+     *
+     * @return jumlah data tipe kartu yang belum dihapus
+     */
+    @Override
+    public long count() {
+        return cardTypes.snapshot().count();
     }
 
     /**
@@ -59,8 +82,7 @@ public class InMemoryCardTypeRepository implements CardTypeRepository {
      */
     @Override
     public CardTypeEntity save(CardTypeEntity cardType) {
-        int newId = idCounter.incrementAndGet();
-        CardTypeEntity insertionEntity = new CardTypeEntity(
+        return cardTypes.insert(newId -> new CardTypeEntity(
                 newId,
                 cardType.name(),
                 cardType.description(),
@@ -69,9 +91,7 @@ public class InMemoryCardTypeRepository implements CardTypeRepository {
                 cardType.dailyWithdrawLimit(),
                 cardType.dailyDepositLimit(),
                 cardType.minimumBalance()
-        );
-        cardTypes.add(insertionEntity);
-        return insertionEntity;
+        ));
     }
 
     /**
@@ -83,11 +103,8 @@ public class InMemoryCardTypeRepository implements CardTypeRepository {
      */
     @Override
     public CardTypeEntity update(CardTypeEntity cardType) {
-        for (int i = 0; i < cardTypes.size(); i++) {
-            if (cardTypes.get(i).id() == cardType.id()) {
-                cardTypes.set(i, cardType);
-                return cardType;
-            }
+        if (cardTypes.replace(cardType.id(), cardType)) {
+            return cardType;
         }
 
         throw new EntityNotFoundException("Jenis kartu tidak ditemukan");
@@ -101,6 +118,6 @@ public class InMemoryCardTypeRepository implements CardTypeRepository {
      */
     @Override
     public boolean deleteById(int id) {
-        return cardTypes.removeIf(cardType -> cardType.id() == id);
+        return cardTypes.remove(id);
     }
 }
@@ -1,22 +1,24 @@
 // PBO[package]: Menentukan paket infrastructure.repository agar implementasi repository ini dapat digunakan di lapisan infrastruktur
 package infrastructure.repository;
 
+import application.diagnostic.RepositoryQueryEvent; // PBO[import]: Event JFR untuk mencatat pencarian beserta jumlah baris yang dipindai
 import domain.entity.CustomerEntity; // PBO[import]: Mengimpor entitas pelanggan untuk dimanipulasi oleh repository ini
 import domain.exception.EntityNotFoundException; // PBO[import]: Mengimpor exception untuk dilempar jika data tidak ditemukan saat update
 import domain.repository.CustomerRepository; // PBO[import]: Mengimpor interface repository agar kelas ini sesuai kontrak repository
 
 import java.util.ArrayList; // PBO[import]: Struktur data dinamis untuk menyimpan entitas dalam memori
-import java.util.Collections; // PBO[import]: Digunakan untuk membuat list yang aman untuk akses multi-thread
 import java.util.List; // PBO[import]: Tipe koleksi yang digunakan untuk menampung CustomerEntity
 import java.util.Optional; // PBO[import]: Tipe pembungkus hasil pencarian yang bisa kosong (empty) atau berisi nilai
-import java.util.concurrent.atomic.AtomicInteger; // PBO[import]: Variabel counter thread-safe untuk menghasilkan ID unik secara otomatis
+import java.util.function.Predicate; // PBO[import]: Kondisi filter yang diterapkan langsung di storage saat scan
+import java.util.stream.Collectors; // PBO[import]: Mengumpulkan hasil scan ke dalam List baru
+import java.util.stream.Stream; // PBO[import]: Tipe hasil scan streaming
 
 /**
  * PBO[class]: Implementasi in-memory untuk CustomerRepository.
  *
- * <p>Kelas ini menyimpan data pelanggan di dalam memori menggunakan List.
+ * <p>Kelas ini menyimpan data pelanggan di dalam memori menggunakan {@link EntityTable}.
  * Cocok untuk pengujian (unit test) atau prototipe tanpa database.
- * ID baru akan di-generate otomatis menggunakan AtomicInteger.</p>
+ * ID baru diberikan berurutan oleh storage, dan pembacaan tidak mengambil lock.</p>
  *
  * @since 1.0
  * @author
@@ -24,10 +26,8 @@ import java.util.concurrent.atomic.AtomicInteger; // PBO[import]: Variabel count
  *  Made Marsel Biliana Wijaya
  */
 public class InMemoryCustomerRepository implements CustomerRepository {
-    // PBO[field]: List sinkron untuk menyimpan data pelanggan di memori agar aman diakses multi-thread
-    private final List<CustomerEntity> customers = Collections.synchronizedList(new ArrayList<>());
-    // PBO[field]: Counter ID otomatis thread-safe untuk memberi ID unik pada entitas baru
-    private final AtomicInteger idCounter = new AtomicInteger(0);
+    // PBO[field]: Storage MVCC untuk menyimpan data pelanggan di memori; pembaca tidak mengambil lock
+    private final EntityTable<CustomerEntity> customers = new EntityTable<>();
 
     /**
      * PBO[method]: Mencari pelanggan berdasarkan ID unik.
@@ -37,9 +37,11 @@ public class InMemoryCustomerRepository implements CustomerRepository {
      */
     @Override
     public Optional<CustomerEntity> findById(int id) {
-        return customers.stream()
-                .filter(customer -> customer.id() == id)
-                .findFirst();
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        event.begin();
+        CustomerEntity customer = customers.get(id);
+        event.complete("CustomerRepository", "findById", 1, customer == null ? 0 : 1);
+        return Optional.ofNullable(customer);
     }
 
     /**
@@ -50,9 +52,13 @@ public class InMemoryCustomerRepository implements CustomerRepository {
      */
     @Override
     public Optional<CustomerEntity> findByEmail(String email) {
-        return customers.stream()
-                .filter(customer -> customer.email().equals(email))
-                .findFirst();
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        event.begin();
+        EntityTable.Snapshot<CustomerEntity> snapshot = customers.snapshot();
+        CustomerEntity customer = snapshot.findFirst(candidate -> candidate.email().equals(email));
+        // Pencarian berhenti di baris yang ditemukan, atau memeriksa seluruh slot jika tidak ada
+        event.complete("CustomerRepository", "findByEmail", customer != null ? customer.id() : snapshot.size(), customer == null ? 0 : 1);
+        return Optional.ofNullable(customer);
     }
 
     /**
@@ -62,7 +68,28 @@ public class InMemoryCustomerRepository implements CustomerRepository {
      */
     @Override
     public List<CustomerEntity> findAll() {
-        return new ArrayList<>(customers);
+        return customers.scan(null).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * PBO[method]: Memindai data pelanggan secara streaming tanpa menyalin storage.
+     *
+     * @param filter kondisi pelanggan yang diambil, diterapkan langsung di storage
+     * @return Stream berisi CustomerEntity yang cocok, berurutan berdasarkan ID
+     */
+    @Override
+    public Stream<CustomerEntity> scan(Predicate<? super CustomerEntity> filter) {
+        return customers.scan(filter);
+    }
+
+    /**
+     * PBO[method]: Menghitung jumlah data nasabah dari snapshot tanpa memindai slot.
+     *
+     * @return jumlah data nasabah yang belum dihapus
+     */
+    @Override
+    public long count() {
+        return customers.snapshot().count();
     }
 
     /**
@@ -74,11 +101,8 @@ public class InMemoryCustomerRepository implements CustomerRepository {
      */
     @Override
     public CustomerEntity update(CustomerEntity customerEntity) {
-        for (int i = 0; i < customers.size(); i++) {
-            if (customers.get(i).id() == customerEntity.id()) {
-                customers.set(i, customerEntity);
-                return customerEntity;
-            }
+        if (customers.replace(customerEntity.id(), customerEntity)) {
+            return customerEntity;
         }
 
         throw new EntityNotFoundException("Pelanggan dengan ID: " + customerEntity.id() + " tidak ditemukan");
@@ -92,17 +116,14 @@ public class InMemoryCustomerRepository implements CustomerRepository {
      */
     @Override
     public CustomerEntity save(CustomerEntity customer) {
-        int newId = idCounter.incrementAndGet();
-        CustomerEntity insertionEntity = new CustomerEntity(
+        return customers.insert(newId -> new CustomerEntity(
                 newId,
                 customer.name(),
                 customer.email(),
                 customer.phoneNumber(),
                 customer.address(),
                 customer.dateOfBirth()
-        );
-        customers.add(insertionEntity);
-        return insertionEntity;
+        ));
     }
 
     /**
@@ -113,6 +134,6 @@ public class InMemoryCustomerRepository implements CustomerRepository {
      */
     @Override
     public boolean deleteById(int id) {
-        return customers.removeIf(customer -> customer.id() == id);
+        return customers.remove(id);
     }
 }
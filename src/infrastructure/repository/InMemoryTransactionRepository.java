@@ -1,19 +1,27 @@
 // PBO[package]: Menentukan paket infrastructure.repository agar implementasi repository ini dapat digunakan di lapisan infrastruktur
 package infrastructure.repository;
 
+import application.diagnostic.RepositoryQueryEvent; // PBO[import]: Event JFR untuk mencatat pencarian beserta jumlah baris yang dipindai
 import domain.entity.TransactionEntity; // PBO[import]: Mengimpor entitas transaksi untuk dimanipulasi oleh repository ini
 import domain.exception.EntityNotFoundException; // PBO[import]: Mengimpor exception untuk dilempar jika data tidak ditemukan saat update
 import domain.repository.TransactionRepository; // PBO[import]: Mengimpor interface repository agar kelas ini sesuai kontrak repository
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger; // PBO[import]: Variabel counter thread-safe untuk menghasilkan ID unik secara otomatis
+import java.util.function.Predicate; // PBO[import]: Kondisi filter yang diterapkan langsung di storage saat scan
+import java.util.stream.Collectors; // PBO[import]: Mengumpulkan hasil scan ke dalam List baru
+import java.util.stream.Stream; // PBO[import]: Tipe hasil scan streaming
 
 /**
  * PBO[class]: Implementasi in-memory untuk TransactionRepository.
  *
- * <p>Kelas ini menyimpan data transaksi di dalam memori menggunakan List.
+ * <p>Kelas ini menyimpan data transaksi di dalam memori menggunakan {@link EntityTable}.
  * Cocok untuk pengujian (unit test) atau prototipe tanpa database.
- * ID baru akan di-generate otomatis menggunakan AtomicInteger.</p>
+ * ID baru diberikan berurutan oleh storage, dan pembacaan tidak mengambil lock.</p>
+ *
+ * <p>Query per rekening ({@link #findByAccountIdWithDate}, {@link #findByDestinationAccountId},
+ * dan {@link #iterateByAccountId}) dilayani oleh {@link TransactionPostingIndex} sehingga
+ * biayanya sebanding dengan jumlah transaksi rekening tersebut, bukan seluruh riwayat.
+ * Index dipakai bersama oleh repository snapshot dan divalidasi terhadap snapshot yang dibaca.</p>
  *
  * @since 1.0
  * @author
@@ -21,10 +29,27 @@ import java.util.concurrent.atomic.AtomicInteger; // PBO[import]: Variabel count
  *  Made Marsel Biliana Wijaya
  */
 public class InMemoryTransactionRepository implements TransactionRepository {
-    // PBO[field]: List sinkron untuk menyimpan data transaksi di memori agar aman diakses multi-thread
-    private final List<TransactionEntity> transactions = Collections.synchronizedList(new ArrayList<>());
-    // PBO[field]: Counter ID otomatis thread-safe untuk memberi ID unik pada entitas baru
-    private final AtomicInteger idCounter = new AtomicInteger(0);
+    // PBO[field]: Storage MVCC untuk menyimpan data transaksi di memori; pembaca tidak mengambil lock
+    private final EntityTable<TransactionEntity> transactions;
+    // PBO[field]: Snapshot yang dikunci untuk repository read-only, atau null untuk repository utama
+    private final EntityTable.Snapshot<TransactionEntity> pinned;
+    // PBO[field]: Posting list per rekening asal dan rekening tujuan
+    private final TransactionPostingIndex postings;
+
+    /**
+     * PBO[constructor]: Membuat repository transaksi kosong yang dapat ditulis.
+     */
+    public InMemoryTransactionRepository() {
+        this(new EntityTable<>(), null, new TransactionPostingIndex());
+    }
+
+    // PBO[constructor-private]: Dipakai oleh snapshot() untuk membuat view read-only atas satu versi tabel
+    private InMemoryTransactionRepository(EntityTable<TransactionEntity> transactions, EntityTable.Snapshot<TransactionEntity> pinned,
+                                          TransactionPostingIndex postings) {
+        this.transactions = transactions;
+        this.pinned = pinned;
+        this.postings = postings;
+    }
 
     /**
      * PBO[method]: Mencari transaksi berdasarkan ID unik.
@@ -34,9 +59,11 @@ public class InMemoryTransactionRepository implements TransactionRepository {
      */
     @Override
     public Optional<TransactionEntity> findById(int id) {
-        return transactions.stream()
-                .filter(transaction -> transaction.id() == id)
-                .findFirst();
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        event.begin();
+        TransactionEntity transaction = view().get(id);
+        event.complete("TransactionRepository", "findById", 1, transaction == null ? 0 : 1);
+        return Optional.ofNullable(transaction);
     }
 
     /**
@@ -48,12 +75,51 @@ public class InMemoryTransactionRepository implements TransactionRepository {
      */
     @Override
     public List<TransactionEntity> findByAccountIdWithDate(int accountId, String date) {
-        return transactions.stream()
-                .filter(
-                        transaction -> transaction.accountId() == accountId
-                                && Objects.equals(transaction.date(), date)
-                )
-                .toList();
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        event.begin();
+        TransactionPostingIndex.Cursor cursor = postings.outgoing(view(), accountId,
+                transaction -> Objects.equals(transaction.date(), date));
+        List<TransactionEntity> transactions = drain(cursor);
+        event.complete("TransactionRepository", "findByAccountIdWithDate", cursor.postingsRead(), transactions.size());
+        return transactions;
+    }
+
+    /**
+     * PBO[method]: Mencari transaksi masuk (transfer) ke rekening tujuan tertentu.
+     *
+     * @param destinationAccountId ID rekening tujuan
+     * @return List berisi TransactionEntity yang sesuai, terurut berdasarkan timestamp
+     */
+    @Override
+    public List<TransactionEntity> findByDestinationAccountId(int destinationAccountId) {
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        event.begin();
+        TransactionPostingIndex.Cursor cursor = postings.incoming(view(), destinationAccountId, null);
+        List<TransactionEntity> transactions = drain(cursor);
+        event.complete("TransactionRepository", "findByDestinationAccountId", cursor.postingsRead(), transactions.size());
+        return transactions;
+    }
+
+    /**
+     * PBO[method]: Membuka cursor riwayat transaksi satu rekening tanpa menyalin list.
+     *
+     * <p>Cursor menggabungkan posting list keluar dan masuk rekening tersebut secara
+     * berurutan timestamp, sehingga transaksi dibaca satu per satu tanpa lock dan tanpa
+     * memindai riwayat rekening lain. Transaksi yang disimpan setelah cursor dibuka tidak ikut terbaca.</p>
+     *
+     * @param accountId ID akun asal atau tujuan transaksi
+     * @param fromDate tanggal awal inklusif, atau null
+     * @param toDate tanggal akhir inklusif, atau null
+     * @return Iterator berisi TransactionEntity yang sesuai kriteria, dari yang paling lama
+     */
+    @Override
+    public Iterator<TransactionEntity> iterateByAccountId(int accountId, String fromDate, String toDate) {
+        if (fromDate == null && toDate == null) {
+            return postings.history(view(), accountId, null);
+        }
+        return postings.history(view(), accountId, transaction ->
+                (fromDate == null || transaction.date().compareTo(fromDate) >= 0)
+                        && (toDate == null || transaction.date().compareTo(toDate) <= 0));
     }
 
     /**
@@ -63,7 +129,50 @@ public class InMemoryTransactionRepository implements TransactionRepository {
      */
     @Override
     public List<TransactionEntity> findAll() {
-        return new ArrayList<>(transactions);
+        return view().scan(null).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * PBO[method]: Memindai data transaksi secara streaming tanpa menyalin storage.
+     *
+     * @param filter kondisi transaksi yang diambil, diterapkan langsung di storage
+     * @return Stream berisi TransactionEntity yang cocok, berurutan berdasarkan ID
+     */
+    @Override
+    public Stream<TransactionEntity> scan(Predicate<? super TransactionEntity> filter) {
+        return view().scan(filter);
+    }
+
+    /**
+     * PBO[method]: Menghitung jumlah data transaksi dari snapshot tanpa memindai slot.
+     *
+     * @return jumlah data transaksi yang belum dihapus
+     */
+    @Override
+    public long count() {
+        return view().count();
+    }
+
+    /**
+     * PBO[method]: Memindai transaksi pada rentang ID tertentu langsung dari slot storage.
+     *
+     * @param fromId ID awal (inklusif)
+     * @param toId ID akhir (eksklusif)
+     * @return Stream berisi TransactionEntity pada rentang tersebut, berurutan berdasarkan ID
+     */
+    @Override
+    public Stream<TransactionEntity> scanRange(int fromId, int toId) {
+        return view().scanRange(fromId, toId);
+    }
+
+    /**
+     * PBO[method]: Mengambil ID transaksi terbesar, yaitu jumlah slot storage termasuk tombstone.
+     *
+     * @return ID terbesar yang pernah diberikan, atau 0 jika kosong
+     */
+    @Override
+    public int lastId() {
+        return view().size();
     }
 
     /**
@@ -75,9 +184,11 @@ public class InMemoryTransactionRepository implements TransactionRepository {
      */
     @Override
     public TransactionEntity update(TransactionEntity transaction) {
-        for (int i = 0; i < transactions.size(); i++) {
-            if (transactions.get(i).id() == transaction.id()) {
-                transactions.set(i, transaction);
+        checkWritable();
+        synchronized (postings) {
+            TransactionEntity previous = transactions.get(transaction.id());
+            if (transactions.replace(transaction.id(), transaction)) {
+                postings.update(previous, transaction);
                 return transaction;
             }
         }
@@ -93,8 +204,8 @@ public class InMemoryTransactionRepository implements TransactionRepository {
      */
     @Override
     public TransactionEntity save(TransactionEntity transaction) {
-        int newId = idCounter.incrementAndGet();
-        TransactionEntity insertionEntity = new TransactionEntity(
+        checkWritable();
+        TransactionEntity saved = transactions.insert(newId -> new TransactionEntity(
                 newId,
                 transaction.accountId(),
                 transaction.destinationAccountId(),
@@ -102,10 +213,37 @@ public class InMemoryTransactionRepository implements TransactionRepository {
                 transaction.transactionType(),
                 transaction.date(),
                 transaction.timestamp()
-        );
-        transactions.add(insertionEntity);
-        return insertionEntity;
+        ));
+        postings.add(saved);
+        return saved;
     }
+    /**
+     * PBO[method]: Menyimpan sekumpulan transaksi baru dalam satu penulisan tabel.
+     *
+     * @param batch TransactionEntity yang akan disimpan (tanpa ID)
+     * @return TransactionEntity yang sudah disimpan dengan ID berurutan
+     */
+    @Override
+    public List<TransactionEntity> saveAll(List<TransactionEntity> batch) {
+        checkWritable();
+        List<TransactionEntity> saved = transactions.insertAll(batch.size(), (index, newId) -> {
+            TransactionEntity transaction = batch.get(index);
+            return new TransactionEntity(
+                    newId,
+                    transaction.accountId(),
+                    transaction.destinationAccountId(),
+                    transaction.amount(),
+                    transaction.transactionType(),
+                    transaction.date(),
+                    transaction.timestamp()
+            );
+        });
+        for (TransactionEntity transaction : saved) {
+            postings.add(transaction);
+        }
+        return saved;
+    }
+
     /**
      * PBO[method]: Menghapus transaksi berdasarkan ID unik.
      *
@@ -114,6 +252,38 @@ public class InMemoryTransactionRepository implements TransactionRepository {
      */
     @Override
     public boolean deleteById(int id) {
-        return transactions.removeIf(storedTransaction -> storedTransaction.id() == id);
+        checkWritable();
+        return transactions.remove(id);
+    }
+
+    // PBO[utility]: Mengumpulkan seluruh isi cursor ke dalam list
+    private static List<TransactionEntity> drain(Iterator<TransactionEntity> cursor) {
+        List<TransactionEntity> result = new ArrayList<>();
+        while (cursor.hasNext()) {
+            result.add(cursor.next());
+        }
+        return result;
+    }
+
+    /**
+     * PBO[method]: Membuat view read-only atas versi data transaksi saat ini.
+     *
+     * @return repository read-only yang terikat pada satu snapshot
+     */
+    @Override
+    public TransactionRepository snapshot() {
+        return new InMemoryTransactionRepository(transactions, view(), postings);
+    }
+
+    // PBO[utility]: Versi tabel yang dibaca: snapshot yang dikunci atau versi terbaru
+    private EntityTable.Snapshot<TransactionEntity> view() {
+        return pinned != null ? pinned : transactions.snapshot();
+    }
+
+    // PBO[utility]: Menolak penulisan pada repository snapshot
+    private void checkWritable() {
+        if (pinned != null) {
+            throw new UnsupportedOperationException("Snapshot repository bersifat read-only");
+        }
     }
 }
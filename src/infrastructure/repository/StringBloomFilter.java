@@ -0,0 +1,111 @@
+// PBO[package]: Menentukan paket infrastructure.repository agar filter ini dapat dipakai oleh repository in-memory
+package infrastructure.repository;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * PBO[class]: Bloom filter untuk String yang dipakai sebagai penolak cepat sebelum index hash.
+ *
+ * <p>Filter menjawab "pasti tidak ada" atau "mungkin ada". Pengecekan hanya membaca
+ * {@link String#hashCode()} (di-cache oleh String) ditambah satu hash FNV atas karakter,
+ * lalu memeriksa {@code k} bit dengan double hashing, sehingga tidak ada objek yang dibuat
+ * dan index tidak disentuh untuk kunci yang tidak dikenal.</p>
+ *
+ * <p>Bit disimpan dalam {@link AtomicLongArray}; penambahan memakai CAS per word sehingga
+ * aman dibaca bersamaan dengan penulisan. Kapasitas filter tetap; pemilik filter
+ * bertanggung jawab membangun filter baru yang lebih besar ketika kapasitas terlampaui.</p>
+ *
+ * @since 1.1
+ * @author
+ *  Gede Dhanu Purnayasa
+ *  Made Marsel Biliana Wijaya
+ */
+final class StringBloomFilter {
+    // PBO[field-static-final]: Jumlah bit per elemen (~9.6 untuk false positive 1%, dibulatkan ke pangkat dua)
+    private static final int BITS_PER_ELEMENT = 10;
+    // PBO[field-static-final]: Jumlah fungsi hash; optimal ln2 * bit per elemen
+    private static final int HASH_FUNCTIONS = 7;
+
+    // PBO[field]: Array bit filter
+    private final AtomicLongArray words;
+    // PBO[field]: Mask indeks bit (jumlah bit selalu pangkat dua)
+    private final long bitMask;
+    // PBO[field]: Jumlah elemen yang direncanakan sebelum false positive naik melebihi target
+    private final int capacity;
+
+    /**
+     * PBO[constructor]: Membuat filter kosong untuk kapasitas tertentu.
+     *
+     * @param capacity jumlah elemen yang direncanakan
+     */
+    StringBloomFilter(int capacity) {
+        this.capacity = Math.max(capacity, 64);
+        long bits = Long.highestOneBit((long) this.capacity * BITS_PER_ELEMENT - 1) << 1;
+        this.words = new AtomicLongArray((int) (bits >>> 6));
+        this.bitMask = bits - 1;
+    }
+
+    /**
+     * PBO[method]: Mendapatkan kapasitas filter.
+     *
+     * @return jumlah elemen yang direncanakan
+     */
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * PBO[method]: Menambahkan kunci ke filter.
+     *
+     * @param key kunci, tidak boleh null
+     */
+    void add(String key) {
+        long h1 = primaryHash(key);
+        long h2 = secondaryHash(key);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            long bit = (h1 + i * h2) & bitMask;
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word = words.get(index);
+            while ((word & mask) == 0 && !words.weakCompareAndSetVolatile(index, word, word | mask)) {
+                word = words.get(index);
+            }
+        }
+    }
+
+    /**
+     * PBO[method]: Mengecek apakah kunci mungkin ada di filter.
+     *
+     * @param key kunci, tidak boleh null
+     * @return false jika kunci pasti belum pernah ditambahkan
+     */
+    boolean mightContain(String key) {
+        long h1 = primaryHash(key);
+        long h2 = secondaryHash(key);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            long bit = (h1 + i * h2) & bitMask;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long primaryHash(String key) {
+        // Finalizer MurmurHash3 agar bit rendah hashCode tersebar merata
+        long h = key.hashCode();
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static long secondaryHash(String key) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        // Langkah harus ganjil agar k posisi bit selalu berbeda pada tabel berukuran pangkat dua
+        return h | 1L;
+    }
+}
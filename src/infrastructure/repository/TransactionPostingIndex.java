@@ -0,0 +1,277 @@
+// PBO[package]: Menentukan paket infrastructure.repository agar index ini dapat dipakai oleh repository transaksi in-memory
+package infrastructure.repository;
+
+import domain.entity.TransactionEntity;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * PBO[class]: Index sekunder transaksi per rekening asal (outgoing) dan rekening tujuan (incoming).
+ *
+ * <p>Setiap rekening memiliki dua posting list berisi pasangan (timestamp, ID transaksi) yang
+ * terurut berdasarkan timestamp lalu ID. Query riwayat cukup membaca posting list rekening
+ * tersebut sehingga biayanya O(k) terhadap jumlah transaksi rekening itu, bukan O(n) terhadap
+ * seluruh riwayat. Riwayat gabungan diperoleh dengan merge dua posting list yang sudah terurut.</p>
+ *
+ * <p>Posting tidak pernah dihapus. Setiap posting divalidasi terhadap snapshot {@link EntityTable}
+ * yang sedang dibaca: transaksi yang sudah dihapus, diubah ke rekening lain, atau disimpan
+ * setelah snapshot dibuat akan dilewati. Karena itu satu index dapat dipakai bersama oleh
+ * repository utama maupun repository snapshot.</p>
+ *
+ * @since 1.1
+ * @author
+ *  Gede Dhanu Purnayasa
+ *  Made Marsel Biliana Wijaya
+ */
+final class TransactionPostingIndex {
+    // PBO[field]: Posting list per ID rekening asal
+    private final ConcurrentHashMap<Integer, PostingList> outgoing = new ConcurrentHashMap<>();
+    // PBO[field]: Posting list per ID rekening tujuan
+    private final ConcurrentHashMap<Integer, PostingList> incoming = new ConcurrentHashMap<>();
+
+    /**
+     * PBO[method]: Mendaftarkan transaksi yang baru disimpan atau diubah.
+     *
+     * @param transaction transaksi versi terbaru
+     */
+    void add(TransactionEntity transaction) {
+        outgoing.computeIfAbsent(transaction.accountId(), accountId -> new PostingList())
+                .add(transaction.timestamp(), transaction.id());
+        Integer destinationAccountId = transaction.destinationAccountId();
+        if (destinationAccountId != null) {
+            incoming.computeIfAbsent(destinationAccountId, accountId -> new PostingList())
+                    .add(transaction.timestamp(), transaction.id());
+        }
+    }
+
+    /**
+     * PBO[method]: Mendaftarkan perubahan transaksi jika rekening atau timestamp-nya berubah.
+     *
+     * @param previous versi transaksi sebelum diubah
+     * @param current versi transaksi sesudah diubah
+     */
+    void update(TransactionEntity previous, TransactionEntity current) {
+        if (previous.accountId() != current.accountId() || previous.timestamp() != current.timestamp()) {
+            outgoing.computeIfAbsent(current.accountId(), accountId -> new PostingList())
+                    .add(current.timestamp(), current.id());
+        }
+        Integer destinationAccountId = current.destinationAccountId();
+        if (destinationAccountId != null && (!destinationAccountId.equals(previous.destinationAccountId())
+                || previous.timestamp() != current.timestamp())) {
+            incoming.computeIfAbsent(destinationAccountId, accountId -> new PostingList())
+                    .add(current.timestamp(), current.id());
+        }
+    }
+
+    /**
+     * PBO[method]: Membuka cursor transaksi di mana rekening menjadi rekening asal.
+     *
+     * @param snapshot snapshot tabel yang dibaca
+     * @param accountId ID rekening asal
+     * @param filter kondisi tambahan, atau null
+     * @return cursor terurut berdasarkan timestamp lalu ID
+     */
+    Cursor outgoing(EntityTable.Snapshot<TransactionEntity> snapshot, int accountId,
+                    Predicate<? super TransactionEntity> filter) {
+        return new Cursor(snapshot, accountId, view(outgoing, accountId), PostingList.View.EMPTY, filter);
+    }
+
+    /**
+     * PBO[method]: Membuka cursor transaksi di mana rekening menjadi rekening tujuan.
+     *
+     * @param snapshot snapshot tabel yang dibaca
+     * @param accountId ID rekening tujuan
+     * @param filter kondisi tambahan, atau null
+     * @return cursor terurut berdasarkan timestamp lalu ID
+     */
+    Cursor incoming(EntityTable.Snapshot<TransactionEntity> snapshot, int accountId,
+                    Predicate<? super TransactionEntity> filter) {
+        return new Cursor(snapshot, accountId, PostingList.View.EMPTY, view(incoming, accountId), filter);
+    }
+
+    /**
+     * PBO[method]: Membuka cursor riwayat lengkap (keluar dan masuk) satu rekening.
+     *
+     * @param snapshot snapshot tabel yang dibaca
+     * @param accountId ID rekening
+     * @param filter kondisi tambahan, atau null
+     * @return cursor hasil merge kedua posting list, terurut berdasarkan timestamp lalu ID
+     */
+    Cursor history(EntityTable.Snapshot<TransactionEntity> snapshot, int accountId,
+                   Predicate<? super TransactionEntity> filter) {
+        return new Cursor(snapshot, accountId, view(outgoing, accountId), view(incoming, accountId), filter);
+    }
+
+    private static PostingList.View view(ConcurrentHashMap<Integer, PostingList> lists, int accountId) {
+        PostingList list = lists.get(accountId);
+        return list == null ? PostingList.View.EMPTY : list.view;
+    }
+
+    /**
+     * PBO[inner-class]: Posting list satu rekening, terurut berdasarkan (timestamp, ID).
+     *
+     * <p>Penulis disinkronkan per posting list. Pembaca hanya membaca satu referensi volatile
+     * {@link View}: posting yang ditambahkan di akhir ditulis ke array yang sama lalu dipublikasikan
+     * lewat view baru dengan ukuran lebih besar, sedangkan posting yang datang tidak berurutan
+     * (timestamp lebih kecil dari posting terakhir) disisipkan ke salinan array baru.</p>
+     */
+    static final class PostingList {
+        private static final int INITIAL_CAPACITY = 8;
+
+        private volatile View view = View.EMPTY;
+
+        synchronized void add(long timestamp, int id) {
+            View current = view;
+            int size = current.size;
+            long[] timestamps = current.timestamps;
+            int[] ids = current.ids;
+
+            if (size == 0 || compare(timestamps[size - 1], ids[size - 1], timestamp, id) <= 0) {
+                // Kasus umum: posting terbaru ditambahkan di akhir
+                if (size == timestamps.length) {
+                    int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+                    timestamps = Arrays.copyOf(timestamps, capacity);
+                    ids = Arrays.copyOf(ids, capacity);
+                }
+                timestamps[size] = timestamp;
+                ids[size] = id;
+            } else {
+                // Posting tidak berurutan: sisipkan ke salinan agar view lama tidak berubah
+                int position = insertionPoint(current, timestamp, id);
+                int capacity = Math.max(INITIAL_CAPACITY, size == timestamps.length ? size * 2 : timestamps.length);
+                long[] copiedTimestamps = new long[capacity];
+                int[] copiedIds = new int[capacity];
+                System.arraycopy(timestamps, 0, copiedTimestamps, 0, position);
+                System.arraycopy(ids, 0, copiedIds, 0, position);
+                copiedTimestamps[position] = timestamp;
+                copiedIds[position] = id;
+                System.arraycopy(timestamps, position, copiedTimestamps, position + 1, size - position);
+                System.arraycopy(ids, position, copiedIds, position + 1, size - position);
+                timestamps = copiedTimestamps;
+                ids = copiedIds;
+            }
+            view = new View(timestamps, ids, size + 1);
+        }
+
+        private static int insertionPoint(View view, long timestamp, int id) {
+            int low = 0;
+            int high = view.size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (compare(view.timestamps[middle], view.ids[middle], timestamp, id) <= 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * PBO[record]: Isi posting list pada satu titik waktu; hanya elemen [0, size) yang valid.
+         */
+        record View(long[] timestamps, int[] ids, int size) {
+            static final View EMPTY = new View(new long[0], new int[0], 0);
+        }
+    }
+
+    private static int compare(long leftTimestamp, int leftId, long rightTimestamp, int rightId) {
+        int byTimestamp = Long.compare(leftTimestamp, rightTimestamp);
+        return byTimestamp != 0 ? byTimestamp : Integer.compare(leftId, rightId);
+    }
+
+    /**
+     * PBO[inner-class]: Cursor merge posting list keluar dan masuk satu rekening.
+     *
+     * <p>Posting yang tidak lagi sesuai dengan isi snapshot dilewati, dan posting yang sama
+     * (misalnya transaksi yang asal dan tujuannya rekening yang sama) hanya dikembalikan sekali.</p>
+     */
+    static final class Cursor implements Iterator<TransactionEntity> {
+        private final EntityTable.Snapshot<TransactionEntity> snapshot;
+        private final int accountId;
+        private final PostingList.View outgoing;
+        private final PostingList.View incoming;
+        private final Predicate<? super TransactionEntity> filter;
+        private int outgoingIndex;
+        private int incomingIndex;
+        private int postingsRead;
+        private long lastTimestamp = Long.MIN_VALUE;
+        private int lastId = -1;
+        private TransactionEntity next;
+
+        private Cursor(EntityTable.Snapshot<TransactionEntity> snapshot, int accountId, PostingList.View outgoing,
+                       PostingList.View incoming, Predicate<? super TransactionEntity> filter) {
+            this.snapshot = snapshot;
+            this.accountId = accountId;
+            this.outgoing = outgoing;
+            this.incoming = incoming;
+            this.filter = filter;
+        }
+
+        /**
+         * PBO[method]: Mendapatkan jumlah posting yang sudah dibaca cursor, untuk diagnostik.
+         *
+         * @return jumlah posting yang diperiksa sejauh ini
+         */
+        int postingsRead() {
+            return postingsRead;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                boolean hasOutgoing = outgoingIndex < outgoing.size;
+                boolean hasIncoming = incomingIndex < incoming.size;
+                if (!hasOutgoing && !hasIncoming) {
+                    return false;
+                }
+                boolean takeOutgoing = hasOutgoing && (!hasIncoming || compare(
+                        outgoing.timestamps[outgoingIndex], outgoing.ids[outgoingIndex],
+                        incoming.timestamps[incomingIndex], incoming.ids[incomingIndex]) <= 0);
+                long timestamp;
+                int id;
+                if (takeOutgoing) {
+                    timestamp = outgoing.timestamps[outgoingIndex];
+                    id = outgoing.ids[outgoingIndex++];
+                } else {
+                    timestamp = incoming.timestamps[incomingIndex];
+                    id = incoming.ids[incomingIndex++];
+                }
+                postingsRead++;
+                if (id == lastId && timestamp == lastTimestamp) {
+                    continue;
+                }
+                TransactionEntity transaction = snapshot.get(id);
+                if (transaction == null || transaction.timestamp() != timestamp
+                        || !(takeOutgoing ? transaction.accountId() == accountId : isDestination(transaction))) {
+                    continue;
+                }
+                lastId = id;
+                lastTimestamp = timestamp;
+                if (filter == null || filter.test(transaction)) {
+                    next = transaction;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public TransactionEntity next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            TransactionEntity transaction = next;
+            next = null;
+            return transaction;
+        }
+
+        private boolean isDestination(TransactionEntity transaction) {
+            Integer destinationAccountId = transaction.destinationAccountId();
+            return destinationAccountId != null && destinationAccountId == accountId;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package infrastructure.service;
+
+import application.service.AccrualCheckpointStore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementasi {@link AccrualCheckpointStore} berbasis file log append-only.
+ *
+ * <p>Setiap perubahan status ditulis sebagai satu baris {@code STARTED tanggal partisi} atau
+ * {@code COMPLETED tanggal partisi idPertama idTerakhir} lalu
+ * di-{@link FileChannel#force(boolean) flush} ke disk sebelum method kembali, sehingga status
+ * partisi tetap ada setelah proses crash. Saat dibuka, file dibaca ulang dan status terakhir
+ * setiap partisi yang berlaku; baris terakhir yang terpotong karena crash diabaikan, dan baris
+ * selesai tanpa rentang ID dari versi sebelumnya dimuat tanpa rentang.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class FileAccrualCheckpointStore implements AccrualCheckpointStore, AutoCloseable {
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+    private final Map<String, PostedRange> postedRanges = new ConcurrentHashMap<>();
+    private final FileChannel channel;
+
+    /**
+     * Membuka (atau membuat) file checkpoint dan memuat status yang sudah tercatat.
+     *
+     * @param file path file checkpoint
+     * @throws UncheckedIOException jika file tidak dapat dibaca atau dibuka
+     */
+    public FileAccrualCheckpointStore(Path file) {
+        try {
+            if (Files.exists(file)) {
+                List<String> lines = Files.readAllLines(file, StandardCharsets.US_ASCII);
+                for (String line : lines) {
+                    load(line.split(" "));
+                }
+            }
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal membuka checkpoint akrual " + file, e);
+        }
+    }
+
+    @Override
+    public State state(String date, int partition) {
+        return states.getOrDefault(key(date, Integer.toString(partition)), State.NOT_STARTED);
+    }
+
+    @Override
+    public PostedRange postedRange(String date, int partition) {
+        return postedRanges.get(key(date, Integer.toString(partition)));
+    }
+
+    @Override
+    public void markStarted(String date, int partition) {
+        append(State.STARTED, date, partition, "");
+    }
+
+    @Override
+    public void markCompleted(String date, int partition, PostedRange posted) {
+        postedRanges.put(key(date, Integer.toString(partition)), posted);
+        append(State.COMPLETED, date, partition, " " + posted.firstId() + ' ' + posted.lastId());
+    }
+
+    /**
+     * Menutup file checkpoint.
+     *
+     * @throws IOException jika file gagal ditutup
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void load(String[] fields) {
+        if (fields.length == 3 && fields[0].equals(State.STARTED.name())) {
+            // Partisi yang sudah selesai tetap selesai walaupun tercatat mulai lagi saat diproses ulang
+            states.merge(key(fields[1], fields[2]), State.STARTED,
+                    (previous, next) -> previous == State.COMPLETED ? previous : next);
+        } else if ((fields.length == 3 || fields.length == 5) && fields[0].equals(State.COMPLETED.name())) {
+            String key = key(fields[1], fields[2]);
+            states.put(key, State.COMPLETED);
+            if (fields.length == 5) {
+                try {
+                    postedRanges.put(key, new PostedRange(Integer.parseInt(fields[3]), Integer.parseInt(fields[4])));
+                    return;
+                } catch (NumberFormatException e) {
+                    // Rentang rusak diperlakukan seperti rentang yang tidak tercatat
+                }
+            }
+            postedRanges.remove(key);
+        }
+    }
+
+    private synchronized void append(State state, String date, int partition, String suffix) {
+        // Diawali newline agar tidak tersambung dengan baris terpotong dari crash sebelumnya
+        byte[] line = ('\n' + state.name() + ' ' + date + ' ' + partition + suffix + '\n').getBytes(StandardCharsets.US_ASCII);
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menulis checkpoint akrual", e);
+        }
+        states.put(key(date, Integer.toString(partition)), state);
+    }
+
+    private static String key(String date, String partition) {
+        return date + '#' + partition;
+    }
+}
@@ -0,0 +1,47 @@
+package infrastructure.service;
+
+import application.service.AccrualCheckpointStore;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementasi {@link AccrualCheckpointStore} di memori.
+ *
+ * <p>Checkpoint hilang bersama proses, sehingga hanya melindungi dari kegagalan di tengah
+ * akrual (misalnya exception dari repository) yang dijalankan ulang di proses yang sama.
+ * Gunakan {@link FileAccrualCheckpointStore} jika repository menyimpan data secara permanen.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class InMemoryAccrualCheckpointStore implements AccrualCheckpointStore {
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+    private final Map<String, PostedRange> postedRanges = new ConcurrentHashMap<>();
+
+    @Override
+    public State state(String date, int partition) {
+        return states.getOrDefault(key(date, partition), State.NOT_STARTED);
+    }
+
+    @Override
+    public PostedRange postedRange(String date, int partition) {
+        return postedRanges.get(key(date, partition));
+    }
+
+    @Override
+    public void markStarted(String date, int partition) {
+        states.putIfAbsent(key(date, partition), State.STARTED);
+    }
+
+    @Override
+    public void markCompleted(String date, int partition, PostedRange posted) {
+        postedRanges.put(key(date, partition), posted);
+        states.put(key(date, partition), State.COMPLETED);
+    }
+
+    private static String key(String date, int partition) {
+        return date + '#' + partition;
+    }
+}
@@ -0,0 +1,84 @@
+package infrastructure.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementasi {@link Clock} yang waktunya dikendalikan secara manual.
+ *
+ * <p>Clock ini digunakan bersama {@link WitaTimeService} pada pengujian atau
+ * simulasi agar skenario seperti pergantian tanggal tengah malam dapat
+ * direproduksi secara deterministik.</p>
+ *
+ * <pre>
+ * ManualClock clock = new ManualClock(Instant.parse("2025-01-01T15:59:59Z"));
+ * TimeService time = new WitaTimeService(clock);
+ * time.today();                      // "2025-01-01"
+ * clock.advance(Duration.ofSeconds(1));
+ * time.today();                      // "2025-01-02" (tengah malam WITA)
+ * </pre>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class ManualClock extends Clock {
+    private final AtomicLong epochMillis;
+    private final ZoneId zone;
+
+    /**
+     * Konstruktor ManualClock yang dimulai pada waktu tertentu dengan zone UTC.
+     *
+     * @param start waktu awal clock
+     */
+    public ManualClock(Instant start) {
+        this(new AtomicLong(start.toEpochMilli()), ZoneId.of("UTC"));
+    }
+
+    private ManualClock(AtomicLong epochMillis, ZoneId zone) {
+        this.epochMillis = epochMillis;
+        this.zone = zone;
+    }
+
+    /**
+     * Memajukan waktu clock.
+     *
+     * @param duration lama waktu yang akan ditambahkan (boleh negatif)
+     */
+    public void advance(Duration duration) {
+        epochMillis.addAndGet(duration.toMillis());
+    }
+
+    /**
+     * Mengatur waktu clock ke instant tertentu.
+     *
+     * @param instant waktu baru
+     */
+    public void set(Instant instant) {
+        epochMillis.set(instant.toEpochMilli());
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        // Clock turunan berbagi sumber waktu yang sama
+        return new ManualClock(epochMillis, zone);
+    }
+
+    @Override
+    public long millis() {
+        return epochMillis.get();
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(epochMillis.get());
+    }
+}
@@ -0,0 +1,620 @@
+package infrastructure.service;
+
+import application.service.JobScheduler;
+import application.service.LogService;
+import infrastructure.metrics.LatencyHistogram;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Implementasi {@link JobScheduler} berbasis hierarchical timing wheel.
+ *
+ * <p>Waktu dibagi menjadi tick berukuran tetap (bawaan 1 detik). Roda terdiri dari
+ * {@value #LEVELS} tingkat dengan {@value #WHEEL_SIZE} slot; slot tingkat ke-n mencakup
+ * 256<sup>n</sup> tick, sehingga empat tingkat menjangkau 2<sup>32</sup> tick (sekitar
+ * 136 tahun untuk tick 1 detik). Setiap slot adalah doubly linked list, jadi menjadwalkan dan
+ * membatalkan pekerjaan selalu O(1) berapa pun jumlah timer yang menunggu. Saat tick tingkat
+ * bawah berputar kembali ke slot 0, isi satu slot tingkat di atasnya dipindahkan (cascade)
+ * ke tingkat yang lebih rendah. Jatuh tempo yang lebih jauh dari jangkauan roda diparkir di
+ * slot terjauh dan ditempatkan ulang ketika slot itu tercapai.</p>
+ *
+ * <p>Waktu hanya dibaca dari {@link Clock} yang diberikan. Thread driver dari {@link #start()}
+ * memanggil {@link #advance()} setiap tick; untuk pengujian, gunakan {@link ManualClock}
+ * dan panggil {@link #advance()} sendiri tanpa {@link #start()} agar urutan eksekusi
+ * deterministik. Pekerjaan tidak pernah dijalankan sebelum jatuh temponya, dan paling
+ * lambat satu tick setelahnya ditambah antrean worker.</p>
+ *
+ * <p>Pekerjaan yang jatuh tempo diserahkan ke pool worker berukuran tetap dengan antrean
+ * terbatas. Jika antrean penuh, pekerjaan dijalankan oleh thread driver sehingga penjadwalan
+ * melambat alih-alih menumpuk tanpa batas; perlambatan itu terlihat di histogram
+ * keterlambatan ({@link #latenessSnapshot()}) yang mencatat selisih antara saat worker mulai
+ * menjalankan pekerjaan dan jatuh temponya.</p>
+ *
+ * <pre>
+ * TimingWheelScheduler scheduler = new TimingWheelScheduler(Clock.systemUTC(), logService);
+ * scheduler.start();
+ * scheduler.scheduleMonthly("biaya-kartu", task, firstRunAt, timeService.zone());
+ * ...
+ * scheduler.close();
+ * </pre>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class TimingWheelScheduler implements JobScheduler, AutoCloseable {
+    /**
+     * Ukuran tick bawaan.
+     */
+    public static final Duration DEFAULT_TICK = Duration.ofSeconds(1);
+    /**
+     * Jumlah worker bawaan.
+     */
+    public static final int DEFAULT_WORKERS = 4;
+    /**
+     * Panjang antrean worker bawaan.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private static final int WHEEL_BITS = 8;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELTA = (1L << (WHEEL_BITS * LEVELS)) - 1;
+    private static final int WORDS_PER_LEVEL = WHEEL_SIZE / Long.SIZE;
+
+    private static final int SCHEDULED = 0;
+    private static final int DUE = 1;
+    private static final int DONE = 2;
+    private static final int CANCELLED = 3;
+
+    private final Clock clock;
+    private final long tickMillis;
+    private final Executor executor;
+    private final ThreadPoolExecutor ownedExecutor;
+    private final LogService logService;
+    private final LatencyHistogram lateness = new LatencyHistogram();
+
+    // Struktur roda hanya diubah di bawah lock ini
+    private final ReentrantLock wheelLock = new ReentrantLock();
+    private final Job[] heads = new Job[LEVELS * WHEEL_SIZE];
+    private final Job[] tails = new Job[LEVELS * WHEEL_SIZE];
+    private final long[] occupied = new long[LEVELS * WORDS_PER_LEVEL];
+    private long currentTick;
+    private int pending;
+
+    // Hanya satu thread yang memajukan roda pada satu waktu
+    private final ReentrantLock advanceLock = new ReentrantLock();
+    private final List<Job> dueBatch = new ArrayList<>();
+    private Thread driver;
+
+    /**
+     * Konstruktor TimingWheelScheduler dengan tick, jumlah worker, dan antrean bawaan.
+     *
+     * @param clock sumber waktu
+     * @param logService tujuan log pekerjaan yang gagal
+     */
+    public TimingWheelScheduler(Clock clock, LogService logService) {
+        this(clock, DEFAULT_TICK, DEFAULT_WORKERS, DEFAULT_QUEUE_CAPACITY, logService);
+    }
+
+    /**
+     * Konstruktor TimingWheelScheduler dengan pool worker milik scheduler.
+     *
+     * @param clock sumber waktu
+     * @param tick ukuran tick, minimal 1 milidetik
+     * @param workers jumlah thread worker
+     * @param queueCapacity panjang antrean worker
+     * @param logService tujuan log pekerjaan yang gagal
+     * @throws IllegalArgumentException jika salah satu parameter tidak positif
+     */
+    public TimingWheelScheduler(Clock clock, Duration tick, int workers, int queueCapacity, LogService logService) {
+        this(clock, tick, newWorkerPool(workers, queueCapacity), logService, true);
+    }
+
+    /**
+     * Konstruktor TimingWheelScheduler dengan executor dari luar.
+     *
+     * <p>Executor tidak ditutup oleh {@link #close()}. Executor langsung seperti {@code Runnable::run}
+     * membuat pekerjaan berjalan di thread yang memanggil {@link #advance()}.</p>
+     *
+     * @param clock sumber waktu
+     * @param tick ukuran tick, minimal 1 milidetik
+     * @param executor executor yang menjalankan pekerjaan jatuh tempo
+     * @param logService tujuan log pekerjaan yang gagal
+     * @throws IllegalArgumentException jika tick kurang dari 1 milidetik
+     */
+    public TimingWheelScheduler(Clock clock, Duration tick, Executor executor, LogService logService) {
+        this(clock, tick, executor, logService, false);
+    }
+
+    private TimingWheelScheduler(Clock clock, Duration tick, Executor executor, LogService logService,
+                                 boolean ownsExecutor) {
+        if (tick.toMillis() < 1) {
+            throw new IllegalArgumentException("Tick scheduler minimal 1 milidetik");
+        }
+        this.clock = clock;
+        this.tickMillis = tick.toMillis();
+        this.executor = executor;
+        this.ownedExecutor = ownsExecutor ? (ThreadPoolExecutor) executor : null;
+        this.logService = logService;
+        this.currentTick = Math.floorDiv(clock.millis(), tickMillis);
+    }
+
+    @Override
+    public ScheduledJob schedule(String name, Runnable task, Instant runAt) {
+        return add(new Job(name, task, null, runAt.toEpochMilli()));
+    }
+
+    @Override
+    public ScheduledJob scheduleRecurring(String name, Runnable task, Instant firstRunAt, UnaryOperator<Instant> next) {
+        return add(new Job(name, task, next, firstRunAt.toEpochMilli()));
+    }
+
+    /**
+     * Menjalankan thread driver yang memajukan roda setiap tick.
+     *
+     * @throws IllegalStateException jika driver sudah berjalan
+     */
+    public synchronized void start() {
+        if (driver != null) {
+            throw new IllegalStateException("TimingWheelScheduler sudah berjalan");
+        }
+        driver = new Thread(this::drive, "job-scheduler");
+        driver.setDaemon(true);
+        driver.start();
+    }
+
+    /**
+     * Menjalankan semua pekerjaan yang sudah jatuh tempo menurut clock saat ini.
+     *
+     * <p>Pekerjaan diserahkan ke executor dalam urutan tick jatuh temponya. Pekerjaan berulang
+     * yang dijadwalkan ulang ke waktu yang sudah lewat ikut diserahkan pada panggilan yang sama
+     * begitu eksekusi sebelumnya selesai.</p>
+     *
+     * @return jumlah pekerjaan yang diserahkan ke executor
+     */
+    public int advance() {
+        advanceLock.lock();
+        try {
+            long target = Math.floorDiv(clock.millis(), tickMillis);
+            int dispatched = 0;
+            while (true) {
+                wheelLock.lock();
+                try {
+                    while (dueBatch.isEmpty() && currentTick <= target) {
+                        // Tick tanpa slot terisi dilompati, jadi tick kecil tidak membuat roda berputar sia-sia
+                        long next = nextOccupiedTick();
+                        if (next > target) {
+                            currentTick = target + 1;
+                            break;
+                        }
+                        currentTick = next;
+                        expire();
+                    }
+                } finally {
+                    wheelLock.unlock();
+                }
+                if (dueBatch.isEmpty()) {
+                    return dispatched;
+                }
+                for (Job job : dueBatch) {
+                    dispatch(job);
+                }
+                dispatched += dueBatch.size();
+                dueBatch.clear();
+            }
+        } finally {
+            advanceLock.unlock();
+        }
+    }
+
+    /**
+     * Mendapatkan jumlah pekerjaan yang menunggu jatuh tempo.
+     *
+     * @return jumlah timer di dalam roda
+     */
+    public int pendingCount() {
+        wheelLock.lock();
+        try {
+            return pending;
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    /**
+     * Mengambil ringkasan keterlambatan semua eksekusi sejak scheduler dibuat.
+     *
+     * @return histogram keterlambatan dalam nanodetik
+     */
+    public LatencyHistogram.Snapshot latenessSnapshot() {
+        return lateness.snapshot();
+    }
+
+    /**
+     * Menghentikan thread driver dan pool worker milik scheduler.
+     *
+     * <p>Pekerjaan yang sedang berjalan dibiarkan selesai; pekerjaan di antrean worker tetap
+     * dijalankan, tetapi tidak ada lagi pekerjaan baru yang jatuh tempo.</p>
+     */
+    @Override
+    public synchronized void close() {
+        if (driver != null) {
+            driver.interrupt();
+            try {
+                driver.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            driver = null;
+        }
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    private void drive() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                advance();
+            } catch (RuntimeException e) {
+                logService.error("Scheduler gagal memajukan waktu: " + e);
+            }
+            long nextTickMillis;
+            wheelLock.lock();
+            try {
+                nextTickMillis = currentTick * tickMillis;
+            } finally {
+                wheelLock.unlock();
+            }
+            long waitMillis = Math.max(1, nextTickMillis - clock.millis());
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(Math.min(waitMillis, tickMillis)));
+        }
+    }
+
+    private Job add(Job job) {
+        wheelLock.lock();
+        try {
+            place(job);
+            pending++;
+        } finally {
+            wheelLock.unlock();
+        }
+        return job;
+    }
+
+    /**
+     * Menempatkan pekerjaan ke slot sesuai jarak jatuh temponya dari tick saat ini.
+     */
+    private void place(Job job) {
+        long delta = Math.min(Math.max(job.deadlineTick - currentTick, 0), MAX_DELTA);
+        long tick = currentTick + delta;
+        int level = delta < WHEEL_SIZE ? 0 : (63 - Long.numberOfLeadingZeros(delta)) / WHEEL_BITS;
+        int bucket = level * WHEEL_SIZE + (int) ((tick >>> (level * WHEEL_BITS)) & WHEEL_MASK);
+        job.bucket = bucket;
+        job.state = SCHEDULED;
+        job.prev = tails[bucket];
+        job.next = null;
+        if (tails[bucket] == null) {
+            heads[bucket] = job;
+            occupied[bucket >>> 6] |= 1L << bucket;
+        } else {
+            tails[bucket].next = job;
+        }
+        tails[bucket] = job;
+    }
+
+    private void unlink(Job job) {
+        int bucket = job.bucket;
+        if (job.prev == null) {
+            heads[bucket] = job.next;
+            if (job.next == null) {
+                occupied[bucket >>> 6] &= ~(1L << bucket);
+            }
+        } else {
+            job.prev.next = job.next;
+        }
+        if (job.next == null) {
+            tails[bucket] = job.prev;
+        } else {
+            job.next.prev = job.prev;
+        }
+        job.prev = null;
+        job.next = null;
+        job.bucket = -1;
+    }
+
+    private Job detach(int bucket) {
+        Job head = heads[bucket];
+        heads[bucket] = null;
+        tails[bucket] = null;
+        occupied[bucket >>> 6] &= ~(1L << bucket);
+        return head;
+    }
+
+    /**
+     * Mencari tick terdekat (mulai dari tick saat ini) yang slot tingkat 0-nya terisi atau yang
+     * meng-cascade slot tingkat atas yang terisi.
+     *
+     * @return tick tersebut, atau {@link Long#MAX_VALUE} jika roda kosong
+     */
+    private long nextOccupiedTick() {
+        long tick = currentTick;
+        long next = Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = level * WHEEL_BITS;
+            int index = (int) ((tick >>> shift) & WHEEL_MASK);
+            // Slot tingkat atas pada indeks saat ini sudah di-cascade, kecuali tick ini tepat di batasnya
+            int offset = (tick & ((1L << shift) - 1)) == 0 ? 0 : 1;
+            int distance = distanceToOccupied(level, (index + offset) & WHEEL_MASK);
+            if (distance >= 0) {
+                next = Math.min(next, ((tick >>> shift) + offset + distance) << shift);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Menghitung jarak melingkar dari slot {@code from} ke slot terisi pertama pada satu tingkat.
+     *
+     * @return jarak dalam slot, atau -1 jika tingkat tersebut kosong
+     */
+    private int distanceToOccupied(int level, int from) {
+        int base = level * WORDS_PER_LEVEL;
+        for (int step = 0; step <= WORDS_PER_LEVEL; step++) {
+            int word = ((from >>> 6) + step) & (WORDS_PER_LEVEL - 1);
+            long bits = occupied[base + word];
+            if (step == 0) {
+                bits &= -1L << from;
+            } else if (step == WORDS_PER_LEVEL) {
+                // Kembali ke word awal: hanya bit sebelum from yang belum diperiksa
+                bits &= (1L << from) - 1;
+            }
+            if (bits != 0) {
+                int index = (word << 6) | Long.numberOfTrailingZeros(bits);
+                return (index - from) & WHEEL_MASK;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Memproses satu tick: cascade tingkat atas bila perlu, lalu mengumpulkan isi slot tingkat 0.
+     */
+    private void expire() {
+        long tick = currentTick;
+        if ((tick & WHEEL_MASK) == 0) {
+            for (int level = 1; level < LEVELS; level++) {
+                int index = (int) ((tick >>> (level * WHEEL_BITS)) & WHEEL_MASK);
+                for (Job job = detach(level * WHEEL_SIZE + index), next; job != null; job = next) {
+                    next = job.next;
+                    place(job);
+                }
+                // Tingkat berikutnya hanya perlu di-cascade jika tingkat ini juga baru berputar
+                if (index != 0) {
+                    break;
+                }
+            }
+        }
+        for (Job job = detach((int) (tick & WHEEL_MASK)), next; job != null; job = next) {
+            next = job.next;
+            if (job.deadlineTick > tick) {
+                // Jatuh tempo di luar jangkauan roda yang sempat diparkir di slot terjauh
+                place(job);
+                continue;
+            }
+            job.prev = null;
+            job.next = null;
+            job.bucket = -1;
+            job.state = DUE;
+            pending--;
+            dueBatch.add(job);
+        }
+        currentTick = tick + 1;
+    }
+
+    private void dispatch(Job job) {
+        try {
+            executor.execute(job);
+        } catch (RejectedExecutionException e) {
+            // Executor sudah ditutup
+            job.state = CANCELLED;
+        }
+    }
+
+    /**
+     * Menjadwalkan ulang pekerjaan berulang setelah eksekusinya selesai.
+     */
+    private void reschedule(Job job, long deadlineMillis) {
+        wheelLock.lock();
+        try {
+            if (job.state == CANCELLED) {
+                return;
+            }
+            job.deadlineMillis = deadlineMillis;
+            job.deadlineTick = Math.ceilDiv(deadlineMillis, tickMillis);
+            place(job);
+            pending++;
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    private boolean cancel(Job job) {
+        wheelLock.lock();
+        try {
+            return switch (job.state) {
+                case SCHEDULED -> {
+                    unlink(job);
+                    pending--;
+                    job.state = CANCELLED;
+                    yield true;
+                }
+                case DUE -> {
+                    // Sudah diserahkan ke worker; worker melewatinya atau tidak menjadwalkannya ulang
+                    job.state = CANCELLED;
+                    yield true;
+                }
+                default -> false;
+            };
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    private static ThreadPoolExecutor newWorkerPool(int workers, int queueCapacity) {
+        if (workers < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Jumlah worker dan panjang antrean harus positif");
+        }
+        // Antrean penuh membuat thread driver menjalankan pekerjaan sendiri sebagai backpressure
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new WorkerFactory(), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Thread factory worker scheduler; thread daemon agar tidak menahan aplikasi saat berhenti.
+     */
+    private static final class WorkerFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "job-worker-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * Satu timer di dalam roda sekaligus handle pekerjaannya.
+     *
+     * <p>Field link dan state hanya diubah di bawah {@code wheelLock}; counter eksekusi hanya
+     * ditulis oleh worker yang sedang menjalankan pekerjaan ini.</p>
+     */
+    private final class Job implements ScheduledJob, Runnable {
+        private final String name;
+        private final Runnable task;
+        private final UnaryOperator<Instant> recurrence;
+        private volatile long deadlineMillis;
+        private long deadlineTick;
+        private volatile int state;
+        private int bucket = -1;
+        private Job prev;
+        private Job next;
+        private volatile long runCount;
+        private volatile long failureCount;
+        private volatile long lastLatenessMillis;
+
+        Job(String name, Runnable task, UnaryOperator<Instant> recurrence, long deadlineMillis) {
+            this.name = name;
+            this.task = task;
+            this.recurrence = recurrence;
+            this.deadlineMillis = deadlineMillis;
+            this.deadlineTick = Math.ceilDiv(deadlineMillis, tickMillis);
+        }
+
+        @Override
+        public void run() {
+            if (state == CANCELLED) {
+                return;
+            }
+            long late = Math.max(0, clock.millis() - deadlineMillis);
+            lastLatenessMillis = late;
+            lateness.record(TimeUnit.MILLISECONDS.toNanos(late));
+            runCount++;
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                failureCount++;
+                logService.error("Pekerjaan terjadwal " + name + " gagal: " + e);
+            }
+            if (recurrence == null) {
+                finish();
+                return;
+            }
+            Instant previous = Instant.ofEpochMilli(deadlineMillis);
+            Instant following;
+            try {
+                following = recurrence.apply(previous);
+            } catch (RuntimeException e) {
+                logService.error("Jadwal berikutnya pekerjaan " + name + " gagal dihitung: " + e);
+                following = null;
+            }
+            if (following == null) {
+                finish();
+            } else if (!following.isAfter(previous)) {
+                logService.error("Jadwal berikutnya pekerjaan " + name + " tidak maju: " + following);
+                finish();
+            } else {
+                reschedule(this, following.toEpochMilli());
+            }
+        }
+
+        private void finish() {
+            wheelLock.lock();
+            try {
+                if (state == DUE) {
+                    state = DONE;
+                }
+            } finally {
+                wheelLock.unlock();
+            }
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public Instant nextRunAt() {
+            int current = state;
+            return current == SCHEDULED || current == DUE ? Instant.ofEpochMilli(deadlineMillis) : null;
+        }
+
+        @Override
+        public boolean cancel() {
+            return TimingWheelScheduler.this.cancel(this);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        @Override
+        public long runCount() {
+            return runCount;
+        }
+
+        @Override
+        public long failureCount() {
+            return failureCount;
+        }
+
+        @Override
+        public Duration lastLateness() {
+            return Duration.ofMillis(lastLatenessMillis);
+        }
+
+        @Override
+        public String toString() {
+            return "ScheduledJob[" + name + " @ " + Instant.ofEpochMilli(deadlineMillis) + "]";
+        }
+    }
+}
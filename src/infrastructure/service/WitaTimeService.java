@@ -0,0 +1,126 @@
+package infrastructure.service;
+
+import application.service.TimeService;
+import domain.util.LocalTimeZone;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Implementasi TimeService berbasis {@link Clock} dengan timezone Asia/Makassar (WITA).
+ *
+ * <p>Timezone di-cache sekali, timestamp dibaca langsung dari {@link Clock#millis()},
+ * dan string tanggal hari ini disimpan di dalam state immutable yang diganti secara
+ * atomik ketika tengah malam WITA terlewati. Thread yang berhasil mengganti state
+ * akan memanggil semua {@link DateRolloverListener} yang terdaftar.</p>
+ *
+ * <p>Untuk pengujian, berikan {@link ManualClock} agar waktu dapat dikendalikan.</p>
+ *
+ * @author Gede Dhanu Purnayasa
+ * @author Made Marsel Biliana Wijaya
+ * @since 1.1
+ */
+public class WitaTimeService implements TimeService {
+    private final Clock clock;
+    private final AtomicReference<BusinessDay> currentDay = new AtomicReference<>();
+    private final List<DateRolloverListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Konstruktor WitaTimeService menggunakan jam sistem (UTC).
+     */
+    public WitaTimeService() {
+        this(Clock.systemUTC());
+    }
+
+    /**
+     * Konstruktor WitaTimeService dengan sumber waktu tertentu.
+     *
+     * @param clock sumber waktu; zone milik clock diabaikan karena tanggal selalu dihitung dalam WITA
+     */
+    public WitaTimeService(Clock clock) {
+        this.clock = clock;
+        this.currentDay.set(BusinessDay.of(epochSecond()));
+    }
+
+    @Override
+    public ZoneId zone() {
+        return LocalTimeZone.ZONE;
+    }
+
+    @Override
+    public long now() {
+        long now = epochSecond();
+        BusinessDay day = currentDay.get();
+        if (!day.contains(now)) {
+            rollover(day, now);
+        }
+        return now;
+    }
+
+    @Override
+    public String today() {
+        long now = epochSecond();
+        BusinessDay day = currentDay.get();
+        if (day.contains(now)) {
+            return day.date();
+        }
+        return rollover(day, now).date();
+    }
+
+    @Override
+    public void addDateRolloverListener(DateRolloverListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Mengganti tanggal bisnis secara atomik dan memberi tahu listener.
+     *
+     * <p>Hanya thread yang berhasil melakukan compare-and-set yang memanggil listener,
+     * sehingga setiap pergantian tanggal dilaporkan tepat satu kali.</p>
+     *
+     * @param expected state tanggal yang dibaca sebelumnya
+     * @param now timestamp saat ini dalam epoch seconds
+     * @return state tanggal yang berlaku untuk timestamp tersebut
+     */
+    private BusinessDay rollover(BusinessDay expected, long now) {
+        BusinessDay next = BusinessDay.of(now);
+        if (currentDay.compareAndSet(expected, next)) {
+            for (DateRolloverListener listener : listeners) {
+                listener.onDateRollover(expected.date(), next.date());
+            }
+            return next;
+        }
+        // Thread lain sudah mengganti tanggal lebih dulu
+        BusinessDay winner = currentDay.get();
+        return winner.contains(now) ? winner : next;
+    }
+
+    private long epochSecond() {
+        return Math.floorDiv(clock.millis(), 1000L);
+    }
+
+    /**
+     * State immutable untuk satu hari bisnis WITA.
+     *
+     * @param date tanggal dalam format YYYY-MM-DD
+     * @param startEpochSecond awal hari (inklusif) dalam epoch seconds
+     * @param endEpochSecond tengah malam berikutnya (eksklusif) dalam epoch seconds
+     */
+    private record BusinessDay(String date, long startEpochSecond, long endEpochSecond) {
+
+        static BusinessDay of(long epochSecond) {
+            long offset = LocalTimeZone.OFFSET_SECONDS;
+            long epochDay = Math.floorDiv(epochSecond + offset, 86_400L);
+            long start = epochDay * 86_400L - offset;
+            return new BusinessDay(LocalDate.ofEpochDay(epochDay).toString(), start, start + 86_400L);
+        }
+
+        boolean contains(long epochSecond) {
+            return epochSecond >= startEpochSecond && epochSecond < endEpochSecond;
+        }
+    }
+}